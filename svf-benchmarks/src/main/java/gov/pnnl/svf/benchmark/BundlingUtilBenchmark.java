@@ -0,0 +1,56 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.geometry.Point2D;
+import gov.pnnl.svf.util.BundlingUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for hierarchical edge bundling of a path of points.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BundlingUtilBenchmark {
+
+    @Param({"8", "64"})
+    private int size;
+    private List<Point2D> points;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new Point2D(random.nextDouble() * 100.0, random.nextDouble() * 100.0));
+        }
+    }
+
+    @Benchmark
+    public List<Point2D> bundle() {
+        return BundlingUtil.createBundledPoint2D(points, 0.8, false);
+    }
+
+    @Benchmark
+    public List<Point2D> bundleOnLca() {
+        return BundlingUtil.createBundledPoint2D(points, 0.8, true);
+    }
+}
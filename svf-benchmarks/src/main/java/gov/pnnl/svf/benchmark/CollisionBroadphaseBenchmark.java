@@ -0,0 +1,97 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.physics.CollisionBroadphase;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for finding overlapping actor bounds with the sweep and prune
+ * broadphase compared to the naive pairwise check. Each invocation is one
+ * physics tick with actors spread evenly through the scene at a constant
+ * density.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class CollisionBroadphaseBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int actors;
+    private double[] bounds;
+    private final CollisionBroadphase broadphase = new CollisionBroadphase();
+    private final Counter counter = new Counter();
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        // keep roughly the same number of neighbors for each actor
+        final double extent = Math.sqrt(actors) * 4.0;
+        bounds = new double[actors * 6];
+        for (int i = 0; i < actors; i++) {
+            final double x = random.nextDouble() * extent;
+            final double y = random.nextDouble() * extent;
+            final double size = 0.5 + random.nextDouble() * 2.0;
+            bounds[i * 6] = x;
+            bounds[i * 6 + 1] = y;
+            bounds[i * 6 + 2] = -0.5;
+            bounds[i * 6 + 3] = x + size;
+            bounds[i * 6 + 4] = y + size;
+            bounds[i * 6 + 5] = 0.5;
+        }
+    }
+
+    @Benchmark
+    public int broadphase() {
+        broadphase.clear();
+        for (int i = 0; i < actors; i++) {
+            final int o = i * 6;
+            broadphase.add(bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3], bounds[o + 4], bounds[o + 5]);
+        }
+        counter.count = 0;
+        broadphase.findPairs(counter);
+        return counter.count;
+    }
+
+    @Benchmark
+    public int naive() {
+        int count = 0;
+        for (int i = 0; i < actors; i++) {
+            final int a = i * 6;
+            for (int j = i + 1; j < actors; j++) {
+                final int b = j * 6;
+                if (bounds[a] <= bounds[b + 3] && bounds[b] <= bounds[a + 3]
+                    && bounds[a + 1] <= bounds[b + 4] && bounds[b + 1] <= bounds[a + 4]
+                    && bounds[a + 2] <= bounds[b + 5] && bounds[b + 2] <= bounds[a + 5]) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static class Counter implements CollisionBroadphase.PairListener {
+
+        private int count;
+
+        @Override
+        public void overlap(final int a, final int b) {
+            count++;
+        }
+    }
+}
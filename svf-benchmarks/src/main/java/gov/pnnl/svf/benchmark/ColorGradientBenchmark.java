@@ -0,0 +1,68 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.core.color.Color;
+import gov.pnnl.svf.core.color.ColorGradient;
+import gov.pnnl.svf.core.color.ColorGradientLookup;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for color gradient evaluation. Each invocation evaluates the
+ * gradient across the entire range of values.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ColorGradientBenchmark {
+
+    private static final int VALUES = 1024;
+    @Param({"2", "8"})
+    private int stops;
+    private ColorGradient gradient;
+    private ColorGradientLookup lookup;
+    private final double[] values = new double[VALUES];
+    private final int[] colors = new int[VALUES];
+
+    @Setup
+    public void setup() {
+        final ColorGradient.Builder builder = ColorGradient.Builder.construct();
+        final Color[] colors = {Color.BLUE, Color.GREEN, Color.YELLOW, Color.ORANGE, Color.RED, Color.VIOLET, Color.WHITE, Color.BLACK};
+        for (int i = 0; i < stops; i++) {
+            builder.color((double) i / (stops - 1), colors[i % colors.length]);
+        }
+        gradient = builder.build();
+        lookup = gradient.getLookup();
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = (double) i / (VALUES - 1);
+        }
+    }
+
+    @Benchmark
+    public float getColor() {
+        float sum = 0.0f;
+        for (int i = 0; i < VALUES; i++) {
+            sum += gradient.getColor((double) i / (VALUES - 1)).getRed();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int[] map() {
+        return lookup.map(values, colors);
+    }
+}
@@ -0,0 +1,84 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.geometry.Frustum;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.math.geometry.Vector3D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for view frustum culling tests. Each invocation tests a fixed set
+ * of random points against the frustum.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class FrustumBenchmark {
+
+    private static final int POINTS = 1000;
+    private Frustum frustum;
+    private double[] coords;
+    private Vector3D[] vectors;
+
+    @Setup
+    public void setup() {
+        frustum = new Frustum(new Vector3D(0.0, 0.0, 10.0), new Vector3D(0.0, 0.0, -1.0), Vector3D.PLUS_J, Vector3D.PLUS_I,
+                              Math.toRadians(45.0), 4.0 / 3.0, 0.1, 100.0);
+        final Random random = new Random(42L);
+        coords = new double[POINTS * 3];
+        vectors = new Vector3D[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            coords[i * 3] = random.nextDouble() * 40.0 - 20.0;
+            coords[i * 3 + 1] = random.nextDouble() * 40.0 - 20.0;
+            coords[i * 3 + 2] = random.nextDouble() * 100.0 - 90.0;
+            vectors[i] = new Vector3D(coords[i * 3], coords[i * 3 + 1], coords[i * 3 + 2]);
+        }
+    }
+
+    @Benchmark
+    public int containsPoint() {
+        int count = 0;
+        for (int i = 0; i < POINTS; i++) {
+            if (frustum.contains(coords[i * 3], coords[i * 3 + 1], coords[i * 3 + 2])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int containsSphere() {
+        int count = 0;
+        for (int i = 0; i < POINTS; i++) {
+            if (frustum.contains(coords[i * 3], coords[i * 3 + 1], coords[i * 3 + 2], 1.0)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int containsVector() {
+        int count = 0;
+        for (int i = 0; i < POINTS; i++) {
+            if (frustum.contains(vectors[i], 1.0)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
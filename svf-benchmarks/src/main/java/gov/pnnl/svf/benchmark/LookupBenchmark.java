@@ -0,0 +1,112 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.core.lookup.LookupProviderImpl;
+import gov.pnnl.svf.core.lookup.MultiLookupProviderImpl;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the single and multiple object lookup providers used by
+ * actors and scenes.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class LookupBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+    private LookupProviderImpl lookup;
+    private MultiLookupProviderImpl multiLookup;
+    private List<Object> objects;
+    private Collection<ItemA> out;
+    private ItemB item;
+
+    @Setup
+    public void setup() {
+        lookup = new LookupProviderImpl();
+        lookup.add(new ItemA());
+        lookup.add(new ItemB());
+        lookup.add(new ItemC());
+        multiLookup = new MultiLookupProviderImpl();
+        objects = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (i % 3) {
+                case 0:
+                    objects.add(new ItemA());
+                    break;
+                case 1:
+                    objects.add(new ItemB());
+                    break;
+                default:
+                    objects.add(new ItemC());
+                    break;
+            }
+        }
+        multiLookup.addAll(objects);
+        out = new ArrayList<>(size);
+        item = new ItemB();
+    }
+
+    @Benchmark
+    public Object lookup() {
+        return lookup.lookup(ItemB.class);
+    }
+
+    @Benchmark
+    public Object lookupInterface() {
+        return lookup.lookup(Serializable.class);
+    }
+
+    @Benchmark
+    public Object multiLookup() {
+        return multiLookup.lookup(ItemB.class);
+    }
+
+    @Benchmark
+    public Collection<ItemA> multiLookupAll() {
+        multiLookup.lookupAll(ItemA.class, out);
+        return out;
+    }
+
+    @Benchmark
+    public boolean multiAddRemove() {
+        multiLookup.add(item);
+        return multiLookup.remove(item);
+    }
+
+    public static class ItemA {
+    }
+
+    public static class ItemB extends ItemA implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    public static class ItemC implements Comparable<ItemC> {
+
+        @Override
+        public int compareTo(final ItemC o) {
+            return 0;
+        }
+    }
+}
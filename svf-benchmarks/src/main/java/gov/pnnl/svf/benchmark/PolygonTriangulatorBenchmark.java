@@ -0,0 +1,116 @@
+package gov.pnnl.svf.benchmark;
+
+import com.jogamp.opengl.glu.GLU;
+import com.jogamp.opengl.glu.GLUtessellator;
+import com.jogamp.opengl.glu.GLUtessellatorCallbackAdapter;
+import gov.pnnl.svf.geometry.Point2D;
+import gov.pnnl.svf.geometry.PolygonTriangles;
+import gov.pnnl.svf.geometry.PolygonTriangulator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for triangulating large polygons with the pure Java ear clipping
+ * triangulator compared to the GLU tessellator. The outlines are noisy
+ * circles, similar to a country outline, with a few lakes cut out as holes.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class PolygonTriangulatorBenchmark {
+
+    @Param({"1000", "10000"})
+    private int vertices;
+    @Param({"0", "4"})
+    private int holes;
+    private List<List<Point2D>> contours;
+    private final Counter counter = new Counter();
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        contours = new ArrayList<>(holes + 1);
+        contours.add(outline(random, 0.0, 0.0, 100.0, vertices));
+        for (int i = 0; i < holes; i++) {
+            final double angle = Math.PI * 2.0 * i / holes;
+            contours.add(outline(random, Math.cos(angle) * 50.0, Math.sin(angle) * 50.0, 10.0, vertices / 20));
+        }
+    }
+
+    private static List<Point2D> outline(final Random random, final double x, final double y, final double radius, final int count) {
+        final List<Point2D> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final double angle = Math.PI * 2.0 * i / count;
+            final double r = radius * (0.9 + random.nextDouble() * 0.1);
+            points.add(new Point2D(x + Math.cos(angle) * r, y + Math.sin(angle) * r));
+        }
+        return points;
+    }
+
+    @Benchmark
+    public int triangulator() {
+        final PolygonTriangles triangles = PolygonTriangulator.triangulate(contours);
+        return triangles.getTriangleCount();
+    }
+
+    @Benchmark
+    public int tessellator() {
+        final GLUtessellator tessellator = GLU.gluNewTess();
+        GLU.gluTessNormal(tessellator, 0.0, 0.0, 1.0);
+        GLU.gluTessProperty(tessellator, GLU.GLU_TESS_WINDING_RULE, GLU.GLU_TESS_WINDING_ODD);
+        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_VERTEX, counter);
+        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_BEGIN, counter);
+        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_COMBINE, counter);
+        counter.count = 0;
+        GLU.gluTessBeginPolygon(tessellator, null);
+        for (final List<Point2D> points : contours) {
+            GLU.gluTessBeginContour(tessellator);
+            for (final Point2D point : points) {
+                final double[] tess = new double[]{point.getX(), point.getY(), 0.0};
+                GLU.gluTessVertex(tessellator, tess, 0, tess);
+            }
+            GLU.gluTessEndContour(tessellator);
+        }
+        GLU.gluTessEndPolygon(tessellator);
+        GLU.gluDeleteTess(tessellator);
+        return counter.count;
+    }
+
+    private static class Counter extends GLUtessellatorCallbackAdapter {
+
+        private int count;
+
+        @Override
+        public void begin(final int type) {
+            // no operation
+        }
+
+        @Override
+        public void vertex(final Object vertexData) {
+            count++;
+        }
+
+        @Override
+        public void combine(final double[] coords, final Object[] data, final float[] weight, final Object[] outData) {
+            outData[0] = new double[]{coords[0], coords[1], coords[2]};
+        }
+    }
+}
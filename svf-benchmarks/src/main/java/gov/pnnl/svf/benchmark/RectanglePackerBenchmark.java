@@ -0,0 +1,132 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.core.geometry.MaxRectsRectanglePacker;
+import gov.pnnl.svf.core.geometry.RectanglePacker;
+import gov.pnnl.svf.core.geometry.SimpleRectanglePacker;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for packing glyph sized rectangles into a texture atlas. Each
+ * invocation packs a fixed set of rectangles into a new packer. The number of
+ * rectangles packed and the percent of the atlas area they cover are counted
+ * as secondary results. JMH sums these counters over the invocations and
+ * iterations, so divide them by the invocations counter to get the result of
+ * one invocation.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RectanglePackerBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final int RECTANGLES = 2000;
+    private static final int INITIAL_SIZE = 256;
+    private int[] widths;
+    private int[] heights;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        widths = new int[RECTANGLES];
+        heights = new int[RECTANGLES];
+        for (int i = 0; i < RECTANGLES; i++) {
+            widths[i] = 4 + random.nextInt(28);
+            heights[i] = 8 + random.nextInt(24);
+        }
+    }
+
+    @Benchmark
+    public int simple(final Counters counters) {
+        return pack(new SimpleRectanglePacker(SIZE, SIZE), counters);
+    }
+
+    @Benchmark
+    public int maxRects(final Counters counters) {
+        return pack(new MaxRectsRectanglePacker(SIZE, SIZE), counters);
+    }
+
+    @Benchmark
+    public int maxRectsGrowth(final Counters counters) {
+        return pack(new MaxRectsRectanglePacker(new Rectangle(INITIAL_SIZE, INITIAL_SIZE), SIZE, SIZE), counters);
+    }
+
+    @Benchmark
+    public int maxRectsRemove(final Counters counters) {
+        // pack, remove every other rectangle, and fill the holes again
+        final MaxRectsRectanglePacker packer = new MaxRectsRectanglePacker(SIZE, SIZE);
+        final Point[] points = new Point[RECTANGLES];
+        for (int i = 0; i < RECTANGLES; i++) {
+            points[i] = packer.pack(widths[i], heights[i]);
+        }
+        for (int i = 0; i < RECTANGLES; i += 2) {
+            if (points[i] != null) {
+                packer.remove(new Rectangle(points[i].x, points[i].y, widths[i], heights[i]));
+            }
+        }
+        for (int i = 0; i < RECTANGLES; i += 2) {
+            packer.pack(widths[i], heights[i]);
+        }
+        counters.add(packer.getCount(), packer.getUsedArea());
+        return packer.getCount();
+    }
+
+    private int pack(final RectanglePacker packer, final Counters counters) {
+        long area = 0L;
+        int packed = 0;
+        for (int i = 0; i < RECTANGLES; i++) {
+            final Point point = packer.pack(widths[i], heights[i]);
+            if (point != null) {
+                area += widths[i] * heights[i];
+                packed++;
+            }
+        }
+        counters.add(packed, area);
+        return packed;
+    }
+
+    /**
+     * The packing results of the invocations in an iteration.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        public long invocations;
+        public long packed;
+        public double occupancy;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            invocations = 0L;
+            packed = 0L;
+            occupancy = 0.0;
+        }
+
+        private void add(final int packed, final long area) {
+            invocations++;
+            this.packed += packed;
+            // every packer is measured against the same atlas so a growing packer isn't favored
+            occupancy += 100.0 * area / ((long) SIZE * SIZE);
+        }
+    }
+}
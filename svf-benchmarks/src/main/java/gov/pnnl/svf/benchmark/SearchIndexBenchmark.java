@@ -0,0 +1,85 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.benchmark.SearchUtilBenchmark.Item;
+import gov.pnnl.svf.util.SearchIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for a search index with more items than the linear scan of the
+ * search util can search in memory. The index of this many items needs a
+ * larger heap than the default.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx3g"})
+@State(Scope.Thread)
+public class SearchIndexBenchmark {
+
+    @Param({"500000"})
+    private int size;
+    private SearchIndex<Item> index;
+    private String exact;
+    private String fuzzy;
+    private String typo;
+    private String prefix;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        final List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(SearchUtilBenchmark.newItem(random));
+        }
+        final Item item = items.get(size / 2);
+        exact = item.getLabel();
+        fuzzy = exact.substring(1, exact.length() - 1);
+        // one substitution in the middle of the label
+        final int middle = exact.length() / 2;
+        typo = exact.substring(0, middle) + (exact.charAt(middle) == 'x' ? 'y' : 'x') + exact.substring(middle + 1);
+        prefix = exact.substring(0, 3);
+        index = new SearchIndex<>(items);
+    }
+
+    @Benchmark
+    public Item indexExact() {
+        return index.search(exact);
+    }
+
+    @Benchmark
+    public Item indexFuzzy() {
+        return index.search(fuzzy);
+    }
+
+    @Benchmark
+    public List<Item> indexFuzzyLimit() {
+        return index.search(fuzzy, 10);
+    }
+
+    @Benchmark
+    public List<Item> indexTypo() {
+        return index.searchFuzzy(typo, 2, 10);
+    }
+
+    @Benchmark
+    public List<Item> indexPrefix() {
+        return index.searchPrefix(prefix, 10);
+    }
+}
@@ -0,0 +1,127 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.util.SearchIndex;
+import gov.pnnl.svf.util.SearchUtil;
+import gov.pnnl.svf.util.Searchable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for searching a set of searchable items by label and keyword,
+ * comparing the linear scan of the search util with a prebuilt search index.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SearchUtilBenchmark {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+    @Param({"100", "10000"})
+    private int size;
+    private Set<Item> items;
+    private SearchIndex<Item> index;
+    private String exact;
+    private String fuzzy;
+    private String prefix;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        items = new HashSet<>(size);
+        Item item = null;
+        for (int i = 0; i < size; i++) {
+            item = newItem(random);
+            items.add(item);
+        }
+        exact = item.getLabel();
+        fuzzy = exact.substring(1, exact.length() - 1);
+        prefix = exact.substring(0, 3);
+        index = new SearchIndex<>(items);
+    }
+
+    @Benchmark
+    public Item searchExact() {
+        return SearchUtil.search(items, exact);
+    }
+
+    @Benchmark
+    public Item searchFuzzy() {
+        return SearchUtil.search(items, fuzzy);
+    }
+
+    @Benchmark
+    public Item indexExact() {
+        return index.search(exact);
+    }
+
+    @Benchmark
+    public Item indexFuzzy() {
+        return index.search(fuzzy);
+    }
+
+    @Benchmark
+    public List<Item> indexPrefix() {
+        return index.searchPrefix(prefix, 10);
+    }
+
+    @Benchmark
+    public List<Item> indexFuzzyLimit() {
+        return index.search(fuzzy, 10);
+    }
+
+    static Item newItem(final Random random) {
+        return new Item(randomWord(random, 6, 12) + ' ' + randomWord(random, 4, 8),
+                        randomWord(random, 4, 8), randomWord(random, 4, 8));
+    }
+
+    private static String randomWord(final Random random, final int min, final int max) {
+        final int length = min + random.nextInt(max - min + 1);
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    public static class Item implements Searchable {
+
+        private final String label;
+        private final Set<String> keywords;
+
+        private Item(final String label, final String... keywords) {
+            this.label = label;
+            this.keywords = new HashSet<>();
+            Collections.addAll(this.keywords, keywords);
+        }
+
+        @Override
+        public String getLabel() {
+            return label;
+        }
+
+        @Override
+        public Set<String> getKeywords() {
+            return keywords;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.actor.StreamingChartActor;
+import gov.pnnl.svf.scene.SceneBuilder;
+import gov.pnnl.svf.scene.SceneExt;
+import gov.pnnl.svf.scene.SceneMetrics;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for appending samples to a streaming chart. The scores are in
+ * samples per second so they can be compared directly with the ingest target of
+ * one million samples per second. The time stamps are epoch milliseconds so the
+ * x values are stored relative to a moving origin. The scene is a proxy that
+ * ignores draw requests since appending doesn't use OpenGL.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class StreamingChartBenchmark {
+
+    private static final int BATCH = 1000;
+    @Param({"100000", "1000000"})
+    private int window;
+    private StreamingChartActor actor;
+    private final double[] xValues = new double[BATCH];
+    private final double[] yValues = new double[BATCH];
+    private double time;
+
+    @Setup
+    public void setup() {
+        actor = new StreamingChartActor(StreamingChartBenchmark.newScene(), "streaming-chart-benchmark");
+        actor.setWindow(window);
+        time = 1.5e12;
+        for (int i = 0; i < BATCH; i++) {
+            yValues[i] = Math.sin(i * 0.01);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public StreamingChartActor appendBatch() {
+        for (int i = 0; i < BATCH; i++) {
+            xValues[i] = time;
+            time += 1.0;
+        }
+        return actor.append(xValues, yValues, 0, BATCH);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public StreamingChartActor appendSingle() {
+        for (int i = 0; i < BATCH; i++) {
+            actor.append(time, yValues[i]);
+            time += 1.0;
+        }
+        return actor;
+    }
+
+    private static SceneExt newScene() {
+        final Object[] holder = new Object[3];
+        final InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getExtended":
+                    return holder[0];
+                case "getSceneMetrics":
+                    return holder[1];
+                case "getSceneBuilder":
+                    return holder[2];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "BenchmarkScene";
+                default:
+                    final Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return Boolean.FALSE;
+                    }
+                    return type == int.class ? Integer.valueOf(0) : null;
+            }
+        };
+        final SceneExt scene = (SceneExt) Proxy.newProxyInstance(SceneExt.class.getClassLoader(), new Class<?>[]{SceneExt.class}, handler);
+        holder[0] = scene;
+        holder[1] = Proxy.newProxyInstance(SceneMetrics.class.getClassLoader(), new Class<?>[]{SceneMetrics.class}, handler);
+        // the scene builder defaults are all false or null
+        holder[2] = Proxy.newProxyInstance(SceneBuilder.class.getClassLoader(), new Class<?>[]{SceneBuilder.class}, handler);
+        return scene;
+    }
+}
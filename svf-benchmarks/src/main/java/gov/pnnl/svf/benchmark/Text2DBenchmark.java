@@ -0,0 +1,44 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.core.geometry.TextAlign;
+import gov.pnnl.svf.geometry.Text2D;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for text shape construction which measures the text using font
+ * metrics.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class Text2DBenchmark {
+
+    private static final String LABEL = "Sci-Vis Framework";
+    private static final String PARAGRAPH = "The quick brown fox jumps over the lazy dog.\n"
+                                            + "Pack my box with five dozen liquor jugs.\n"
+                                            + "How vexingly quick daft zebras jump!";
+
+    @Benchmark
+    public Text2D label() {
+        return new Text2D(LABEL);
+    }
+
+    @Benchmark
+    public Text2D paragraph() {
+        return new Text2D(0.0, 0.0, Text2D.DEFAULT_FONT, TextAlign.LEFT, PARAGRAPH);
+    }
+}
@@ -0,0 +1,88 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.core.color.Color;
+import gov.pnnl.svf.core.geometry.Border;
+import gov.pnnl.svf.geometry.Arc2D;
+import gov.pnnl.svf.geometry.Circle2D;
+import gov.pnnl.svf.geometry.Rectangle2D;
+import gov.pnnl.svf.geometry.RoundedRectangle2D;
+import gov.pnnl.svf.util.VboBorder2DUtil;
+import gov.pnnl.svf.util.VboShape2DUtil;
+import gov.pnnl.svf.util.VboUtil;
+import gov.pnnl.svf.vbo.VertexBufferObject;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.collections.primitives.ArrayDoubleList;
+import org.apache.commons.collections.primitives.DoubleList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for generating the vertex data of shapes. The vertex buffer
+ * objects are only built in memory and are never uploaded to the GPU.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class VboUtilBenchmark {
+
+    private static final Circle2D CIRCLE = new Circle2D(1.0);
+    private static final Arc2D ARC = new Arc2D(45.0, 1.0, 90.0, 0.5);
+    private static final Rectangle2D RECTANGLE = new Rectangle2D(0.0, 0.0, 2.0, 1.0);
+    private static final RoundedRectangle2D ROUNDED_RECTANGLE = new RoundedRectangle2D(2.0, 1.0, 0.2);
+    @Param({"16", "128"})
+    private int slices;
+    private final DoubleList output = new ArrayDoubleList(1024);
+
+    @Benchmark
+    public DoubleList addCircle() {
+        output.clear();
+        VboUtil.addCircle(output, 0.0, 0.0, 1.0, slices);
+        return output;
+    }
+
+    @Benchmark
+    public DoubleList addArc() {
+        output.clear();
+        VboUtil.addArc(output, 0.0, 0.0, 0.5, 1.0, 0.0, 270.0, slices);
+        return output;
+    }
+
+    @Benchmark
+    public VertexBufferObject circleShape() {
+        return VboShape2DUtil.createShape(CIRCLE, slices, Color.WHITE, true);
+    }
+
+    @Benchmark
+    public VertexBufferObject arcShape() {
+        return VboShape2DUtil.createShape(ARC, slices, Color.WHITE, true);
+    }
+
+    @Benchmark
+    public List<VertexBufferObject> roundedRectangleShape() {
+        return VboShape2DUtil.createShape(ROUNDED_RECTANGLE, slices, Color.WHITE, true);
+    }
+
+    @Benchmark
+    public VertexBufferObject rectangleShape() {
+        return VboShape2DUtil.createShape(RECTANGLE, Color.WHITE, true);
+    }
+
+    @Benchmark
+    public List<VertexBufferObject> rectangleBorder() {
+        return VboBorder2DUtil.createBorder(RECTANGLE, Border.ALL, 0.1, Color.WHITE);
+    }
+}
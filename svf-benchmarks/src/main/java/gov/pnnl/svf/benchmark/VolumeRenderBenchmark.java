@@ -0,0 +1,136 @@
+package gov.pnnl.svf.benchmark;
+
+import gov.pnnl.svf.core.texture.TextureType;
+import gov.pnnl.svf.texture.VolumeOccupancyGrid;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for a CPU model of the sampling done by the volume renderers. A
+ * volume that holds a spherical shell is sampled along the rays of an
+ * orthographic front view. The slice model blends every slice into every
+ * pixel. The ray marching model skips empty cells of the occupancy grid and
+ * stops once a ray is opaque.
+ * <p>
+ * Nothing here runs on a GPU, so the results compare the number of samples
+ * each approach takes and aren't frame times for the gl renderers.
+ *
+ * @author Amelia Bleeker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-XX:MaxDirectMemorySize=512m"})
+@State(Scope.Thread)
+public class VolumeRenderBenchmark {
+
+    private static final int SIZE = 512;
+    private static final int CELL_SIZE = VolumeOccupancyGrid.DEFAULT_CELL_SIZE;
+    private static final double TERMINATION = 0.95;
+    private static final double OPACITY = 0.2;
+    // values at or below the cutoff are transparent
+    private static final int CUTOFF = 0;
+    @Param({"128"})
+    private int resolution;
+    private ByteBuffer volume;
+    private VolumeOccupancyGrid grid;
+
+    @Setup
+    public void setup() {
+        volume = ByteBuffer.allocateDirect(SIZE * SIZE * SIZE);
+        final double center = SIZE / 2.0;
+        for (int z = 0; z < SIZE; z++) {
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) {
+                    final double dx = x - center;
+                    final double dy = y - center;
+                    final double dz = z - center;
+                    final double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+                    if (distance > 180.0 && distance < 200.0) {
+                        volume.put((z * SIZE + y) * SIZE + x, (byte) 200);
+                    }
+                }
+            }
+        }
+        grid = new VolumeOccupancyGrid(volume, TextureType.ALPHA, SIZE, SIZE, SIZE, CELL_SIZE);
+    }
+
+    @Benchmark
+    public VolumeOccupancyGrid occupancyGrid() {
+        return new VolumeOccupancyGrid(volume, TextureType.ALPHA, SIZE, SIZE, SIZE, CELL_SIZE);
+    }
+
+    @Benchmark
+    public double slices() {
+        double sum = 0.0;
+        for (int py = 0; py < resolution; py++) {
+            for (int px = 0; px < resolution; px++) {
+                final int row = row(px, py);
+                double alpha = 0.0;
+                // every slice is blended from back to front
+                for (int z = SIZE - 1; z >= 0; z--) {
+                    final double a = sample(row, z);
+                    alpha = a + (1.0 - a) * alpha;
+                }
+                sum += alpha;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double rayMarch() {
+        return march(true);
+    }
+
+    @Benchmark
+    public double rayMarchWithoutSkipping() {
+        return march(false);
+    }
+
+    private double march(final boolean skipping) {
+        double sum = 0.0;
+        for (int py = 0; py < resolution; py++) {
+            for (int px = 0; px < resolution; px++) {
+                final int row = row(px, py);
+                final int x = row % SIZE;
+                final int y = row / SIZE;
+                double alpha = 0.0;
+                int z = 0;
+                while (z < SIZE && alpha < TERMINATION) {
+                    if (skipping && grid.getMaximum(x / CELL_SIZE, y / CELL_SIZE, z / CELL_SIZE) <= CUTOFF) {
+                        // jump to the next cell along the ray
+                        z = (z / CELL_SIZE + 1) * CELL_SIZE;
+                        continue;
+                    }
+                    alpha += (1.0 - alpha) * sample(row, z);
+                    z++;
+                }
+                sum += alpha;
+            }
+        }
+        return sum;
+    }
+
+    private int row(final int px, final int py) {
+        final int x = (int) ((px + 0.5) / resolution * SIZE);
+        final int y = (int) ((py + 0.5) / resolution * SIZE);
+        return y * SIZE + x;
+    }
+
+    private double sample(final int row, final int z) {
+        return (volume.get(z * SIZE * SIZE + row) & 0xff) / 255.0 * OPACITY;
+    }
+}
@@ -20,6 +20,7 @@ public class ColorGradient extends Color implements Serializable {
     private static final long serialVersionUID = 1L;
     private static final Comparator<ColorEntry> comparator = new ColorEntryComparator();
     private final SortedSet<ColorEntry> colors;
+    private transient volatile ColorGradientLookup lookup;
 
     /**
      * Constructor
@@ -38,6 +39,7 @@ public class ColorGradient extends Color implements Serializable {
             throw new NullPointerException("copy");
         }
         this.colors = copy.colors;
+        this.lookup = copy.lookup;
     }
 
     /**
@@ -251,6 +253,22 @@ public class ColorGradient extends Color implements Serializable {
         return new Color((float) r, (float) g, (float) b, (float) a);
     }
 
+    /**
+     * Get the lookup table with the default length for this gradient. The
+     * table is created the first time it's requested and should be used to
+     * color large arrays of values.
+     *
+     * @return the lookup table
+     */
+    public ColorGradientLookup getLookup() {
+        ColorGradientLookup lookup = this.lookup;
+        if (lookup == null) {
+            lookup = new ColorGradientLookup(this);
+            this.lookup = lookup;
+        }
+        return lookup;
+    }
+
     @Override
     public int hashCode() {
         int hash = 7;
@@ -0,0 +1,375 @@
+package gov.pnnl.svf.core.color;
+
+import java.nio.BufferOverflowException;
+import java.nio.FloatBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed lookup table for a color gradient used to color large arrays of
+ * values without creating a color for each value. Entry i of the table is the
+ * gradient color at i / (length - 1) with each component truncated to an
+ * unsigned byte, which matches the lookup textures created by
+ * ColorUtil.createLookupTexture for the same gradient and length.
+ * <p>
+ * Values are mapped to the nearest entry. Values less than 0.0 or NaN map to
+ * the first entry and values greater than 1.0 map to the last entry. Packed
+ * colors use the same (a|r|g|b) layout as Color.toInt.
+ *
+ * @author Amelia Bleeker
+ */
+public class ColorGradientLookup {
+
+    /**
+     * The default number of entries in the table.
+     */
+    public static final int DEFAULT_LENGTH = 1024;
+    /**
+     * Values are mapped in parallel once there are at least this many.
+     */
+    private static final int PARALLEL_THRESHOLD = 65536;
+    /**
+     * The number of values mapped by each parallel task.
+     */
+    private static final int PARALLEL_CHUNK = 16384;
+    private final ColorGradient gradient;
+    private final int[] colors;
+    private final float[] components;
+    private final double scale;
+
+    /**
+     * Constructor
+     *
+     * @param gradient the gradient
+     *
+     * @throws NullPointerException if gradient is null
+     */
+    public ColorGradientLookup(final ColorGradient gradient) {
+        this(gradient, DEFAULT_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param gradient the gradient
+     * @param length   the number of entries in the table
+     *
+     * @throws NullPointerException     if gradient is null
+     * @throws IllegalArgumentException if length is less than one
+     */
+    public ColorGradientLookup(final ColorGradient gradient, final int length) {
+        if (gradient == null) {
+            throw new NullPointerException("gradient");
+        }
+        if (length < 1) {
+            throw new IllegalArgumentException("length");
+        }
+        this.gradient = gradient;
+        colors = new int[length];
+        components = new float[length * 4];
+        scale = length - 1;
+        for (int i = 0; i < length; i++) {
+            final Color color = gradient.getColor(length > 1 ? (double) i / (double) (length - 1) : 0.0);
+            final int r = toUByte(color.getRed());
+            final int g = toUByte(color.getGreen());
+            final int b = toUByte(color.getBlue());
+            final int a = toUByte(color.getAlpha());
+            colors[i] = a << 24 | r << 16 | g << 8 | b;
+            components[i * 4] = r / 255.0f;
+            components[i * 4 + 1] = g / 255.0f;
+            components[i * 4 + 2] = b / 255.0f;
+            components[i * 4 + 3] = a / 255.0f;
+        }
+    }
+
+    /**
+     * @return the gradient for this table
+     */
+    public ColorGradient getGradient() {
+        return gradient;
+    }
+
+    /**
+     * @return the number of entries in the table
+     */
+    public int getLength() {
+        return colors.length;
+    }
+
+    /**
+     * @param index the index of the entry
+     *
+     * @return the color of the entry in the format (a|r|g|b)
+     *
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public int getEntry(final int index) {
+        return colors[index];
+    }
+
+    /**
+     * Get the index of the table entry for a value.
+     *
+     * @param value the relative location along the gradient
+     *
+     * @return the index of the nearest entry
+     */
+    public int getIndex(final double value) {
+        if (!(value > 0.0)) {
+            return 0;
+        }
+        if (value >= 1.0) {
+            return colors.length - 1;
+        }
+        return (int) (value * scale + 0.5);
+    }
+
+    /**
+     * Get the packed color of the table entry for a value.
+     *
+     * @param value the relative location along the gradient
+     *
+     * @return the color in the format (a|r|g|b)
+     */
+    public int getColor(final double value) {
+        return colors[getIndex(value)];
+    }
+
+    /**
+     * Map each value to a packed color.
+     *
+     * @param values the relative locations along the gradient
+     * @param colors the output colors in the format (a|r|g|b)
+     *
+     * @return the colors
+     *
+     * @throws NullPointerException     if values or colors is null
+     * @throws IllegalArgumentException if colors is shorter than values
+     */
+    public int[] map(final double[] values, final int[] colors) {
+        return map(values, colors, false);
+    }
+
+    /**
+     * Map each value to a packed color.
+     *
+     * @param values   the relative locations along the gradient
+     * @param colors   the output colors in the format (a|r|g|b)
+     * @param parallel true to split large arrays across the common pool
+     *
+     * @return the colors
+     *
+     * @throws NullPointerException     if values or colors is null
+     * @throws IllegalArgumentException if colors is shorter than values
+     */
+    public int[] map(final double[] values, final int[] colors, final boolean parallel) {
+        if (values == null) {
+            throw new NullPointerException("values");
+        }
+        if (colors == null) {
+            throw new NullPointerException("colors");
+        }
+        if (colors.length < values.length) {
+            throw new IllegalArgumentException("colors");
+        }
+        split(values.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                colors[i] = this.colors[getIndex(values[i])];
+            }
+        });
+        return colors;
+    }
+
+    /**
+     * Map each value to a packed color.
+     *
+     * @param values the relative locations along the gradient
+     * @param colors the output colors in the format (a|r|g|b)
+     *
+     * @return the colors
+     *
+     * @throws NullPointerException     if values or colors is null
+     * @throws IllegalArgumentException if colors is shorter than values
+     */
+    public int[] map(final float[] values, final int[] colors) {
+        return map(values, colors, false);
+    }
+
+    /**
+     * Map each value to a packed color.
+     *
+     * @param values   the relative locations along the gradient
+     * @param colors   the output colors in the format (a|r|g|b)
+     * @param parallel true to split large arrays across the common pool
+     *
+     * @return the colors
+     *
+     * @throws NullPointerException     if values or colors is null
+     * @throws IllegalArgumentException if colors is shorter than values
+     */
+    public int[] map(final float[] values, final int[] colors, final boolean parallel) {
+        if (values == null) {
+            throw new NullPointerException("values");
+        }
+        if (colors == null) {
+            throw new NullPointerException("colors");
+        }
+        if (colors.length < values.length) {
+            throw new IllegalArgumentException("colors");
+        }
+        split(values.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                colors[i] = this.colors[getIndex(values[i])];
+            }
+        });
+        return colors;
+    }
+
+    /**
+     * Map each value to the red, green, blue, and alpha components of a color.
+     * The components are written starting at the current position of the
+     * buffer and the position is advanced past them.
+     *
+     * @param values the relative locations along the gradient
+     * @param colors the output color components
+     *
+     * @return the colors
+     *
+     * @throws NullPointerException    if values or colors is null
+     * @throws BufferOverflowException if the buffer doesn't have enough space
+     *                                 remaining
+     * @throws ReadOnlyBufferException if the buffer is read only
+     */
+    public FloatBuffer map(final double[] values, final FloatBuffer colors) {
+        return map(values, colors, false);
+    }
+
+    /**
+     * Map each value to the red, green, blue, and alpha components of a color.
+     * The components are written starting at the current position of the
+     * buffer and the position is advanced past them.
+     *
+     * @param values   the relative locations along the gradient
+     * @param colors   the output color components
+     * @param parallel true to split large arrays across the common pool
+     *
+     * @return the colors
+     *
+     * @throws NullPointerException    if values or colors is null
+     * @throws BufferOverflowException if the buffer doesn't have enough space
+     *                                 remaining
+     * @throws ReadOnlyBufferException if the buffer is read only
+     */
+    public FloatBuffer map(final double[] values, final FloatBuffer colors, final boolean parallel) {
+        if (values == null) {
+            throw new NullPointerException("values");
+        }
+        final int position = reserve(colors, values.length);
+        split(values.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                put(colors, position + i * 4, getIndex(values[i]));
+            }
+        });
+        colors.position(position + values.length * 4);
+        return colors;
+    }
+
+    /**
+     * Map each value to the red, green, blue, and alpha components of a color.
+     * The components are written starting at the current position of the
+     * buffer and the position is advanced past them.
+     *
+     * @param values the relative locations along the gradient
+     * @param colors the output color components
+     *
+     * @return the colors
+     *
+     * @throws NullPointerException    if values or colors is null
+     * @throws BufferOverflowException if the buffer doesn't have enough space
+     *                                 remaining
+     * @throws ReadOnlyBufferException if the buffer is read only
+     */
+    public FloatBuffer map(final float[] values, final FloatBuffer colors) {
+        return map(values, colors, false);
+    }
+
+    /**
+     * Map each value to the red, green, blue, and alpha components of a color.
+     * The components are written starting at the current position of the
+     * buffer and the position is advanced past them.
+     *
+     * @param values   the relative locations along the gradient
+     * @param colors   the output color components
+     * @param parallel true to split large arrays across the common pool
+     *
+     * @return the colors
+     *
+     * @throws NullPointerException    if values or colors is null
+     * @throws BufferOverflowException if the buffer doesn't have enough space
+     *                                 remaining
+     * @throws ReadOnlyBufferException if the buffer is read only
+     */
+    public FloatBuffer map(final float[] values, final FloatBuffer colors, final boolean parallel) {
+        if (values == null) {
+            throw new NullPointerException("values");
+        }
+        final int position = reserve(colors, values.length);
+        split(values.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                put(colors, position + i * 4, getIndex(values[i]));
+            }
+        });
+        colors.position(position + values.length * 4);
+        return colors;
+    }
+
+    @Override
+    public String toString() {
+        return "ColorGradientLookup{" + "gradient=" + gradient + ", length=" + colors.length + '}';
+    }
+
+    private void put(final FloatBuffer colors, final int position, final int index) {
+        colors.put(position, components[index * 4]);
+        colors.put(position + 1, components[index * 4 + 1]);
+        colors.put(position + 2, components[index * 4 + 2]);
+        colors.put(position + 3, components[index * 4 + 3]);
+    }
+
+    private static int reserve(final FloatBuffer colors, final int length) {
+        if (colors == null) {
+            throw new NullPointerException("colors");
+        }
+        if (colors.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        if (colors.remaining() < length * 4) {
+            throw new BufferOverflowException();
+        }
+        return colors.position();
+    }
+
+    private static void split(final int length, final boolean parallel, final Range range) {
+        if (!parallel || length < PARALLEL_THRESHOLD) {
+            range.run(0, length);
+        } else {
+            final int chunks = (length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                final int from = chunk * PARALLEL_CHUNK;
+                range.run(from, Math.min(length, from + PARALLEL_CHUNK));
+            });
+        }
+    }
+
+    private static int toUByte(final float value) {
+        // same conversion used for lookup textures
+        return (int) (value * 255.0) & 0xff;
+    }
+
+    /**
+     * A range of values to map.
+     */
+    private interface Range {
+
+        void run(int from, int to);
+    }
+}
@@ -0,0 +1,450 @@
+package gov.pnnl.svf.core.geometry;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Rectangle packer that uses the maximal rectangles algorithm with a best area
+ * fit. The free space is kept as a list of the largest empty rectangles and a
+ * rectangle is placed in the free rectangle that leaves the least area unused,
+ * with ties going to the one that leaves the shortest side unused. This packer
+ * wastes much less space than the simple packer when rectangles vary in size.
+ * <p>
+ * Packed rectangles can be removed and their space reused. When a rectangle
+ * doesn't fit the packing area can grow by doubling its smaller dimension, up
+ * to a maximum size, and the rectangles that were already packed keep their
+ * location. Removing many rectangles can fragment the free space, which can be
+ * reclaimed by calling <code>repack</code>. Listeners are notified when the
+ * area grows or a rectangle is relocated. This packer is not thread safe.
+ *
+ * @author Amelia Bleeker
+ */
+public class MaxRectsRectanglePacker implements RectanglePacker {
+
+    private final int x;
+    private final int y;
+    private final int growthWidth;
+    private final int growthHeight;
+    private final List<Rectangle> free = new ArrayList<>();
+    private final Set<Rectangle> used = new HashSet<>();
+    private final List<RectanglePackerListener> listeners = new ArrayList<>();
+    private int width;
+    private int height;
+    private long usedArea = 0L;
+    private int actualWidth = 0;
+    private int actualHeight = 0;
+
+    /**
+     * Constructor
+     *
+     * @param width  the maximum width
+     * @param height the maximum height
+     */
+    public MaxRectsRectanglePacker(final int width, final int height) {
+        this(new Rectangle(width, height));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param area the maximum area
+     */
+    public MaxRectsRectanglePacker(final Rectangle area) {
+        this(area, Objects.requireNonNull(area, "area").width, area.height);
+    }
+
+    /**
+     * Constructor for a packing area that grows by doubling when a rectangle
+     * doesn't fit.
+     *
+     * @param area         the initial area
+     * @param growthWidth  the width the area can grow to
+     * @param growthHeight the height the area can grow to
+     *
+     * @throws NullPointerException     if area is null
+     * @throws IllegalArgumentException if the area is empty or the growth size
+     *                                  is smaller than the area
+     */
+    public MaxRectsRectanglePacker(final Rectangle area, final int growthWidth, final int growthHeight) {
+        Objects.requireNonNull(area, "area");
+        if (area.width < 1 || area.height < 1) {
+            throw new IllegalArgumentException("area");
+        }
+        if (growthWidth < area.width) {
+            throw new IllegalArgumentException("growthWidth");
+        }
+        if (growthHeight < area.height) {
+            throw new IllegalArgumentException("growthHeight");
+        }
+        this.x = area.x;
+        this.y = area.y;
+        this.width = area.width;
+        this.height = area.height;
+        this.growthWidth = growthWidth;
+        this.growthHeight = growthHeight;
+        free.add(new Rectangle(0, 0, width, height));
+    }
+
+    /**
+     * Add a listener to this packer.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(final RectanglePackerListener listener) {
+        listeners.remove(listener);
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener from this packer.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(final RectanglePackerListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public Point pack(final int width, final int height) {
+        if (width < 0) {
+            throw new IllegalArgumentException("width");
+        }
+        if (height < 0) {
+            throw new IllegalArgumentException("height");
+        }
+        // check to see if this pack uses any space
+        if (width == 0 || height == 0) {
+            return new Point(x, y);
+        }
+        Rectangle node = find(width, height);
+        while (node == null && grow(width, height)) {
+            node = find(width, height);
+        }
+        if (node == null) {
+            // won't fit
+            return null;
+        }
+        place(node);
+        return new Point(x + node.x, y + node.y);
+    }
+
+    /**
+     * Remove a packed rectangle so its space can be reused.
+     *
+     * @param rectangle the location and size of a packed rectangle
+     *
+     * @return true if the rectangle was removed
+     */
+    public boolean remove(final Rectangle rectangle) {
+        if (rectangle == null) {
+            return false;
+        }
+        final Rectangle node = new Rectangle(rectangle.x - x, rectangle.y - y, rectangle.width, rectangle.height);
+        if (!used.remove(node)) {
+            return false;
+        }
+        usedArea -= (long) node.width * node.height;
+        if (used.isEmpty()) {
+            free.clear();
+            free.add(new Rectangle(0, 0, width, height));
+            actualWidth = 0;
+            actualHeight = 0;
+            return true;
+        }
+        if (node.x + node.width == actualWidth || node.y + node.height == actualHeight) {
+            actualWidth = 0;
+            actualHeight = 0;
+            for (final Rectangle other : used) {
+                actualWidth = Math.max(actualWidth, other.x + other.width);
+                actualHeight = Math.max(actualHeight, other.y + other.height);
+            }
+        }
+        merge(node);
+        return true;
+    }
+
+    /**
+     * Remove all of the packed rectangles.
+     */
+    public void clear() {
+        used.clear();
+        free.clear();
+        free.add(new Rectangle(0, 0, width, height));
+        usedArea = 0L;
+        actualWidth = 0;
+        actualHeight = 0;
+    }
+
+    /**
+     * Pack all of the rectangles again from the largest to the smallest to
+     * reclaim free space that was fragmented by removals. The listeners are
+     * notified of every rectangle that moved. Nothing changes if the
+     * rectangles don't fit in the current area.
+     *
+     * @return true if the rectangles were packed again
+     */
+    public boolean repack() {
+        final List<Rectangle> nodes = new ArrayList<>(used);
+        Collections.sort(nodes, (final Rectangle o1, final Rectangle o2) -> {
+            int c = Integer.compare(Math.max(o2.width, o2.height), Math.max(o1.width, o1.height));
+            if (c == 0) {
+                c = Integer.compare(o2.width * o2.height, o1.width * o1.height);
+            }
+            // equal rectangles keep their order so fewer of them move
+            if (c == 0) {
+                c = Integer.compare(o1.y, o2.y);
+            }
+            return c != 0 ? c : Integer.compare(o1.x, o2.x);
+        });
+        final List<Rectangle> oldFree = new ArrayList<>(free);
+        final Set<Rectangle> oldUsed = new HashSet<>(used);
+        final int oldActualWidth = actualWidth;
+        final int oldActualHeight = actualHeight;
+        clear();
+        final List<Rectangle> placed = new ArrayList<>(nodes.size());
+        for (final Rectangle node : nodes) {
+            final Rectangle to = find(node.width, node.height);
+            if (to == null) {
+                // restore the previous packing
+                free.clear();
+                free.addAll(oldFree);
+                used.clear();
+                used.addAll(oldUsed);
+                usedArea = 0L;
+                for (final Rectangle other : used) {
+                    usedArea += (long) other.width * other.height;
+                }
+                actualWidth = oldActualWidth;
+                actualHeight = oldActualHeight;
+                return false;
+            }
+            place(to);
+            placed.add(to);
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            final Rectangle from = nodes.get(i);
+            final Rectangle to = placed.get(i);
+            if (from.x != to.x || from.y != to.y) {
+                final Rectangle oldLocation = new Rectangle(x + from.x, y + from.y, from.width, from.height);
+                final Point newLocation = new Point(x + to.x, y + to.y);
+                for (final RectanglePackerListener listener : new ArrayList<>(listeners)) {
+                    listener.rectangleRelocated(oldLocation, newLocation);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of packed rectangles
+     */
+    public int getCount() {
+        return used.size();
+    }
+
+    /**
+     * @return the total area of the packed rectangles
+     */
+    public long getUsedArea() {
+        return usedArea;
+    }
+
+    /**
+     * @return the fraction of the maximum area that's used by packed
+     *         rectangles from 0.0 to 1.0
+     */
+    public double getOccupancy() {
+        return (double) usedArea / ((double) width * height);
+    }
+
+    /**
+     * The maximum area grows when rectangles don't fit and the packer was
+     * created with a larger growth size.
+     *
+     * @return the maximum area
+     */
+    @Override
+    public Rectangle getMaximumArea() {
+        return new Rectangle(x, y, width, height);
+    }
+
+    /**
+     * @return the bounds of the packed rectangles starting at the origin of
+     *         the maximum area
+     */
+    @Override
+    public Rectangle getActualArea() {
+        return new Rectangle(x, y, actualWidth, actualHeight);
+    }
+
+    /**
+     * @return the largest free rectangle
+     */
+    @Override
+    public Rectangle getAvailableArea() {
+        Rectangle largest = null;
+        for (final Rectangle rectangle : free) {
+            if (largest == null || (long) rectangle.width * rectangle.height > (long) largest.width * largest.height) {
+                largest = rectangle;
+            }
+        }
+        return largest != null ? new Rectangle(x + largest.x, y + largest.y, largest.width, largest.height) : new Rectangle(x + width, y + height, 0, 0);
+    }
+
+    /**
+     * @return the largest growth size of the maximum area
+     */
+    public Rectangle getGrowthArea() {
+        return new Rectangle(x, y, growthWidth, growthHeight);
+    }
+
+    @Override
+    public String toString() {
+        return "MaxRectsRectanglePacker{" + "area=" + getMaximumArea() + ", count=" + used.size() + ", occupancy=" + getOccupancy() + '}';
+    }
+
+    private Rectangle find(final int width, final int height) {
+        Rectangle best = null;
+        long bestArea = Long.MAX_VALUE;
+        int bestSide = Integer.MAX_VALUE;
+        for (int i = 0; i < free.size(); i++) {
+            final Rectangle rectangle = free.get(i);
+            if (rectangle.width >= width && rectangle.height >= height) {
+                final long area = (long) rectangle.width * rectangle.height - (long) width * height;
+                final int side = Math.min(rectangle.width - width, rectangle.height - height);
+                if (area < bestArea || (area == bestArea && side < bestSide)) {
+                    best = rectangle;
+                    bestArea = area;
+                    bestSide = side;
+                }
+            }
+        }
+        return best != null ? new Rectangle(best.x, best.y, width, height) : null;
+    }
+
+    private void place(final Rectangle node) {
+        final List<Rectangle> split = new ArrayList<>();
+        final Iterator<Rectangle> it = free.iterator();
+        while (it.hasNext()) {
+            final Rectangle rectangle = it.next();
+            if (rectangle.intersects(node)) {
+                it.remove();
+                split(rectangle, node, split);
+            }
+        }
+        // the rectangles that weren't split are still maximal so only the new ones need pruning
+        for (int i = 0; i < split.size(); i++) {
+            final Rectangle rectangle = split.get(i);
+            boolean contained = false;
+            for (int j = 0; j < free.size() && !contained; j++) {
+                contained = free.get(j).contains(rectangle);
+            }
+            for (int j = 0; j < split.size() && !contained; j++) {
+                final Rectangle other = split.get(j);
+                // identical rectangles keep the first
+                contained = i != j && other.contains(rectangle) && (!other.equals(rectangle) || j < i);
+            }
+            if (!contained) {
+                free.add(rectangle);
+            }
+        }
+        used.add(node);
+        usedArea += (long) node.width * node.height;
+        actualWidth = Math.max(actualWidth, node.x + node.width);
+        actualHeight = Math.max(actualHeight, node.y + node.height);
+    }
+
+    private static void split(final Rectangle rectangle, final Rectangle node, final List<Rectangle> split) {
+        if (node.x > rectangle.x) {
+            split.add(new Rectangle(rectangle.x, rectangle.y, node.x - rectangle.x, rectangle.height));
+        }
+        if (node.x + node.width < rectangle.x + rectangle.width) {
+            split.add(new Rectangle(node.x + node.width, rectangle.y, rectangle.x + rectangle.width - node.x - node.width, rectangle.height));
+        }
+        if (node.y > rectangle.y) {
+            split.add(new Rectangle(rectangle.x, rectangle.y, rectangle.width, node.y - rectangle.y));
+        }
+        if (node.y + node.height < rectangle.y + rectangle.height) {
+            split.add(new Rectangle(rectangle.x, node.y + node.height, rectangle.width, rectangle.y + rectangle.height - node.y - node.height));
+        }
+    }
+
+    private void merge(final Rectangle rectangle) {
+        // join the free rectangle with the ones that share a whole edge until none are left
+        Rectangle merged = rectangle;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            final Iterator<Rectangle> it = free.iterator();
+            while (it.hasNext()) {
+                final Rectangle other = it.next();
+                if (other.contains(merged)) {
+                    return;
+                } else if (merged.contains(other)) {
+                    it.remove();
+                } else if ((merged.x == other.x && merged.width == other.width && (merged.y + merged.height == other.y || other.y + other.height == merged.y))
+                           || (merged.y == other.y && merged.height == other.height && (merged.x + merged.width == other.x || other.x + other.width == merged.x))) {
+                    merged = merged.union(other);
+                    it.remove();
+                    changed = true;
+                }
+            }
+        }
+        free.add(merged);
+    }
+
+    private boolean grow(final int width, final int height) {
+        if (this.width >= growthWidth && this.height >= growthHeight) {
+            return false;
+        }
+        final Rectangle oldArea = getMaximumArea();
+        final int oldWidth = this.width;
+        final int oldHeight = this.height;
+        // grow the side the rectangle doesn't fit otherwise double the smaller side
+        final boolean wider;
+        if (this.height >= growthHeight) {
+            wider = true;
+        } else if (this.width >= growthWidth) {
+            wider = false;
+        } else if (width > this.width) {
+            wider = true;
+        } else if (height > this.height) {
+            wider = false;
+        } else {
+            wider = this.width <= this.height;
+        }
+        final List<Rectangle> added = new ArrayList<>();
+        if (wider) {
+            this.width = Math.min(growthWidth, oldWidth * 2);
+            added.add(new Rectangle(oldWidth, 0, this.width - oldWidth, oldHeight));
+            for (final Rectangle rectangle : free) {
+                if (rectangle.x + rectangle.width == oldWidth) {
+                    added.add(new Rectangle(rectangle.x, rectangle.y, this.width - rectangle.x, rectangle.height));
+                }
+            }
+        } else {
+            this.height = Math.min(growthHeight, oldHeight * 2);
+            added.add(new Rectangle(0, oldHeight, oldWidth, this.height - oldHeight));
+            for (final Rectangle rectangle : free) {
+                if (rectangle.y + rectangle.height == oldHeight) {
+                    added.add(new Rectangle(rectangle.x, rectangle.y, rectangle.width, this.height - rectangle.y));
+                }
+            }
+        }
+        for (final Rectangle rectangle : added) {
+            merge(rectangle);
+        }
+        final Rectangle newArea = getMaximumArea();
+        for (final RectanglePackerListener listener : new ArrayList<>(listeners)) {
+            listener.areaGrown(oldArea, newArea);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package gov.pnnl.svf.core.geometry;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+/**
+ * Listener for changes to the packing area or packed rectangles of a
+ * rectangle packer.
+ *
+ * @author Amelia Bleeker
+ */
+public interface RectanglePackerListener {
+
+    /**
+     * Called when the packing area grows. Rectangles that were already packed
+     * keep their location, so the contents of the old area can be copied to
+     * the same location in the new area.
+     *
+     * @param oldArea the previous maximum area
+     * @param newArea the new maximum area
+     */
+    void areaGrown(Rectangle oldArea, Rectangle newArea);
+
+    /**
+     * Called when a packed rectangle is moved to a new location.
+     *
+     * @param oldLocation the previous location and size of the rectangle
+     * @param newLocation the new location of the rectangle
+     */
+    void rectangleRelocated(Rectangle oldLocation, Point newLocation);
+}
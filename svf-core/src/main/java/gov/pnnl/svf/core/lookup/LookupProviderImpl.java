@@ -1,9 +1,12 @@
 package gov.pnnl.svf.core.lookup;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -122,6 +125,56 @@ public class LookupProviderImpl implements LookupProvider {
         }
     }
 
+    /**
+     * Add a collection of objects under one lock.
+     *
+     * @param objects the objects to add
+     * @param types   the lookup types for the class of each object
+     */
+    void addAllTypes(final Collection<?> objects, final Map<Class<?>, Set<Class<?>>> types) {
+        synchronized (map) {
+            for (final Object object : objects) {
+                for (final Class<?> type : types.get(object.getClass())) {
+                    map.put(type, object);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove a collection of objects with one pass through the lookup.
+     *
+     * @param objects the objects to remove
+     */
+    void removeAllTypes(final Collection<?> objects) {
+        final Set<Object> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(objects);
+        synchronized (map) {
+            map.values().removeIf(set::contains);
+        }
+    }
+
+    /**
+     * @param type the class of an object
+     *
+     * @return the class, interfaces, and super classes an object of this class
+     *         is added to the lookup as
+     */
+    static Set<Class<?>> getTypes(final Class<?> type) {
+        final Set<Class<?>> types = new LinkedHashSet<>();
+        getTypes(type, types);
+        return types;
+    }
+
+    private static void getTypes(final Class<?> type, final Set<Class<?>> types) {
+        if (type != null && types.add(type)) {
+            for (final Class<?> itype : type.getInterfaces()) {
+                getTypes(itype, types);
+            }
+            getTypes(type.getSuperclass(), types);
+        }
+    }
+
     private <T extends Object> void addSuperclass(final Class<? extends T> type, final Object object) {
         if (type != null) {
             synchronized (map) {
@@ -92,12 +92,26 @@ public class MultiLookupProviderImpl extends LookupProviderImpl implements Multi
         if (objects.iterator().next() instanceof Class<?>) {
             throw new IllegalArgumentException("object");
         }
-        // iterate through the collection and add them to the lookup
+        // only walk each class hierarchy once
+        final Map<Class<?>, Set<Class<?>>> types = new HashMap<>();
         for (final T object : objects) {
-            // add to the single object lookup
-            super.add(object);
-            // add to the multi object lookup
-            addSuperclass(object.getClass(), object);
+            if (object == null) {
+                throw new NullPointerException("object");
+            }
+            if (object instanceof Class<?>) {
+                throw new IllegalArgumentException("object");
+            }
+            types.computeIfAbsent(object.getClass(), LookupProviderImpl::getTypes);
+        }
+        // add to the single object lookup
+        addAllTypes(objects, types);
+        // add to the multi object lookup under one lock
+        synchronized (map) {
+            for (final T object : objects) {
+                for (final Class<?> type : types.get(object.getClass())) {
+                    addObjectToList(type, object);
+                }
+            }
         }
     }
 
@@ -189,18 +203,21 @@ public class MultiLookupProviderImpl extends LookupProviderImpl implements Multi
             throw new IllegalArgumentException("object");
         }
         boolean removed = false;
-        for (final T object : objects) {
-            // remove from the single object lookup
-            super.remove(object);
-            // remove from the multi object lookup
-            synchronized (map) {
-                final Iterator<Entry<Class<?>, Set<? extends Object>>> iterator = map.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    final Entry<Class<?>, Set<? extends Object>> entry = iterator.next();
-                    if (entry.getValue().size() == 1 && entry.getValue().contains(object)) {
-                        iterator.remove();
+        // remove from the single object lookup
+        removeAllTypes(objects);
+        // remove from the multi object lookup under one lock and only visit the types of each object
+        final Map<Class<?>, Set<Class<?>>> types = new HashMap<>();
+        synchronized (map) {
+            for (final T object : objects) {
+                for (final Class<?> type : types.computeIfAbsent(object.getClass(), LookupProviderImpl::getTypes)) {
+                    final Set<? extends Object> list = map.get(type);
+                    if (list == null) {
+                        continue;
+                    }
+                    if (list.size() == 1 && list.contains(object)) {
+                        map.remove(type);
                         removed = true;
-                    } else if (entry.getValue().remove(object)) {
+                    } else if (list.remove(object)) {
                         removed = true;
                     }
                 }
@@ -231,25 +248,17 @@ public class MultiLookupProviderImpl extends LookupProviderImpl implements Multi
     }
 
     @SuppressWarnings("unchecked")
-    private <T extends Object> void addObjectToList(final Class<? extends T> type, final T object) {
-        final Set<T> list;
+    private void addObjectToList(final Class<?> type, final Object object) {
         synchronized (map) {
-            list = (Set<T>) map.get(type);
-        }
-        if (list == null) {
-            final Set<T> temp = Collections.singleton(object);
-            synchronized (map) {
-                map.put(type, temp);
-            }
-        } else if (list.size() == 1) {
-            final Set<T> temp = new HashSet<>();
-            synchronized (map) {
+            final Set<Object> list = (Set<Object>) map.get(type);
+            if (list == null) {
+                map.put(type, Collections.singleton(object));
+            } else if (list.size() == 1) {
+                final Set<Object> temp = new HashSet<>();
                 temp.addAll(list);
                 temp.add(object);
                 map.put(type, temp);
-            }
-        } else {
-            synchronized (map) {
+            } else {
                 list.add(object);
             }
         }
@@ -2,6 +2,7 @@ package gov.pnnl.svf.core.util;
 
 import gov.pnnl.svf.core.color.Color;
 import gov.pnnl.svf.core.color.ColorGradient;
+import gov.pnnl.svf.core.color.ColorGradientLookup;
 import gov.pnnl.svf.core.color.ColorPalette;
 import gov.pnnl.svf.core.texture.TextureType;
 import java.nio.ByteBuffer;
@@ -120,23 +121,24 @@ public class ColorUtil {
                 logger.log(Level.WARNING, "Unknown enum type {0}", type);
                 return null;
         }
-        // this isn't the fastest way to do this...
+        // use the same table that is used to color arrays of values
+        final ColorGradientLookup lookup = length == ColorGradientLookup.DEFAULT_LENGTH ? gradient.getLookup() : new ColorGradientLookup(gradient, length);
         for (int i = 0; i < length; i++) {
-            final Color color = gradient.getColor((double) i / (double) (length - 1));
+            final int color = lookup.getEntry(i);
             switch (type) {
                 case ALPHA:
-                    buffer.put(ColorUtil.convertToUByte(color.getAlpha()));
+                    buffer.put((byte) (color >> 24));
                     break;
                 case RGB:
-                    buffer.put(ColorUtil.convertToUByte(color.getRed()));
-                    buffer.put(ColorUtil.convertToUByte(color.getGreen()));
-                    buffer.put(ColorUtil.convertToUByte(color.getBlue()));
+                    buffer.put((byte) (color >> 16));
+                    buffer.put((byte) (color >> 8));
+                    buffer.put((byte) color);
                     break;
                 case RGBA:
-                    buffer.put(ColorUtil.convertToUByte(color.getRed()));
-                    buffer.put(ColorUtil.convertToUByte(color.getGreen()));
-                    buffer.put(ColorUtil.convertToUByte(color.getBlue()));
-                    buffer.put(ColorUtil.convertToUByte(color.getAlpha()));
+                    buffer.put((byte) (color >> 16));
+                    buffer.put((byte) (color >> 8));
+                    buffer.put((byte) color);
+                    buffer.put((byte) (color >> 24));
                     break;
             }
         }
@@ -324,11 +326,6 @@ public class ColorUtil {
         return random.nextFloat() * (max - min) + min;
     }
 
-    private static byte convertToUByte(final double value) {
-        final int temp = (int) (value * 255.0);
-        return (byte) temp;
-    }
-
     private static float[] colorToHsb(final Color color) {
         return java.awt.Color.RGBtoHSB((int) (color.getRed() * 255.0f), (int) (color.getGreen() * 255.0f), (int) (color.getBlue() * 255.0f), null);
     }
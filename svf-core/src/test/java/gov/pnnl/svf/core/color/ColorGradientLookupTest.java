@@ -0,0 +1,127 @@
+package gov.pnnl.svf.core.color;
+
+import gov.pnnl.svf.core.texture.TextureType;
+import gov.pnnl.svf.core.util.ColorUtil;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class ColorGradientLookupTest {
+
+    private final Random random = new Random(1L);
+    private final ColorGradient gradient = ColorGradient.Builder.construct()
+            .color(0.0, Color.BLUE)
+            .color(0.3, new Color(0.2f, 0.8f, 0.4f, 0.5f))
+            .color(1.0, Color.RED)
+            .build();
+
+    public ColorGradientLookupTest() {
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructorExc1() {
+        Assert.assertNotNull(new ColorGradientLookup(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorExc2() {
+        Assert.assertNotNull(new ColorGradientLookup(gradient, 0));
+    }
+
+    /**
+     * Test of getEntry method, of class ColorGradientLookup.
+     */
+    @Test
+    public void testGetEntry() {
+        final int length = 256;
+        final ColorGradientLookup lookup = new ColorGradientLookup(gradient, length);
+        final ByteBuffer texture = ColorUtil.createLookupTexture(gradient, TextureType.RGBA, length);
+        texture.flip();
+        for (int i = 0; i < length; i++) {
+            final int color = lookup.getEntry(i);
+            // matches the lookup texture
+            Assert.assertEquals(texture.get(), (byte) (color >> 16));
+            Assert.assertEquals(texture.get(), (byte) (color >> 8));
+            Assert.assertEquals(texture.get(), (byte) color);
+            Assert.assertEquals(texture.get(), (byte) (color >> 24));
+            // within a rounding step of the gradient
+            final Color expected = gradient.getColor((double) i / (length - 1));
+            final Color actual = Color.fromInt(color);
+            Assert.assertEquals(expected.getRed(), actual.getRed(), 1.0f / 255.0f);
+            Assert.assertEquals(expected.getGreen(), actual.getGreen(), 1.0f / 255.0f);
+            Assert.assertEquals(expected.getBlue(), actual.getBlue(), 1.0f / 255.0f);
+            Assert.assertEquals(expected.getAlpha(), actual.getAlpha(), 1.0f / 255.0f);
+        }
+        Assert.assertSame(gradient.getLookup(), gradient.getLookup());
+        Assert.assertEquals(ColorGradientLookup.DEFAULT_LENGTH, gradient.getLookup().getLength());
+    }
+
+    /**
+     * Test of getIndex method, of class ColorGradientLookup.
+     */
+    @Test
+    public void testGetIndex() {
+        final ColorGradientLookup lookup = new ColorGradientLookup(gradient, 11);
+        Assert.assertEquals(0, lookup.getIndex(0.0));
+        Assert.assertEquals(0, lookup.getIndex(-1.0));
+        Assert.assertEquals(0, lookup.getIndex(Double.NaN));
+        Assert.assertEquals(10, lookup.getIndex(1.0));
+        Assert.assertEquals(10, lookup.getIndex(2.0));
+        Assert.assertEquals(3, lookup.getIndex(0.26));
+        Assert.assertEquals(2, lookup.getIndex(0.24));
+        Assert.assertEquals(0, new ColorGradientLookup(gradient, 1).getIndex(0.7));
+    }
+
+    /**
+     * Test of map method, of class ColorGradientLookup.
+     */
+    @Test
+    public void testMap() {
+        final ColorGradientLookup lookup = gradient.getLookup();
+        final int size = 100000;
+        final double[] doubles = new double[size];
+        final float[] floats = new float[size];
+        for (int i = 0; i < size; i++) {
+            doubles[i] = random.nextDouble();
+            floats[i] = (float) doubles[i];
+        }
+        final int[] colors = lookup.map(doubles, new int[size]);
+        final int[] floatColors = lookup.map(floats, new int[size]);
+        for (int i = 0; i < size; i++) {
+            Assert.assertEquals(lookup.getColor(doubles[i]), colors[i]);
+            Assert.assertEquals(lookup.getColor(floats[i]), floatColors[i]);
+        }
+        // parallel mapping gives the same result
+        Assert.assertArrayEquals(colors, lookup.map(doubles, new int[size], true));
+        Assert.assertArrayEquals(floatColors, lookup.map(floats, new int[size], true));
+        // float buffers are written from the current position
+        final FloatBuffer buffer = FloatBuffer.allocate(size * 4 + 1);
+        buffer.put(-1.0f);
+        lookup.map(doubles, buffer, true);
+        Assert.assertEquals(size * 4 + 1, buffer.position());
+        for (int i = 0; i < size; i++) {
+            final Color color = Color.fromInt(colors[i]);
+            Assert.assertEquals(color.getRed(), buffer.get(i * 4 + 1), 0.0f);
+            Assert.assertEquals(color.getGreen(), buffer.get(i * 4 + 2), 0.0f);
+            Assert.assertEquals(color.getBlue(), buffer.get(i * 4 + 3), 0.0f);
+            Assert.assertEquals(color.getAlpha(), buffer.get(i * 4 + 4), 0.0f);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMapExc1() {
+        gradient.getLookup().map(new double[2], new int[1]);
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void testMapExc2() {
+        gradient.getLookup().map(new float[2], FloatBuffer.allocate(7));
+    }
+}
@@ -0,0 +1,213 @@
+package gov.pnnl.svf.core.geometry;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Amelia Bleeker
+ */
+public class MaxRectsRectanglePackerTest {
+
+    public MaxRectsRectanglePackerTest() {
+    }
+
+    /**
+     * Test of pack method, of class MaxRectsRectanglePacker.
+     */
+    @Test
+    public void testPack() {
+        final MaxRectsRectanglePacker packer = new MaxRectsRectanglePacker(30, 20);
+        Assert.assertEquals(new Point(0, 0), packer.pack(20, 20));
+        Assert.assertEquals(new Point(20, 0), packer.pack(10, 5));
+        // best area fit fills the remaining column
+        Assert.assertEquals(new Point(20, 5), packer.pack(10, 15));
+        Assert.assertEquals(1.0, packer.getOccupancy(), 0.0);
+        Assert.assertEquals(new Rectangle(0, 0, 30, 20), packer.getActualArea());
+        Assert.assertNull(packer.pack(1, 1));
+        Assert.assertEquals(new Point(0, 0), packer.pack(0, 5));
+        Assert.assertEquals(3, packer.getCount());
+    }
+
+    /**
+     * Test of remove method, of class MaxRectsRectanglePacker.
+     */
+    @Test
+    public void testRemove() {
+        final MaxRectsRectanglePacker packer = new MaxRectsRectanglePacker(new Rectangle(5, 5, 20, 10));
+        final Point a = packer.pack(10, 10);
+        final Point b = packer.pack(10, 10);
+        Assert.assertEquals(new Point(5, 5), a);
+        Assert.assertEquals(new Point(15, 5), b);
+        Assert.assertNull(packer.pack(10, 10));
+        Assert.assertFalse(packer.remove(new Rectangle(a.x, a.y, 5, 5)));
+        Assert.assertTrue(packer.remove(new Rectangle(a.x, a.y, 10, 10)));
+        Assert.assertEquals(0.5, packer.getOccupancy(), 0.0);
+        Assert.assertEquals(new Rectangle(5, 5, 20, 10), packer.getActualArea());
+        // the space is reused
+        Assert.assertEquals(new Point(5, 5), packer.pack(5, 10));
+        Assert.assertEquals(new Point(10, 5), packer.pack(5, 10));
+        Assert.assertTrue(packer.remove(new Rectangle(b.x, b.y, 10, 10)));
+        Assert.assertEquals(new Rectangle(5, 5, 10, 10), packer.getActualArea());
+        Assert.assertEquals(new Rectangle(15, 5, 10, 10), packer.getAvailableArea());
+    }
+
+    /**
+     * Test of removing rectangles and packing them again, of class
+     * MaxRectsRectanglePacker.
+     */
+    @Test
+    public void testRemoveReinsert() {
+        final Random random = new Random(5L);
+        final MaxRectsRectanglePacker packer = new MaxRectsRectanglePacker(128, 128);
+        final List<Rectangle> packed = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final int w = 4 + random.nextInt(12);
+            final int h = 8 + random.nextInt(8);
+            final Point point = packer.pack(w, h);
+            if (point != null) {
+                packed.add(new Rectangle(point.x, point.y, w, h));
+            }
+        }
+        final long used = packer.getUsedArea();
+        for (int i = 0; i < packed.size(); i += 2) {
+            final Rectangle rectangle = packed.get(i);
+            // rectangles aren't rotated so a swapped size isn't the packed rectangle
+            if (rectangle.width != rectangle.height) {
+                Assert.assertFalse(packer.remove(new Rectangle(rectangle.x, rectangle.y, rectangle.height, rectangle.width)));
+            }
+            Assert.assertTrue(packer.remove(rectangle));
+            Assert.assertFalse(packer.remove(rectangle));
+            // the hole fits the same rectangle again
+            final Point point = packer.pack(rectangle.width, rectangle.height);
+            Assert.assertNotNull(point);
+            packed.set(i, new Rectangle(point.x, point.y, rectangle.width, rectangle.height));
+        }
+        Assert.assertEquals(used, packer.getUsedArea());
+        Assert.assertEquals(packed.size(), packer.getCount());
+        for (int i = 0; i < packed.size(); i++) {
+            final Rectangle a = packed.get(i);
+            Assert.assertTrue(packer.getMaximumArea().contains(a));
+            for (int j = i + 1; j < packed.size(); j++) {
+                Assert.assertFalse(a.intersects(packed.get(j)));
+            }
+        }
+        // and each one can be removed again by its new location and size
+        for (final Rectangle rectangle : packed) {
+            Assert.assertTrue(packer.remove(rectangle));
+        }
+        Assert.assertEquals(0, packer.getCount());
+        Assert.assertEquals(new Rectangle(0, 0, 128, 128), packer.getAvailableArea());
+    }
+
+    /**
+     * Test of growing the area, of class MaxRectsRectanglePacker.
+     */
+    @Test
+    public void testGrow() {
+        final MaxRectsRectanglePacker packer = new MaxRectsRectanglePacker(new Rectangle(0, 0, 16, 16), 64, 32);
+        final List<Rectangle> grown = new ArrayList<>();
+        packer.addListener(new RectanglePackerListener() {
+            @Override
+            public void areaGrown(final Rectangle oldArea, final Rectangle newArea) {
+                grown.add(newArea);
+            }
+
+            @Override
+            public void rectangleRelocated(final Rectangle oldLocation, final Point newLocation) {
+                Assert.fail();
+            }
+        });
+        Assert.assertEquals(new Point(0, 0), packer.pack(16, 16));
+        Assert.assertEquals(new Point(16, 0), packer.pack(16, 16));
+        Assert.assertEquals(1, grown.size());
+        Assert.assertEquals(new Rectangle(0, 0, 32, 16), packer.getMaximumArea());
+        Assert.assertEquals(new Point(0, 16), packer.pack(30, 16));
+        Assert.assertEquals(new Rectangle(0, 0, 32, 32), packer.getMaximumArea());
+        // only the width can grow
+        Assert.assertEquals(new Point(32, 0), packer.pack(32, 32));
+        Assert.assertEquals(new Rectangle(0, 0, 64, 32), packer.getMaximumArea());
+        Assert.assertEquals(3, grown.size());
+        Assert.assertNull(packer.pack(8, 8));
+        Assert.assertNull(packer.pack(100, 1));
+    }
+
+    /**
+     * Test of repack method, of class MaxRectsRectanglePacker.
+     */
+    @Test
+    public void testRepack() {
+        final MaxRectsRectanglePacker packer = new MaxRectsRectanglePacker(20, 10);
+        packer.pack(5, 10);
+        final Point b = packer.pack(10, 10);
+        Assert.assertEquals(new Point(5, 0), b);
+        packer.pack(5, 10);
+        Assert.assertTrue(packer.remove(new Rectangle(b.x, b.y, 10, 10)));
+        final List<Point> moved = new ArrayList<>();
+        packer.addListener(new RectanglePackerListener() {
+            @Override
+            public void areaGrown(final Rectangle oldArea, final Rectangle newArea) {
+                Assert.fail();
+            }
+
+            @Override
+            public void rectangleRelocated(final Rectangle oldLocation, final Point newLocation) {
+                moved.add(newLocation);
+            }
+        });
+        Assert.assertTrue(packer.repack());
+        Assert.assertEquals(1, moved.size());
+        Assert.assertEquals(new Point(5, 0), moved.get(0));
+        Assert.assertEquals(new Rectangle(10, 0, 10, 10), packer.getAvailableArea());
+    }
+
+    /**
+     * Test of packing and removing random rectangles, of class
+     * MaxRectsRectanglePacker.
+     */
+    @Test
+    public void testRandom() {
+        final Random random = new Random(3L);
+        final MaxRectsRectanglePacker packer = new MaxRectsRectanglePacker(new Rectangle(0, 0, 64, 64), 256, 256);
+        final List<Rectangle> packed = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            if (!packed.isEmpty() && random.nextInt(3) == 0) {
+                Assert.assertTrue(packer.remove(packed.remove(random.nextInt(packed.size()))));
+            } else {
+                final int w = 1 + random.nextInt(24);
+                final int h = 1 + random.nextInt(24);
+                final Point point = packer.pack(w, h);
+                if (point != null) {
+                    packed.add(new Rectangle(point.x, point.y, w, h));
+                }
+            }
+        }
+        final Rectangle area = packer.getMaximumArea();
+        long total = 0L;
+        for (int i = 0; i < packed.size(); i++) {
+            final Rectangle a = packed.get(i);
+            Assert.assertTrue(area.contains(a));
+            total += a.width * a.height;
+            for (int j = i + 1; j < packed.size(); j++) {
+                Assert.assertFalse(a.intersects(packed.get(j)));
+            }
+        }
+        Assert.assertEquals(packed.size(), packer.getCount());
+        Assert.assertEquals(total, packer.getUsedArea());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorExc1() {
+        Assert.assertNotNull(new MaxRectsRectanglePacker(new Rectangle(0, 0, 16, 16), 8, 16));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPackExc1() {
+        new MaxRectsRectanglePacker(16, 16).pack(-1, 1);
+    }
+}
@@ -151,7 +151,7 @@ public class DynamicDemoLoader implements DemoLoader {
         scene.add(physics);
         PhysicsSupport.newInstance(camera);
         final CollisionSupport collision = CollisionSupport.newInstance(camera);
-        collision.addCollisionType("scene");
+        collision.addCollisionType(CollisionSupport.SCENE_COLLISION_TYPE);
         // data
         final List<Point2D> data = new ArrayList<>(DATA_POINTS);
         final List<Point2D> color = new ArrayList<>(DATA_POINTS);
@@ -104,7 +104,7 @@ public class PickingDemoLoader implements DemoLoader {
         scene.add(physics);
         PhysicsSupport.newInstance(camera);
         final CollisionSupport collision = CollisionSupport.newInstance(camera);
-        collision.addCollisionType("scene");
+        collision.addCollisionType(CollisionSupport.SCENE_COLLISION_TYPE);
         // create a tooltip
         final BorderedShapeActor tooltip = PickingDemoLoader.tooltipLoad(scene);
         final TransformSupport tooltipTransform = tooltip.lookup(TransformSupport.class);
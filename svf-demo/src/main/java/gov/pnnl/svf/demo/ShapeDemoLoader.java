@@ -136,7 +136,7 @@ public class ShapeDemoLoader implements DemoLoader {
         scene.add(physics);
         PhysicsSupport.newInstance(camera);
         final CollisionSupport collision = CollisionSupport.newInstance(camera);
-        collision.addCollisionType("scene");
+        collision.addCollisionType(CollisionSupport.SCENE_COLLISION_TYPE);
         // shapes
         // zero column
         newBorderedActor(scene, new Rectangle2D(-3.0 * PADDING, 1.0 * PADDING, 0.5, 0.5));
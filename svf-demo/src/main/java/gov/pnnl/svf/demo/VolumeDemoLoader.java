@@ -120,7 +120,7 @@ public class VolumeDemoLoader implements DemoLoader {
         scene.add(physics);
         PhysicsSupport.newInstance(camera);
         final CollisionSupport collision = CollisionSupport.newInstance(camera);
-        collision.addCollisionType("scene");
+        collision.addCollisionType(CollisionSupport.SCENE_COLLISION_TYPE);
         // shapes
         // volume actor
         final ShapeActor volume = newVolumeActor(scene);
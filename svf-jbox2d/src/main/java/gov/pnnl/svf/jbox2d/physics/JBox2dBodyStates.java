@@ -0,0 +1,301 @@
+package gov.pnnl.svf.jbox2d.physics;
+
+import gov.pnnl.svf.support.TransformSupport;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.math.geometry.Vector3D;
+import org.jbox2d.dynamics.Body;
+
+/**
+ * Primitive buffers that hold the previous and current state of the bodies
+ * that are moved by physics. The state is captured after every update of the
+ * physics thread and published as a snapshot that is interpolated when it is
+ * applied to the transforms so that actors move smoothly regardless of the
+ * frame rate. Removing a body moves the last body into its slot so the slots
+ * are always packed.
+ * <p>
+ * Only bodies that are awake are captured. A body that falls asleep is
+ * published once more at rest and then skipped until it wakes up, as soon as
+ * the scene update thread has applied a snapshot that contains its resting
+ * state.
+ * <p>
+ * The bodies are only accessed on the physics thread. Snapshots are exchanged
+ * with the scene update thread through an atomic reference so neither thread
+ * waits on the other. A spare snapshot sits between the one being written and
+ * the one being applied so the physics thread never writes into a snapshot
+ * that is still in use.
+ *
+ * @author Amelia Bleeker
+ */
+class JBox2dBodyStates {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private final AtomicReference<Snapshot> published = new AtomicReference<>(new Snapshot());
+    private final AtomicLong applied = new AtomicLong(0L);
+    private volatile int synced = 0;
+    private volatile int skipped = 0;
+    // physics thread
+    private Body[] bodies = new Body[DEFAULT_CAPACITY];
+    private JBox2dPhysicsSupport[] supports = new JBox2dPhysicsSupport[DEFAULT_CAPACITY];
+    private TransformSupport[] transforms = new TransformSupport[DEFAULT_CAPACITY];
+    private float[] stagedX = new float[DEFAULT_CAPACITY];
+    private float[] stagedY = new float[DEFAULT_CAPACITY];
+    private float[] stagedAngle = new float[DEFAULT_CAPACITY];
+    private long[] settled = new long[DEFAULT_CAPACITY];
+    private Snapshot back = new Snapshot();
+    private long sequence = 0L;
+    private int size = 0;
+    // scene update thread
+    private Snapshot front = new Snapshot();
+
+    /**
+     * Constructor
+     */
+    JBox2dBodyStates() {
+    }
+
+    /**
+     * This should only be called on the physics thread.
+     *
+     * @return the number of bodies
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of awake bodies captured in the last snapshot
+     */
+    int getSyncedCount() {
+        return synced;
+    }
+
+    /**
+     * @return the number of sleeping bodies skipped in the last snapshot
+     */
+    int getSkippedCount() {
+        return skipped;
+    }
+
+    /**
+     * Add a body. The previous state is set to the current state of the body.
+     * This should only be called on the physics thread.
+     *
+     * @param support   the support object for the body
+     * @param transform the transform that the state is applied to
+     * @param body      the body
+     */
+    void add(final JBox2dPhysicsSupport support, final TransformSupport transform, final Body body) {
+        if (size == bodies.length) {
+            final int capacity = size * 2;
+            bodies = Arrays.copyOf(bodies, capacity);
+            supports = Arrays.copyOf(supports, capacity);
+            transforms = Arrays.copyOf(transforms, capacity);
+            stagedX = Arrays.copyOf(stagedX, capacity);
+            stagedY = Arrays.copyOf(stagedY, capacity);
+            stagedAngle = Arrays.copyOf(stagedAngle, capacity);
+            settled = Arrays.copyOf(settled, capacity);
+        }
+        final int slot = size++;
+        bodies[slot] = body;
+        supports[slot] = support;
+        transforms[slot] = transform;
+        stagedX[slot] = body.getPosition().x;
+        stagedY[slot] = body.getPosition().y;
+        stagedAngle[slot] = body.getAngle();
+        settled[slot] = 0L;
+        support.slot = slot;
+    }
+
+    /**
+     * Remove the body for a support object. This should only be called on the
+     * physics thread.
+     *
+     * @param support the support object for the body
+     */
+    void remove(final JBox2dPhysicsSupport support) {
+        final int slot = support.slot;
+        if (slot < 0 || slot >= size || supports[slot] != support) {
+            return;
+        }
+        final int last = --size;
+        if (slot != last) {
+            bodies[slot] = bodies[last];
+            supports[slot] = supports[last];
+            transforms[slot] = transforms[last];
+            stagedX[slot] = stagedX[last];
+            stagedY[slot] = stagedY[last];
+            stagedAngle[slot] = stagedAngle[last];
+            settled[slot] = settled[last];
+            supports[slot].slot = slot;
+        }
+        bodies[last] = null;
+        supports[last] = null;
+        transforms[last] = null;
+        support.slot = -1;
+    }
+
+    /**
+     * Capture the state of the bodies before the last step of an update. The
+     * state is staged so that it doesn't become visible until it is published.
+     * Sleeping bodies were staged at rest when they were published. This
+     * should only be called on the physics thread.
+     */
+    void stagePrevious() {
+        for (int i = 0; i < size; i++) {
+            final Body body = bodies[i];
+            if (!body.isAwake()) {
+                continue;
+            }
+            stagedX[i] = body.getPosition().x;
+            stagedY[i] = body.getPosition().y;
+            stagedAngle[i] = body.getAngle();
+        }
+    }
+
+    /**
+     * Publish a snapshot of the staged previous state and the current state of
+     * the awake bodies after the last step of an update. This should only be
+     * called on the physics thread.
+     *
+     * @param time the time from System.nanoTime() of the last step
+     */
+    void publish(final long time) {
+        final Snapshot snapshot = back;
+        final int previousSize = snapshot.size;
+        final long next = sequence + 1L;
+        final long acknowledged = applied.get();
+        snapshot.ensureCapacity(size);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final Body body = bodies[i];
+            final boolean awake = body.isAwake();
+            // skip bodies whose resting state has already been applied
+            if (!awake && settled[i] != 0L && settled[i] <= acknowledged) {
+                continue;
+            }
+            final float x = body.getPosition().x;
+            final float y = body.getPosition().y;
+            final float angle = body.getAngle();
+            if (awake) {
+                settled[i] = 0L;
+            } else {
+                // publish at rest so the state doesn't depend on interpolation
+                if (settled[i] == 0L) {
+                    settled[i] = next;
+                }
+                stagedX[i] = x;
+                stagedY[i] = y;
+                stagedAngle[i] = angle;
+            }
+            snapshot.previousX[count] = stagedX[i];
+            snapshot.previousY[count] = stagedY[i];
+            snapshot.previousAngle[count] = stagedAngle[i];
+            snapshot.currentX[count] = x;
+            snapshot.currentY[count] = y;
+            snapshot.currentAngle[count] = angle;
+            snapshot.supports[count] = supports[i];
+            snapshot.transforms[count] = transforms[i];
+            count++;
+        }
+        // release bodies that are no longer in the snapshot
+        if (previousSize > count) {
+            Arrays.fill(snapshot.supports, count, previousSize, null);
+            Arrays.fill(snapshot.transforms, count, previousSize, null);
+        }
+        snapshot.size = count;
+        snapshot.time = time;
+        snapshot.sequence = next;
+        sequence = next;
+        synced = count;
+        skipped = size - count;
+        back = published.getAndSet(snapshot);
+    }
+
+    /**
+     * Apply the latest published snapshot to the transforms. The factor used
+     * to interpolate between the previous and current state is the time since
+     * the snapshot was published relative to the time step, so the actors
+     * trail the physics by up to a step but move at an even pace. Transforms
+     * are only updated when the interpolated state differs from the state that
+     * was last applied. This should only be called on the scene update thread.
+     *
+     * @param now         the time from System.nanoTime()
+     * @param timeStep    the length of a step in nanoseconds
+     * @param interpolate false to apply the current state
+     *
+     * @return the number of transforms that were updated
+     */
+    int apply(final long now, final long timeStep, final boolean interpolate) {
+        if (published.get().sequence > front.sequence) {
+            front = published.getAndSet(front);
+        }
+        final Snapshot snapshot = front;
+        final double alpha = interpolate ? Math.max(0.0, Math.min(1.0, (double) (now - snapshot.time) / timeStep)) : 1.0;
+        int count = 0;
+        for (int i = 0; i < snapshot.size; i++) {
+            final JBox2dPhysicsSupport support = snapshot.supports[i];
+            final double x = snapshot.previousX[i] + (snapshot.currentX[i] - snapshot.previousX[i]) * alpha;
+            final double y = snapshot.previousY[i] + (snapshot.currentY[i] - snapshot.previousY[i]) * alpha;
+            final double angle = snapshot.previousAngle[i] + (snapshot.currentAngle[i] - snapshot.previousAngle[i]) * alpha;
+            final boolean moved = x != support.appliedX || y != support.appliedY;
+            final boolean rotated = support.isApplyRotation() && angle != support.appliedAngle;
+            if (!moved && !rotated) {
+                continue;
+            }
+            final TransformSupport transform = snapshot.transforms[i];
+            if (moved) {
+                transform.setTranslation(new Vector3D(x, y, transform.getTranslation().getZ()));
+                support.appliedX = x;
+                support.appliedY = y;
+            }
+            if (rotated) {
+                transform.setRotation(Math.toDegrees(angle));
+                support.appliedAngle = angle;
+            }
+            count++;
+        }
+        // let the physics thread know which resting states have been applied
+        applied.set(snapshot.sequence);
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "JBox2dBodyStates{" + "size=" + size + '}';
+    }
+
+    /**
+     * Published state of the bodies.
+     */
+    private static class Snapshot {
+
+        private float[] previousX = new float[0];
+        private float[] previousY = new float[0];
+        private float[] previousAngle = new float[0];
+        private float[] currentX = new float[0];
+        private float[] currentY = new float[0];
+        private float[] currentAngle = new float[0];
+        private JBox2dPhysicsSupport[] supports = new JBox2dPhysicsSupport[0];
+        private TransformSupport[] transforms = new TransformSupport[0];
+        private int size = 0;
+        private long time = 0L;
+        private long sequence = 0L;
+
+        private void ensureCapacity(final int capacity) {
+            if (supports.length >= capacity) {
+                return;
+            }
+            final int length = Math.max(capacity, supports.length * 2);
+            previousX = Arrays.copyOf(previousX, length);
+            previousY = Arrays.copyOf(previousY, length);
+            previousAngle = Arrays.copyOf(previousAngle, length);
+            currentX = Arrays.copyOf(currentX, length);
+            currentY = Arrays.copyOf(currentY, length);
+            currentAngle = Arrays.copyOf(currentAngle, length);
+            supports = Arrays.copyOf(supports, length);
+            transforms = Arrays.copyOf(transforms, length);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package gov.pnnl.svf.jbox2d.physics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.jbox2d.callbacks.DebugDraw;
+import org.jbox2d.common.Color3f;
+import org.jbox2d.common.OBBViewportTransform;
+import org.jbox2d.common.Transform;
+import org.jbox2d.common.Vec2;
+
+/**
+ * Debug draw that records the debug data of the world on the physics thread so
+ * it can be replayed on the rendering thread without waiting on the world.
+ * JBox2D reuses the vectors and colors it passes to a debug draw so every
+ * value is copied when it's recorded. A recorder is only written to by the
+ * physics thread before it's published and only read after it's published.
+ *
+ * @author Amelia Bleeker
+ */
+class JBox2dDebugRecorder extends DebugDraw {
+
+    private final List<Consumer<DebugDraw>> commands = new ArrayList<>();
+    private volatile boolean drawn = false;
+
+    /**
+     * Constructor
+     *
+     * @param flags the debug draw flags
+     */
+    JBox2dDebugRecorder(final int flags) {
+        super(new OBBViewportTransform());
+        setFlags(flags);
+    }
+
+    /**
+     * @return true if this recording has been replayed at least once
+     */
+    boolean isDrawn() {
+        return drawn;
+    }
+
+    /**
+     * Replay the recorded draw calls.
+     *
+     * @param draw the debug draw that does the drawing
+     */
+    void replay(final DebugDraw draw) {
+        for (int i = 0; i < commands.size(); i++) {
+            commands.get(i).accept(draw);
+        }
+        drawn = true;
+    }
+
+    @Override
+    public void drawPoint(final Vec2 p, final float radius, final Color3f color) {
+        final Vec2 point = p.clone();
+        final Color3f c = new Color3f(color.x, color.y, color.z);
+        commands.add(draw -> draw.drawPoint(point, radius, c));
+    }
+
+    @Override
+    public void drawSolidPolygon(final Vec2[] vertices, final int vertexCount, final Color3f color) {
+        final Vec2[] copy = JBox2dDebugRecorder.copy(vertices, vertexCount);
+        final Color3f c = new Color3f(color.x, color.y, color.z);
+        commands.add(draw -> draw.drawSolidPolygon(copy, vertexCount, c));
+    }
+
+    @Override
+    public void drawPolygon(final Vec2[] vertices, final int vertexCount, final Color3f color) {
+        final Vec2[] copy = JBox2dDebugRecorder.copy(vertices, vertexCount);
+        final Color3f c = new Color3f(color.x, color.y, color.z);
+        commands.add(draw -> draw.drawPolygon(copy, vertexCount, c));
+    }
+
+    @Override
+    public void drawCircle(final Vec2 center, final float radius, final Color3f color) {
+        final Vec2 point = center.clone();
+        final Color3f c = new Color3f(color.x, color.y, color.z);
+        commands.add(draw -> draw.drawCircle(point, radius, c));
+    }
+
+    @Override
+    public void drawSolidCircle(final Vec2 center, final float radius, final Vec2 axis, final Color3f color) {
+        final Vec2 point = center.clone();
+        final Vec2 direction = axis != null ? axis.clone() : null;
+        final Color3f c = new Color3f(color.x, color.y, color.z);
+        commands.add(draw -> draw.drawSolidCircle(point, radius, direction, c));
+    }
+
+    @Override
+    public void drawSegment(final Vec2 p1, final Vec2 p2, final Color3f color) {
+        final Vec2 point1 = p1.clone();
+        final Vec2 point2 = p2.clone();
+        final Color3f c = new Color3f(color.x, color.y, color.z);
+        commands.add(draw -> draw.drawSegment(point1, point2, c));
+    }
+
+    @Override
+    public void drawTransform(final Transform transform) {
+        final Transform copy = new Transform(transform);
+        commands.add(draw -> draw.drawTransform(copy));
+    }
+
+    @Override
+    public void drawString(final float x, final float y, final String s, final Color3f color) {
+        final Color3f c = new Color3f(color.x, color.y, color.z);
+        commands.add(draw -> draw.drawString(x, y, s, c));
+    }
+
+    private static Vec2[] copy(final Vec2[] vertices, final int vertexCount) {
+        final Vec2[] copy = new Vec2[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            copy[i] = vertices[i].clone();
+        }
+        return copy;
+    }
+}
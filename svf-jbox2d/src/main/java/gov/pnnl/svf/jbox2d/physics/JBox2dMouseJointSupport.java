@@ -100,7 +100,12 @@ public class JBox2dMouseJointSupport extends JBox2dJointSupport {
                                                                    Math.abs(cameraZ - (actorTransform != null ? actorTransform.getTranslation().getZ() : 0.0)),
                                                                    modelview, projection, viewport);
                         //                        System.out.println("Target set for: " + location);
-                        data.setTarget(new Vec2((float) location.getX(), (float) location.getY()));
+                        final Vec2 target = new Vec2((float) location.getX(), (float) location.getY());
+                        final JBox2dPhysicsEngine engine = joint.getPhysicsEngine();
+                        if (engine != null) {
+                            // the world is only changed on the physics thread
+                            engine.execute(() -> data.setTarget(target));
+                        }
                     }
                 }
             }
@@ -22,15 +22,18 @@ import gov.pnnl.svf.shape.RectangleShape;
 import gov.pnnl.svf.shape.VolumeShape;
 import gov.pnnl.svf.support.ColorSupport;
 import gov.pnnl.svf.support.TransformSupport;
-import gov.pnnl.svf.update.UpdateTask;
 import java.text.MessageFormat;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.math.geometry.Rotation;
@@ -59,6 +62,18 @@ import org.jbox2d.dynamics.joints.RevoluteJointDef;
 /**
  * This is a 2D physics engine that is responsible for updating any objects with
  * JBox2D support.
+ * <p>
+ * The world is owned by a dedicated physics thread that steps it with a fixed
+ * time step using an accumulator so the simulation is deterministic regardless
+ * of the frame rate. Adding and removing bodies and joints, impulses, and other
+ * changes to the world are queued as commands that the physics thread runs
+ * before it steps, so callers never wait on the world. The position and angle
+ * of each dynamic and kinematic body before and after the last step are
+ * published as a snapshot, and every update the transforms are set to the
+ * state interpolated between them using the time since the snapshot was
+ * published without waiting on the physics thread. When the scene is in debug
+ * mode the debug data is recorded by the physics thread after every tick and
+ * the latest recording is drawn, so drawing never waits on a step either.
  *
  * @author Amelia Bleeker
  */
@@ -81,6 +96,26 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
      * String representation of a field in this object.
      */
     public static final String ANIMATE_DURATION = "animateDuration";
+    /**
+     * String representation of a field in this object.
+     */
+    public static final String TIME_STEP = "timeStep";
+    /**
+     * The default fixed time step in seconds.
+     */
+    public static final float DEFAULT_TIME_STEP = 1.0f / 30.0f;
+    /**
+     * The maximum number of steps taken in a single update. Time beyond this
+     * is dropped so that a slow update can't cause more work in the next one.
+     */
+    private static final int MAX_STEPS = 8;
+    private static final int VELOCITY_ITERATIONS = 10;
+    private static final int POSITION_ITERATIONS = 10;
+    /**
+     * The number of milliseconds to wait for the physics thread to stop when
+     * the engine is disposed.
+     */
+    private static final long SHUTDOWN_TIMEOUT = 1000L;
     /**
      * The actor name used to identify the bottom scene boundary.
      */
@@ -98,17 +133,26 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
      */
     public static final String SCENE_BOUNDARY_RIGHT = "scene-boundary-right";
     protected final Set<JBox2dContactListener> contactListeners = Collections.synchronizedSet(new HashSet<>());
-    protected final ExecutorService executor = Executors.newSingleThreadExecutor(new NamedThreadFactory(getClass(), "Update"));
+    protected final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(getClass(), "Physics"));
+    protected final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    protected final Queue<JBox2dPhysicsSupport> dirty = new ConcurrentLinkedQueue<>();
     protected final AtomicBoolean updating = new AtomicBoolean(false);
-    protected final AtomicLong modifiedDelta = new AtomicLong(0L);
-    protected final AtomicBoolean update = new AtomicBoolean(false);
     protected final SceneExt scene;
     protected final World world;
     protected final Object worldSync = new Object();
+    protected final JBox2dBodyStates states = new JBox2dBodyStates();
+    private final JBox2dDebugDraw debug;
+    private final AtomicReference<JBox2dDebugRecorder> debugFrame = new AtomicReference<>();
     protected boolean paused = false;
     protected boolean animate = false;
     protected long animateDuration = 1L;
+    protected float timeStep = DEFAULT_TIME_STEP;
     protected JBox2dContactFilter contactFilter = new JBox2dContactFilterImpl();
+    private ScheduledFuture<?> physics = null;
+    // physics thread
+    private long lastTick = 0L;
+    private long accumulated = 0L;
+    private long stepping = 0L;
 
     /**
      * Constructor
@@ -142,18 +186,10 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
         setVisible(false);
         this.scene = scene.getExtended();
         world = new World(gravity == null ? new Vec2(0.0f, 0.0f) : new Vec2((float) gravity.getX(), (float) gravity.getY()), true);
-        final JBox2dDebugDraw debug = new JBox2dDebugDraw(scene, z);
+        debug = new JBox2dDebugDraw(scene, z);
         debug.setFlags(-1);//DebugDraw.e_aabbBit | DebugDraw.e_jointBit | DebugDraw.e_pairBit | DebugDraw.e_shapeBit | DebugDraw.e_dynamicTreeBit | DebugDraw.e_centerOfMassBit
-        world.setDebugDraw(debug);
         world.setWarmStarting(false);
-        world.setContactFilter(new ContactFilter() {
-            @Override
-            public boolean shouldCollide(final Fixture fixtureA, final Fixture fixtureB) {
-                final JBox2dPhysicsSupport support1 = (JBox2dPhysicsSupport) fixtureA.m_body.m_userData;
-                final JBox2dPhysicsSupport support2 = (JBox2dPhysicsSupport) fixtureB.m_body.m_userData;
-                return contactFilter.shouldCollide(support1, support2);
-            }
-        });
+        world.setContactFilter(new ContactFilterImpl());
         world.setContactListener(new ContactListener() {
             @Override
             public void beginContact(final Contact contact) {
@@ -223,9 +259,21 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
 
     @Override
     public void dispose() {
+        synchronized (this) {
+            physics = null;
+        }
+        // wait for a running tick so the world isn't stepped after disposal
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                logger.log(Level.WARNING, "{0}: The JBox2d physics thread did not stop within {1} milliseconds.", new Object[]{scene, SHUTDOWN_TIMEOUT});
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
         super.dispose();
         contactListeners.clear();
-        executor.shutdownNow();
+        commands.clear();
     }
 
     private void resize() {
@@ -235,38 +283,36 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
             logger.log(Level.WARNING, "{0}: Cannot resize physics borders, scene boundary or center is null.", scene);
             return;
         }
-        synchronized (worldSync) {
-            final Actor bottom = scene.getActor(SCENE_BOUNDARY_BOTTOM);
-            if (bottom != null) {
-                final TransformSupport transformSupport = bottom.lookup(TransformSupport.class);
-                if (transformSupport != null) {
-                    transformSupport.setScale(new Vector3D(boundary.getX(), 0.2, 1.0)).setTranslation(
-                            new Vector3D(center.getX(), center.getY() - (boundary.getY() * 0.5), 0.0));
-                }
+        final Actor bottom = scene.getActor(SCENE_BOUNDARY_BOTTOM);
+        if (bottom != null) {
+            final TransformSupport transformSupport = bottom.lookup(TransformSupport.class);
+            if (transformSupport != null) {
+                transformSupport.setScale(new Vector3D(boundary.getX(), 0.2, 1.0)).setTranslation(
+                        new Vector3D(center.getX(), center.getY() - (boundary.getY() * 0.5), 0.0));
             }
-            final Actor top = scene.getActor(SCENE_BOUNDARY_TOP);
-            if (top != null) {
-                final TransformSupport transformSupport = top.lookup(TransformSupport.class);
-                if (transformSupport != null) {
-                    transformSupport.setScale(new Vector3D(boundary.getX(), 0.2, 1.0)).setTranslation(
-                            new Vector3D(center.getX(), center.getY() + (boundary.getY() * 0.5), 0.0));
-                }
+        }
+        final Actor top = scene.getActor(SCENE_BOUNDARY_TOP);
+        if (top != null) {
+            final TransformSupport transformSupport = top.lookup(TransformSupport.class);
+            if (transformSupport != null) {
+                transformSupport.setScale(new Vector3D(boundary.getX(), 0.2, 1.0)).setTranslation(
+                        new Vector3D(center.getX(), center.getY() + (boundary.getY() * 0.5), 0.0));
             }
-            final Actor left = scene.getActor(SCENE_BOUNDARY_LEFT);
-            if (left != null) {
-                final TransformSupport transformSupport = left.lookup(TransformSupport.class);
-                if (transformSupport != null) {
-                    transformSupport.setScale(new Vector3D(0.2, boundary.getY(), 1.0)).setTranslation(
-                            new Vector3D(center.getX() - (boundary.getX() * 0.5), center.getY(), 0.0));
-                }
+        }
+        final Actor left = scene.getActor(SCENE_BOUNDARY_LEFT);
+        if (left != null) {
+            final TransformSupport transformSupport = left.lookup(TransformSupport.class);
+            if (transformSupport != null) {
+                transformSupport.setScale(new Vector3D(0.2, boundary.getY(), 1.0)).setTranslation(
+                        new Vector3D(center.getX() - (boundary.getX() * 0.5), center.getY(), 0.0));
             }
-            final Actor right = scene.getActor(SCENE_BOUNDARY_RIGHT);
-            if (right != null) {
-                final TransformSupport transformSupport = right.lookup(TransformSupport.class);
-                if (transformSupport != null) {
-                    transformSupport.setScale(new Vector3D(0.2, boundary.getY(), 1.0)).setTranslation(
-                            new Vector3D(center.getX() + (boundary.getX() * 0.5), center.getY(), 0.0));
-                }
+        }
+        final Actor right = scene.getActor(SCENE_BOUNDARY_RIGHT);
+        if (right != null) {
+            final TransformSupport transformSupport = right.lookup(TransformSupport.class);
+            if (transformSupport != null) {
+                transformSupport.setScale(new Vector3D(0.2, boundary.getY(), 1.0)).setTranslation(
+                        new Vector3D(center.getX() + (boundary.getX() * 0.5), center.getY(), 0.0));
             }
         }
     }
@@ -278,6 +324,22 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
         return updating.get();
     }
 
+    /**
+     * @return the number of awake bodies that were synced with their actors
+     *         in the last update
+     */
+    public int getSyncedCount() {
+        return states.getSyncedCount();
+    }
+
+    /**
+     * @return the number of sleeping bodies that were skipped in the last
+     *         update
+     */
+    public int getSkippedCount() {
+        return states.getSkippedCount();
+    }
+
     /**
      * @return true if the engine is paused
      */
@@ -304,7 +366,7 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
     }
 
     /**
-     * @return true if the actors are animating to their new positions
+     * @return true if the actors are interpolated between physics steps
      */
     public boolean isAnimate() {
         synchronized (this) {
@@ -313,7 +375,11 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
     }
 
     /**
-     * @param animate true if the actors are animating to their new positions
+     * Interpolating moves the actors smoothly between the states before and
+     * after the last physics step. Otherwise actors are placed at the state
+     * after the last step.
+     *
+     * @param animate true if the actors are interpolated between physics steps
      */
     public void setAnimate(final boolean animate) {
         final boolean old;
@@ -326,7 +392,11 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
 
     /**
      * @return the number of milliseconds for the animation duration
+     *
+     * @deprecated actors are interpolated between fixed physics steps instead
+     * of animated
      */
+    @Deprecated
     public long getAnimateDuration() {
         synchronized (this) {
             return animateDuration;
@@ -336,7 +406,11 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
     /**
      * @param animateDuration the number of milliseconds for the animation
      *                        duration
+     *
+     * @deprecated actors are interpolated between fixed physics steps instead
+     * of animated
      */
+    @Deprecated
     public void setAnimateDuration(final long animateDuration) {
         if (animateDuration <= 0L) {
             throw new IllegalArgumentException("animateDuration");
@@ -349,6 +423,37 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
         getPropertyChangeSupport().firePropertyChange(ANIMATE_DURATION, old, animateDuration);
     }
 
+    /**
+     * @return the fixed time step in seconds
+     */
+    public float getTimeStep() {
+        synchronized (this) {
+            return timeStep;
+        }
+    }
+
+    /**
+     * @param timeStep the fixed time step in seconds
+     *
+     * @throws IllegalArgumentException if time step is not positive
+     */
+    public void setTimeStep(final float timeStep) {
+        if (!(timeStep > 0.0f)) {
+            throw new IllegalArgumentException("timeStep");
+        }
+        final float old;
+        synchronized (this) {
+            old = this.timeStep;
+            this.timeStep = timeStep;
+            // run the physics thread at the new rate
+            if (physics != null) {
+                physics.cancel(false);
+                physics = schedule();
+            }
+        }
+        getPropertyChangeSupport().firePropertyChange(TIME_STEP, old, timeStep);
+    }
+
     /**
      * The contact filter provides a means to filter which objects can contact
      * one another.
@@ -359,10 +464,7 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
         if (contactFilter == null) {
             throw new NullPointerException("contactFilter");
         }
-        synchronized (worldSync) {
-            this.contactFilter = contactFilter;
-            world.setContactFilter(new ContactFilterImpl(contactFilter));
-        }
+        execute(() -> this.contactFilter = contactFilter);
     }
 
     /**
@@ -391,11 +493,14 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
 
     /**
      * Adds an anchor that connects two points on the specified actors. It is no
-     * longer necessary to call this method directly.
+     * longer necessary to call this method directly. The joint is created on
+     * the physics thread after the bodies of both actors.
      *
      * @param support the joint support object
      *
-     * @throws NullPointerException if support is null
+     * @throws NullPointerException     if support is null
+     * @throws IllegalArgumentException if transform support is missing from
+     *                                  either actor
      */
     public void addJoint(final JBox2dJointSupport support) {
         if (support == null) {
@@ -404,14 +509,6 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
         if (!support.setPhysicsEngine(this)) {
             return;
         }
-        final Body body1 = (Body) support.getSupport1().getPhysicsData();
-        if (body1 == null) {
-            throw new IllegalArgumentException("Actor must have physics added by the JBox2d physics engine.");
-        }
-        final Body body2 = (Body) support.getSupport2().getPhysicsData();
-        if (body2 == null) {
-            throw new IllegalArgumentException("Actor must have physics added by the JBox2d physics engine.");
-        }
         final TransformSupport transform1 = support.getSupport1().getActor().lookup(TransformSupport.class);
         if (transform1 == null) {
             throw new IllegalArgumentException("Actor must have a TransformSupport object in its lookup.");
@@ -455,7 +552,12 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
                 // translation
                 final Vector3D location2 = transform2.getTranslation().add(anchor2);
                 // build the distance joint
-                synchronized (worldSync) {
+                execute(() -> {
+                    final Body body1 = findBody(distance, distance.getSupport1());
+                    final Body body2 = findBody(distance, distance.getSupport2());
+                    if (body1 == null || body2 == null) {
+                        return;
+                    }
                     final DistanceJointDef def = new DistanceJointDef();
                     def.initialize(body1, body2,
                                    new Vec2((float) location1.getX(),
@@ -469,7 +571,7 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
                     final Joint joint = world.createJoint(def);
                     joint.setUserData(distance);
                     distance.setPhysicsData(joint);
-                }
+                });
                 break;
             }
             case REVOLUTE: {
@@ -491,7 +593,12 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
                 // }
                 // translation
                 final Vector3D location = revolute.getAnchor();// transform1.getTranslation().add(anchor);
-                synchronized (worldSync) {
+                execute(() -> {
+                    final Body body1 = findBody(revolute, revolute.getSupport1());
+                    final Body body2 = findBody(revolute, revolute.getSupport2());
+                    if (body1 == null || body2 == null) {
+                        return;
+                    }
                     final RevoluteJointDef def = new RevoluteJointDef();
                     def.initialize(body1, body2, new Vec2((float) location.getX(), (float) location.getY()));
                     def.enableLimit = revolute.isEnableLimit();
@@ -503,7 +610,7 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
                     final Joint joint = world.createJoint(def);
                     joint.setUserData(revolute);
                     revolute.setPhysicsData(joint);
-                }
+                });
                 break;
             }
             case MOUSE: {
@@ -511,7 +618,12 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
                     throw new IllegalArgumentException("Support object must be of type JBox2dMouseJointSupport to declare the MOUSE type.");
                 }
                 final JBox2dMouseJointSupport mouse = (JBox2dMouseJointSupport) support;
-                synchronized (worldSync) {
+                execute(() -> {
+                    final Body body1 = findBody(mouse, mouse.getSupport1());
+                    final Body body2 = findBody(mouse, mouse.getSupport2());
+                    if (body1 == null || body2 == null) {
+                        return;
+                    }
                     final MouseJointDef def = new MouseJointDef();
                     def.bodyA = body1;
                     def.bodyB = body2;
@@ -521,7 +633,7 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
                     final Joint joint = world.createJoint(def);
                     joint.setUserData(mouse);
                     mouse.setPhysicsData(joint);
-                }
+                });
                 break;
             }
         }
@@ -529,13 +641,11 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
 
     /**
      * Add physics to an actor in the scene. It is no longer necessary to call
-     * this method directly.
+     * this method directly. The body is created on the physics thread.
      *
      * @param support the support object being added to the scene.
      *
-     * @throws NullPointerException     if support is null
-     * @throws IllegalArgumentException if transform support is missing from
-     *                                  actor
+     * @throws NullPointerException if support is null
      */
     public void addPhysics(final JBox2dPhysicsSupport support) {
         if (support == null) {
@@ -544,11 +654,11 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
         if (!support.setPhysicsEngine(this)) {
             return;
         }
-        final TransformSupport transform = support.getActor().lookup(TransformSupport.class);
-        if (transform == null) {
-            throw new IllegalArgumentException("Actor must have a TransformSupport object in its lookup.");
-        }
-        synchronized (worldSync) {
+        final TransformSupport transform = support.transform;
+        execute(() -> {
+            if (support.isDisposed()) {
+                return;
+            }
             // create the body
             final BodyDef bodyDef = new BodyDef();
             switch (support.getType()) {
@@ -576,7 +686,74 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
             body.setUserData(support);
             support.setPhysicsData(body);
             JBox2dPhysicsEngine.createFixture(support, transform, body);
+            // the fixture was created with any changes made before now
+            if (support.isChanged()) {
+                support.clearChanged();
+            }
+            // dynamic and kinematic actors get their state from the physics engine
+            if (support.getType() != JBox2dPhysicsType.STATIC) {
+                states.add(support, transform, body);
+            }
+            // apply an impulse that was set before the body existed
+            applyImpulse(support, body);
+        });
+    }
+
+    /**
+     * Queue the removal of the body for a support object that was disposed.
+     *
+     * @param support the support object
+     */
+    void removePhysics(final JBox2dPhysicsSupport support) {
+        execute(() -> {
+            final Object data = support.getPhysicsData();
+            if (data instanceof Body && ((Body) data).getUserData() == support) {
+                if (scene.getSceneBuilder().isVerbose()) {
+                    logger.log(Level.FINE, "{0}: Destroying a physics collision body in the world.", scene);
+                }
+                states.remove(support);
+                world.destroyBody((Body) data);
+            }
+        });
+    }
+
+    /**
+     * Queue the impulse of a support object to be applied to its body.
+     *
+     * @param support the support object
+     */
+    void applyImpulse(final JBox2dPhysicsSupport support) {
+        execute(() -> {
+            final Object data = support.getPhysicsData();
+            if (data instanceof Body && !support.isDisposed()) {
+                applyImpulse(support, (Body) data);
+            }
+        });
+    }
+
+    /**
+     * Queue a support object to have its body synchronized with the changes
+     * made by the framework before the next step.
+     *
+     * @param support the support object
+     */
+    void sync(final JBox2dPhysicsSupport support) {
+        dirty.add(support);
+    }
+
+    /**
+     * Queue a command that changes the world. Commands are run in order on the
+     * physics thread before the world is stepped.
+     *
+     * @param command the command
+     *
+     * @throws NullPointerException if command is null
+     */
+    void execute(final Runnable command) {
+        if (command == null) {
+            throw new NullPointerException("command");
         }
+        commands.add(command);
     }
 
     @Override
@@ -585,8 +762,10 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
         if (scene.getSceneBuilder().isDebug()) {
             gl.glPushAttrib(GL2.GL_CURRENT_BIT | GL2.GL_LIGHTING_BIT);
             drawState.setAttrib();
-            synchronized (worldSync) {
-                world.drawDebugData();
+            // replay the debug data recorded by the physics thread so drawing never waits on a step
+            final JBox2dDebugRecorder frame = debugFrame.get();
+            if (frame != null) {
+                frame.replay(debug);
             }
         }
     }
@@ -600,172 +779,115 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
     }
 
     /**
-     * Update the physics engine.
+     * Update the physics engine using fixed time steps. This is only called on
+     * the physics thread while the world is locked.
      *
-     * @param duration the duration in milliseconds
+     * @param duration the duration in nanoseconds
      *
-     * @return the remaining duration after update
+     * @return the remaining duration in nanoseconds after update
      */
     protected long updatePhysics(final long duration) {
-        final boolean animateActors = isAnimate();
-        final long animationDuration = getAnimateDuration();
-        final int steps;
-        final JBox2dActorUpdate updater;
-        synchronized (worldSync) {
-            // step the world and convert milliseconds to seconds
-            steps = (int) Math.floor(duration / (1000.0 / 30.0));
-            if (steps < 1) {
-                return duration;
-            }
-            final long start = System.currentTimeMillis();
-            for (int i = 0; i < steps; i++) {
-                world.step((float) duration / (float) steps / 1000.0f, 10, 10);
-                //                world.clearForces();
-            }
-            final long end = System.currentTimeMillis();
-            logger.log(Level.FINE, "{0}: Performing {1} JBox2d physics engine update steps took {2} milliseconds.", new Object[]{scene, steps, (end - start)});
-            updater = animateActors ? new JBox2dActorUpdate(animationDuration) : new JBox2dActorUpdate();
-            // iterate through the bodies so that they can be updated
-            Body body = world.getBodyList();
-            while (body != null) {
-                if (body.getUserData() instanceof JBox2dPhysicsSupport) {
-                    final JBox2dPhysicsSupport support = (JBox2dPhysicsSupport) body.getUserData();
-                    final TransformSupport transform = support.getActor().lookup(TransformSupport.class);
-                    if (transform != null) {
-                        switch (support.getType()) {
-                            case DYNAMIC:
-                            case KINEMATIC:
-                                // update the rotation of the body if it isn't controlled by physics
-                                if (!support.isApplyRotation()) {
-                                    body.setTransform(body.getPosition(), (float) Math.toRadians(transform.getRotation()));
-                                }
-                                // dynamic actors get their position and sometimes rotation from the physics engine
-                                updater.addUpdateInfo(support, transform, body.getPosition().x, body.getPosition().y, body.getAngle());
-                                break;
-                            case STATIC:
-                                // static actors get their position from the framework
-                                body.setTransform(new Vec2((float) transform.getTranslation().getX(),
-                                                           (float) transform.getTranslation().getY()),
-                                                  (float) Math.toRadians(transform.getRotation()));
-                                break;
-                        }
-                        // update impulse
-                        final Vector3D impulse = support.getImpulse();
-                        if (!Vector3D.ZERO.equals(impulse)) {
-                            body.applyLinearImpulse(new Vec2((float) impulse.getX(), (float) impulse.getZ()), new Vec2(0.0f, 0.0f));
-                            support.setImpulse(Vector3D.ZERO);
-                        }
-                        // update any other related body info
-                        if (support.isChanged()) {
-                            final Fixture fixtureList = body.getFixtureList();
-                            if (fixtureList != null) {
-                                body.destroyFixture(fixtureList);
-                            }
-                            body.createFixture(JBox2dPhysicsEngine.createShape(support, transform), support.getDensity());
-                            body.setAwake(true);
-                            support.clearChanged();
-                        }
-                    }
-                    if (support.isDisposed()) {
-                        if (scene.getSceneBuilder().isVerbose()) {
-                            logger.log(Level.FINE, "{0}: Destroying a physics collision body in the world.", scene);
-                        }
-                        // destroy the body
-                        final Body destroy = body;
-                        body = body.getNext();
-                        world.destroyBody(destroy);
-                        continue;
+        final float step = getTimeStep();
+        final long stepNanos = (long) (step * 1.0e9);
+        long count = duration / stepNanos;
+        if (count < 1L) {
+            return duration;
+        }
+        final long remaining = duration - count * stepNanos;
+        if (count > MAX_STEPS) {
+            logger.log(Level.FINE, "{0}: Dropping {1} JBox2d physics engine update steps.", new Object[]{scene, count - MAX_STEPS});
+            count = MAX_STEPS;
+        }
+        final int steps = (int) count;
+        // only bodies with changes from the framework need to be updated
+        JBox2dPhysicsSupport changed;
+        while ((changed = dirty.poll()) != null) {
+            // clear first so changes made while updating are queued again
+            changed.dirty.set(false);
+            final Object data = changed.getPhysicsData();
+            if (data instanceof Body && !changed.isDisposed()) {
+                syncBody(changed, (Body) data);
+            }
+        }
+        // step the world with the fixed time step
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < steps; i++) {
+            if (i == steps - 1) {
+                states.stagePrevious();
+            }
+            world.step(step, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+        }
+        final long end = System.currentTimeMillis();
+        logger.log(Level.FINE, "{0}: Performing {1} JBox2d physics engine update steps took {2} milliseconds.", new Object[]{scene, steps, (end - start)});
+        // publish the new states of the awake bodies
+        states.publish(System.nanoTime());
+        if (scene.getSceneBuilder().isVerbose()) {
+            logger.log(Level.FINE, "{0}: Synced {1} awake JBox2d physics bodies and skipped {2} sleeping bodies.",
+                       new Object[]{scene, states.getSyncedCount(), states.getSkippedCount()});
+        }
+        // iterate through the joints so that they can be updated
+        Joint joint = world.getJointList();
+        while (joint != null) {
+            if (joint.getUserData() instanceof JBox2dJointSupport) {
+                final JBox2dJointSupport support = (JBox2dJointSupport) joint.getUserData();
+                // recreate the joint if necessary
+                if (support.isDisposed() || (JBox2dJointType.DISTANCE.equals(support.getType()) && support.isChanged())) {
+                    if (support.isDisposed() && scene.getSceneBuilder().isVerbose()) {
+                        logger.log(Level.FINE, "{0}: Destroying a physics joint body in the world.", scene);
                     }
+                    // destroy the joint
+                    final Joint destroy = joint;
+                    joint = joint.getNext();
+                    world.destroyJoint(destroy);
+                    continue;
                 }
-                // just move on to the next body
-                body = body.getNext();
-            }
-            // iterate through the joints so that they can be updated
-            Joint joint = world.getJointList();
-            while (joint != null) {
-                if (joint.getUserData() instanceof JBox2dJointSupport) {
-                    final JBox2dJointSupport support = (JBox2dJointSupport) joint.getUserData();
-                    // recreate the joint if necessary
-                    if (support.isDisposed() || (JBox2dJointType.DISTANCE.equals(support.getType()) && support.isChanged())) {
-                        if (support.isDisposed() && scene.getSceneBuilder().isVerbose()) {
-                            logger.log(Level.FINE, "{0}: Destroying a physics joint body in the world.", scene);
-                        }
-                        // destroy the joint
-                        final Joint destroy = joint;
-                        joint = joint.getNext();
-                        world.destroyJoint(destroy);
-                        continue;
-                    }
-                    // update or recreate as necessary
-                    if (support.isChanged() && !support.isDisposed()) {
-                        support.clearChanged();
-                        switch (support.getType()) {
-                            case MOUSE:
-                            case DISTANCE:
-                                addJoint(support);
-                                continue;
-                            case REVOLUTE:
-                                final JBox2dRevoluteJointSupport revolute = (JBox2dRevoluteJointSupport) joint.getUserData();
-                                final RevoluteJoint revoluteJoint = (RevoluteJoint) joint;
-                                if (revolute.isEnableMotor()) {
-                                    revoluteJoint.setMaxMotorTorque(revolute.getMaxMotorTorque());
-                                    revoluteJoint.setMotorSpeed(revolute.getMotorSpeed());
-                                }
-                                break;
-                        }
+                // update or recreate as necessary
+                if (support.isChanged() && !support.isDisposed()) {
+                    support.clearChanged();
+                    switch (support.getType()) {
+                        case MOUSE:
+                        case DISTANCE:
+                            addJoint(support);
+                            continue;
+                        case REVOLUTE:
+                            final JBox2dRevoluteJointSupport revolute = (JBox2dRevoluteJointSupport) joint.getUserData();
+                            final RevoluteJoint revoluteJoint = (RevoluteJoint) joint;
+                            if (revolute.isEnableMotor()) {
+                                revoluteJoint.setMaxMotorTorque(revolute.getMaxMotorTorque());
+                                revoluteJoint.setMotorSpeed(revolute.getMotorSpeed());
+                            }
+                            break;
                     }
-                    // update the angle on revolute joints
-                    if (JBox2dJointType.REVOLUTE.equals(support.getType()) && !support.isDisposed()) {
-                        final JBox2dRevoluteJointSupport revolute = (JBox2dRevoluteJointSupport) joint.getUserData();
-                        final RevoluteJoint revoluteJoint = (RevoluteJoint) joint;
-                        if (revolute.isEnableAngle()) {
-                            // set the motor speed to maintain a specific angle
-                            // this will override setting the actual motor speed
-                            final float angleError = revoluteJoint.getJointAngle() - (float) Math.toRadians(revolute.getAngle());
-                            revoluteJoint.setMotorSpeed(-revolute.getGain() * angleError);
-                        }
+                }
+                // update the angle on revolute joints
+                if (JBox2dJointType.REVOLUTE.equals(support.getType()) && !support.isDisposed()) {
+                    final JBox2dRevoluteJointSupport revolute = (JBox2dRevoluteJointSupport) joint.getUserData();
+                    final RevoluteJoint revoluteJoint = (RevoluteJoint) joint;
+                    if (revolute.isEnableAngle()) {
+                        // set the motor speed to maintain a specific angle
+                        // this will override setting the actual motor speed
+                        final float angleError = revoluteJoint.getJointAngle() - (float) Math.toRadians(revolute.getAngle());
+                        revoluteJoint.setMotorSpeed(-revolute.getGain() * angleError);
                     }
                 }
-                // just move on to the next joint
-                joint = joint.getNext();
             }
+            // just move on to the next joint
+            joint = joint.getNext();
         }
-        // schedule the update pushes on the scene update thread
-        UpdateTask.schedule(scene, updater);
-        return (long) (duration - (steps * (1000.0 / 30.0)));
+        return remaining;
     }
 
     @Override
     public void update(final long delta) {
-        if (!isPaused()) {
-            // we are not paused and will step each time this is called
-            modifiedDelta.addAndGet(delta);
-            if (!updating.getAndSet(true)) {
-                getPropertyChangeSupport().firePropertyChange(UPDATING, false, true);
-                executor.execute(() -> {
-                    try {
-                        modifiedDelta.addAndGet(updatePhysics(modifiedDelta.getAndSet(0L)));
-                    } catch (final RuntimeException ex) {
-                        logger.log(Level.WARNING, MessageFormat.format("{0}: Exception thrown while updating the physics engine.", scene), ex);
-                    } finally {
-                        updating.set(false);
-                        getPropertyChangeSupport().firePropertyChange(UPDATING, true, false);
-                    }
-                });
+        // the physics thread is started by the first update
+        synchronized (this) {
+            if (physics == null && !executor.isShutdown()) {
+                physics = schedule();
             }
-        } else if (update.getAndSet(false) && !updating.getAndSet(true)) {
-            getPropertyChangeSupport().firePropertyChange(UPDATING, false, true);
-            executor.execute(() -> {
-                try {
-                    modifiedDelta.addAndGet(updatePhysics(modifiedDelta.getAndSet(0L)));
-                } catch (final RuntimeException ex) {
-                    logger.log(Level.WARNING, MessageFormat.format("{0}: Exception thrown while updating the physics engine.", scene), ex);
-                } finally {
-                    updating.set(false);
-                    getPropertyChangeSupport().firePropertyChange(UPDATING, true, false);
-                }
-            });
         }
+        // move the actors to the interpolated state of the latest snapshot
+        final boolean interpolate = isAnimate() && !isPaused();
+        states.apply(System.nanoTime(), (long) (getTimeStep() * 1.0e9), interpolate);
     }
 
     /**
@@ -774,8 +896,157 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
      * @param duration the duration in milliseconds to step
      */
     public void step(final long duration) {
-        update.set(true);
-        modifiedDelta.set(duration);
+        final long nanos = TimeUnit.MILLISECONDS.toNanos(duration);
+        execute(() -> stepping += nanos);
+    }
+
+    /**
+     * Schedule the physics thread at the fixed time step. This should only be
+     * called while synchronized on this object.
+     */
+    private ScheduledFuture<?> schedule() {
+        final long period = Math.max(1L, (long) (timeStep * 1.0e9));
+        return executor.scheduleAtFixedRate(this::tick, 0L, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Run the queued commands and step the world with the time that has passed
+     * since the last tick. The updating events are only fired when the world
+     * is stepped so a paused or idle engine doesn't cause the scene to redraw.
+     * This is only called on the physics thread.
+     */
+    private void tick() {
+        final long now = System.nanoTime();
+        final long elapsed = lastTick == 0L ? 0L : now - lastTick;
+        lastTick = now;
+        try {
+            final boolean paused = isPaused();
+            final boolean changed;
+            final long duration;
+            synchronized (worldSync) {
+                changed = runCommands();
+                // time only accumulates while running but manual steps are always taken
+                duration = (paused ? 0L : accumulated + elapsed) + stepping;
+                stepping = 0L;
+            }
+            if (duration < (long) (getTimeStep() * 1.0e9)) {
+                accumulated = paused ? 0L : duration;
+                synchronized (worldSync) {
+                    recordDebug(changed);
+                }
+                return;
+            }
+            updating.set(true);
+            getPropertyChangeSupport().firePropertyChange(UPDATING, false, true);
+            try {
+                synchronized (worldSync) {
+                    final long remaining = updatePhysics(duration);
+                    accumulated = paused ? 0L : remaining;
+                    recordDebug(true);
+                }
+            } finally {
+                updating.set(false);
+                getPropertyChangeSupport().firePropertyChange(UPDATING, true, false);
+            }
+        } catch (final RuntimeException ex) {
+            logger.log(Level.WARNING, MessageFormat.format("{0}: Exception thrown while updating the physics engine.", scene), ex);
+        }
+    }
+
+    /**
+     * Run the queued commands. This is only called on the physics thread while
+     * the world is locked.
+     *
+     * @return true if any commands were run
+     */
+    private boolean runCommands() {
+        boolean ran = false;
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            ran = true;
+            try {
+                command.run();
+            } catch (final RuntimeException ex) {
+                logger.log(Level.WARNING, MessageFormat.format("{0}: Exception thrown while changing the physics world.", scene), ex);
+            }
+        }
+        return ran;
+    }
+
+    /**
+     * Record the debug data while the world is consistent and publish it for
+     * drawing. A new recording is only made once the last one has been drawn
+     * and the world has changed. This is only called on the physics thread
+     * while the world is locked.
+     *
+     * @param changed true if the world changed since the last tick
+     */
+    private void recordDebug(final boolean changed) {
+        if (scene.getSceneBuilder().isDebug()) {
+            final JBox2dDebugRecorder last = debugFrame.get();
+            if (last == null || (changed && last.isDrawn())) {
+                final JBox2dDebugRecorder recorder = new JBox2dDebugRecorder(debug.getFlags());
+                world.setDebugDraw(recorder);
+                world.drawDebugData();
+                debugFrame.set(recorder);
+            }
+        } else {
+            debugFrame.set(null);
+        }
+    }
+
+    /**
+     * Find the body of one of the actors connected by a joint. This is only
+     * called on the physics thread.
+     */
+    private Body findBody(final JBox2dJointSupport joint, final JBox2dPhysicsSupport support) {
+        final Object data = support.getPhysicsData();
+        if (!(data instanceof Body) || support.isDisposed()) {
+            logger.log(Level.WARNING, "{0}: Actor must have physics added by the JBox2d physics engine to create a joint: {1}", new Object[]{scene, joint.getActor()});
+            return null;
+        }
+        return (Body) data;
+    }
+
+    /**
+     * Update a body with the changes made to its support object and transform
+     * by the framework. This is only called on the physics thread.
+     */
+    private static void syncBody(final JBox2dPhysicsSupport support, final Body body) {
+        final TransformSupport transform = support.transform;
+        switch (support.getType()) {
+            case DYNAMIC:
+            case KINEMATIC:
+                // update the rotation of the body if it isn't controlled by physics
+                if (!support.isApplyRotation()) {
+                    body.setTransform(body.getPosition(), (float) Math.toRadians(transform.getRotation()));
+                }
+                break;
+            case STATIC:
+                // static actors get their position from the framework
+                body.setTransform(new Vec2((float) transform.getTranslation().getX(),
+                                           (float) transform.getTranslation().getY()),
+                                  (float) Math.toRadians(transform.getRotation()));
+                break;
+        }
+        // update any other related body info
+        if (support.isChanged()) {
+            final Fixture fixtureList = body.getFixtureList();
+            if (fixtureList != null) {
+                body.destroyFixture(fixtureList);
+            }
+            body.createFixture(JBox2dPhysicsEngine.createShape(support, transform), support.getDensity());
+            body.setAwake(true);
+            support.clearChanged();
+        }
+    }
+
+    private static void applyImpulse(final JBox2dPhysicsSupport support, final Body body) {
+        final Vector3D impulse = support.getImpulse();
+        if (!Vector3D.ZERO.equals(impulse)) {
+            body.applyLinearImpulse(new Vec2((float) impulse.getX(), (float) impulse.getZ()), new Vec2(0.0f, 0.0f));
+            support.setImpulse(Vector3D.ZERO);
+        }
     }
 
     private static void createFixture(final JBox2dPhysicsSupport support, final TransformSupport transform, final Body body) throws IllegalArgumentException {
@@ -898,13 +1169,11 @@ public class JBox2dPhysicsEngine extends AbstractActor implements Updatable {
         }
     }
 
-    private static class ContactFilterImpl extends ContactFilter {
-
-        private final JBox2dContactFilter contactFilter;
-
-        private ContactFilterImpl(final JBox2dContactFilter contactFilter) {
-            this.contactFilter = contactFilter;
-        }
+    /**
+     * Filters contacts with the current contact filter of the engine. This is
+     * only called on the physics thread.
+     */
+    private class ContactFilterImpl extends ContactFilter {
 
         @Override
         public boolean shouldCollide(final Fixture fixtureA, final Fixture fixtureB) {
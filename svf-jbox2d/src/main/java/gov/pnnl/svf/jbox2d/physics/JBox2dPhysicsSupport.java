@@ -4,6 +4,7 @@ import gov.pnnl.svf.actor.Actor;
 import gov.pnnl.svf.support.TransformSupport;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.commons.math.geometry.Vector3D;
 
 /**
@@ -43,6 +44,7 @@ public class JBox2dPhysicsSupport extends AbstractJBox2dSupport<Object> {
     public static final String APPLY_ROTATION = "applyRotation";
     private static final Vector3D ONE = new Vector3D(1.0, 1.0, 1.0);
     private final PropertyChangeListener listener = new ChangeListener();
+    private final PropertyChangeListener transformListener = new TransformListener();
     private final JBox2dPhysicsType type;
     private final float density;
     private final float friction;
@@ -55,6 +57,28 @@ public class JBox2dPhysicsSupport extends AbstractJBox2dSupport<Object> {
     private Vector3D scale = ONE;
     private Vector3D padding = Vector3D.ZERO;
     private boolean applyRotation = true;
+    /**
+     * The transform of the actor that is cached so that it doesn't need to be
+     * looked up every update.
+     */
+    final TransformSupport transform;
+    /**
+     * True if this support object is queued to have its body synchronized
+     * with the framework on the physics thread.
+     */
+    final AtomicBoolean dirty = new AtomicBoolean(false);
+    /**
+     * The slot of this support object in the body states of the physics
+     * engine. This field is only accessed on the physics thread.
+     */
+    int slot = -1;
+    /**
+     * The state last applied to the transform. These fields are only accessed
+     * on the scene update thread.
+     */
+    double appliedX = Double.NaN;
+    double appliedY = Double.NaN;
+    double appliedAngle = Double.NaN;
 
     /**
      * Constructor kept private to prevent 'this' reference from escaping during
@@ -93,11 +117,13 @@ public class JBox2dPhysicsSupport extends AbstractJBox2dSupport<Object> {
         this.friction = friction;
         this.damping = damping;
         this.restitution = restitution;
-        final TransformSupport transform = actor.lookup(TransformSupport.class);
+        transform = actor.lookup(TransformSupport.class);
         if (transform == null) {
             throw new IllegalArgumentException("Actor must have a TransformSupport object in its lookup in order to use JBox2dPhysicsSupport.");
         }
         transform.getPropertyChangeSupport().addPropertyChangeListener(TransformSupport.SCALE, listener);
+        transform.getPropertyChangeSupport().addPropertyChangeListener(TransformSupport.TRANSLATION, transformListener);
+        transform.getPropertyChangeSupport().addPropertyChangeListener(TransformSupport.ROTATION, transformListener);
         getPropertyChangeSupport().addPropertyChangeListener(SCALE, listener);
         getPropertyChangeSupport().addPropertyChangeListener(PADDING, listener);
         // TODO handle new text actors
@@ -147,10 +173,13 @@ public class JBox2dPhysicsSupport extends AbstractJBox2dSupport<Object> {
     @Override
     public void dispose() {
         setDisposed(true);
-        final TransformSupport transform = getActor().lookup(TransformSupport.class);
-        if (transform != null) {
-            transform.getPropertyChangeSupport().removePropertyChangeListener(TransformSupport.SCALE, listener);
+        final JBox2dPhysicsEngine engine = getPhysicsEngine();
+        if (engine != null) {
+            engine.removePhysics(this);
         }
+        transform.getPropertyChangeSupport().removePropertyChangeListener(TransformSupport.SCALE, listener);
+        transform.getPropertyChangeSupport().removePropertyChangeListener(TransformSupport.TRANSLATION, transformListener);
+        transform.getPropertyChangeSupport().removePropertyChangeListener(TransformSupport.ROTATION, transformListener);
         // handle new text actors
         //        if (getActor() instanceof TextActor) {
         //            getActor().getPropertyChangeSupport().removePropertyChangeListener(BoundsShape.BOUNDS, listener);
@@ -268,6 +297,9 @@ public class JBox2dPhysicsSupport extends AbstractJBox2dSupport<Object> {
             this.applyRotation = applyRotation;
         }
         getPropertyChangeSupport().firePropertyChange(APPLY_ROTATION, old, applyRotation);
+        if (old != applyRotation) {
+            markDirty();
+        }
     }
 
     private void setChanged(final boolean changed) {
@@ -277,6 +309,9 @@ public class JBox2dPhysicsSupport extends AbstractJBox2dSupport<Object> {
             this.changed = changed;
         }
         getPropertyChangeSupport().firePropertyChange(CHANGED, old, changed);
+        if (changed) {
+            markDirty();
+        }
     }
 
     private void setDisposed(final boolean disposed) {
@@ -301,6 +336,11 @@ public class JBox2dPhysicsSupport extends AbstractJBox2dSupport<Object> {
             this.impulse = impulse;
         }
         getPropertyChangeSupport().firePropertyChange(IMPULSE, old, impulse);
+        // the impulse is applied on the physics thread
+        final JBox2dPhysicsEngine engine = getPhysicsEngine();
+        if (engine != null && !Vector3D.ZERO.equals(impulse)) {
+            engine.applyImpulse(this);
+        }
     }
 
     /**
@@ -347,6 +387,17 @@ public class JBox2dPhysicsSupport extends AbstractJBox2dSupport<Object> {
         getPropertyChangeSupport().firePropertyChange(SCALE, old, scale);
     }
 
+    /**
+     * Queue this support object to have its body synchronized with the
+     * framework on the physics thread.
+     */
+    private void markDirty() {
+        final JBox2dPhysicsEngine engine = getPhysicsEngine();
+        if (engine != null && dirty.compareAndSet(false, true)) {
+            engine.sync(this);
+        }
+    }
+
     private class ChangeListener implements PropertyChangeListener {
 
         @Override
@@ -354,4 +405,18 @@ public class JBox2dPhysicsSupport extends AbstractJBox2dSupport<Object> {
             setChanged(true);
         }
     }
+
+    /**
+     * Bodies are only synchronized with the framework when the framework
+     * controls the part of the transform that changed.
+     */
+    private class TransformListener implements PropertyChangeListener {
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            if (type == JBox2dPhysicsType.STATIC || (TransformSupport.ROTATION.equals(evt.getPropertyName()) && !isApplyRotation())) {
+                markDirty();
+            }
+        }
+    }
 }
@@ -14,6 +14,7 @@ import gov.pnnl.svf.scene.Scene;
 import gov.pnnl.svf.texture.TextureSupport;
 import gov.pnnl.svf.util.LayoutUtil;
 import gov.pnnl.svf.util.ShapeUtil;
+import gov.pnnl.svf.util.VboUtil;
 import gov.pnnl.svf.vbo.VboShapeFactory;
 import gov.pnnl.svf.vbo.VboShapeService;
 import gov.pnnl.svf.vbo.VertexBufferObject;
@@ -172,7 +173,7 @@ public class DynamicBorderedShapeActor extends DynamicShapeActor {
     }
 
     @Override
-    public List<VertexBufferObject> createVbos() {
+    protected List<VertexBufferObject> createLevelVbos(final int level) {
         // gather variables
         final Shape shape;
         final Alignment origin;
@@ -201,17 +202,13 @@ public class DynamicBorderedShapeActor extends DynamicShapeActor {
             if (backgroundColor != null) {
                 vbos.addAll(vboShapeFactory.createBackgroundVbos(shape, backgroundColor));
             }
-            vbos.addAll(vboShapeFactory.createShapeVbos(shape, color, texCoords));
+            vbos.addAll(createShapeVbos(vboShapeFactory, shape, color, texCoords, level));
             if (border != Border.NONE && borderThickness > 0.0) {
                 vbos.addAll(vboShapeFactory.createBorderVbos(shape, border, borderThickness, borderColor));
             }
             // add the offset
             for (int i = 0; i < vbos.size(); i++) {
-                final VertexBufferObject vbo = vbos.get(i);
-                for (int j = 0; j < vbo.getSize(); j++) {
-                    vbo.getVertices()[j * vbo.getVertexDimension()] += offset.getX();
-                    vbo.getVertices()[j * vbo.getVertexDimension() + 1] += offset.getY();
-                }
+                VboUtil.translate(vbos.get(i), offset.getX(), offset.getY());
             }
             return vbos;
         } else {
@@ -245,11 +242,7 @@ public class DynamicBorderedShapeActor extends DynamicShapeActor {
             }
             // add the offset
             for (int i = 0; i < vbos.size(); i++) {
-                final VertexBufferObject vbo = vbos.get(i);
-                for (int j = 0; j < vbo.getSize(); j++) {
-                    vbo.getVertices()[j * vbo.getVertexDimension()] += offset.getX();
-                    vbo.getVertices()[j * vbo.getVertexDimension() + 1] += offset.getY();
-                }
+                VboUtil.translate(vbos.get(i), offset.getX(), offset.getY());
             }
             return vbos;
         } else {
@@ -279,11 +272,7 @@ public class DynamicBorderedShapeActor extends DynamicShapeActor {
             final List<VertexBufferObject> vbos = vboShapeFactory.createColorPickingVbos(shape, border, borderThickness, support);
             // add the offset
             for (int i = 0; i < vbos.size(); i++) {
-                final VertexBufferObject vbo = vbos.get(i);
-                for (int j = 0; j < vbo.getSize(); j++) {
-                    vbo.getVertices()[j * vbo.getVertexDimension()] += offset.getX();
-                    vbo.getVertices()[j * vbo.getVertexDimension() + 1] += offset.getY();
-                }
+                VboUtil.translate(vbos.get(i), offset.getX(), offset.getY());
             }
             return vbos;
         } else {
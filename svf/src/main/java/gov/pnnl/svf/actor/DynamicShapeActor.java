@@ -20,6 +20,10 @@ import gov.pnnl.svf.scene.Scene;
 import gov.pnnl.svf.texture.TextureSupport;
 import gov.pnnl.svf.util.LayoutUtil;
 import gov.pnnl.svf.util.ShapeUtil;
+import gov.pnnl.svf.util.VboUtil;
+import gov.pnnl.svf.vbo.LevelOfDetail;
+import gov.pnnl.svf.vbo.LodVboDrawable;
+import gov.pnnl.svf.vbo.LodVboShapeFactory;
 import gov.pnnl.svf.vbo.VboShapeFactory;
 import gov.pnnl.svf.vbo.VboShapeService;
 import gov.pnnl.svf.vbo.VertexBufferObject;
@@ -34,7 +38,7 @@ import java.util.Set;
  * @author Amelia Bleeker
  *
  */
-public class DynamicShapeActor extends AbstractDynamicActor {
+public class DynamicShapeActor extends AbstractDynamicActor implements LodVboDrawable {
 
     /**
      * The default type for this actor.
@@ -270,8 +274,47 @@ public class DynamicShapeActor extends AbstractDynamicActor {
         }
     }
 
+    @Override
+    public LevelOfDetail getLevelOfDetail() {
+        final Shape shape;
+        synchronized (this) {
+            shape = this.shape;
+        }
+        final VboShapeFactory vboShapeFactory = findVboShapeFactory(shape);
+        return vboShapeFactory instanceof LodVboShapeFactory ? ((LodVboShapeFactory) vboShapeFactory).getLevelOfDetail(shape) : null;
+    }
+
+    @Override
+    public double getTessellationRadius() {
+        final Shape shape;
+        synchronized (this) {
+            shape = this.shape;
+        }
+        final VboShapeFactory vboShapeFactory = findVboShapeFactory(shape);
+        return vboShapeFactory instanceof LodVboShapeFactory ? ((LodVboShapeFactory) vboShapeFactory).getTessellationRadius(shape) : 0.0;
+    }
+
     @Override
     public List<VertexBufferObject> createVbos() {
+        return createLevelVbos(-1);
+    }
+
+    @Override
+    public List<VertexBufferObject> createVbos(final int level) {
+        if (level < 0) {
+            throw new IndexOutOfBoundsException("level");
+        }
+        return createLevelVbos(level);
+    }
+
+    /**
+     * Create the drawing VBOs for a level of detail.
+     *
+     * @param level the level of detail or -1 to use the default tessellation
+     *
+     * @return the VBOs or an empty list
+     */
+    protected List<VertexBufferObject> createLevelVbos(final int level) {
         // gather variables
         final Shape shape;
         final Alignment origin;
@@ -294,14 +337,10 @@ public class DynamicShapeActor extends AbstractDynamicActor {
             if (backgroundColor != null) {
                 vbos.addAll(vboShapeFactory.createBackgroundVbos(shape, backgroundColor));
             }
-            vbos.addAll(vboShapeFactory.createShapeVbos(shape, color, texCoords));
+            vbos.addAll(createShapeVbos(vboShapeFactory, shape, color, texCoords, level));
             // add the offset
             for (int i = 0; i < vbos.size(); i++) {
-                final VertexBufferObject vbo = vbos.get(i);
-                for (int j = 0; j < vbo.getSize(); j++) {
-                    vbo.getVertices()[j * vbo.getVertexDimension()] += offset.getX();
-                    vbo.getVertices()[j * vbo.getVertexDimension() + 1] += offset.getY();
-                }
+                VboUtil.translate(vbos.get(i), offset.getX(), offset.getY());
             }
             return vbos;
         } else {
@@ -327,11 +366,7 @@ public class DynamicShapeActor extends AbstractDynamicActor {
             final List<VertexBufferObject> vbos = vboShapeFactory.createPickingVbos(shape);
             // add the offset
             for (int i = 0; i < vbos.size(); i++) {
-                final VertexBufferObject vbo = vbos.get(i);
-                for (int j = 0; j < vbo.getSize(); j++) {
-                    vbo.getVertices()[j * vbo.getVertexDimension()] += offset.getX();
-                    vbo.getVertices()[j * vbo.getVertexDimension() + 1] += offset.getY();
-                }
+                VboUtil.translate(vbos.get(i), offset.getX(), offset.getY());
             }
             return vbos;
         } else {
@@ -357,11 +392,7 @@ public class DynamicShapeActor extends AbstractDynamicActor {
             final List<VertexBufferObject> vbos = vboShapeFactory.createColorPickingVbos(shape, support);
             // add the offset
             for (int i = 0; i < vbos.size(); i++) {
-                final VertexBufferObject vbo = vbos.get(i);
-                for (int j = 0; j < vbo.getSize(); j++) {
-                    vbo.getVertices()[j * vbo.getVertexDimension()] += offset.getX();
-                    vbo.getVertices()[j * vbo.getVertexDimension() + 1] += offset.getY();
-                }
+                VboUtil.translate(vbos.get(i), offset.getX(), offset.getY());
             }
             return vbos;
         } else {
@@ -464,6 +495,34 @@ public class DynamicShapeActor extends AbstractDynamicActor {
         }
     }
 
+    /**
+     * Create the shape VBOs using the level of detail if one is specified.
+     *
+     * @param vboShapeFactory the factory for the shape
+     * @param shape           the shape
+     * @param color           the optional color
+     * @param texCoords       true to include texture coordinates
+     * @param level           the level of detail or -1 to use the default
+     *                        tessellation
+     *
+     * @return the VBOs
+     */
+    protected static List<VertexBufferObject> createShapeVbos(final VboShapeFactory vboShapeFactory, final Shape shape, final Color color,
+                                                              final boolean texCoords, final int level) {
+        if (level >= 0 && vboShapeFactory instanceof LodVboShapeFactory) {
+            return ((LodVboShapeFactory) vboShapeFactory).createShapeVbos(shape, color, texCoords, level);
+        }
+        return vboShapeFactory.createShapeVbos(shape, color, texCoords);
+    }
+
+    private VboShapeFactory findVboShapeFactory(final Shape shape) {
+        if (shape == null) {
+            return null;
+        }
+        final VboShapeService vboShapeService = getScene().lookup(VboShapeService.class);
+        return vboShapeService != null ? vboShapeService.getVboShapeFactory(shape.getClass()) : null;
+    }
+
     @Override
     public String toString() {
         return "DynamicShapeActor{" + "id=" + getId() + ",type=" + getType() + ",visible=" + isVisible() + ",shape=" + getShape() + '}';
@@ -0,0 +1,301 @@
+package gov.pnnl.svf.actor;
+
+import gov.pnnl.svf.camera.Camera;
+import gov.pnnl.svf.core.color.Color;
+import gov.pnnl.svf.core.geometry.Alignment;
+import gov.pnnl.svf.core.geometry.Border;
+import gov.pnnl.svf.core.geometry.TextAlign;
+import gov.pnnl.svf.geometry.Shape;
+import gov.pnnl.svf.geometry.Text2D;
+import gov.pnnl.svf.scene.DrawingPass;
+import gov.pnnl.svf.scene.FrameTimeline;
+import gov.pnnl.svf.scene.RenderPhase;
+import gov.pnnl.svf.scene.Scene;
+import gov.pnnl.svf.scene.Updatable;
+import java.awt.Font;
+import java.util.Locale;
+
+/**
+ * Will draw the p50, p95, and p99 times of each render phase of the scene
+ * using the scene metrics frame timeline. GPU times are shown when profiling is
+ * enabled in the scene builder and timer queries are supported.
+ *
+ * @author Amelia Bleeker
+ */
+public class ProfileActor extends DynamicBorderedShapeActor implements Updatable {
+
+    /**
+     * The default type for this actor.
+     */
+    public static final String DEFAULT_TYPE = "profile";
+    /**
+     * String representation of a field in this object.
+     */
+    public static final String INTERVAL = "interval";
+    private static final double NANOS_PER_MILLI = 1000000.0;
+    private long elapsed = 0L;
+    private long interval = 1000L;
+
+    /**
+     * Constructor
+     *
+     * @param scene The parent scene for the actor.
+     */
+    public ProfileActor(final Scene scene) {
+        super(scene, DEFAULT_TYPE, scene.getFactory().newUuid(scene));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param scene The parent scene for the actor.
+     * @param id    Unique ID for this actor
+     */
+    public ProfileActor(final Scene scene, final String id) {
+        super(scene, DEFAULT_TYPE, id);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param scene The parent scene for the actor.
+     * @param type  The type of this actor.
+     * @param id    Unique ID for this actor
+     */
+    public ProfileActor(final Scene scene, final String type, final String id) {
+        super(scene, type, id);
+    }
+
+    /**
+     * @return the amount of time in milliseconds to update the profile text
+     */
+    public long getInterval() {
+        synchronized (this) {
+            return interval;
+        }
+    }
+
+    /**
+     * @param interval The amount of time in milliseconds to update the profile
+     *                 text.
+     *
+     * @return this instance
+     */
+    public ProfileActor setInterval(final long interval) {
+        final long old;
+        synchronized (this) {
+            old = this.interval;
+            this.interval = interval;
+        }
+        getPropertyChangeSupport().firePropertyChange(INTERVAL, old, interval);
+        return this;
+    }
+
+    @Override
+    public void update(final long delta) {
+        elapsed += delta;
+        // only update the text every second or more
+        if (elapsed >= getInterval()) {
+            elapsed = 0L;
+            final String text = createText(getScene().getExtended().getSceneMetrics().getFrameTimeline());
+            final Shape s = getShape();
+            final Font font = s instanceof Text2D ? ((Text2D) s).getFont() : null;
+            if (font != null) {
+                setShape(new Text2D(0.0, 0.0, font, TextAlign.LEFT, text));
+            } else {
+                setShape(new Text2D(0.0, 0.0, Text2D.DEFAULT_FONT, TextAlign.LEFT, text));
+            }
+        }
+    }
+
+    /**
+     * Create the text that is displayed by this actor.
+     *
+     * @param timeline the frame timeline
+     *
+     * @return the text
+     */
+    protected String createText(final FrameTimeline timeline) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%-13s %7s %7s %7s", "ms", "p50", "p95", "p99"));
+        sb.append(String.format(Locale.US, "%n%-13s %7.2f %7.2f %7.2f", "FRAME",
+                                toMillis(timeline.getFramePercentile(50.0)),
+                                toMillis(timeline.getFramePercentile(95.0)),
+                                toMillis(timeline.getFramePercentile(99.0))));
+        for (final RenderPhase phase : RenderPhase.values()) {
+            sb.append(String.format(Locale.US, "%n%-13s %7.2f %7.2f %7.2f", phase,
+                                    toMillis(timeline.getCpuPercentile(phase, 50.0)),
+                                    toMillis(timeline.getCpuPercentile(phase, 95.0)),
+                                    toMillis(timeline.getCpuPercentile(phase, 99.0))));
+            if (timeline.getLastGpuNanos(phase) != FrameTimeline.UNAVAILABLE) {
+                sb.append(String.format(Locale.US, "%n%-13s %7.2f %7.2f %7.2f", " GPU",
+                                        toMillis(timeline.getGpuPercentile(phase, 50.0)),
+                                        toMillis(timeline.getGpuPercentile(phase, 95.0)),
+                                        toMillis(timeline.getGpuPercentile(phase, 99.0))));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static double toMillis(final long nanos) {
+        return nanos == FrameTimeline.UNAVAILABLE ? 0.0 : nanos / NANOS_PER_MILLI;
+    }
+
+    public static class Builder {
+
+        // actor
+        private Scene scene = null;
+        private Camera camera = null;
+        private String id = null;
+        private DrawingPass drawingPass = DrawingPass.SCENE;
+        private byte passNumber = 0;
+        private float thickness = 1.0f;
+        private String type = null;
+        private boolean dirty = true;
+        private boolean visible = true;
+        private boolean wire = false;
+        // shape actor
+        private Shape shape = null;
+        private Alignment origin = Alignment.CENTER;
+        private Color color = null;
+        private Color backgroundColor = null;
+        // bordered shape actor
+        private Border border = Border.ALL;
+        private Color borderColor = null;
+        private double borderThickness = 1.0;
+        // profile actor
+        private long interval = 1000L;
+
+        private Builder() {
+        }
+
+        public static Builder construct() {
+            return new Builder();
+        }
+
+        public Builder scene(final Scene scene) {
+            this.scene = scene;
+            return this;
+        }
+
+        public Builder camera(final Camera camera) {
+            this.camera = camera;
+            return this;
+        }
+
+        public Builder id(final String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder drawingPass(final DrawingPass drawingPass) {
+            this.drawingPass = drawingPass;
+            return this;
+        }
+
+        public Builder passNumber(final byte passNumber) {
+            this.passNumber = passNumber;
+            return this;
+        }
+
+        public Builder thickness(final float thickness) {
+            this.thickness = thickness;
+            return this;
+        }
+
+        public Builder type(final String type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder dirty(final boolean dirty) {
+            this.dirty = dirty;
+            return this;
+        }
+
+        public Builder visible(final boolean visible) {
+            this.visible = visible;
+            return this;
+        }
+
+        public Builder wire(final boolean wire) {
+            this.wire = wire;
+            return this;
+        }
+        // shape actor
+
+        public Builder shape(final Shape shape) {
+            this.shape = shape;
+            return this;
+        }
+
+        public Builder origin(final Alignment origin) {
+            this.origin = origin;
+            return this;
+        }
+
+        public Builder color(final Color color) {
+            this.color = color;
+            return this;
+        }
+
+        public Builder backgroundColor(final Color backgroundColor) {
+            this.backgroundColor = backgroundColor;
+            return this;
+        }
+        // bordered shape actor
+
+        public Builder border(final Border border) {
+            this.border = border;
+            return this;
+        }
+
+        public Builder borderColor(final Color borderColor) {
+            this.borderColor = borderColor;
+            return this;
+        }
+
+        public Builder borderThickness(final double borderThickness) {
+            this.borderThickness = borderThickness;
+            return this;
+        }
+
+        // profile actor
+        public Builder interval(final long interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        public ProfileActor build() {
+            final ProfileActor actor;
+            if (type != null && id != null) {
+                actor = new ProfileActor(scene, type, id);
+            } else if (id != null) {
+                actor = new ProfileActor(scene, id);
+            } else {
+                actor = new ProfileActor(scene);
+            }
+            actor.setInterval(interval)
+                    .setBorder(border)
+                    .setBorderColor(borderColor)
+                    .setBorderThickness(borderThickness)
+                    .setBackgroundColor(backgroundColor)
+                    .setColor(color)
+                    .setOrigin(origin)
+                    .setShape(shape)
+                    .setDirty(dirty)
+                    .setDrawingPass(drawingPass)
+                    .setPassNumber(passNumber)
+                    .setThickness(thickness)
+                    .setVisible(visible)
+                    .setWire(wire);
+            if (camera != null) {
+                actor.addCamera(camera);
+            }
+            if (type != null) {
+                actor.setType(type);
+            }
+            return actor;
+        }
+    }
+}
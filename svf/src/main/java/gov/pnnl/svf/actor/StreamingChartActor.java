@@ -0,0 +1,631 @@
+package gov.pnnl.svf.actor;
+
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.glu.gl2.GLUgl2;
+import gov.pnnl.svf.camera.Camera;
+import gov.pnnl.svf.core.color.Color;
+import gov.pnnl.svf.core.geometry.Chart;
+import gov.pnnl.svf.scene.DrawingPass;
+import gov.pnnl.svf.scene.Initializable;
+import gov.pnnl.svf.scene.Scene;
+import gov.pnnl.svf.update.UninitializeTask;
+import gov.pnnl.svf.util.ShapeUtil;
+import java.nio.DoubleBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Actor that draws an append only chart series. The samples are kept in a
+ * ring buffer with a fixed window length and the vertex buffer is updated in
+ * place with only the samples that were appended since the last frame, so the
+ * cost of a frame doesn't depend on the size of the window.
+ * <p>
+ * The chart is drawn in a unit square centered on the origin. The x axis spans
+ * the oldest to the newest sample in the window and the y axis spans the
+ * minimum to the maximum y value of this actor. The x values are expected to
+ * increase with each sample.
+ *
+ * @author Amelia Bleeker
+ */
+public class StreamingChartActor extends AbstractActor implements Initializable {
+
+    private static final Logger logger = Logger.getLogger(StreamingChartActor.class.toString());
+    /**
+     * The default type for this actor.
+     */
+    public static final String DEFAULT_TYPE = "streaming-chart";
+    /**
+     * String representation of a field in this object.
+     */
+    public static final String COLOR = "color";
+    /**
+     * String representation of a field in this object.
+     */
+    public static final String STYLE = "style";
+    /**
+     * String representation of a field in this object.
+     */
+    public static final String WINDOW = "window";
+    /**
+     * String representation of a field in this object.
+     */
+    public static final String MINIMUM = "minimum";
+    /**
+     * String representation of a field in this object.
+     */
+    public static final String MAXIMUM = "maximum";
+    /**
+     * The default number of samples in the window.
+     */
+    public static final int DEFAULT_WINDOW = 100000;
+    private static final int UNINITIALIZED = -1;
+    private static final long VERTEX_BYTES = 16L;
+    private StreamingChartBuffer samples = new StreamingChartBuffer(DEFAULT_WINDOW);
+    private Color color = null;
+    private Chart style = Chart.LINE;
+    private double minimum = 0.0;
+    private double maximum = 1.0;
+    /**
+     * The reference pointer for the vertex buffer. This field should only be
+     * accessed on the OpenGL active context thread.
+     */
+    private int buffer = UNINITIALIZED;
+    /**
+     * The number of samples the vertex buffer was allocated for. This field
+     * should only be accessed on the OpenGL active context thread.
+     */
+    private int capacity = 0;
+    /**
+     * Copy of the samples that are waiting to be uploaded so the vertex buffer
+     * can be updated without holding the lock. These fields should only be
+     * accessed on the OpenGL active context thread.
+     */
+    private double[] staging = new double[0];
+    private final int[] ranges = new int[4];
+    private int rangeCount = 0;
+
+    /**
+     * Constructor
+     *
+     * @param scene Reference to the scene for lookup.
+     */
+    public StreamingChartActor(final Scene scene) {
+        super(scene, DEFAULT_TYPE, scene.getFactory().newUuid(scene));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param scene Reference to the scene for lookup.
+     * @param id    Unique ID for this actor
+     */
+    public StreamingChartActor(final Scene scene, final String id) {
+        super(scene, DEFAULT_TYPE, id);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param scene Reference to the scene for lookup.
+     * @param type  The type of this actor.
+     * @param id    The unique id for this actor.
+     */
+    public StreamingChartActor(final Scene scene, final String type, final String id) {
+        super(scene, type, id);
+    }
+
+    @Override
+    protected void finalize() throws Throwable {
+        // just used for unmanaged resource disposal validation
+        if (buffer != UNINITIALIZED) {
+            logger.log(Level.WARNING, "Unmanaged resource not disposed properly for actor {0} {1}", new Object[]{getType(), getId()});
+        }
+        super.finalize();
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        UninitializeTask.schedule(getScene(), this);
+    }
+
+    /**
+     * Append a sample to the end of the series. The oldest sample is dropped
+     * when the window is full.
+     *
+     * @param x the x value
+     * @param y the y value
+     *
+     * @return this instance
+     */
+    public StreamingChartActor append(final double x, final double y) {
+        synchronized (this) {
+            samples.append(x, y);
+        }
+        getScene().draw(getDrawingPass());
+        return this;
+    }
+
+    /**
+     * Append a series of samples to the end of the series. This is the
+     * preferred method for high ingest rates because the lock is only taken
+     * once for the whole series.
+     *
+     * @param xValues the x values
+     * @param yValues the y values
+     * @param offset  the index of the first sample to append
+     * @param length  the number of samples to append
+     *
+     * @return this instance
+     *
+     * @throws NullPointerException      if xValues or yValues is null
+     * @throws IndexOutOfBoundsException if offset and length are out of range
+     *                                   of either array
+     */
+    public StreamingChartActor append(final double[] xValues, final double[] yValues, final int offset, final int length) {
+        if (xValues == null) {
+            throw new NullPointerException("xValues");
+        }
+        if (yValues == null) {
+            throw new NullPointerException("yValues");
+        }
+        if (offset < 0 || length < 0 || offset + length > xValues.length || offset + length > yValues.length) {
+            throw new IndexOutOfBoundsException("length");
+        }
+        synchronized (this) {
+            samples.append(xValues, yValues, offset, length);
+        }
+        getScene().draw(getDrawingPass());
+        return this;
+    }
+
+    /**
+     * Remove all of the samples.
+     *
+     * @return this instance
+     */
+    public StreamingChartActor clearSamples() {
+        synchronized (this) {
+            samples.clear();
+        }
+        getScene().draw(getDrawingPass());
+        return this;
+    }
+
+    /**
+     * @return the number of samples currently in the window
+     */
+    public int getSize() {
+        synchronized (this) {
+            return samples.getSize();
+        }
+    }
+
+    /**
+     * @return the total number of samples appended to this chart
+     */
+    public long getAppendedCount() {
+        synchronized (this) {
+            return samples.getAppended();
+        }
+    }
+
+    /**
+     * @return the maximum number of samples in the window
+     */
+    public int getWindow() {
+        synchronized (this) {
+            return samples.getCapacity();
+        }
+    }
+
+    /**
+     * Set the maximum number of samples in the window. The most recent samples
+     * are kept and the vertex buffer will be recreated.
+     *
+     * @param window the maximum number of samples in the window
+     *
+     * @return this instance
+     *
+     * @throws IllegalArgumentException if window is less than one
+     */
+    public StreamingChartActor setWindow(final int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window");
+        }
+        final int old;
+        synchronized (this) {
+            old = samples.getCapacity();
+            if (old != window) {
+                samples = new StreamingChartBuffer(window, samples);
+            }
+        }
+        if (old != window) {
+            UninitializeTask.schedule(getScene(), this);
+        }
+        getPropertyChangeSupport().firePropertyChange(WINDOW, old, window);
+        return this;
+    }
+
+    /**
+     * @return the color of the series or null to use the current color
+     */
+    public Color getColor() {
+        synchronized (this) {
+            return color;
+        }
+    }
+
+    /**
+     * @param color the color of the series or null to use the current color
+     *
+     * @return this instance
+     */
+    public StreamingChartActor setColor(final Color color) {
+        final Color old;
+        synchronized (this) {
+            old = this.color;
+            this.color = color;
+        }
+        getPropertyChangeSupport().firePropertyChange(COLOR, old, color);
+        return this;
+    }
+
+    /**
+     * @return the style of the series
+     */
+    public Chart getStyle() {
+        synchronized (this) {
+            return style;
+        }
+    }
+
+    /**
+     * @param style the style of the series which is either line or scatter
+     *
+     * @return this instance
+     *
+     * @throws NullPointerException     if style is null
+     * @throws IllegalArgumentException if style is not line or scatter
+     */
+    public StreamingChartActor setStyle(final Chart style) {
+        if (style == null) {
+            throw new NullPointerException("style");
+        }
+        if (style != Chart.LINE && style != Chart.SCATTER) {
+            throw new IllegalArgumentException("style");
+        }
+        final Chart old;
+        synchronized (this) {
+            old = this.style;
+            this.style = style;
+        }
+        getPropertyChangeSupport().firePropertyChange(STYLE, old, style);
+        return this;
+    }
+
+    /**
+     * @return the y value at the bottom of the chart
+     */
+    public double getMinimum() {
+        synchronized (this) {
+            return minimum;
+        }
+    }
+
+    /**
+     * @param minimum the y value at the bottom of the chart
+     *
+     * @return this instance
+     */
+    public StreamingChartActor setMinimum(final double minimum) {
+        final double old;
+        synchronized (this) {
+            old = this.minimum;
+            this.minimum = minimum;
+        }
+        getPropertyChangeSupport().firePropertyChange(MINIMUM, old, minimum);
+        return this;
+    }
+
+    /**
+     * @return the y value at the top of the chart
+     */
+    public double getMaximum() {
+        synchronized (this) {
+            return maximum;
+        }
+    }
+
+    /**
+     * @param maximum the y value at the top of the chart
+     *
+     * @return this instance
+     */
+    public StreamingChartActor setMaximum(final double maximum) {
+        final double old;
+        synchronized (this) {
+            old = this.maximum;
+            this.maximum = maximum;
+        }
+        getPropertyChangeSupport().firePropertyChange(MAXIMUM, old, maximum);
+        return this;
+    }
+
+    @Override
+    public void initialize(final GL2 gl, final GLUgl2 glu) {
+        if (isDisposed()) {
+            return;
+        }
+        final int[] buffers = new int[1];
+        gl.glGenBuffers(1, buffers, 0);
+        buffer = buffers[0];
+        getScene().getExtended().getSceneMetrics().incrementVboBufferCount();
+        synchronized (this) {
+            capacity = samples.getCapacity();
+            samples.invalidate();
+            stage();
+        }
+        // the extra vertex repeats the first slot so a wrapped line joins
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, buffer);
+        gl.glBufferData(GL.GL_ARRAY_BUFFER, (capacity + 1) * VERTEX_BYTES, null, GL.GL_DYNAMIC_DRAW);
+        upload(gl);
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+        synchronized (this) {
+            actorState.setInitialized(true);
+        }
+    }
+
+    @Override
+    public boolean isInitialized() {
+        synchronized (this) {
+            return actorState.isInitialized();
+        }
+    }
+
+    @Override
+    public boolean isSlow() {
+        return false;
+    }
+
+    @Override
+    public void unInitialize(final GL2 gl, final GLUgl2 glu) {
+        if (buffer != UNINITIALIZED) {
+            gl.glDeleteBuffers(1, new int[]{buffer}, 0);
+            getScene().getExtended().getSceneMetrics().decrementVboBufferCount();
+        }
+        buffer = UNINITIALIZED;
+        capacity = 0;
+        staging = new double[0];
+        rangeCount = 0;
+        synchronized (this) {
+            actorState.setInitialized(false);
+        }
+    }
+
+    @Override
+    public void draw(final GL2 gl, final GLUgl2 glu, final Camera camera) {
+        if (buffer == UNINITIALIZED) {
+            return;
+        }
+        final Color color;
+        final int mode;
+        final int size;
+        final int start;
+        final double x;
+        final double scaleX;
+        final double y;
+        final double scaleY;
+        synchronized (this) {
+            if (samples.getCapacity() != capacity) {
+                // waiting for the vertex buffer to be recreated
+                return;
+            }
+            stage();
+            color = this.color;
+            mode = style == Chart.SCATTER ? GL.GL_POINTS : GL.GL_LINE_STRIP;
+            size = samples.getSize();
+            start = samples.getStart();
+            x = samples.getOldestX();
+            final double rangeX = samples.getNewestX() - x;
+            scaleX = rangeX != 0.0 ? 1.0 / rangeX : 0.0;
+            y = minimum;
+            scaleY = maximum != minimum ? 1.0 / (maximum - minimum) : 0.0;
+        }
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, buffer);
+        upload(gl);
+        if (size > 0) {
+            ShapeUtil.pushColor(gl, color);
+            gl.glPushMatrix();
+            gl.glTranslated(-0.5, -0.5, 0.0);
+            gl.glScaled(scaleX, scaleY, 1.0);
+            gl.glTranslated(-x, -y, 0.0);
+            gl.glEnableClientState(GL2.GL_VERTEX_ARRAY);
+            gl.glVertexPointer(2, GL2.GL_DOUBLE, 0, 0L);
+            if (start == 0) {
+                gl.glDrawArrays(mode, 0, size);
+            } else {
+                // oldest samples through the repeated first slot then the rest
+                gl.glDrawArrays(mode, start, capacity + 1 - start);
+                gl.glDrawArrays(mode, 0, start);
+            }
+            gl.glDisableClientState(GL2.GL_VERTEX_ARRAY);
+            gl.glPopMatrix();
+            ShapeUtil.popColor(gl, color);
+            camera.getExtended().incrementVerticesCounter(size);
+        }
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+    }
+
+    @Override
+    public void endDraw(final GL2 gl, final GLUgl2 glu, final Camera camera) {
+        // no operation
+    }
+
+    /**
+     * Copy the samples that were appended since the last upload into the
+     * staging array. Must be called while synchronized on this actor.
+     */
+    private void stage() {
+        rangeCount = samples.upload(ranges);
+        final double[] values = samples.getValues();
+        if (staging.length != values.length) {
+            staging = new double[values.length];
+        }
+        for (int i = 0; i < rangeCount; i++) {
+            final int from = ranges[i * 2] * 2;
+            System.arraycopy(values, from, staging, from, ranges[i * 2 + 1] * 2);
+        }
+    }
+
+    /**
+     * Copy the staged samples into the bound vertex buffer. This is called
+     * without holding the lock on this actor.
+     *
+     * @param gl reference to gl
+     */
+    private void upload(final GL2 gl) {
+        for (int i = 0; i < rangeCount; i++) {
+            final int from = ranges[i * 2];
+            final int length = ranges[i * 2 + 1];
+            gl.glBufferSubData(GL.GL_ARRAY_BUFFER, from * VERTEX_BYTES, length * VERTEX_BYTES, DoubleBuffer.wrap(staging, from * 2, length * 2));
+            if (from == 0) {
+                gl.glBufferSubData(GL.GL_ARRAY_BUFFER, capacity * VERTEX_BYTES, VERTEX_BYTES, DoubleBuffer.wrap(staging, 0, 2));
+            }
+        }
+        rangeCount = 0;
+    }
+
+    public static class Builder {
+
+        // actor
+        private Scene scene = null;
+        private Camera camera = null;
+        private String id = null;
+        private DrawingPass drawingPass = DrawingPass.SCENE;
+        private byte passNumber = 0;
+        private float thickness = 1.0f;
+        private String type = null;
+        private boolean dirty = true;
+        private boolean visible = true;
+        private boolean wire = false;
+        // streaming chart actor
+        private Color color = null;
+        private Chart style = Chart.LINE;
+        private int window = DEFAULT_WINDOW;
+        private double minimum = 0.0;
+        private double maximum = 1.0;
+
+        private Builder() {
+        }
+
+        public static Builder construct() {
+            return new Builder();
+        }
+
+        public Builder scene(final Scene scene) {
+            this.scene = scene;
+            return this;
+        }
+
+        public Builder camera(final Camera camera) {
+            this.camera = camera;
+            return this;
+        }
+
+        public Builder id(final String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder drawingPass(final DrawingPass drawingPass) {
+            this.drawingPass = drawingPass;
+            return this;
+        }
+
+        public Builder passNumber(final byte passNumber) {
+            this.passNumber = passNumber;
+            return this;
+        }
+
+        public Builder thickness(final float thickness) {
+            this.thickness = thickness;
+            return this;
+        }
+
+        public Builder type(final String type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder dirty(final boolean dirty) {
+            this.dirty = dirty;
+            return this;
+        }
+
+        public Builder visible(final boolean visible) {
+            this.visible = visible;
+            return this;
+        }
+
+        public Builder wire(final boolean wire) {
+            this.wire = wire;
+            return this;
+        }
+
+        public Builder color(final Color color) {
+            this.color = color;
+            return this;
+        }
+
+        public Builder style(final Chart style) {
+            this.style = style;
+            return this;
+        }
+
+        public Builder window(final int window) {
+            this.window = window;
+            return this;
+        }
+
+        public Builder minimum(final double minimum) {
+            this.minimum = minimum;
+            return this;
+        }
+
+        public Builder maximum(final double maximum) {
+            this.maximum = maximum;
+            return this;
+        }
+
+        public StreamingChartActor build() {
+            final StreamingChartActor actor;
+            if (type != null && id != null) {
+                actor = new StreamingChartActor(scene, type, id);
+            } else if (id != null) {
+                actor = new StreamingChartActor(scene, id);
+            } else {
+                actor = new StreamingChartActor(scene);
+            }
+            actor.setDirty(dirty)
+                    .setDrawingPass(drawingPass)
+                    .setPassNumber(passNumber)
+                    .setThickness(thickness)
+                    .setVisible(visible)
+                    .setWire(wire);
+            actor.setColor(color)
+                    .setStyle(style)
+                    .setWindow(window)
+                    .setMinimum(minimum)
+                    .setMaximum(maximum);
+            if (camera != null) {
+                actor.addCamera(camera);
+            }
+            if (type != null) {
+                actor.setType(type);
+            }
+            return actor;
+        }
+    }
+}
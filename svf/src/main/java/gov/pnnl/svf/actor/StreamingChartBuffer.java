@@ -0,0 +1,243 @@
+package gov.pnnl.svf.actor;
+
+/**
+ * Ring buffer of x and y values for a streaming chart. This class keeps track
+ * of which slots have been written since they were last uploaded so only the
+ * new samples need to be copied to the vertex buffer. The x values are stored
+ * relative to an origin to keep precision for large time stamps. The origin
+ * starts at the first sample and is moved to the oldest sample once the window
+ * has moved further from it than the width of the window, so the relative
+ * values stay within about twice the width of the window even when they are
+ * converted to floats for drawing.
+ * <p>
+ * This class is not thread safe and access must be synchronized by the owner.
+ *
+ * @author Amelia Bleeker
+ */
+final class StreamingChartBuffer {
+
+    private final int capacity;
+    private final double[] values;
+    private double origin = Double.NaN;
+    private long appended = 0L;
+    private long uploaded = 0L;
+    private long rebased = 0L;
+
+    /**
+     * Constructor
+     *
+     * @param capacity the maximum number of samples in the window
+     *
+     * @throws IllegalArgumentException if capacity is less than one
+     */
+    StreamingChartBuffer(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity");
+        }
+        this.capacity = capacity;
+        values = new double[capacity * 2];
+    }
+
+    /**
+     * Constructor used to resize a buffer. The most recent samples that fit in
+     * the new capacity are copied.
+     *
+     * @param capacity the maximum number of samples in the window
+     * @param copy     the buffer to copy
+     *
+     * @throws IllegalArgumentException if capacity is less than one
+     */
+    StreamingChartBuffer(final int capacity, final StreamingChartBuffer copy) {
+        this(capacity);
+        origin = copy.origin;
+        final int size = Math.min(capacity, copy.getSize());
+        final int start = copy.getStart() + copy.getSize() - size;
+        for (int i = 0; i < size; i++) {
+            final int slot = (start + i) % copy.capacity;
+            values[i * 2] = copy.values[slot * 2];
+            values[i * 2 + 1] = copy.values[slot * 2 + 1];
+        }
+        appended = size;
+    }
+
+    /**
+     * Append a sample to the window.
+     *
+     * @param x the x value
+     * @param y the y value
+     */
+    void append(final double x, final double y) {
+        if (appended == 0L) {
+            origin = x;
+        }
+        final int slot = (int) (appended % capacity);
+        values[slot * 2] = x - origin;
+        values[slot * 2 + 1] = y;
+        appended++;
+        rebase();
+    }
+
+    /**
+     * Append a series of samples to the window. Samples that would be
+     * overwritten by the same call are skipped.
+     *
+     * @param xValues the x values
+     * @param yValues the y values
+     * @param offset  the index of the first sample
+     * @param length  the number of samples
+     */
+    void append(final double[] xValues, final double[] yValues, final int offset, final int length) {
+        if (length <= 0) {
+            return;
+        }
+        if (appended == 0L) {
+            origin = xValues[offset];
+        }
+        final int skip = Math.max(0, length - capacity);
+        appended += skip;
+        int slot = (int) (appended % capacity);
+        for (int i = offset + skip; i < offset + length; i++) {
+            values[slot * 2] = xValues[i] - origin;
+            values[slot * 2 + 1] = yValues[i];
+            if (++slot == capacity) {
+                slot = 0;
+            }
+        }
+        appended += length - skip;
+        rebase();
+    }
+
+    /**
+     * Remove all of the samples.
+     */
+    void clear() {
+        origin = Double.NaN;
+        appended = 0L;
+        uploaded = 0L;
+        rebased = 0L;
+    }
+
+    /**
+     * Move the origin to the oldest sample when the window is further from the
+     * origin than its width. Every sample needs to be uploaded again after the
+     * origin moves, so it only moves once the whole window has been replaced
+     * since the last time.
+     */
+    private void rebase() {
+        if (appended - rebased < capacity) {
+            return;
+        }
+        final double oldest = getOldestX();
+        if (oldest <= getNewestX() - oldest) {
+            return;
+        }
+        // the window is full so every slot holds a sample
+        for (int i = 0; i < capacity; i++) {
+            values[i * 2] -= oldest;
+        }
+        origin += oldest;
+        rebased = appended;
+        uploaded = appended - capacity;
+    }
+
+    /**
+     * Find the ranges of slots that were written since the last call and mark
+     * them as uploaded. Each range is stored in the array as a start slot and a
+     * slot count.
+     *
+     * @param ranges array with room for two ranges
+     *
+     * @return the number of ranges
+     */
+    int upload(final int[] ranges) {
+        final long pending = appended - uploaded;
+        uploaded = appended;
+        if (pending <= 0L) {
+            return 0;
+        }
+        if (pending >= capacity) {
+            ranges[0] = 0;
+            ranges[1] = capacity;
+            return 1;
+        }
+        final int from = (int) ((appended - pending) % capacity);
+        final int count = (int) pending;
+        if (from + count <= capacity) {
+            ranges[0] = from;
+            ranges[1] = count;
+            return 1;
+        }
+        ranges[0] = from;
+        ranges[1] = capacity - from;
+        ranges[2] = 0;
+        ranges[3] = from + count - capacity;
+        return 2;
+    }
+
+    /**
+     * Mark every sample as not uploaded. Used when the vertex buffer is
+     * recreated.
+     */
+    void invalidate() {
+        uploaded = appended > capacity ? appended - capacity : 0L;
+    }
+
+    /**
+     * The x and y value of each slot relative to the origin. The array is
+     * shared for performance and must not be modified.
+     *
+     * @return the values
+     */
+    double[] getValues() {
+        return values;
+    }
+
+    /**
+     * @return the maximum number of samples in the window
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of samples in the window
+     */
+    int getSize() {
+        return (int) Math.min(appended, capacity);
+    }
+
+    /**
+     * @return the slot of the oldest sample in the window
+     */
+    int getStart() {
+        return appended > capacity ? (int) (appended % capacity) : 0;
+    }
+
+    /**
+     * @return the total number of samples appended
+     */
+    long getAppended() {
+        return appended;
+    }
+
+    /**
+     * @return the x value that the stored x values are relative to
+     */
+    double getOrigin() {
+        return origin;
+    }
+
+    /**
+     * @return the x value of the oldest sample relative to the origin
+     */
+    double getOldestX() {
+        return appended > 0L ? values[getStart() * 2] : 0.0;
+    }
+
+    /**
+     * @return the x value of the newest sample relative to the origin
+     */
+    double getNewestX() {
+        return appended > 0L ? values[(int) ((appended - 1L) % capacity) * 2] : 0.0;
+    }
+}
@@ -6,8 +6,10 @@ import com.jogamp.opengl.glu.gl2.GLUgl2;
 import gov.pnnl.svf.camera.Camera;
 import gov.pnnl.svf.core.color.Color;
 import gov.pnnl.svf.core.geometry.Alignment;
+import gov.pnnl.svf.core.texture.TextureType;
 import gov.pnnl.svf.event.PickingCameraEvent;
 import gov.pnnl.svf.geometry.Point2D;
+import gov.pnnl.svf.geometry.RayMarchVolume3DRenderer;
 import gov.pnnl.svf.geometry.Shape;
 import gov.pnnl.svf.geometry.ShapeRenderer;
 import gov.pnnl.svf.geometry.ShapeService;
@@ -15,6 +17,10 @@ import gov.pnnl.svf.geometry.Volume3D;
 import gov.pnnl.svf.picking.ColorPickingSupport;
 import gov.pnnl.svf.scene.DrawingPass;
 import gov.pnnl.svf.scene.Scene;
+import gov.pnnl.svf.support.CameraDependent;
+import gov.pnnl.svf.texture.BrickedTexture3dSupport;
+import gov.pnnl.svf.texture.Texture3dSupport;
+import gov.pnnl.svf.texture.VolumeOccupancySupport;
 import gov.pnnl.svf.util.LayoutUtil;
 import gov.pnnl.svf.util.ShapeUtil;
 import java.util.Collections;
@@ -23,11 +29,12 @@ import java.util.Set;
 /**
  * This actor will render volumetric data by drawing a series of slices that are
  * aligned with a Euler axis. The direction of draw will be determined by the
- * viewing camera.
+ * viewing camera. Volumes that are too large for memory can be drawn by adding
+ * a BrickedTexture3dSupport, which streams in only the visible bricks.
  *
  * @author Amelia Bleeker
  */
-public class VolumeActor extends ShapeActor {
+public class VolumeActor extends ShapeActor implements CameraDependent {
 
     /**
      * The default type for this actor.
@@ -64,6 +71,12 @@ public class VolumeActor extends ShapeActor {
         super(scene, type, id);
     }
 
+    @Override
+    public boolean isCameraDependent() {
+        // the slice direction, visible bricks, and rays are found from the camera
+        return true;
+    }
+
     @Override
     protected Set<String> getInitializeFields() {
         // volume actor doesn't use display lists
@@ -97,7 +110,19 @@ public class VolumeActor extends ShapeActor {
             ShapeUtil.pushColor(gl, color);
             gl.glPushAttrib(GL2.GL_ENABLE_BIT);
             gl.glDisable(GL.GL_CULL_FACE);
-            v += shapeRenderer.drawShape(gl, shape);
+            // bricked volumes stream and draw only the visible bricks with the shape renderer
+            final BrickedTexture3dSupport bricked = lookup(BrickedTexture3dSupport.class);
+            if (bricked != null) {
+                v += bricked.drawShape(gl, camera, shape, offset, shapeRenderer);
+            } else if (shapeRenderer instanceof RayMarchVolume3DRenderer) {
+                // the ray marcher is told about the textures instead of querying the gl
+                final Texture3dSupport texture = lookup(Texture3dSupport.class);
+                final VolumeOccupancySupport occupancy = lookup(VolumeOccupancySupport.class);
+                v += ((RayMarchVolume3DRenderer) shapeRenderer).drawShape(gl, shape, texture != null ? texture.getType() : TextureType.ALPHA,
+                                                                         occupancy != null ? occupancy.getGrid() : null);
+            } else {
+                v += shapeRenderer.drawShape(gl, shape);
+            }
             gl.glPopAttrib();
             ShapeUtil.popColor(gl, color);
             if (!offset.equals(Point2D.ZERO)) {
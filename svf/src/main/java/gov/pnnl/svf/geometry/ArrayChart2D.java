@@ -0,0 +1,327 @@
+package gov.pnnl.svf.geometry;
+
+import gov.pnnl.svf.core.geometry.Chart;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import org.apache.commons.collections.primitives.DoubleList;
+
+/**
+ * Chart that stores its values in a single primitive array of x and y pairs
+ * instead of a list of points. This is intended for series with millions of
+ * samples. The list of points is a read only view that creates each point as
+ * it's requested.
+ * <p>
+ * Scatter, line, and area charts are drawn from the raw values with the
+ * scaling applied to the modelview matrix, so the values are only processed
+ * once when they are uploaded.
+ *
+ * @author Amelia Bleeker
+ */
+public class ArrayChart2D extends Chart2D implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    /**
+     * Constant zero-dimensioned chart
+     */
+    public final static ArrayChart2D ZERO = new ArrayChart2D();
+    protected final double[] values;
+
+    /**
+     * Constructor
+     */
+    public ArrayChart2D() {
+        this(0.0, 0.0, Chart.NONE, null, null, new double[0]);
+    }
+
+    /**
+     * Constructor used to specify a new offset.
+     *
+     * @param x    the new x offset
+     * @param y    the new y offset
+     * @param copy the object to copy
+     */
+    public ArrayChart2D(final double x, final double y, final ArrayChart2D copy) {
+        super(x, y, copy);
+        values = copy.values;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param style   style for the path
+     * @param xValues the x value of each point
+     * @param yValues the y value of each point
+     *
+     * @throws NullPointerException     if style, xValues, or yValues is null
+     * @throws IllegalArgumentException if the value arrays are different
+     *                                  lengths
+     */
+    public ArrayChart2D(final Chart style, final double[] xValues, final double[] yValues) {
+        this(0.0, 0.0, style, null, null, xValues, yValues);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param x       the x offset for this shape
+     * @param y       the y offset for this shape
+     * @param style   style for the path
+     * @param xValues the x value of each point
+     * @param yValues the y value of each point
+     *
+     * @throws NullPointerException     if style, xValues, or yValues is null
+     * @throws IllegalArgumentException if the value arrays are different
+     *                                  lengths
+     */
+    public ArrayChart2D(final double x, final double y, final Chart style, final double[] xValues, final double[] yValues) {
+        this(x, y, style, null, null, xValues, yValues);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param x       the x offset for this shape
+     * @param y       the y offset for this shape
+     * @param style   style for the path
+     * @param minimum minimum values or null to use minimum from values
+     * @param maximum maximum values or null to use maximum from values
+     * @param xValues the x value of each point
+     * @param yValues the y value of each point
+     *
+     * @throws NullPointerException     if style, xValues, or yValues is null
+     * @throws IllegalArgumentException if the value arrays are different
+     *                                  lengths
+     */
+    public ArrayChart2D(final double x, final double y, final Chart style, final Point2D minimum, final Point2D maximum, final double[] xValues, final double[] yValues) {
+        this(x, y, style, minimum, maximum, pack(style, xValues, yValues));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param x       the x offset for this shape
+     * @param y       the y offset for this shape
+     * @param style   style for the path
+     * @param minimum minimum values or null to use minimum from values
+     * @param maximum maximum values or null to use maximum from values
+     * @param values  the x and y value of each point
+     *
+     * @throws NullPointerException     if style or values is null
+     * @throws IllegalArgumentException if values has an odd size
+     */
+    public ArrayChart2D(final double x, final double y, final Chart style, final Point2D minimum, final Point2D maximum, final DoubleList values) {
+        this(x, y, style, minimum, maximum, pack(style, values));
+    }
+
+    /**
+     * Constructor used for values that are already packed and sorted. The
+     * values are used as is.
+     *
+     * @param x       the x offset for this shape
+     * @param y       the y offset for this shape
+     * @param style   style for the path
+     * @param minimum minimum values or null to use minimum from values
+     * @param maximum maximum values or null to use maximum from values
+     * @param values  the x and y value of each point
+     */
+    ArrayChart2D(final double x, final double y, final Chart style, final Point2D minimum, final Point2D maximum, final double[] values) {
+        super(x, y, style, new PointList(values),
+              minimum != null ? minimum : findBound(values, true),
+              maximum != null ? maximum : findBound(values, false));
+        this.values = values;
+    }
+
+    /**
+     * The x and y value of each point in order. The array is shared for
+     * performance and must not be modified.
+     *
+     * @return the values
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * @return the number of points in this chart
+     */
+    public int getSize() {
+        return values.length / 2;
+    }
+
+    /**
+     * @param index the index of the point
+     *
+     * @return the x value of the point
+     */
+    public double getValueX(final int index) {
+        return values[index * 2];
+    }
+
+    /**
+     * @param index the index of the point
+     *
+     * @return the y value of the point
+     */
+    public double getValueY(final int index) {
+        return values[index * 2 + 1];
+    }
+
+    /**
+     * The scale that maps the x values relative to the minimum onto the unit
+     * width of the chart.
+     *
+     * @return the x scale or zero if the range is empty
+     */
+    public double getScaleX() {
+        final double range = maximum.getX() - minimum.getX();
+        return range != 0.0 ? 1.0 / range : 0.0;
+    }
+
+    /**
+     * The scale that maps the y values relative to the minimum onto the unit
+     * height of the chart.
+     *
+     * @return the y scale or zero if the range is empty
+     */
+    public double getScaleY() {
+        final double range = maximum.getY() - minimum.getY();
+        return range != 0.0 ? 1.0 / range : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayChart2D{" + "x=" + x + ", y=" + y + ", xAxis=" + minimum + ", yAxis=" + maximum + ", style=" + style + ", size=" + getSize() + '}';
+    }
+
+    private static double[] pack(final Chart style, final double[] xValues, final double[] yValues) {
+        if (style == null) {
+            throw new NullPointerException("style");
+        }
+        if (xValues == null) {
+            throw new NullPointerException("xValues");
+        }
+        if (yValues == null) {
+            throw new NullPointerException("yValues");
+        }
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("yValues");
+        }
+        final double[] values = new double[xValues.length * 2];
+        for (int i = 0; i < xValues.length; i++) {
+            values[i * 2] = xValues[i];
+            values[i * 2 + 1] = yValues[i];
+        }
+        return sort(style, values);
+    }
+
+    private static double[] pack(final Chart style, final DoubleList values) {
+        if (style == null) {
+            throw new NullPointerException("style");
+        }
+        if (values == null) {
+            throw new NullPointerException("values");
+        }
+        if (values.size() % 2 != 0) {
+            throw new IllegalArgumentException("values");
+        }
+        return sort(style, values.toArray());
+    }
+
+    private static double[] sort(final Chart style, final double[] values) {
+        switch (style) {
+            case SCATTER:
+            case LINE:
+            case AREA:
+                break;
+            default:
+                // only previous styles need to be sorted
+                return values;
+        }
+        // most series are already in order
+        boolean sorted = true;
+        for (int i = 2; i < values.length; i += 2) {
+            if (values[i] < values[i - 2]) {
+                sorted = false;
+                break;
+            }
+        }
+        if (sorted) {
+            return values;
+        }
+        // stable bottom up merge sort of the pairs by x
+        final int size = values.length / 2;
+        double[] from = values;
+        double[] to = new double[values.length];
+        for (int width = 1; width < size; width *= 2) {
+            for (int left = 0; left < size; left += width * 2) {
+                final int middle = Math.min(left + width, size);
+                final int right = Math.min(left + width * 2, size);
+                int a = left;
+                int b = middle;
+                for (int i = left; i < right; i++) {
+                    final int source = a < middle && (b >= right || from[a * 2] <= from[b * 2]) ? a++ : b++;
+                    to[i * 2] = from[source * 2];
+                    to[i * 2 + 1] = from[source * 2 + 1];
+                }
+            }
+            final double[] temp = from;
+            from = to;
+            to = temp;
+        }
+        return from;
+    }
+
+    private static Point2D findBound(final double[] values, final boolean minimum) {
+        if (values.length == 0) {
+            return Point2D.ZERO;
+        }
+        double x = values[0];
+        double y = values[1];
+        for (int i = 2; i < values.length; i += 2) {
+            x = minimum ? Math.min(x, values[i]) : Math.max(x, values[i]);
+            y = minimum ? Math.min(y, values[i + 1]) : Math.max(y, values[i + 1]);
+        }
+        return new Point2D(x, y);
+    }
+
+    /**
+     * Read only list view of the packed values.
+     */
+    private static class PointList extends AbstractList<Point2D> implements RandomAccess, Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private final double[] values;
+
+        private PointList(final double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Point2D get(final int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("index");
+            }
+            return new Point2D(values[index * 2], values[index * 2 + 1]);
+        }
+
+        @Override
+        public int size() {
+            return values.length / 2;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj instanceof PointList) {
+                return Arrays.equals(values, ((PointList) obj).values);
+            }
+            return super.equals(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode();
+        }
+    }
+}
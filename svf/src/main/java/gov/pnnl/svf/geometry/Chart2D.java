@@ -26,6 +26,7 @@ public class Chart2D extends Shape2D implements Serializable {
     protected final List<Point2D> points;
     protected final Point2D minimum;
     protected final Point2D maximum;
+    private transient volatile ChartDecimation decimation = null;
 
     /**
      * Constructor
@@ -51,6 +52,7 @@ public class Chart2D extends Shape2D implements Serializable {
         points = copy.points;
         minimum = copy.minimum;
         maximum = copy.maximum;
+        decimation = copy.decimation;
     }
 
     /**
@@ -243,6 +245,40 @@ public class Chart2D extends Shape2D implements Serializable {
         }
     }
 
+    /**
+     * Constructor used by subclasses that keep their own point storage. The
+     * points are used as is and should already be sorted and unmodifiable.
+     *
+     * @param x       the x offset for this shape
+     * @param y       the y offset for this shape
+     * @param style   style for the path
+     * @param points  the list of points for this chart
+     * @param minimum minimum values
+     * @param maximum maximum values
+     *
+     * @throws NullPointerException if style, points, minimum, or maximum is
+     *                              null
+     */
+    protected Chart2D(final double x, final double y, final Chart style, final List<Point2D> points, final Point2D minimum, final Point2D maximum) {
+        super(x, y);
+        if (style == null) {
+            throw new NullPointerException("style");
+        }
+        if (points == null) {
+            throw new NullPointerException("points");
+        }
+        if (minimum == null) {
+            throw new NullPointerException("minimum");
+        }
+        if (maximum == null) {
+            throw new NullPointerException("maximum");
+        }
+        this.style = style;
+        this.points = points;
+        this.minimum = minimum;
+        this.maximum = maximum;
+    }
+
     /**
      * The style for this chart to use when drawing.
      *
@@ -279,6 +315,23 @@ public class Chart2D extends Shape2D implements Serializable {
         return points;
     }
 
+    /**
+     * Get the decimation levels used to draw this chart when it covers fewer
+     * pixels than it has points. The levels are created the first time this
+     * is called and cached, so this should be called off of the GL thread the
+     * first time for large charts.
+     *
+     * @return the decimation levels
+     */
+    public ChartDecimation getDecimation() {
+        ChartDecimation result = decimation;
+        if (result == null) {
+            result = ChartDecimation.create(this);
+            decimation = result;
+        }
+        return result;
+    }
+
     @Override
     public double getWidth() {
         return 1.0;
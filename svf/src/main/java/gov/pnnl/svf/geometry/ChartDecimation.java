@@ -0,0 +1,222 @@
+package gov.pnnl.svf.geometry;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pyramid of decimated values for a line or area chart. Each level bins the
+ * points by x value and keeps the points with the minimum and maximum y value
+ * in each bin, so a level with one bin per pixel column draws about two points
+ * per column without losing any peaks. The first and last points are always
+ * kept.
+ * <p>
+ * Levels are ordered from the most to the least detailed and the number of
+ * bins halves with each level. Every level is decimated from the level before
+ * it, which gives the same result as decimating the raw values because the
+ * bins of each level split evenly into the bins of the next.
+ *
+ * @author Amelia Bleeker
+ */
+public class ChartDecimation {
+
+    /**
+     * The number of bins in the most detailed level.
+     */
+    public static final int MAXIMUM_BINS = 8192;
+    /**
+     * The number of bins in the least detailed level.
+     */
+    public static final int MINIMUM_BINS = 32;
+    /**
+     * Constant decimation with no levels
+     */
+    public static final ChartDecimation EMPTY = new ChartDecimation(new int[0], new double[0][]);
+    private final int[] bins;
+    private final double[][] values;
+
+    private ChartDecimation(final int[] bins, final double[][] values) {
+        this.bins = bins;
+        this.values = values;
+    }
+
+    /**
+     * Create the decimation levels for a chart. Only line and area charts
+     * with more than two points for every bin of a level are decimated.
+     *
+     * @param chart the chart
+     *
+     * @return the decimation
+     *
+     * @throws NullPointerException if chart is null
+     */
+    public static ChartDecimation create(final Chart2D chart) {
+        switch (chart.getStyle()) {
+            case LINE:
+            case AREA:
+                break;
+            default:
+                return EMPTY;
+        }
+        final double[] raw = chart instanceof ArrayChart2D ? ((ArrayChart2D) chart).getValues() : pack(chart.getPoints());
+        final int size = raw.length / 2;
+        int levels = 0;
+        int count = MAXIMUM_BINS;
+        while (count >= MINIMUM_BINS) {
+            if (count * 2 < size) {
+                levels++;
+            }
+            count /= 2;
+        }
+        if (levels == 0) {
+            return EMPTY;
+        }
+        final int[] bins = new int[levels];
+        final double[][] values = new double[levels][];
+        final double x0 = raw[0];
+        final double x1 = raw[raw.length - 2];
+        double[] previous = raw;
+        for (int i = 0; i < levels; i++) {
+            bins[i] = (MINIMUM_BINS << (levels - 1)) >> i;
+            values[i] = decimate(previous, x0, x1, bins[i]);
+            previous = values[i];
+        }
+        return new ChartDecimation(bins, values);
+    }
+
+    /**
+     * Decimate a series of points that is sorted by x value. The range of x
+     * values is split into bins of equal width and the points with the minimum
+     * and maximum y value in each bin are kept in their original order along
+     * with the first and last point.
+     *
+     * @param values the x and y value of each point sorted by x
+     * @param x0     the x value at the start of the first bin
+     * @param x1     the x value at the end of the last bin
+     * @param bins   the number of bins
+     *
+     * @return the x and y value of each point that was kept
+     *
+     * @throws NullPointerException     if values is null
+     * @throws IllegalArgumentException if bins is less than one
+     */
+    public static double[] decimate(final double[] values, final double x0, final double x1, final int bins) {
+        if (values == null) {
+            throw new NullPointerException("values");
+        }
+        if (bins < 1) {
+            throw new IllegalArgumentException("bins");
+        }
+        final int size = values.length / 2;
+        if (size <= 2) {
+            return Arrays.copyOf(values, size * 2);
+        }
+        final double scale = x1 > x0 ? bins / (x1 - x0) : 0.0;
+        final double[] output = new double[(bins * 2 + 2) * 2];
+        int count = 0;
+        // first point
+        output[count++] = values[0];
+        output[count++] = values[1];
+        int bin = -1;
+        int min = -1;
+        int max = -1;
+        for (int i = 1; i < size - 1; i++) {
+            final int index = Math.min(bins - 1, Math.max(0, (int) ((values[i * 2] - x0) * scale)));
+            if (index != bin) {
+                count = add(values, output, count, min, max);
+                bin = index;
+                min = i;
+                max = i;
+            } else {
+                final double y = values[i * 2 + 1];
+                if (y < values[min * 2 + 1]) {
+                    min = i;
+                }
+                if (y > values[max * 2 + 1]) {
+                    max = i;
+                }
+            }
+        }
+        count = add(values, output, count, min, max);
+        // last point
+        output[count++] = values[size * 2 - 2];
+        output[count++] = values[size * 2 - 1];
+        return Arrays.copyOf(output, count);
+    }
+
+    /**
+     * @return the number of decimated levels
+     */
+    public int getLevels() {
+        return bins.length;
+    }
+
+    /**
+     * @param level the level starting with the most detailed
+     *
+     * @return the number of bins in the level
+     *
+     * @throws IndexOutOfBoundsException if level is out of range
+     */
+    public int getBins(final int level) {
+        return bins[level];
+    }
+
+    /**
+     * The x and y value of each point in the level. The array is shared for
+     * performance and must not be modified.
+     *
+     * @param level the level starting with the most detailed
+     *
+     * @return the values
+     *
+     * @throws IndexOutOfBoundsException if level is out of range
+     */
+    public double[] getValues(final int level) {
+        return values[level];
+    }
+
+    /**
+     * Create a chart that draws a level in place of the original chart.
+     *
+     * @param chart the original chart
+     * @param level the level starting with the most detailed
+     *
+     * @return the chart for the level
+     *
+     * @throws NullPointerException      if chart is null
+     * @throws IndexOutOfBoundsException if level is out of range
+     */
+    public ArrayChart2D createChart(final Chart2D chart, final int level) {
+        return new ArrayChart2D(chart.getX(), chart.getY(), chart.getStyle(), chart.getMinimum(), chart.getMaximum(), values[level]);
+    }
+
+    @Override
+    public String toString() {
+        return "ChartDecimation{" + "bins=" + Arrays.toString(bins) + '}';
+    }
+
+    private static int add(final double[] values, final double[] output, int count, final int min, final int max) {
+        if (min < 0) {
+            return count;
+        }
+        final int first = Math.min(min, max);
+        final int second = Math.max(min, max);
+        output[count++] = values[first * 2];
+        output[count++] = values[first * 2 + 1];
+        if (second != first) {
+            output[count++] = values[second * 2];
+            output[count++] = values[second * 2 + 1];
+        }
+        return count;
+    }
+
+    private static double[] pack(final List<Point2D> points) {
+        final double[] values = new double[points.size() * 2];
+        for (int i = 0; i < points.size(); i++) {
+            final Point2D point = points.get(i);
+            values[i * 2] = point.getX();
+            values[i * 2 + 1] = point.getY();
+        }
+        return values;
+    }
+}
@@ -303,7 +303,20 @@ public class Frustum extends Shape3D implements Serializable {
      * @throws IllegalArgumentException if radius is less than zero
      */
     public boolean contains(final double x, final double y, final double z, final double radius) {
-        return contains(new Vector3D(x, y, z), radius);
+        if (radius < 0.0) {
+            throw new IllegalArgumentException("radius");
+        }
+        // check if this is a zero space Frustum
+        if (planes.length == 0) {
+            return false;
+        }
+        // check the planes without creating a point
+        for (final Plane3D plane : planes) {
+            if (plane.distance(x, y, z) < -radius) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private Plane3D[] calculatePlanes() {
@@ -27,6 +27,7 @@ public class Polygon2D extends Shape2D implements Serializable {
     protected final Point2D centroid;
     protected final double width;
     protected final double height;
+    private transient volatile PolygonTriangles triangles = null;
 
     /**
      * Constructor
@@ -54,6 +55,7 @@ public class Polygon2D extends Shape2D implements Serializable {
         centroid = copy.centroid;
         width = copy.width;
         height = copy.height;
+        triangles = copy.triangles;
     }
 
     /**
@@ -233,6 +235,30 @@ public class Polygon2D extends Shape2D implements Serializable {
         return contours;
     }
 
+    /**
+     * Get the triangles that fill this polygon using the even odd winding
+     * rule. The polygon is triangulated the first time this is called and the
+     * triangles are cached, so this should be called off of the GL thread the
+     * first time for large polygons.
+     *
+     * @return the triangles relative to the polygon offset
+     */
+    public PolygonTriangles getTriangles() {
+        PolygonTriangles result = triangles;
+        if (result == null) {
+            result = PolygonTriangulator.triangulate(contours);
+            triangles = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the triangles for this polygon have been cached
+     */
+    public boolean isTriangulated() {
+        return triangles != null;
+    }
+
     @Override
     public boolean contains(final double x, final double y) {
         if (!(x >= this.x + offset.x - (width * 0.5) && x <= this.x + offset.x + (width * 0.5)
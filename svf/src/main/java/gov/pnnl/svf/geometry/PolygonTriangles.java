@@ -0,0 +1,83 @@
+package gov.pnnl.svf.geometry;
+
+/**
+ * Triangulation of a polygon. The vertices are the points of every contour of
+ * the polygon in order, relative to the polygon offset, and the indices list
+ * three vertices for each triangle.
+ * <p>
+ * The arrays are shared for performance and must not be modified.
+ *
+ * @author Amelia Bleeker
+ */
+public class PolygonTriangles {
+
+    /**
+     * Constant empty triangulation
+     */
+    public static final PolygonTriangles EMPTY = new PolygonTriangles(new double[0], new int[0]);
+    private final double[] vertices;
+    private final int[] indices;
+
+    /**
+     * Constructor
+     *
+     * @param vertices the x and y coordinate of each vertex
+     * @param indices  the vertex indices of each triangle
+     *
+     * @throws NullPointerException if vertices or indices are null
+     */
+    public PolygonTriangles(final double[] vertices, final int[] indices) {
+        if (vertices == null) {
+            throw new NullPointerException("vertices");
+        }
+        if (indices == null) {
+            throw new NullPointerException("indices");
+        }
+        this.vertices = vertices;
+        this.indices = indices;
+    }
+
+    /**
+     * @return the x and y coordinate of each vertex
+     */
+    public double[] getVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return the vertex indices of each triangle
+     */
+    public int[] getIndices() {
+        return indices;
+    }
+
+    /**
+     * @return the number of triangles
+     */
+    public int getTriangleCount() {
+        return indices.length / 3;
+    }
+
+    /**
+     * Create an array of the triangle vertices in drawing order.
+     *
+     * @param x the x offset to add to each vertex
+     * @param y the y offset to add to each vertex
+     *
+     * @return the x and y coordinate of each triangle vertex
+     */
+    public double[] toTriangleVertices(final double x, final double y) {
+        final double[] triangles = new double[indices.length * 2];
+        for (int i = 0; i < indices.length; i++) {
+            final int index = indices[i] * 2;
+            triangles[i * 2] = vertices[index] + x;
+            triangles[i * 2 + 1] = vertices[index + 1] + y;
+        }
+        return triangles;
+    }
+
+    @Override
+    public String toString() {
+        return "PolygonTriangles{" + "vertices=" + vertices.length / 2 + ", triangles=" + getTriangleCount() + '}';
+    }
+}
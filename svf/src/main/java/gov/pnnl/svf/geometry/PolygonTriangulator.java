@@ -0,0 +1,823 @@
+package gov.pnnl.svf.geometry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.collections.primitives.ArrayIntList;
+
+/**
+ * Pure Java polygon triangulator using ear clipping. Contours are grouped by
+ * how deeply they are nested so the polygon is filled using the even odd
+ * winding rule: each outer contour is triangulated together with the holes
+ * directly inside of it, and each hole is bridged to its outer contour so the
+ * group can be clipped as a single contour. Polygons with many vertices hash
+ * their vertices along a z-order curve so only nearby vertices are tested
+ * against each ear.
+ * <p>
+ * Degenerate and self intersecting contours are handled on a best effort
+ * basis by filtering duplicate points, curing small local intersections, and
+ * finally splitting the remaining contour. This class is thread safe.
+ *
+ * @author Amelia Bleeker
+ */
+public class PolygonTriangulator {
+
+    /**
+     * Contours with more vertices than this use a z-order curve to find the
+     * vertices near an ear.
+     */
+    private static final int HASH_THRESHOLD = 80;
+
+    /**
+     * Constructor kept private for static utility class
+     */
+    private PolygonTriangulator() {
+    }
+
+    /**
+     * Triangulate a polygon.
+     *
+     * @param contours the contours of the polygon
+     *
+     * @return the triangulation
+     *
+     * @throws NullPointerException if contours is null
+     */
+    public static PolygonTriangles triangulate(final List<? extends List<Point2D>> contours) {
+        if (contours == null) {
+            throw new NullPointerException("contours");
+        }
+        // flatten the contours
+        int count = 0;
+        for (final List<Point2D> contour : contours) {
+            count += contour.size();
+        }
+        if (count < 3) {
+            return PolygonTriangles.EMPTY;
+        }
+        final double[] data = new double[count * 2];
+        final int[] starts = new int[contours.size() + 1];
+        int vertex = 0;
+        for (int c = 0; c < contours.size(); c++) {
+            starts[c] = vertex;
+            for (final Point2D point : contours.get(c)) {
+                data[vertex * 2] = point.getX();
+                data[vertex * 2 + 1] = point.getY();
+                vertex++;
+            }
+        }
+        starts[contours.size()] = vertex;
+        return new PolygonTriangles(data, triangulate(data, starts).toArray());
+    }
+
+    /**
+     * Triangulate a polygon.
+     *
+     * @param data   the x and y coordinate of each vertex
+     * @param starts the index of the first vertex of each contour followed by
+     *               the total number of vertices
+     *
+     * @return the vertex indices of each triangle
+     */
+    private static ArrayIntList triangulate(final double[] data, final int[] starts) {
+        final int contours = starts.length - 1;
+        final ArrayIntList triangles = new ArrayIntList(Math.max(3, (starts[contours] - 2) * 3));
+        if (contours == 1) {
+            triangulate(data, 0, starts[1], new int[0], triangles);
+            return triangles;
+        }
+        // find the bounds of each contour
+        final double[] bounds = new double[contours * 4];
+        for (int c = 0; c < contours; c++) {
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int i = starts[c]; i < starts[c + 1]; i++) {
+                minX = Math.min(minX, data[i * 2]);
+                minY = Math.min(minY, data[i * 2 + 1]);
+                maxX = Math.max(maxX, data[i * 2]);
+                maxY = Math.max(maxY, data[i * 2 + 1]);
+            }
+            bounds[c * 4] = minX;
+            bounds[c * 4 + 1] = minY;
+            bounds[c * 4 + 2] = maxX;
+            bounds[c * 4 + 3] = maxY;
+        }
+        // contours nested inside of an odd number of contours are holes
+        final int[] depths = new int[contours];
+        for (int c = 0; c < contours; c++) {
+            for (int other = 0; other < contours; other++) {
+                if (other != c && contains(data, starts, bounds, other, c)) {
+                    depths[c]++;
+                }
+            }
+        }
+        // group each hole with the outer contour directly around it
+        final List<ArrayIntList> holes = new ArrayList<>(contours);
+        for (int c = 0; c < contours; c++) {
+            holes.add(null);
+        }
+        for (int c = 0; c < contours; c++) {
+            if ((depths[c] & 1) == 0) {
+                continue;
+            }
+            for (int other = 0; other < contours; other++) {
+                if (depths[other] == depths[c] - 1 && contains(data, starts, bounds, other, c)) {
+                    if (holes.get(other) == null) {
+                        holes.set(other, new ArrayIntList());
+                    }
+                    holes.get(other).add(c);
+                    break;
+                }
+            }
+        }
+        // triangulate each group
+        for (int c = 0; c < contours; c++) {
+            if ((depths[c] & 1) != 0) {
+                continue;
+            }
+            final ArrayIntList group = holes.get(c);
+            final int[] ranges = new int[group != null ? group.size() * 2 : 0];
+            for (int h = 0; h < ranges.length / 2; h++) {
+                ranges[h * 2] = starts[group.get(h)];
+                ranges[h * 2 + 1] = starts[group.get(h) + 1];
+            }
+            triangulate(data, starts[c], starts[c + 1], ranges, triangles);
+        }
+        return triangles;
+    }
+
+    /**
+     * Test if the first vertex of a contour is inside of another contour using
+     * the even odd rule.
+     */
+    private static boolean contains(final double[] data, final int[] starts, final double[] bounds, final int outer, final int inner) {
+        final double x = data[starts[inner] * 2];
+        final double y = data[starts[inner] * 2 + 1];
+        if (x < bounds[outer * 4] || y < bounds[outer * 4 + 1] || x > bounds[outer * 4 + 2] || y > bounds[outer * 4 + 3]) {
+            return false;
+        }
+        boolean inside = false;
+        final int start = starts[outer];
+        final int end = starts[outer + 1];
+        for (int i = start, j = end - 1; i < end; j = i++) {
+            final double xi = data[i * 2];
+            final double yi = data[i * 2 + 1];
+            final double xj = data[j * 2];
+            final double yj = data[j * 2 + 1];
+            if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Triangulate an outer contour and its holes.
+     *
+     * @param data      the x and y coordinate of each vertex
+     * @param start     the first vertex of the outer contour
+     * @param end       the last vertex of the outer contour exclusive
+     * @param holes     the first and last exclusive vertex of each hole
+     * @param triangles the output list of vertex indices
+     */
+    private static void triangulate(final double[] data, final int start, final int end, final int[] holes, final ArrayIntList triangles) {
+        Node outer = linkedList(data, start, end, true);
+        if (outer == null || outer.next == outer.prev) {
+            return;
+        }
+        if (holes.length > 0) {
+            outer = eliminateHoles(data, holes, outer);
+        }
+        // use a z-order curve hash when there are a lot of vertices
+        int vertices = end - start;
+        for (int h = 0; h < holes.length; h += 2) {
+            vertices += holes[h + 1] - holes[h];
+        }
+        final Hash hash;
+        if (vertices > HASH_THRESHOLD) {
+            double minX = data[start * 2];
+            double minY = data[start * 2 + 1];
+            double maxX = minX;
+            double maxY = minY;
+            for (int i = start + 1; i < end; i++) {
+                minX = Math.min(minX, data[i * 2]);
+                minY = Math.min(minY, data[i * 2 + 1]);
+                maxX = Math.max(maxX, data[i * 2]);
+                maxY = Math.max(maxY, data[i * 2 + 1]);
+            }
+            final double size = Math.max(maxX - minX, maxY - minY);
+            hash = size != 0.0 ? new Hash(minX, minY, 32767.0 / size) : null;
+        } else {
+            hash = null;
+        }
+        earcutLinked(outer, triangles, hash, 0);
+    }
+
+    /**
+     * Create a circular doubly linked list of the vertices of a contour in the
+     * specified winding order.
+     */
+    private static Node linkedList(final double[] data, final int start, final int end, final boolean clockwise) {
+        Node last = null;
+        if (clockwise == (signedArea(data, start, end) > 0.0)) {
+            for (int i = start; i < end; i++) {
+                last = insertNode(i, data[i * 2], data[i * 2 + 1], last);
+            }
+        } else {
+            for (int i = end - 1; i >= start; i--) {
+                last = insertNode(i, data[i * 2], data[i * 2 + 1], last);
+            }
+        }
+        if (last != null && equals(last, last.next)) {
+            removeNode(last);
+            last = last.next;
+        }
+        return last;
+    }
+
+    /**
+     * Remove duplicate and collinear points.
+     */
+    private static Node filterPoints(final Node start, Node end) {
+        if (start == null) {
+            return null;
+        }
+        if (end == null) {
+            end = start;
+        }
+        Node p = start;
+        boolean again;
+        do {
+            again = false;
+            if (!p.steiner && (equals(p, p.next) || area(p.prev, p, p.next) == 0.0)) {
+                removeNode(p);
+                p = end = p.prev;
+                if (p == p.next) {
+                    break;
+                }
+                again = true;
+            } else {
+                p = p.next;
+            }
+        } while (again || p != end);
+        return end;
+    }
+
+    /**
+     * Clip the ears of a contour until it is a single triangle.
+     */
+    private static void earcutLinked(Node ear, final ArrayIntList triangles, final Hash hash, final int pass) {
+        if (ear == null) {
+            return;
+        }
+        // link the vertices in z-order
+        if (pass == 0 && hash != null) {
+            indexCurve(ear, hash);
+        }
+        Node stop = ear;
+        // clip the ears one at a time
+        while (ear.prev != ear.next) {
+            final Node prev = ear.prev;
+            final Node next = ear.next;
+            if (hash != null ? isEarHashed(ear, hash) : isEar(ear)) {
+                triangles.add(prev.i);
+                triangles.add(ear.i);
+                triangles.add(next.i);
+                removeNode(ear);
+                // skipping the next vertex leads to fewer sliver triangles
+                ear = next.next;
+                stop = next.next;
+                continue;
+            }
+            ear = next;
+            // no ears were found after looping through the remaining contour
+            if (ear == stop) {
+                if (pass == 0) {
+                    // try filtering points and clipping again
+                    earcutLinked(filterPoints(ear, null), triangles, hash, 1);
+                } else if (pass == 1) {
+                    // try curing small local self intersections
+                    ear = cureLocalIntersections(filterPoints(ear, null), triangles);
+                    earcutLinked(ear, triangles, hash, 2);
+                } else if (pass == 2) {
+                    // as a last resort split the contour in two
+                    splitEarcut(ear, triangles, hash);
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Test if a vertex forms a valid ear with its neighbors.
+     */
+    private static boolean isEar(final Node ear) {
+        final Node a = ear.prev;
+        final Node b = ear;
+        final Node c = ear.next;
+        if (area(a, b, c) >= 0.0) {
+            // reflex
+            return false;
+        }
+        final double x0 = Math.min(a.x, Math.min(b.x, c.x));
+        final double y0 = Math.min(a.y, Math.min(b.y, c.y));
+        final double x1 = Math.max(a.x, Math.max(b.x, c.x));
+        final double y1 = Math.max(a.y, Math.max(b.y, c.y));
+        // make sure no other vertices are inside of the ear
+        Node p = c.next;
+        while (p != a) {
+            if (p.x >= x0 && p.x <= x1 && p.y >= y0 && p.y <= y1
+                && pointInTriangle(a.x, a.y, b.x, b.y, c.x, c.y, p.x, p.y)
+                && area(p.prev, p, p.next) >= 0.0) {
+                return false;
+            }
+            p = p.next;
+        }
+        return true;
+    }
+
+    /**
+     * Test if a vertex forms a valid ear with its neighbors using the z-order
+     * curve to only test nearby vertices.
+     */
+    private static boolean isEarHashed(final Node ear, final Hash hash) {
+        final Node a = ear.prev;
+        final Node b = ear;
+        final Node c = ear.next;
+        if (area(a, b, c) >= 0.0) {
+            // reflex
+            return false;
+        }
+        final double x0 = Math.min(a.x, Math.min(b.x, c.x));
+        final double y0 = Math.min(a.y, Math.min(b.y, c.y));
+        final double x1 = Math.max(a.x, Math.max(b.x, c.x));
+        final double y1 = Math.max(a.y, Math.max(b.y, c.y));
+        // z-order range of the ear bounds
+        final int minZ = hash.zOrder(x0, y0);
+        final int maxZ = hash.zOrder(x1, y1);
+        Node p = ear.prevZ;
+        Node n = ear.nextZ;
+        // look for vertices inside of the ear in both directions
+        while (p != null && p.z >= minZ && n != null && n.z <= maxZ) {
+            if (isInside(p, a, b, c, x0, y0, x1, y1) || isInside(n, a, b, c, x0, y0, x1, y1)) {
+                return false;
+            }
+            p = p.prevZ;
+            n = n.nextZ;
+        }
+        // look for the remaining vertices in decreasing z-order
+        while (p != null && p.z >= minZ) {
+            if (isInside(p, a, b, c, x0, y0, x1, y1)) {
+                return false;
+            }
+            p = p.prevZ;
+        }
+        // look for the remaining vertices in increasing z-order
+        while (n != null && n.z <= maxZ) {
+            if (isInside(n, a, b, c, x0, y0, x1, y1)) {
+                return false;
+            }
+            n = n.nextZ;
+        }
+        return true;
+    }
+
+    private static boolean isInside(final Node p, final Node a, final Node b, final Node c, final double x0, final double y0, final double x1, final double y1) {
+        return p != a && p != c
+               && p.x >= x0 && p.x <= x1 && p.y >= y0 && p.y <= y1
+               && pointInTriangle(a.x, a.y, b.x, b.y, c.x, c.y, p.x, p.y)
+               && area(p.prev, p, p.next) >= 0.0;
+    }
+
+    /**
+     * Go through all of the vertices and cure small local self intersections.
+     */
+    private static Node cureLocalIntersections(Node start, final ArrayIntList triangles) {
+        Node p = start;
+        do {
+            final Node a = p.prev;
+            final Node b = p.next.next;
+            if (!equals(a, b) && intersects(a, p, p.next, b) && locallyInside(a, b) && locallyInside(b, a)) {
+                triangles.add(a.i);
+                triangles.add(p.i);
+                triangles.add(b.i);
+                // remove the two nodes involved
+                removeNode(p);
+                removeNode(p.next);
+                p = start = b;
+            }
+            p = p.next;
+        } while (p != start);
+        return filterPoints(p, null);
+    }
+
+    /**
+     * Split the contour into two along a valid diagonal and triangulate each.
+     */
+    private static void splitEarcut(final Node start, final ArrayIntList triangles, final Hash hash) {
+        Node a = start;
+        do {
+            Node b = a.next.next;
+            while (b != a.prev) {
+                if (a.i != b.i && isValidDiagonal(a, b)) {
+                    Node c = splitPolygon(a, b);
+                    a = filterPoints(a, a.next);
+                    c = filterPoints(c, c.next);
+                    earcutLinked(a, triangles, hash, 0);
+                    earcutLinked(c, triangles, hash, 0);
+                    return;
+                }
+                b = b.next;
+            }
+            a = a.next;
+        } while (a != start);
+    }
+
+    /**
+     * Link every hole into the outer contour, from left to right.
+     */
+    private static Node eliminateHoles(final double[] data, final int[] holes, Node outer) {
+        final Node[] queue = new Node[holes.length / 2];
+        int count = 0;
+        for (int h = 0; h < holes.length; h += 2) {
+            final Node list = linkedList(data, holes[h], holes[h + 1], false);
+            if (list == null) {
+                continue;
+            }
+            if (list == list.next) {
+                list.steiner = true;
+            }
+            queue[count++] = getLeftmost(list);
+        }
+        Arrays.sort(queue, 0, count, (a, b) -> Double.compare(a.x, b.x));
+        for (int i = 0; i < count; i++) {
+            outer = eliminateHole(queue[i], outer);
+        }
+        return outer;
+    }
+
+    /**
+     * Bridge a hole to the outer contour.
+     */
+    private static Node eliminateHole(final Node hole, final Node outer) {
+        final Node bridge = findHoleBridge(hole, outer);
+        if (bridge == null) {
+            return outer;
+        }
+        final Node bridgeReverse = splitPolygon(bridge, hole);
+        // filter the collinear points around the cuts
+        filterPoints(bridgeReverse, bridgeReverse.next);
+        return filterPoints(bridge, bridge.next);
+    }
+
+    /**
+     * Find a vertex on the outer contour that can be connected to the leftmost
+     * vertex of a hole.
+     */
+    private static Node findHoleBridge(final Node hole, final Node outer) {
+        Node p = outer;
+        final double hx = hole.x;
+        final double hy = hole.y;
+        double qx = Double.NEGATIVE_INFINITY;
+        Node m = null;
+        // find a segment intersected by a ray from the hole to the left, the
+        // segment endpoint with the lesser x is a potential connection
+        do {
+            if (hy <= p.y && hy >= p.next.y && p.next.y != p.y) {
+                final double x = p.x + (hy - p.y) * (p.next.x - p.x) / (p.next.y - p.y);
+                if (x <= hx && x > qx) {
+                    qx = x;
+                    m = p.x < p.next.x ? p : p.next;
+                    if (x == hx) {
+                        // the hole touches the outer segment
+                        return m;
+                    }
+                }
+            }
+            p = p.next;
+        } while (p != outer);
+        if (m == null) {
+            return null;
+        }
+        // look for vertices inside of the triangle of the hole vertex, the
+        // intersection, and the endpoint, the connection is valid if there are
+        // none otherwise use the vertex with the minimum angle to the ray
+        final Node stop = m;
+        final double mx = m.x;
+        final double my = m.y;
+        double tanMin = Double.POSITIVE_INFINITY;
+        p = m;
+        do {
+            if (hx >= p.x && p.x >= mx && hx != p.x
+                && pointInTriangle(hy < my ? hx : qx, hy, mx, my, hy < my ? qx : hx, hy, p.x, p.y)) {
+                final double tan = Math.abs(hy - p.y) / (hx - p.x);
+                if (locallyInside(p, hole)
+                    && (tan < tanMin || (tan == tanMin && (p.x > m.x || (p.x == m.x && sectorContainsSector(m, p)))))) {
+                    m = p;
+                    tanMin = tan;
+                }
+            }
+            p = p.next;
+        } while (p != stop);
+        return m;
+    }
+
+    /**
+     * Test if the sector of vertex m contains the sector of vertex p.
+     */
+    private static boolean sectorContainsSector(final Node m, final Node p) {
+        return area(m.prev, m, p.prev) < 0.0 && area(p.next, m, m.next) < 0.0;
+    }
+
+    /**
+     * Link the vertices in z-order.
+     */
+    private static void indexCurve(final Node start, final Hash hash) {
+        Node p = start;
+        do {
+            if (p.z == 0) {
+                p.z = hash.zOrder(p.x, p.y);
+            }
+            p.prevZ = p.prev;
+            p.nextZ = p.next;
+            p = p.next;
+        } while (p != start);
+        p.prevZ.nextZ = null;
+        p.prevZ = null;
+        sortLinked(p);
+    }
+
+    /**
+     * Merge sort the z-order links.
+     */
+    private static Node sortLinked(Node list) {
+        int inSize = 1;
+        int merges;
+        do {
+            Node p = list;
+            list = null;
+            Node tail = null;
+            merges = 0;
+            while (p != null) {
+                merges++;
+                Node q = p;
+                int pSize = 0;
+                for (int i = 0; i < inSize; i++) {
+                    pSize++;
+                    q = q.nextZ;
+                    if (q == null) {
+                        break;
+                    }
+                }
+                int qSize = inSize;
+                while (pSize > 0 || (qSize > 0 && q != null)) {
+                    final Node e;
+                    if (pSize != 0 && (qSize == 0 || q == null || p.z <= q.z)) {
+                        e = p;
+                        p = p.nextZ;
+                        pSize--;
+                    } else {
+                        e = q;
+                        q = q.nextZ;
+                        qSize--;
+                    }
+                    if (tail != null) {
+                        tail.nextZ = e;
+                    } else {
+                        list = e;
+                    }
+                    e.prevZ = tail;
+                    tail = e;
+                }
+                p = q;
+            }
+            tail.nextZ = null;
+            inSize *= 2;
+        } while (merges > 1);
+        return list;
+    }
+
+    private static Node getLeftmost(final Node start) {
+        Node p = start;
+        Node leftmost = start;
+        do {
+            if (p.x < leftmost.x || (p.x == leftmost.x && p.y < leftmost.y)) {
+                leftmost = p;
+            }
+            p = p.next;
+        } while (p != start);
+        return leftmost;
+    }
+
+    private static boolean pointInTriangle(final double ax, final double ay, final double bx, final double by, final double cx, final double cy,
+                                           final double px, final double py) {
+        return (cx - px) * (ay - py) >= (ax - px) * (cy - py)
+               && (ax - px) * (by - py) >= (bx - px) * (ay - py)
+               && (bx - px) * (cy - py) >= (cx - px) * (by - py);
+    }
+
+    /**
+     * Test if a diagonal between two vertices is valid, meaning that it
+     * doesn't intersect any edges and is inside of the contour.
+     */
+    private static boolean isValidDiagonal(final Node a, final Node b) {
+        return a.next.i != b.i && a.prev.i != b.i && !intersectsPolygon(a, b)
+               && ((locallyInside(a, b) && locallyInside(b, a) && middleInside(a, b)
+                    && (area(a.prev, a, b.prev) != 0.0 || area(a, b.prev, b) != 0.0))
+                   || (equals(a, b) && area(a.prev, a, a.next) > 0.0 && area(b.prev, b, b.next) > 0.0));
+    }
+
+    /**
+     * Signed area of a triangle.
+     */
+    private static double area(final Node p, final Node q, final Node r) {
+        return (q.y - p.y) * (r.x - q.x) - (q.x - p.x) * (r.y - q.y);
+    }
+
+    private static boolean equals(final Node p1, final Node p2) {
+        return p1.x == p2.x && p1.y == p2.y;
+    }
+
+    /**
+     * Test if two segments intersect.
+     */
+    private static boolean intersects(final Node p1, final Node q1, final Node p2, final Node q2) {
+        final int o1 = sign(area(p1, q1, p2));
+        final int o2 = sign(area(p1, q1, q2));
+        final int o3 = sign(area(p2, q2, p1));
+        final int o4 = sign(area(p2, q2, q1));
+        if (o1 != o2 && o3 != o4) {
+            return true;
+        }
+        // collinear cases
+        return (o1 == 0 && onSegment(p1, p2, q1))
+               || (o2 == 0 && onSegment(p1, q2, q1))
+               || (o3 == 0 && onSegment(p2, p1, q2))
+               || (o4 == 0 && onSegment(p2, q1, q2));
+    }
+
+    /**
+     * Test if point q lies on segment pr for collinear points.
+     */
+    private static boolean onSegment(final Node p, final Node q, final Node r) {
+        return q.x <= Math.max(p.x, r.x) && q.x >= Math.min(p.x, r.x) && q.y <= Math.max(p.y, r.y) && q.y >= Math.min(p.y, r.y);
+    }
+
+    private static int sign(final double value) {
+        return value > 0.0 ? 1 : value < 0.0 ? -1 : 0;
+    }
+
+    /**
+     * Test if a diagonal intersects any edge of the contour.
+     */
+    private static boolean intersectsPolygon(final Node a, final Node b) {
+        Node p = a;
+        do {
+            if (p.i != a.i && p.next.i != a.i && p.i != b.i && p.next.i != b.i && intersects(p, p.next, a, b)) {
+                return true;
+            }
+            p = p.next;
+        } while (p != a);
+        return false;
+    }
+
+    /**
+     * Test if a diagonal is locally inside of the contour.
+     */
+    private static boolean locallyInside(final Node a, final Node b) {
+        return area(a.prev, a, a.next) < 0.0
+               ? area(a, b, a.next) >= 0.0 && area(a, a.prev, b) >= 0.0
+               : area(a, b, a.prev) < 0.0 || area(a, a.next, b) < 0.0;
+    }
+
+    /**
+     * Test if the middle of a diagonal is inside of the contour.
+     */
+    private static boolean middleInside(final Node a, final Node b) {
+        Node p = a;
+        boolean inside = false;
+        final double px = (a.x + b.x) * 0.5;
+        final double py = (a.y + b.y) * 0.5;
+        do {
+            if ((p.y > py) != (p.next.y > py) && p.next.y != p.y
+                && px < (p.next.x - p.x) * (py - p.y) / (p.next.y - p.y) + p.x) {
+                inside = !inside;
+            }
+            p = p.next;
+        } while (p != a);
+        return inside;
+    }
+
+    /**
+     * Link two vertices with a bridge. If the vertices belong to the same
+     * contour it is split in two, otherwise a hole is merged into the outer
+     * contour.
+     *
+     * @return the copy of vertex b in the second contour
+     */
+    private static Node splitPolygon(final Node a, final Node b) {
+        final Node a2 = new Node(a.i, a.x, a.y);
+        final Node b2 = new Node(b.i, b.x, b.y);
+        final Node an = a.next;
+        final Node bp = b.prev;
+        a.next = b;
+        b.prev = a;
+        a2.next = an;
+        an.prev = a2;
+        b2.next = a2;
+        a2.prev = b2;
+        bp.next = b2;
+        b2.prev = bp;
+        return b2;
+    }
+
+    private static Node insertNode(final int i, final double x, final double y, final Node last) {
+        final Node p = new Node(i, x, y);
+        if (last == null) {
+            p.prev = p;
+            p.next = p;
+        } else {
+            p.next = last.next;
+            p.prev = last;
+            last.next.prev = p;
+            last.next = p;
+        }
+        return p;
+    }
+
+    private static void removeNode(final Node p) {
+        p.next.prev = p.prev;
+        p.prev.next = p.next;
+        if (p.prevZ != null) {
+            p.prevZ.nextZ = p.nextZ;
+        }
+        if (p.nextZ != null) {
+            p.nextZ.prevZ = p.prevZ;
+        }
+    }
+
+    private static double signedArea(final double[] data, final int start, final int end) {
+        double sum = 0.0;
+        for (int i = start, j = end - 1; i < end; j = i++) {
+            sum += (data[j * 2] - data[i * 2]) * (data[i * 2 + 1] + data[j * 2 + 1]);
+        }
+        return sum;
+    }
+
+    /**
+     * Vertex in a circular doubly linked contour.
+     */
+    private static class Node {
+
+        private final int i;
+        private final double x;
+        private final double y;
+        private Node prev = null;
+        private Node next = null;
+        private int z = 0;
+        private Node prevZ = null;
+        private Node nextZ = null;
+        private boolean steiner = false;
+
+        private Node(final int i, final double x, final double y) {
+            this.i = i;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Transform from coordinates to a z-order curve.
+     */
+    private static class Hash {
+
+        private final double minX;
+        private final double minY;
+        private final double inverseSize;
+
+        private Hash(final double minX, final double minY, final double inverseSize) {
+            this.minX = minX;
+            this.minY = minY;
+            this.inverseSize = inverseSize;
+        }
+
+        /**
+         * Interleave the bits of the coordinates scaled to 15 bits each.
+         */
+        private int zOrder(final double px, final double py) {
+            int x = (int) ((px - minX) * inverseSize);
+            int y = (int) ((py - minY) * inverseSize);
+            x = (x | (x << 8)) & 0x00FF00FF;
+            x = (x | (x << 4)) & 0x0F0F0F0F;
+            x = (x | (x << 2)) & 0x33333333;
+            x = (x | (x << 1)) & 0x55555555;
+            y = (y | (y << 8)) & 0x00FF00FF;
+            y = (y | (y << 4)) & 0x0F0F0F0F;
+            y = (y | (y << 2)) & 0x33333333;
+            y = (y | (y << 1)) & 0x55555555;
+            return x | (y << 1);
+        }
+    }
+}
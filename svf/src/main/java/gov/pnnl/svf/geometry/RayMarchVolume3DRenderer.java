@@ -0,0 +1,431 @@
+package gov.pnnl.svf.geometry;
+
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.GL2ES2;
+import com.jogamp.opengl.GL2GL3;
+import com.jogamp.opengl.glu.gl2.GLUgl2;
+import gov.pnnl.svf.core.color.ColorGradient;
+import gov.pnnl.svf.core.color.ColorGradientLookup;
+import gov.pnnl.svf.core.texture.TextureType;
+import gov.pnnl.svf.core.util.ColorUtil;
+import gov.pnnl.svf.scene.Disposable;
+import gov.pnnl.svf.scene.DrawingPass;
+import gov.pnnl.svf.scene.Initializable;
+import gov.pnnl.svf.scene.Scene;
+import gov.pnnl.svf.support.CameraDependent;
+import gov.pnnl.svf.texture.VolumeOccupancyGrid;
+import gov.pnnl.svf.update.UninitializeTask;
+import gov.pnnl.svf.util.StringUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shape renderer implementation that draws a volume by marching rays through
+ * it in a fragment program instead of drawing axis aligned slices. This
+ * renderer can be set for the Volume3D type in the shape service to replace
+ * the default slice renderer.
+ * <p>
+ * The volume texture is expected to be bound to texture unit zero, which is
+ * what Texture3dSupport does, and its texture matrix is applied to the volume
+ * coordinates so BrickedTexture3dSupport can draw each brick with this
+ * renderer. The value of each sample is mapped to a color
+ * through a transfer function created with ColorUtil.createLookupTexture and
+ * is modulated by the current color. Samples are taken at the same spacing as
+ * the slices of the default renderer and a ray stops once its opacity reaches
+ * the termination value. When a VolumeOccupancySupport is also bound, cells
+ * that the transfer function makes completely transparent are skipped.
+ * <p>
+ * The gl program and transfer function texture are released when this
+ * renderer is disposed, which the shape service does when the renderer is
+ * replaced.
+ * <p>
+ * The slice renderer is used when shader programs can't be compiled and for
+ * picking.
+ *
+ * @author Amelia Bleeker
+ */
+public class RayMarchVolume3DRenderer extends Volume3DRenderer implements Initializable, Disposable, CameraDependent {
+
+    /**
+     * The default opacity that stops a ray.
+     */
+    public static final double DEFAULT_TERMINATION = 0.95;
+    /**
+     * The number of entries in the transfer function texture.
+     */
+    public static final int TRANSFER_LENGTH = 256;
+    /**
+     * The texture unit the transfer function is bound to.
+     */
+    public static final int TRANSFER_UNIT = GL.GL_TEXTURE2;
+    private static final Logger logger = Logger.getLogger(RayMarchVolume3DRenderer.class.toString());
+    private static final String VERTEX = "/gov/pnnl/svf/geometry/volume-raymarch.vert";
+    private static final String FRAGMENT = "/gov/pnnl/svf/geometry/volume-raymarch.frag";
+    private static final double[][] VERTICES = { // back, front, left, right, bottom, top
+        {-0.5, -0.5, -0.5}, {-0.5, 0.5, -0.5}, {0.5, 0.5, -0.5}, {0.5, -0.5, -0.5},
+        {-0.5, -0.5, 0.5}, {0.5, -0.5, 0.5}, {0.5, 0.5, 0.5}, {-0.5, 0.5, 0.5},
+        {-0.5, -0.5, -0.5}, {-0.5, -0.5, 0.5}, {-0.5, 0.5, 0.5}, {-0.5, 0.5, -0.5},
+        {0.5, -0.5, -0.5}, {0.5, 0.5, -0.5}, {0.5, 0.5, 0.5}, {0.5, -0.5, 0.5},
+        {-0.5, -0.5, -0.5}, {0.5, -0.5, -0.5}, {0.5, -0.5, 0.5}, {-0.5, -0.5, 0.5},
+        {-0.5, 0.5, -0.5}, {-0.5, 0.5, 0.5}, {0.5, 0.5, 0.5}, {0.5, 0.5, -0.5}};
+    private ColorGradient transfer;
+    private double termination = DEFAULT_TERMINATION;
+    private boolean dirty = true;
+    private boolean disposed = false;
+    // gl state that is only used on the rendering thread
+    private final int[] values = new int[1];
+    private final int[] textures = new int[]{-1};
+    private boolean failed = false;
+    private int program = 0;
+    private float cutoff = -1.0f;
+    // uniform locations that are looked up once the program is linked
+    private int volumeLocation = -1;
+    private int occupancyLocation = -1;
+    private int transferLocation = -1;
+    private int samplesLocation = -1;
+    private int rgbLocation = -1;
+    private int transferLengthLocation = -1;
+    private int terminationLocation = -1;
+    private int skippingLocation = -1;
+    private int cutoffLocation = -1;
+    private int cellsLocation = -1;
+
+    /**
+     * Constructor
+     *
+     * @param scene    reference to the scene
+     * @param transfer the transfer function for the volume values
+     *
+     * @throws NullPointerException if scene or transfer is null
+     */
+    public RayMarchVolume3DRenderer(final Scene scene, final ColorGradient transfer) {
+        super(scene);
+        if (transfer == null) {
+            throw new NullPointerException("transfer");
+        }
+        this.transfer = transfer;
+    }
+
+    /**
+     * @return the transfer function for the volume values
+     */
+    public ColorGradient getTransfer() {
+        synchronized (this) {
+            return transfer;
+        }
+    }
+
+    /**
+     * @param transfer the transfer function for the volume values
+     *
+     * @return this instance
+     *
+     * @throws NullPointerException if transfer is null
+     */
+    public RayMarchVolume3DRenderer setTransfer(final ColorGradient transfer) {
+        if (transfer == null) {
+            throw new NullPointerException("transfer");
+        }
+        synchronized (this) {
+            this.transfer = transfer;
+            dirty = true;
+        }
+        scene.draw();
+        return this;
+    }
+
+    /**
+     * @return the opacity from 0.0 to 1.0 that stops a ray
+     */
+    public double getTermination() {
+        synchronized (this) {
+            return termination;
+        }
+    }
+
+    /**
+     * @param termination the opacity from 0.0 to 1.0 that stops a ray
+     *
+     * @return this instance
+     *
+     * @throws IllegalArgumentException if termination is out of range
+     */
+    public RayMarchVolume3DRenderer setTermination(final double termination) {
+        if (!(termination > 0.0 && termination <= 1.0)) {
+            throw new IllegalArgumentException("termination");
+        }
+        synchronized (this) {
+            this.termination = termination;
+        }
+        scene.draw();
+        return this;
+    }
+
+    @Override
+    public boolean isCameraDependent() {
+        // rays are cast from the camera
+        return true;
+    }
+
+    @Override
+    public Scene getScene() {
+        return scene;
+    }
+
+    @Override
+    public DrawingPass getDrawingPass() {
+        return DrawingPass.ALL;
+    }
+
+    @Override
+    public boolean isVisible() {
+        return true;
+    }
+
+    @Override
+    public void initialize(final GL2 gl, final GLUgl2 glu) {
+        // the program and transfer function are created when first drawn
+    }
+
+    @Override
+    public boolean isInitialized() {
+        // there are gl resources to release
+        return program > 0 || textures[0] != -1;
+    }
+
+    @Override
+    public boolean isSlow() {
+        return false;
+    }
+
+    /**
+     * Deletes the ray marching program and the transfer function texture.
+     * They are created again the next time a volume is drawn unless this
+     * renderer has been disposed.
+     */
+    @Override
+    public void unInitialize(final GL2 gl, final GLUgl2 glu) {
+        if (program > 0) {
+            gl.glDeleteProgram(program);
+            program = 0;
+        }
+        if (textures[0] != -1) {
+            gl.glDeleteTextures(1, textures, 0);
+            textures[0] = -1;
+        }
+        failed = false;
+        synchronized (this) {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+        }
+        UninitializeTask.schedule(scene, this);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        synchronized (this) {
+            return disposed;
+        }
+    }
+
+    @Override
+    public int drawShape(final GL2 gl, final Shape shape) {
+        return drawShape(gl, shape, TextureType.ALPHA, null);
+    }
+
+    /**
+     * Draw the shape with the state of the textures that are bound by the
+     * support objects. The renderer doesn't query the gl for this state, so
+     * actors that know their volume and occupancy textures should use this
+     * method.
+     *
+     * @param gl    reference to the current GL
+     * @param shape the shape to draw
+     * @param type  the type of the volume texture
+     * @param grid  the occupancy grid bound by a VolumeOccupancySupport or
+     *              null
+     *
+     * @return the number of vertices used to draw the shape
+     *
+     * @throws NullPointerException if gl, shape, or type are null
+     */
+    public int drawShape(final GL2 gl, final Shape shape, final TextureType type, final VolumeOccupancyGrid grid) {
+        if (type == null) {
+            throw new NullPointerException("type");
+        }
+        if (!(shape instanceof Volume3D)) {
+            return 0;
+        }
+        final Volume3D volume = (Volume3D) shape;
+        if (!prepareProgram(gl)) {
+            return super.drawShape(gl, shape);
+        }
+        final ColorGradient transfer;
+        final boolean dirty;
+        final float termination;
+        synchronized (this) {
+            transfer = this.transfer;
+            dirty = this.dirty;
+            this.dirty = false;
+            termination = (float) this.termination;
+        }
+        gl.glPushAttrib(GL2.GL_ENABLE_BIT | GL2.GL_POLYGON_BIT | GL2.GL_TEXTURE_BIT);
+        // bind the transfer function
+        gl.glActiveTexture(TRANSFER_UNIT);
+        if (textures[0] == -1 || dirty) {
+            uploadTransfer(gl, transfer);
+        }
+        gl.glBindTexture(GL2GL3.GL_TEXTURE_1D, textures[0]);
+        gl.glActiveTexture(GL.GL_TEXTURE0);
+        final boolean skipping = grid != null && cutoff >= 0.0f;
+        // set the program state, the camera is found from the matrices in the program
+        gl.glUseProgram(program);
+        gl.glUniform1i(volumeLocation, 0);
+        gl.glUniform1i(occupancyLocation, 1);
+        gl.glUniform1i(transferLocation, 2);
+        gl.glUniform1f(samplesLocation, (float) (Math.max(volume.getWidth(), Math.max(volume.getHeight(), volume.getDepth())) * volume.getSlices()));
+        gl.glUniform1i(rgbLocation, type == TextureType.RGB ? 1 : 0);
+        gl.glUniform1f(transferLengthLocation, TRANSFER_LENGTH);
+        gl.glUniform1f(terminationLocation, termination);
+        gl.glUniform1i(skippingLocation, skipping ? 1 : 0);
+        gl.glUniform1f(cutoffLocation, cutoff);
+        if (skipping) {
+            gl.glUniform3f(cellsLocation, grid.getCellsX(), grid.getCellsY(), grid.getCellsZ());
+        } else {
+            gl.glUniform3f(cellsLocation, 1.0f, 1.0f, 1.0f);
+        }
+        // draw the back faces so rays also start when the camera is inside
+        gl.glEnable(GL.GL_CULL_FACE);
+        gl.glCullFace(GL.GL_FRONT);
+        gl.glBegin(GL2.GL_QUADS);
+        for (final double[] vertex : VERTICES) {
+            gl.glVertex3d(vertex[0], vertex[1], vertex[2]);
+        }
+        gl.glEnd();
+        gl.glUseProgram(0);
+        gl.glPopAttrib();
+        return VERTICES.length;
+    }
+
+    @Override
+    public int pickingDrawShape(final GL2 gl, final Shape shape) {
+        return super.drawShape(gl, shape);
+    }
+
+    private boolean prepareProgram(final GL2 gl) {
+        if (program > 0) {
+            return true;
+        }
+        if (failed || isDisposed()) {
+            return false;
+        }
+        final int vertex = loadShader(gl, VERTEX, GL2ES2.GL_VERTEX_SHADER);
+        final int fragment = loadShader(gl, FRAGMENT, GL2ES2.GL_FRAGMENT_SHADER);
+        if (vertex > 0 && fragment > 0) {
+            program = gl.glCreateProgram();
+            gl.glAttachShader(program, vertex);
+            gl.glAttachShader(program, fragment);
+            gl.glLinkProgram(program);
+            gl.glGetProgramiv(program, GL2ES2.GL_LINK_STATUS, values, 0);
+            // the linked program keeps what it needs from the shaders
+            gl.glDetachShader(program, vertex);
+            gl.glDetachShader(program, fragment);
+            if (values[0] == GL.GL_FALSE) {
+                logger.log(Level.WARNING, "{0}: Unable to link the ray marching program, using slices instead.", scene);
+                gl.glDeleteProgram(program);
+                program = 0;
+            } else {
+                volumeLocation = gl.glGetUniformLocation(program, "volume");
+                occupancyLocation = gl.glGetUniformLocation(program, "occupancy");
+                transferLocation = gl.glGetUniformLocation(program, "transfer");
+                samplesLocation = gl.glGetUniformLocation(program, "samples");
+                rgbLocation = gl.glGetUniformLocation(program, "rgb");
+                transferLengthLocation = gl.glGetUniformLocation(program, "transferLength");
+                terminationLocation = gl.glGetUniformLocation(program, "termination");
+                skippingLocation = gl.glGetUniformLocation(program, "skipping");
+                cutoffLocation = gl.glGetUniformLocation(program, "cutoff");
+                cellsLocation = gl.glGetUniformLocation(program, "cells");
+            }
+        }
+        if (vertex > 0) {
+            gl.glDeleteShader(vertex);
+        }
+        if (fragment > 0) {
+            gl.glDeleteShader(fragment);
+        }
+        failed = program == 0;
+        return !failed;
+    }
+
+    private int loadShader(final GL2 gl, final String resource, final int type) {
+        final String source;
+        try (final InputStream in = RayMarchVolume3DRenderer.class.getResourceAsStream(resource)) {
+            source = StringUtil.streamToString(in);
+        } catch (final IOException | IllegalArgumentException ex) {
+            logger.log(Level.WARNING, String.format("%s: Unable to read the shader %s.", scene, resource), ex);
+            return 0;
+        }
+        final int shader = gl.glCreateShader(type);
+        gl.glShaderSource(shader, 1, new String[]{source}, null, 0);
+        gl.glCompileShader(shader);
+        gl.glGetShaderiv(shader, GL2ES2.GL_COMPILE_STATUS, values, 0);
+        if (values[0] == GL.GL_FALSE) {
+            final IntBuffer length = IntBuffer.allocate(1);
+            final ByteBuffer log = ByteBuffer.allocate(1024);
+            gl.glGetShaderInfoLog(shader, log.capacity(), length, log);
+            final byte[] bytes = new byte[length.get(0)];
+            log.get(bytes);
+            logger.log(Level.WARNING, String.format("%s: Compilation of the shader %s failed.%n%s", scene, resource, new String(bytes)));
+            gl.glDeleteShader(shader);
+            return 0;
+        }
+        return shader;
+    }
+
+    private void uploadTransfer(final GL2 gl, final ColorGradient transfer) {
+        if (textures[0] == -1) {
+            gl.glGenTextures(1, textures, 0);
+        }
+        final ByteBuffer data = ColorUtil.createLookupTexture(transfer, TextureType.RGBA, TRANSFER_LENGTH);
+        data.rewind();
+        gl.glBindTexture(GL2GL3.GL_TEXTURE_1D, textures[0]);
+        gl.glTexParameteri(GL2GL3.GL_TEXTURE_1D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
+        gl.glTexParameteri(GL2GL3.GL_TEXTURE_1D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
+        gl.glTexParameteri(GL2GL3.GL_TEXTURE_1D, GL.GL_TEXTURE_WRAP_S, GL.GL_CLAMP_TO_EDGE);
+        gl.glTexImage1D(GL2GL3.GL_TEXTURE_1D, 0, GL.GL_RGBA, TRANSFER_LENGTH, 0, GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, data);
+        cutoff = findCutoff(new ColorGradientLookup(transfer, TRANSFER_LENGTH));
+    }
+
+    /**
+     * Find the largest value that the transfer function makes completely
+     * transparent, including the linear filtering with the next entry.
+     *
+     * @param lookup the transfer function table
+     *
+     * @return the cutoff value or -1.0 when no values are transparent
+     */
+    static float findCutoff(final ColorGradientLookup lookup) {
+        int last = -1;
+        while (last + 1 < lookup.getLength() && (lookup.getEntry(last + 1) >>> 24) == 0) {
+            last++;
+        }
+        if (last < 0) {
+            return -1.0f;
+        }
+        return lookup.getLength() > 1 ? (float) last / (lookup.getLength() - 1) : 1.0f;
+    }
+}
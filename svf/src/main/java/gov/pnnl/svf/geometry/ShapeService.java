@@ -19,7 +19,9 @@ public interface ShapeService {
 
     /**
      * Set a shape renderer. The same renderer can be utilized for multiple
-     * types assuming that the base shape renderer type is compatible.
+     * types assuming that the base shape renderer type is compatible. A
+     * replaced renderer that is disposable and no longer set for any type is
+     * disposed.
      *
      * @param type          the type of shape for the renderer
      * @param shapeRenderer the new shape renderer or null to clear a shape
@@ -1,5 +1,6 @@
 package gov.pnnl.svf.geometry;
 
+import gov.pnnl.svf.scene.Disposable;
 import gov.pnnl.svf.scene.Scene;
 import java.util.HashMap;
 import java.util.Map;
@@ -46,6 +47,7 @@ public class ShapeServiceImpl implements ShapeService {
         instance.setShapeRenderer(Text3D.class, new Text3DRenderer(scene));
         instance.setShapeRenderer(Volume3D.class, new Volume3DRenderer(scene));
         instance.setShapeRenderer(Chart2D.class, new Chart2DRenderer(scene));
+        instance.setShapeRenderer(ArrayChart2D.class, new Chart2DRenderer(scene));
         scene.add(instance);
         return instance;
     }
@@ -69,10 +71,15 @@ public class ShapeServiceImpl implements ShapeService {
 
     @Override
     public <T extends Shape> void setShapeRenderer(final Class<T> type, final ShapeRenderer shapeRenderer) {
+        final ShapeRenderer previous;
         if (shapeRenderer == null) {
-            map.remove(type);
+            previous = map.remove(type);
         } else {
-            map.put(type, shapeRenderer);
+            previous = map.put(type, shapeRenderer);
+        }
+        // release the gl resources of a replaced renderer that isn't used for another type
+        if (previous instanceof Disposable && previous != shapeRenderer && !map.containsValue(previous)) {
+            ((Disposable) previous).dispose();
         }
     }
 
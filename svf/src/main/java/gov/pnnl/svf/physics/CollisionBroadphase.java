@@ -0,0 +1,299 @@
+package gov.pnnl.svf.physics;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid broadphase for finding the pairs of axis aligned bounding boxes
+ * that overlap. Boxes are added each tick and then hashed into the cells of a
+ * grid sized from the average box size, so only boxes that share a cell are
+ * tested against each other. A pair is only reported by the cell that contains
+ * the minimum corner of the overlap, so every pair is reported once without
+ * keeping a set of reported pairs. Boxes that cover too many cells are tested
+ * against every box instead. Bounds and cell entries are stored in primitive
+ * arrays that are reused between ticks to avoid allocation.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Amelia Bleeker
+ */
+public class CollisionBroadphase {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int DIMENSIONS = 3;
+    /**
+     * Boxes that cover more cells than this are tested against every box.
+     */
+    private static final int MAX_CELLS = 64;
+    /**
+     * The cell size relative to the average box size.
+     */
+    private static final double CELL_SCALE = 2.0;
+    private double[] min = new double[DEFAULT_CAPACITY * DIMENSIONS];
+    private double[] max = new double[DEFAULT_CAPACITY * DIMENSIONS];
+    private int[] large = new int[DEFAULT_CAPACITY];
+    private boolean[] isLarge = new boolean[DEFAULT_CAPACITY];
+    private int[] cells = new int[DEFAULT_CAPACITY * DIMENSIONS];
+    private int[] boxes = new int[DEFAULT_CAPACITY];
+    private int[] buckets = new int[DEFAULT_CAPACITY];
+    private int[] sortedCells = new int[DEFAULT_CAPACITY * DIMENSIONS];
+    private int[] sortedBoxes = new int[DEFAULT_CAPACITY];
+    private int[] starts = new int[1];
+    private int size = 0;
+
+    /**
+     * Constructor
+     */
+    public CollisionBroadphase() {
+    }
+
+    /**
+     * @return the number of boxes in the broadphase
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all of the boxes from the broadphase.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Add a box to the broadphase.
+     *
+     * @param minX the minimum x
+     * @param minY the minimum y
+     * @param minZ the minimum z
+     * @param maxX the maximum x
+     * @param maxY the maximum y
+     * @param maxZ the maximum z
+     *
+     * @return the index of the box used when reporting pairs
+     */
+    public int add(final double minX, final double minY, final double minZ, final double maxX, final double maxY, final double maxZ) {
+        if (size == isLarge.length) {
+            final int capacity = isLarge.length * 2;
+            min = Arrays.copyOf(min, capacity * DIMENSIONS);
+            max = Arrays.copyOf(max, capacity * DIMENSIONS);
+            large = new int[capacity];
+            isLarge = new boolean[capacity];
+        }
+        final int offset = size * DIMENSIONS;
+        min[offset] = Math.min(minX, maxX);
+        min[offset + 1] = Math.min(minY, maxY);
+        min[offset + 2] = Math.min(minZ, maxZ);
+        max[offset] = Math.max(minX, maxX);
+        max[offset + 1] = Math.max(minY, maxY);
+        max[offset + 2] = Math.max(minZ, maxZ);
+        return size++;
+    }
+
+    /**
+     * Find all of the pairs of boxes that overlap. Boxes that only touch are
+     * considered overlapping. Each pair is reported once with the indexes in
+     * no particular order.
+     *
+     * @param listener the listener that will be notified of each pair
+     *
+     * @return the number of overlapping pairs
+     *
+     * @throws NullPointerException if listener is null
+     */
+    public int findPairs(final PairListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("listener");
+        }
+        if (size < 2) {
+            return 0;
+        }
+        final double inverse = 1.0 / findCellSize();
+        final int largeCount = hashBoxes(inverse);
+        int pairs = 0;
+        // test the boxes that share a cell
+        for (int bucket = 0; bucket < starts.length - 1; bucket++) {
+            final int end = starts[bucket + 1];
+            for (int i = starts[bucket]; i < end; i++) {
+                final int a = sortedBoxes[i];
+                final int ca = i * DIMENSIONS;
+                for (int j = i + 1; j < end; j++) {
+                    final int cb = j * DIMENSIONS;
+                    // different cells can hash to the same bucket
+                    if (sortedCells[ca] != sortedCells[cb] || sortedCells[ca + 1] != sortedCells[cb + 1] || sortedCells[ca + 2] != sortedCells[cb + 2]) {
+                        continue;
+                    }
+                    final int b = sortedBoxes[j];
+                    if (overlaps(a, b) && isOwner(a, b, inverse, ca)) {
+                        pairs++;
+                        listener.overlap(a, b);
+                    }
+                }
+            }
+        }
+        // test the large boxes against everything
+        for (int l = 0; l < largeCount; l++) {
+            final int a = large[l];
+            for (int b = 0; b < size; b++) {
+                if (b == a || (isLarge[b] && b < a)) {
+                    continue;
+                }
+                if (overlaps(a, b)) {
+                    pairs++;
+                    listener.overlap(a, b);
+                }
+            }
+        }
+        return pairs;
+    }
+
+    @Override
+    public String toString() {
+        return "CollisionBroadphase{" + "size=" + size + '}';
+    }
+
+    private double findCellSize() {
+        double total = 0.0;
+        for (int i = 0; i < size; i++) {
+            final int o = i * DIMENSIONS;
+            total += Math.max(max[o] - min[o], Math.max(max[o + 1] - min[o + 1], max[o + 2] - min[o + 2]));
+        }
+        final double cellSize = total / size * CELL_SCALE;
+        return cellSize > 0.0 && !Double.isInfinite(cellSize) ? cellSize : 1.0;
+    }
+
+    /**
+     * Hash every box into the grid cells that it covers and sort the entries
+     * by bucket.
+     *
+     * @return the number of large boxes
+     */
+    private int hashBoxes(final double inverse) {
+        int largeCount = 0;
+        int count = 0;
+        // count the entries
+        for (int i = 0; i < size; i++) {
+            final int o = i * DIMENSIONS;
+            long covered = 1L;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                covered *= (long) cell(max[o + d], inverse) - (long) cell(min[o + d], inverse) + 1L;
+            }
+            if (covered > MAX_CELLS) {
+                isLarge[i] = true;
+                large[largeCount++] = i;
+            } else {
+                isLarge[i] = false;
+                count += (int) covered;
+            }
+        }
+        if (boxes.length < count) {
+            final int capacity = Math.max(count, boxes.length * 2);
+            cells = new int[capacity * DIMENSIONS];
+            boxes = new int[capacity];
+            buckets = new int[capacity];
+            sortedCells = new int[capacity * DIMENSIONS];
+            sortedBoxes = new int[capacity];
+        }
+        // use a power of two bucket count of at least twice the entries
+        final int bucketCount = Integer.highestOneBit(Math.max(1, count)) << 2;
+        if (starts.length != bucketCount + 1) {
+            starts = new int[bucketCount + 1];
+        } else {
+            Arrays.fill(starts, 0);
+        }
+        final int mask = bucketCount - 1;
+        // fill the entries
+        int entry = 0;
+        for (int i = 0; i < size; i++) {
+            if (isLarge[i]) {
+                continue;
+            }
+            final int o = i * DIMENSIONS;
+            final int x0 = cell(min[o], inverse);
+            final int x1 = cell(max[o], inverse);
+            final int y0 = cell(min[o + 1], inverse);
+            final int y1 = cell(max[o + 1], inverse);
+            final int z0 = cell(min[o + 2], inverse);
+            final int z1 = cell(max[o + 2], inverse);
+            for (int x = x0; x <= x1; x++) {
+                for (int y = y0; y <= y1; y++) {
+                    for (int z = z0; z <= z1; z++) {
+                        final int bucket = hash(x, y, z) & mask;
+                        cells[entry * DIMENSIONS] = x;
+                        cells[entry * DIMENSIONS + 1] = y;
+                        cells[entry * DIMENSIONS + 2] = z;
+                        boxes[entry] = i;
+                        buckets[entry] = bucket;
+                        starts[bucket + 1]++;
+                        entry++;
+                    }
+                }
+            }
+        }
+        // counting sort the entries by bucket
+        for (int b = 0; b < bucketCount; b++) {
+            starts[b + 1] += starts[b];
+        }
+        for (int e = 0; e < count; e++) {
+            final int index = starts[buckets[e]]++;
+            sortedBoxes[index] = boxes[e];
+            sortedCells[index * DIMENSIONS] = cells[e * DIMENSIONS];
+            sortedCells[index * DIMENSIONS + 1] = cells[e * DIMENSIONS + 1];
+            sortedCells[index * DIMENSIONS + 2] = cells[e * DIMENSIONS + 2];
+        }
+        // the sort advanced each start to the start of the next bucket
+        for (int b = bucketCount; b > 0; b--) {
+            starts[b] = starts[b - 1];
+        }
+        starts[0] = 0;
+        return largeCount;
+    }
+
+    private boolean overlaps(final int a, final int b) {
+        final int oa = a * DIMENSIONS;
+        final int ob = b * DIMENSIONS;
+        return min[oa] <= max[ob] && min[ob] <= max[oa]
+               && min[oa + 1] <= max[ob + 1] && min[ob + 1] <= max[oa + 1]
+               && min[oa + 2] <= max[ob + 2] && min[ob + 2] <= max[oa + 2];
+    }
+
+    /**
+     * Only the cell that contains the minimum corner of the overlap reports
+     * the pair.
+     */
+    private boolean isOwner(final int a, final int b, final double inverse, final int offset) {
+        final int oa = a * DIMENSIONS;
+        final int ob = b * DIMENSIONS;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            if (cell(Math.max(min[oa + d], min[ob + d]), inverse) != sortedCells[offset + d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int cell(final double value, final double inverse) {
+        return (int) Math.floor(value * inverse);
+    }
+
+    private static int hash(final int x, final int y, final int z) {
+        int hash = x * 73856093 ^ y * 19349663 ^ z * 83492791;
+        // mix the high bits into the low bits used by the bucket mask
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Listener notified of each overlapping pair of boxes.
+     */
+    public interface PairListener {
+
+        /**
+         * Called when two boxes overlap.
+         *
+         * @param a the index of the first box
+         * @param b the index of the second box
+         */
+        void overlap(int a, int b);
+    }
+}
@@ -23,6 +23,11 @@ public class CollisionSupport extends AbstractSupport<CollisionSupportListener>
      * String representation of a field in this object.
      */
     public static final String COLLISION_TYPE_LIST = "collisionTypeList";
+    /**
+     * Collision type for constraining an actor within the scene boundaries.
+     * This isn't an actor type.
+     */
+    public static final String SCENE_COLLISION_TYPE = "scene";
 
     /**
      *
@@ -49,8 +54,9 @@ public class CollisionSupport extends AbstractSupport<CollisionSupportListener>
     }
 
     /**
-     * Add an actor type that this object can collide with. Use "scene" as the
-     * actor type for constraining this object within the scene boundaries.
+     * Add an actor type that this object can collide with. Use
+     * <code>SCENE_COLLISION_TYPE</code> as the actor type for constraining this
+     * object within the scene boundaries.
      *
      * @param type The type of actor.
      */
@@ -67,8 +73,8 @@ public class CollisionSupport extends AbstractSupport<CollisionSupportListener>
 
     /**
      * Checks to see if this actor should collide with a certain actor type. Use
-     * "scene" as the actor type for constraining this object within the scene
-     * boundaries.
+     * <code>SCENE_COLLISION_TYPE</code> as the actor type for constraining this
+     * object within the scene boundaries.
      *
      * @param type The type of actor.
      *
@@ -80,6 +86,18 @@ public class CollisionSupport extends AbstractSupport<CollisionSupportListener>
         }
     }
 
+    /**
+     * Checks to see if this actor should collide with any actor types. The
+     * <code>SCENE_COLLISION_TYPE</code> is not an actor type.
+     *
+     * @return true if this actor should collide with other actors.
+     */
+    public boolean isActorCollidable() {
+        synchronized (this) {
+            return collisionTypeList.size() > (collisionTypeList.contains(SCENE_COLLISION_TYPE) ? 1 : 0);
+        }
+    }
+
     /**
      * Notify all of the listeners that this actor collided with another actor.
      *
@@ -103,8 +121,8 @@ public class CollisionSupport extends AbstractSupport<CollisionSupportListener>
 
     /**
      * Removes the type from the set of actor types that this actor can collide
-     * with. Use "scene" as the actor type for constraining this object within
-     * the scene boundaries.
+     * with. Use <code>SCENE_COLLISION_TYPE</code> as the actor type for
+     * constraining this object within the scene boundaries.
      *
      * @param type The type of actor.
      */
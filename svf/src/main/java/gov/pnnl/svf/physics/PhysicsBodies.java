@@ -0,0 +1,373 @@
+package gov.pnnl.svf.physics;
+
+import gov.pnnl.svf.support.TransformSupport;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.apache.commons.math.geometry.Vector3D;
+
+/**
+ * Structure of arrays that holds the state of physics bodies. Each body
+ * occupies a slot in a set of primitive arrays and the PhysicsSupport that
+ * owns the slot is a view onto it. Removing a body moves the last body into
+ * its slot so the slots are always packed.
+ * <p>
+ * All access to the arrays must be synchronized on this object, which is the
+ * lock of the physics engine. The positions of the moving bodies are copied
+ * to a separate set of arrays while synchronized so that they can be written
+ * to the transforms without holding the lock.
+ *
+ * @author Amelia Bleeker
+ */
+class PhysicsBodies {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * Bodies are integrated in parallel once there are at least this many.
+     */
+    private static final int PARALLEL_THRESHOLD = 8192;
+    /**
+     * The number of bodies integrated by each parallel task.
+     */
+    private static final int PARALLEL_CHUNK = 2048;
+    private static final double FLUID_DENSITY = 10.0;
+    // state
+    double[] px;
+    double[] py;
+    double[] pz;
+    double[] vx;
+    double[] vy;
+    double[] vz;
+    double[] fx;
+    double[] fy;
+    double[] fz;
+    double[] ax;
+    double[] ay;
+    double[] az;
+    double[] speed;
+    double[] drag;
+    double[] friction;
+    // properties
+    double[] mass;
+    double[] maxSpeed;
+    double[] dragArea;
+    double[] dragCoefficient;
+    double[] coefficientOfFriction;
+    // owners
+    PhysicsSupport[] supports;
+    TransformSupport[] transforms;
+    private int size = 0;
+    // positions of the moving bodies only used by the physics engine
+    private TransformSupport[] moving = new TransformSupport[0];
+    private double[] mx = new double[0];
+    private double[] my = new double[0];
+    private double[] mz = new double[0];
+    private int movingCount = 0;
+
+    /**
+     * Constructor
+     */
+    PhysicsBodies() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity the initial capacity
+     */
+    PhysicsBodies(final int capacity) {
+        resize(Math.max(1, capacity));
+    }
+
+    /**
+     * @return the number of bodies
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Add a body with default state.
+     *
+     * @param support the support object that owns the body
+     *
+     * @return the slot for the body
+     */
+    int add(final PhysicsSupport support) {
+        if (size == supports.length) {
+            resize(size * 2);
+        }
+        final int slot = size++;
+        px[slot] = 0.0;
+        py[slot] = 0.0;
+        pz[slot] = 0.0;
+        vx[slot] = 0.0;
+        vy[slot] = 0.0;
+        vz[slot] = 0.0;
+        fx[slot] = 0.0;
+        fy[slot] = 0.0;
+        fz[slot] = 0.0;
+        ax[slot] = 0.0;
+        ay[slot] = 0.0;
+        az[slot] = 0.0;
+        speed[slot] = 0.0;
+        drag[slot] = 0.0;
+        friction[slot] = 0.0;
+        mass[slot] = 1.0;
+        maxSpeed[slot] = 1.0;
+        dragArea[slot] = 1.0;
+        dragCoefficient[slot] = 0.5;
+        coefficientOfFriction[slot] = 0.0;
+        supports[slot] = support;
+        transforms[slot] = null;
+        return slot;
+    }
+
+    /**
+     * Copy the state of a body from another set of bodies.
+     *
+     * @param slot      the slot to copy to
+     * @param other     the bodies to copy from
+     * @param otherSlot the slot to copy from
+     */
+    void copy(final int slot, final PhysicsBodies other, final int otherSlot) {
+        px[slot] = other.px[otherSlot];
+        py[slot] = other.py[otherSlot];
+        pz[slot] = other.pz[otherSlot];
+        vx[slot] = other.vx[otherSlot];
+        vy[slot] = other.vy[otherSlot];
+        vz[slot] = other.vz[otherSlot];
+        fx[slot] = other.fx[otherSlot];
+        fy[slot] = other.fy[otherSlot];
+        fz[slot] = other.fz[otherSlot];
+        ax[slot] = other.ax[otherSlot];
+        ay[slot] = other.ay[otherSlot];
+        az[slot] = other.az[otherSlot];
+        speed[slot] = other.speed[otherSlot];
+        drag[slot] = other.drag[otherSlot];
+        friction[slot] = other.friction[otherSlot];
+        mass[slot] = other.mass[otherSlot];
+        maxSpeed[slot] = other.maxSpeed[otherSlot];
+        dragArea[slot] = other.dragArea[otherSlot];
+        dragCoefficient[slot] = other.dragCoefficient[otherSlot];
+        coefficientOfFriction[slot] = other.coefficientOfFriction[otherSlot];
+    }
+
+    /**
+     * Remove a body by moving the last body into its slot.
+     *
+     * @param slot the slot to remove
+     *
+     * @return the support object that was moved into the slot or null if the
+     *         last body was removed
+     */
+    PhysicsSupport remove(final int slot) {
+        final int last = --size;
+        PhysicsSupport moved = null;
+        if (slot != last) {
+            copy(slot, this, last);
+            moved = supports[last];
+            supports[slot] = moved;
+            transforms[slot] = transforms[last];
+        }
+        supports[last] = null;
+        transforms[last] = null;
+        return moved;
+    }
+
+    /**
+     * Integrate the forces, velocities and positions of all of the bodies.
+     *
+     * @param t the change in time in seconds
+     */
+    void integrate(final double t) {
+        if (size < PARALLEL_THRESHOLD) {
+            integrate(t, 0, size);
+        } else {
+            final int chunks = (size + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                final int from = chunk * PARALLEL_CHUNK;
+                integrate(t, from, Math.min(size, from + PARALLEL_CHUNK));
+            });
+        }
+    }
+
+    /**
+     * Integrate a range of bodies.
+     *
+     * @param t    the change in time in seconds
+     * @param from the first slot inclusive
+     * @param to   the last slot exclusive
+     */
+    void integrate(final double t, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final double m = mass[i];
+            // create an acceleration from the accumulated forces
+            final double accelX = fx[i] / m;
+            final double accelY = fy[i] / m;
+            final double accelZ = fz[i] / m;
+            // add the acceleration scaled by the time change to the velocity
+            double velX = vx[i] + t * accelX;
+            double velY = vy[i] + t * accelY;
+            double velZ = vz[i] + t * accelZ;
+            double norm = Math.sqrt(velX * velX + velY * velY + velZ * velZ);
+            // limit the max velocity
+            final double max = maxSpeed[i];
+            if (norm > max && norm > 0.0) {
+                final double scale = max / norm;
+                velX *= scale;
+                velY *= scale;
+                velZ *= scale;
+                norm = max;
+            }
+            // apply drag only if it has drag and speed
+            double d = 0.0;
+            if (dragCoefficient[i] > 0.0 && norm > 0.0) {
+                // calculate drag scaled for mass and time
+                double scale = 0.5 * FLUID_DENSITY * norm * norm * dragArea[i] * dragCoefficient[i];
+                scale *= 1.0 / m * t;
+                d = Math.abs(scale);
+                if (d > norm) {
+                    scale = Math.copySign(norm, scale);
+                }
+                scale /= norm;
+                velX -= scale * velX;
+                velY -= scale * velY;
+                velZ -= scale * velZ;
+                norm = Math.sqrt(velX * velX + velY * velY + velZ * velZ);
+            }
+            // apply the constant kinetic friction
+            double f = 0.0;
+            if (coefficientOfFriction[i] > 0.0 && norm > 0.0) {
+                double scale = m * coefficientOfFriction[i] * t;
+                f = Math.abs(scale);
+                if (f > norm) {
+                    scale = Math.copySign(norm, scale);
+                }
+                scale /= norm;
+                velX -= scale * velX;
+                velY -= scale * velY;
+                velZ -= scale * velZ;
+                norm = Math.sqrt(velX * velX + velY * velY + velZ * velZ);
+            }
+            // update the state
+            fx[i] = 0.0;
+            fy[i] = 0.0;
+            fz[i] = 0.0;
+            ax[i] = accelX;
+            ay[i] = accelY;
+            az[i] = accelZ;
+            vx[i] = velX;
+            vy[i] = velY;
+            vz[i] = velZ;
+            speed[i] = norm;
+            drag[i] = d;
+            friction[i] = f;
+            // apply the translation
+            px[i] += t * velX;
+            py[i] += t * velY;
+            pz[i] += t * velZ;
+        }
+    }
+
+    /**
+     * Read the positions of the bodies from their transform support objects.
+     * Bodies without a transform are still integrated but won't be moved.
+     */
+    void readPositions() {
+        for (int i = 0; i < size; i++) {
+            final TransformSupport transform = supports[i].getActor().lookup(TransformSupport.class);
+            transforms[i] = transform;
+            if (transform != null) {
+                final Vector3D translation = transform.getTranslation();
+                px[i] = translation.getX();
+                py[i] = translation.getY();
+                pz[i] = translation.getZ();
+            }
+        }
+    }
+
+    /**
+     * Copy the positions of the moving bodies so they can be written back to
+     * their transform support objects without holding the lock. Bodies that
+     * didn't move are skipped so they won't fire property changes.
+     *
+     * @param t the change in time in seconds used for the last integration
+     *
+     * @return the number of moving bodies
+     */
+    int copyPositions(final double t) {
+        movingCount = 0;
+        if (t == 0.0) {
+            return 0;
+        }
+        if (moving.length < size) {
+            moving = new TransformSupport[supports.length];
+            mx = new double[supports.length];
+            my = new double[supports.length];
+            mz = new double[supports.length];
+        }
+        for (int i = 0; i < size; i++) {
+            final TransformSupport transform = transforms[i];
+            if (transform != null && (vx[i] != 0.0 || vy[i] != 0.0 || vz[i] != 0.0)) {
+                moving[movingCount] = transform;
+                mx[movingCount] = px[i];
+                my[movingCount] = py[i];
+                mz[movingCount] = pz[i];
+                movingCount++;
+            }
+        }
+        return movingCount;
+    }
+
+    /**
+     * Write the positions copied by the last call to copyPositions back to
+     * their transform support objects in a single pass. This is only called
+     * by the physics engine and must not be synchronized on this object.
+     *
+     * @return the number of transforms that were updated
+     */
+    int writePositions() {
+        final int count = movingCount;
+        for (int i = 0; i < count; i++) {
+            moving[i].setTranslation(new Vector3D(mx[i], my[i], mz[i]));
+            moving[i] = null;
+        }
+        movingCount = 0;
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "PhysicsBodies{" + "size=" + size + '}';
+    }
+
+    private void resize(final int capacity) {
+        px = copy(px, capacity);
+        py = copy(py, capacity);
+        pz = copy(pz, capacity);
+        vx = copy(vx, capacity);
+        vy = copy(vy, capacity);
+        vz = copy(vz, capacity);
+        fx = copy(fx, capacity);
+        fy = copy(fy, capacity);
+        fz = copy(fz, capacity);
+        ax = copy(ax, capacity);
+        ay = copy(ay, capacity);
+        az = copy(az, capacity);
+        speed = copy(speed, capacity);
+        drag = copy(drag, capacity);
+        friction = copy(friction, capacity);
+        mass = copy(mass, capacity);
+        maxSpeed = copy(maxSpeed, capacity);
+        dragArea = copy(dragArea, capacity);
+        dragCoefficient = copy(dragCoefficient, capacity);
+        coefficientOfFriction = copy(coefficientOfFriction, capacity);
+        supports = supports != null ? Arrays.copyOf(supports, capacity) : new PhysicsSupport[capacity];
+        transforms = transforms != null ? Arrays.copyOf(transforms, capacity) : new TransformSupport[capacity];
+    }
+
+    private static double[] copy(final double[] array, final int capacity) {
+        return array != null ? Arrays.copyOf(array, capacity) : new double[capacity];
+    }
+}
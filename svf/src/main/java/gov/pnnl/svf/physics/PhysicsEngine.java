@@ -5,23 +5,39 @@ import gov.pnnl.svf.scene.Disposable;
 import gov.pnnl.svf.scene.Scene;
 import gov.pnnl.svf.scene.Updatable;
 import gov.pnnl.svf.support.TransformSupport;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import org.apache.commons.math.geometry.Vector3D;
 
 /**
  * Support object for enabling physics in a scene. This object must be added to
- * the scene to enable physics. This physics engine currently only supports
- * keeping an object inside of the scene boundaries.
+ * the scene to enable physics. This physics engine supports keeping an object
+ * inside of the scene boundaries and detecting collisions between actors.
+ * <p>
+ * The state of every PhysicsSupport object is kept in primitive arrays that
+ * are integrated in a single loop without allocating, in parallel when there
+ * are many bodies. The new positions are then written back to the
+ * TransformSupport objects in one pass, skipping bodies that aren't moving.
+ * <p>
+ * Actor collisions are found using a uniform grid broadphase over the bounds
+ * of each actor with a CollisionSupport and TransformSupport object.
+ * The bounds are the translation plus and minus half of the scale, rotations
+ * are not taken into account. An actor is notified of a collision with
+ * another actor when the other actor's type is one of its collision types.
  *
  * @author Amelia Bleeker
  *
  */
 public class PhysicsEngine implements Updatable, Disposable {
 
-    private final static double FLUID_DENSITY = 10.0;
     private final Collection<PhysicsSupport> movables = new HashSet<>();
+    private final List<PhysicsSupport> removed = new ArrayList<>();
+    private final PhysicsBodies bodies = new PhysicsBodies();
     private final Collection<CollisionSupport> collisionables = new HashSet<>();
+    private final CollisionBroadphase broadphase = new CollisionBroadphase();
+    private final CollisionPairListener pairListener = new CollisionPairListener();
     private final Scene scene;
     private boolean disposed = false;
 
@@ -41,14 +57,13 @@ public class PhysicsEngine implements Updatable, Disposable {
     public void update(final long delta) {
         // update all of the physics
         scene.lookupAll(PhysicsSupport.class, movables);
-        for (final PhysicsSupport support : movables) {
-            applyPhysics(delta, support);
-        }
+        applyPhysics(delta);
         // update all of the collisions
         scene.lookupAll(CollisionSupport.class, collisionables);
         for (final CollisionSupport support : collisionables) {
             checkCollisions(support);
         }
+        checkActorCollisions();
     }
 
     @Override
@@ -68,67 +83,75 @@ public class PhysicsEngine implements Updatable, Disposable {
         }
         movables.clear();
         collisionables.clear();
+        // move the state of the support objects out of the bodies
+        synchronized (bodies) {
+            while (bodies.size() > 0) {
+                bodies.supports[bodies.size() - 1].unbind();
+            }
+        }
+        broadphase.clear();
+        pairListener.clear();
     }
 
-    private void applyPhysics(final long delta, final PhysicsSupport support) {
+    /**
+     * Integrates all of the physics bodies and writes the new positions back to
+     * the transform support objects.
+     */
+    private void applyPhysics(final long delta) {
         // calculate change in time
         final double t = delta / 1000.0;
-        // create an acceleration vector from the accumulated forces
-        Vector3D forces = new Vector3D(1.0 / support.getMass(), support.getForces());
-        final Vector3D acceleration = forces;
-        forces = Vector3D.ZERO;
-        // scale the acceleration according to the time change
-        final Vector3D a = new Vector3D(t, acceleration);
-        // add the acceleration to the current velocity
-        Vector3D velocity = support.getVelocity().add(a);
-        // limit the max velocity
-        double speed = velocity.getNorm();
-        if (speed > support.getMaxSpeed()) {
-            speed = support.getMaxSpeed();
-            velocity = new Vector3D(support.getMaxSpeed(), velocity.normalize());
-        }
-        // apply drag only if it has drag and speed
-        double drag;
-        if ((support.getDragCoefficient() > 0.0f) && (speed > 0.0f)) {
-            // calculate drag
-            double scale = 0.5f * FLUID_DENSITY * speed * speed * support.getDragArea() * support.getDragCoefficient();
-            // scale for mass and time
-            scale *= 1.0f / support.getMass() * t;
-            Vector3D dragVector = new Vector3D(scale, velocity.normalize());
-            drag = dragVector.getNorm();
-            if (drag > speed) {
-                dragVector = new Vector3D(speed, dragVector.normalize());
+        // the bodies are the engine lock and are always taken before the lock of a support object
+        synchronized (bodies) {
+            // move new support objects into the bodies and remove old ones
+            for (final PhysicsSupport support : movables) {
+                support.bind(bodies);
+            }
+            for (int i = 0; i < bodies.size(); i++) {
+                if (!movables.contains(bodies.supports[i])) {
+                    removed.add(bodies.supports[i]);
+                }
             }
-            velocity = velocity.subtract(dragVector);
-            speed = velocity.getNorm();
-        } else {
-            drag = 0.0f;
+            for (final PhysicsSupport support : removed) {
+                support.unbind();
+            }
+            removed.clear();
+            // integrate
+            bodies.readPositions();
+            bodies.integrate(t);
+            bodies.copyPositions(t);
         }
-        // apply the constant kinetic friction
-        double friction;
-        if ((support.getCoefficientOfFriction() > 0.0f) && (speed > 0.0f)) {
-            Vector3D frictionVector = new Vector3D(support.getMass() * support.getCoefficientOfFriction() * t, velocity.normalize());
-            friction = frictionVector.getNorm();
-            if (friction > speed) {
-                frictionVector = new Vector3D(speed, frictionVector.normalize());
+        // apply the translations without holding the lock
+        bodies.writePositions();
+    }
+
+    /**
+     * Checks for collisions between actors using the broadphase and notifies
+     * the collision support objects that collide with the other actor's type.
+     */
+    private void checkActorCollisions() {
+        broadphase.clear();
+        pairListener.clear();
+        boolean collidable = false;
+        for (final CollisionSupport support : collisionables) {
+            final Actor actor = support.getActor();
+            final TransformSupport transform = actor != null ? actor.lookup(TransformSupport.class) : null;
+            if (transform == null) {
+                continue;
             }
-            velocity = velocity.subtract(frictionVector);
-            speed = velocity.getNorm();
-        } else {
-            friction = 0.0;
+            final Vector3D translation = transform.getTranslation();
+            final Vector3D scale = transform.getScale();
+            final double width = Math.abs(scale.getX()) / 2.0;
+            final double height = Math.abs(scale.getY()) / 2.0;
+            final double depth = Math.abs(scale.getZ()) / 2.0;
+            broadphase.add(translation.getX() - width, translation.getY() - height, translation.getZ() - depth,
+                           translation.getX() + width, translation.getY() + height, translation.getZ() + depth);
+            collidable |= pairListener.add(support, actor);
         }
-        // update the values in the support object
-        support.setForces(forces);
-        support.setVelocity(velocity);
-        support.setAcceleration(acceleration);
-        support.setSpeed(speed);
-        support.setDrag(drag);
-        support.setFriction(friction);
-        // apply the translation
-        final TransformSupport transform = support.getActor().lookup(TransformSupport.class);
-        if (transform != null) {
-            transform.setTranslation(transform.getTranslation().add(new Vector3D(t, velocity)));
+        // only sweep if something can collide with an actor
+        if (collidable) {
+            broadphase.findPairs(pairListener);
         }
+        pairListener.clear();
     }
 
     /**
@@ -153,7 +176,7 @@ public class PhysicsEngine implements Updatable, Disposable {
             // get reference to a physics object if it has one
             final PhysicsSupport physics = actor.lookup(PhysicsSupport.class);
             // check for scene boundary collisions
-            if (support.containsCollisionType("scene")) {
+            if (support.containsCollisionType(CollisionSupport.SCENE_COLLISION_TYPE)) {
                 // create actor variables
                 final double aWidth = transform.getScale().getX() / 2.0;
                 final double aHeight = transform.getScale().getY() / 2.0;
@@ -211,4 +234,48 @@ public class PhysicsEngine implements Updatable, Disposable {
             }
         }
     }
+
+    /**
+     * Pair listener that filters the broadphase pairs by collision type and
+     * notifies the collision support objects.
+     */
+    private static class CollisionPairListener implements CollisionBroadphase.PairListener {
+
+        private final List<CollisionSupport> supports = new ArrayList<>();
+        private final List<Actor> actors = new ArrayList<>();
+        private final List<String> types = new ArrayList<>();
+        private final List<Boolean> collidables = new ArrayList<>();
+
+        private boolean add(final CollisionSupport support, final Actor actor) {
+            final boolean collidable = support.isActorCollidable();
+            supports.add(support);
+            actors.add(actor);
+            types.add(actor.getType());
+            collidables.add(collidable);
+            return collidable;
+        }
+
+        private void clear() {
+            supports.clear();
+            actors.clear();
+            types.clear();
+            collidables.clear();
+        }
+
+        @Override
+        public void overlap(final int a, final int b) {
+            if (collides(a, b)) {
+                supports.get(a).notifyCollisionWithActor(actors.get(b));
+            }
+            if (collides(b, a)) {
+                supports.get(b).notifyCollisionWithActor(actors.get(a));
+            }
+        }
+
+        private boolean collides(final int a, final int b) {
+            // an actor with the scene type is not the scene boundary
+            final String type = types.get(b);
+            return collidables.get(a) && !CollisionSupport.SCENE_COLLISION_TYPE.equals(type) && supports.get(a).containsCollisionType(type);
+        }
+    }
 }
@@ -8,6 +8,15 @@ import org.apache.commons.math.geometry.Vector3D;
  * Allows the actor to be moved about a scene by using physics. The actor must
  * have TransformSupport in order to be moved by physics. This support object is
  * intended for use by the standard physics engine.
+ * <p>
+ * While a physics engine is using the support object its state is stored in a
+ * slot of the structure of arrays used by the engine so that it can be
+ * integrated without allocating, and the getters and setters read and write
+ * that slot while synchronized on the engine's bodies. Otherwise the state is
+ * kept in fields of the support object and synchronized on the support object.
+ * Only one of the two locks is held by the getters and setters, and the engine
+ * always takes its own lock before the lock of a support object, so the locks
+ * can't be taken in opposite orders.
  *
  * @author Amelia Bleeker
  *
@@ -62,9 +71,27 @@ public class PhysicsSupport extends AbstractSupport<Object> {
         return instance;
     }
 
-    private Vector3D forces = Vector3D.ZERO;
-    private Vector3D acceleration = Vector3D.ZERO;
-    private Vector3D velocity = Vector3D.ZERO;
+    /**
+     * The bodies that hold the state while a physics engine is using this
+     * support object or null. This field is only changed while synchronized on
+     * both the bodies and this object.
+     */
+    private volatile PhysicsBodies bodies = null;
+    /**
+     * The slot of this support object in the bodies. This field is guarded by
+     * the bodies.
+     */
+    int slot = -1;
+    // state while not used by a physics engine
+    private double vx = 0.0;
+    private double vy = 0.0;
+    private double vz = 0.0;
+    private double fx = 0.0;
+    private double fy = 0.0;
+    private double fz = 0.0;
+    private double ax = 0.0;
+    private double ay = 0.0;
+    private double az = 0.0;
     private double maxSpeed = 1.0;
     private double speed = 0.0;
     private double drag = 0.0;
@@ -91,8 +118,22 @@ public class PhysicsSupport extends AbstractSupport<Object> {
         if (force == null) {
             throw new NullPointerException("impulse");
         }
-        synchronized (this) {
-            forces = forces.add(force);
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        target.fx[slot] += force.getX();
+                        target.fy[slot] += force.getY();
+                        target.fz[slot] += force.getZ();
+                    } else {
+                        fx += force.getX();
+                        fy += force.getY();
+                        fz += force.getZ();
+                    }
+                    return;
+                }
+            }
         }
     }
 
@@ -105,8 +146,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the acceleration
      */
     public Vector3D getAcceleration() {
-        synchronized (this) {
-            return acceleration;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? new Vector3D(target.ax[slot], target.ay[slot], target.az[slot]) : new Vector3D(ax, ay, az);
+                }
+            }
         }
     }
 
@@ -117,8 +163,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the coefficientOfFriction
      */
     public double getCoefficientOfFriction() {
-        synchronized (this) {
-            return coefficientOfFriction;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? target.coefficientOfFriction[slot] : coefficientOfFriction;
+                }
+            }
         }
     }
 
@@ -126,8 +177,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the drag
      */
     public double getDrag() {
-        synchronized (this) {
-            return drag;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? target.drag[slot] : drag;
+                }
+            }
         }
     }
 
@@ -135,8 +191,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the dragArea
      */
     public double getDragArea() {
-        synchronized (this) {
-            return dragArea;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? target.dragArea[slot] : dragArea;
+                }
+            }
         }
     }
 
@@ -144,8 +205,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the dragCoefficient
      */
     public double getDragCoefficient() {
-        synchronized (this) {
-            return dragCoefficient;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? target.dragCoefficient[slot] : dragCoefficient;
+                }
+            }
         }
     }
 
@@ -153,8 +219,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the the combined forces that are currently acting on this actor
      */
     public Vector3D getForces() {
-        synchronized (this) {
-            return forces;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? new Vector3D(target.fx[slot], target.fy[slot], target.fz[slot]) : new Vector3D(fx, fy, fz);
+                }
+            }
         }
     }
 
@@ -162,8 +233,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the friction
      */
     public double getFriction() {
-        synchronized (this) {
-            return friction;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? target.friction[slot] : friction;
+                }
+            }
         }
     }
 
@@ -171,8 +247,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the mass
      */
     public double getMass() {
-        synchronized (this) {
-            return mass;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? target.mass[slot] : mass;
+                }
+            }
         }
     }
 
@@ -180,8 +261,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the max speed
      */
     public double getMaxSpeed() {
-        synchronized (this) {
-            return maxSpeed;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? target.maxSpeed[slot] : maxSpeed;
+                }
+            }
         }
     }
 
@@ -189,8 +275,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the current speed of the actor
      */
     public double getSpeed() {
-        synchronized (this) {
-            return speed;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? target.speed[slot] : speed;
+                }
+            }
         }
     }
 
@@ -198,8 +289,13 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return the velocity
      */
     public Vector3D getVelocity() {
-        synchronized (this) {
-            return velocity;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    return target != null ? new Vector3D(target.vx[slot], target.vy[slot], target.vz[slot]) : new Vector3D(vx, vy, vz);
+                }
+            }
         }
     }
 
@@ -207,8 +303,25 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @param acceleration the acceleration to set
      */
     public void setAcceleration(final Vector3D acceleration) {
-        synchronized (this) {
-            this.acceleration = acceleration;
+        if (acceleration == null) {
+            throw new NullPointerException("acceleration");
+        }
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        target.ax[slot] = acceleration.getX();
+                        target.ay[slot] = acceleration.getY();
+                        target.az[slot] = acceleration.getZ();
+                    } else {
+                        ax = acceleration.getX();
+                        ay = acceleration.getY();
+                        az = acceleration.getZ();
+                    }
+                    return;
+                }
+            }
         }
     }
 
@@ -222,9 +335,20 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      */
     public PhysicsSupport setCoefficientOfFriction(final double coefficientOfFriction) {
         double old;
-        synchronized (this) {
-            old = this.coefficientOfFriction;
-            this.coefficientOfFriction = coefficientOfFriction;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        old = target.coefficientOfFriction[slot];
+                        target.coefficientOfFriction[slot] = coefficientOfFriction;
+                    } else {
+                        old = this.coefficientOfFriction;
+                        this.coefficientOfFriction = coefficientOfFriction;
+                    }
+                    break;
+                }
+            }
         }
         getPropertyChangeSupport().firePropertyChange(COEFFICIENT_OF_FRICTION, old, coefficientOfFriction);
         return this;
@@ -234,8 +358,18 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @param drag the drag to set
      */
     public void setDrag(final double drag) {
-        synchronized (this) {
-            this.drag = drag;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        target.drag[slot] = drag;
+                    } else {
+                        this.drag = drag;
+                    }
+                    return;
+                }
+            }
         }
     }
 
@@ -246,9 +380,20 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      */
     public PhysicsSupport setDragArea(final double dragArea) {
         double old;
-        synchronized (this) {
-            old = this.dragArea;
-            this.dragArea = dragArea;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        old = target.dragArea[slot];
+                        target.dragArea[slot] = dragArea;
+                    } else {
+                        old = this.dragArea;
+                        this.dragArea = dragArea;
+                    }
+                    break;
+                }
+            }
         }
         getPropertyChangeSupport().firePropertyChange(DRAG_AREA, old, dragArea);
         return this;
@@ -268,9 +413,20 @@ public class PhysicsSupport extends AbstractSupport<Object> {
             temp = 1.0;
         }
         double old;
-        synchronized (this) {
-            old = this.dragCoefficient;
-            this.dragCoefficient = temp;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        old = target.dragCoefficient[slot];
+                        target.dragCoefficient[slot] = temp;
+                    } else {
+                        old = this.dragCoefficient;
+                        this.dragCoefficient = temp;
+                    }
+                    break;
+                }
+            }
         }
         getPropertyChangeSupport().firePropertyChange(DRAG_COEFFICIENT, old, dragCoefficient);
         return this;
@@ -280,8 +436,25 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @param forces the forces to set
      */
     public void setForces(final Vector3D forces) {
-        synchronized (this) {
-            this.forces = forces;
+        if (forces == null) {
+            throw new NullPointerException("forces");
+        }
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        target.fx[slot] = forces.getX();
+                        target.fy[slot] = forces.getY();
+                        target.fz[slot] = forces.getZ();
+                    } else {
+                        fx = forces.getX();
+                        fy = forces.getY();
+                        fz = forces.getZ();
+                    }
+                    return;
+                }
+            }
         }
     }
 
@@ -289,8 +462,18 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @param friction the friction to set
      */
     public void setFriction(final double friction) {
-        synchronized (this) {
-            this.friction = friction;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        target.friction[slot] = friction;
+                    } else {
+                        this.friction = friction;
+                    }
+                    return;
+                }
+            }
         }
     }
 
@@ -300,13 +483,21 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @return a reference to the support object
      */
     public PhysicsSupport setMass(final double mass) {
+        final double value = mass < MINIMUM_MASS ? MINIMUM_MASS : mass;
         double old;
-        synchronized (this) {
-            old = this.mass;
-            if (mass < MINIMUM_MASS) {
-                this.mass = MINIMUM_MASS;
-            } else {
-                this.mass = mass;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        old = target.mass[slot];
+                        target.mass[slot] = value;
+                    } else {
+                        old = this.mass;
+                        this.mass = value;
+                    }
+                    break;
+                }
             }
         }
         getPropertyChangeSupport().firePropertyChange(MASS, old, mass);
@@ -318,9 +509,20 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      */
     public void setMaxSpeed(final double maxSpeed) {
         double old;
-        synchronized (this) {
-            old = this.maxSpeed;
-            this.maxSpeed = maxSpeed;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        old = target.maxSpeed[slot];
+                        target.maxSpeed[slot] = maxSpeed;
+                    } else {
+                        old = this.maxSpeed;
+                        this.maxSpeed = maxSpeed;
+                    }
+                    break;
+                }
+            }
         }
         getPropertyChangeSupport().firePropertyChange(MAX_SPEED, old, maxSpeed);
     }
@@ -329,8 +531,18 @@ public class PhysicsSupport extends AbstractSupport<Object> {
      * @param speed the speed to set
      */
     public void setSpeed(final double speed) {
-        synchronized (this) {
-            this.speed = speed;
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        target.speed[slot] = speed;
+                    } else {
+                        this.speed = speed;
+                    }
+                    return;
+                }
+            }
         }
     }
 
@@ -341,39 +553,134 @@ public class PhysicsSupport extends AbstractSupport<Object> {
         if (velocity == null) {
             throw new NullPointerException("velocity");
         }
+        while (true) {
+            final PhysicsBodies target = bodies;
+            synchronized (lock(target)) {
+                if (target == bodies) {
+                    if (target != null) {
+                        target.vx[slot] = velocity.getX();
+                        target.vy[slot] = velocity.getY();
+                        target.vz[slot] = velocity.getZ();
+                    } else {
+                        vx = velocity.getX();
+                        vy = velocity.getY();
+                        vz = velocity.getZ();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Move the state of this support object into a slot of the bodies used by
+     * a physics engine. This must be called while synchronized on the target
+     * bodies. A support object can only be used by one physics engine at a
+     * time.
+     *
+     * @param target the bodies to move into
+     *
+     * @return true if the support object is using the target bodies
+     */
+    boolean bind(final PhysicsBodies target) {
+        synchronized (this) {
+            if (bodies != null) {
+                return bodies == target;
+            }
+            slot = target.add(this);
+            target.vx[slot] = vx;
+            target.vy[slot] = vy;
+            target.vz[slot] = vz;
+            target.fx[slot] = fx;
+            target.fy[slot] = fy;
+            target.fz[slot] = fz;
+            target.ax[slot] = ax;
+            target.ay[slot] = ay;
+            target.az[slot] = az;
+            target.speed[slot] = speed;
+            target.drag[slot] = drag;
+            target.friction[slot] = friction;
+            target.mass[slot] = mass;
+            target.maxSpeed[slot] = maxSpeed;
+            target.dragArea[slot] = dragArea;
+            target.dragCoefficient[slot] = dragCoefficient;
+            target.coefficientOfFriction[slot] = coefficientOfFriction;
+            bodies = target;
+            return true;
+        }
+    }
+
+    /**
+     * Move the state of this support object out of the bodies used by a
+     * physics engine and back into its fields. This must be called while
+     * synchronized on the bodies.
+     */
+    void unbind() {
         synchronized (this) {
-            this.velocity = velocity;
+            final PhysicsBodies target = bodies;
+            if (target == null) {
+                return;
+            }
+            vx = target.vx[slot];
+            vy = target.vy[slot];
+            vz = target.vz[slot];
+            fx = target.fx[slot];
+            fy = target.fy[slot];
+            fz = target.fz[slot];
+            ax = target.ax[slot];
+            ay = target.ay[slot];
+            az = target.az[slot];
+            speed = target.speed[slot];
+            drag = target.drag[slot];
+            friction = target.friction[slot];
+            mass = target.mass[slot];
+            maxSpeed = target.maxSpeed[slot];
+            dragArea = target.dragArea[slot];
+            dragCoefficient = target.dragCoefficient[slot];
+            coefficientOfFriction = target.coefficientOfFriction[slot];
+            // the last body is moved into the old slot
+            final PhysicsSupport moved = target.remove(slot);
+            if (moved != null) {
+                moved.slot = slot;
+            }
+            slot = -1;
+            bodies = null;
         }
     }
 
+    /**
+     * The lock that guards the state while it is held by the target.
+     */
+    private Object lock(final PhysicsBodies target) {
+        return target != null ? target : this;
+    }
+
     @Override
     public String toString() {
-        synchronized (this) {
-            final StringBuilder builder = new StringBuilder();
-            builder.append("PhysicsSupport [acceleration=");
-            builder.append(acceleration);
-            builder.append(", coefficientOfFriction=");
-            builder.append(coefficientOfFriction);
-            builder.append(", drag=");
-            builder.append(drag);
-            builder.append(", dragArea=");
-            builder.append(dragArea);
-            builder.append(", dragCoefficient=");
-            builder.append(dragCoefficient);
-            builder.append(", forces=");
-            builder.append(forces);
-            builder.append(", friction=");
-            builder.append(friction);
-            builder.append(", mass=");
-            builder.append(mass);
-            builder.append(", maxSpeed=");
-            builder.append(maxSpeed);
-            builder.append(", speed=");
-            builder.append(speed);
-            builder.append(", velocity=");
-            builder.append(velocity);
-            builder.append("]");
-            return builder.toString();
-        }
+        final StringBuilder builder = new StringBuilder();
+        builder.append("PhysicsSupport [acceleration=");
+        builder.append(getAcceleration());
+        builder.append(", coefficientOfFriction=");
+        builder.append(getCoefficientOfFriction());
+        builder.append(", drag=");
+        builder.append(getDrag());
+        builder.append(", dragArea=");
+        builder.append(getDragArea());
+        builder.append(", dragCoefficient=");
+        builder.append(getDragCoefficient());
+        builder.append(", forces=");
+        builder.append(getForces());
+        builder.append(", friction=");
+        builder.append(getFriction());
+        builder.append(", mass=");
+        builder.append(getMass());
+        builder.append(", maxSpeed=");
+        builder.append(getMaxSpeed());
+        builder.append(", speed=");
+        builder.append(getSpeed());
+        builder.append(", velocity=");
+        builder.append(getVelocity());
+        builder.append("]");
+        return builder.toString();
     }
 }
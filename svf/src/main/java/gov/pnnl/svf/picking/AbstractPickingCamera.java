@@ -25,8 +25,12 @@ import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.math.geometry.Vector3D;
 
 /**
@@ -44,8 +48,14 @@ public abstract class AbstractPickingCamera extends AbstractActor implements Pic
     public static final String DEFAULT_TYPE = "picking-camera";
     private final static int CAPACITY = 64;
     private final List<PickingCameraListener> listeners = Collections.synchronizedList(new ArrayList<>());
-    private Set<PickingCameraEvent> eventQueue = new LinkedHashSet<>();
-    private final Object eventQueueSync = new Object();
+    // click, wheel, key, and other action events are processed in order
+    private final Queue<PickingCameraEvent> eventQueue = new ConcurrentLinkedQueue<>();
+    // movement events are coalesced to the latest position for each frame
+    private final AtomicReference<PickingCameraEvent> moveEvent = new AtomicReference<>();
+    private final AtomicReference<PickingCameraEvent> dragEvent = new AtomicReference<>();
+    private final AtomicLong receivedEventCounter = new AtomicLong();
+    private final AtomicLong coalescedEventCounter = new AtomicLong();
+    private final AtomicLong processedEventCounter = new AtomicLong();
     /**
      * the thread to use for pushing events from picking
      */
@@ -149,8 +159,14 @@ public abstract class AbstractPickingCamera extends AbstractActor implements Pic
         if (!getPickTypes().containsAll(event.getTypes())) {
             return;
         }
-        synchronized (eventQueueSync) {
-            eventQueue.add(event);
+        receivedEventCounter.incrementAndGet();
+        if (isMovement(event)) {
+            final AtomicReference<PickingCameraEvent> slot = event.getTypes().contains(CameraEventType.DRAG) ? dragEvent : moveEvent;
+            if (slot.getAndSet(event) != null) {
+                coalescedEventCounter.incrementAndGet();
+            }
+        } else {
+            eventQueue.offer(event);
         }
         // no longer necessary to redraw entire scene for a raycast
         //        setDirty(!event.getTypes().contains(CameraEventType.MOVE));
@@ -242,14 +258,44 @@ public abstract class AbstractPickingCamera extends AbstractActor implements Pic
 
     @Override
     public Set<PickingCameraEvent> getEvents() {
-        synchronized (eventQueueSync) {
-            if (eventQueue.isEmpty()) {
-                return Collections.emptySet();
+        Set<PickingCameraEvent> events = null;
+        PickingCameraEvent event;
+        while ((event = eventQueue.poll()) != null) {
+            if (events == null) {
+                events = new LinkedHashSet<>();
             }
-            final Set<PickingCameraEvent> reference = eventQueue;
-            eventQueue = new LinkedHashSet<>();
-            return reference;
+            events.add(event);
+        }
+        // the latest movement is processed after the actions that preceded it
+        events = drain(events, moveEvent);
+        events = drain(events, dragEvent);
+        if (events == null) {
+            return Collections.emptySet();
         }
+        processedEventCounter.addAndGet(events.size());
+        return events;
+    }
+
+    @Override
+    public long getReceivedEventCounter() {
+        return receivedEventCounter.get();
+    }
+
+    @Override
+    public long getCoalescedEventCounter() {
+        return coalescedEventCounter.get();
+    }
+
+    @Override
+    public long getProcessedEventCounter() {
+        return processedEventCounter.get();
+    }
+
+    @Override
+    public void resetEventCounters() {
+        receivedEventCounter.set(0L);
+        coalescedEventCounter.set(0L);
+        processedEventCounter.set(0L);
     }
 
     @Override
@@ -501,6 +547,28 @@ public abstract class AbstractPickingCamera extends AbstractActor implements Pic
         // no operation by default
     }
 
+    /**
+     * Movement events without a button or an action only need the latest
+     * position, drag releases and other actions are kept in order.
+     */
+    private static boolean isMovement(final PickingCameraEvent event) {
+        final Set<CameraEventType> types = event.getTypes();
+        return !Collections.disjoint(types, CameraEventType.Collections.MOVEMENT_TYPES)
+               && Collections.disjoint(types, CameraEventType.Collections.ACTION_TYPES)
+               && Collections.disjoint(types, CameraEventType.Collections.BUTTON_TYPES);
+    }
+
+    private static Set<PickingCameraEvent> drain(Set<PickingCameraEvent> events, final AtomicReference<PickingCameraEvent> slot) {
+        final PickingCameraEvent event = slot.getAndSet(null);
+        if (event != null) {
+            if (events == null) {
+                events = new LinkedHashSet<>();
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
     @Override
     public CameraExt<?> getExtended() {
         return this;
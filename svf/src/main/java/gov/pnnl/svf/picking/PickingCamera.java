@@ -110,12 +110,38 @@ public interface PickingCamera extends CameraExt<PickingCameraListener> {
 
     /**
      * This method returns the current set of events and clears the current
-     * event list.
+     * event list. Action events are returned in the order they were added
+     * followed by the latest move and drag events.
      *
      * @return the current set of events
      */
     Set<PickingCameraEvent> getEvents();
 
+    /**
+     * @return the number of events that passed the pick type filter since the
+     *         counters were last reset
+     */
+    long getReceivedEventCounter();
+
+    /**
+     * Move and drag events are coalesced to the latest position between
+     * frames.
+     *
+     * @return the number of movement events that were replaced by a later
+     *         movement event before being processed
+     */
+    long getCoalescedEventCounter();
+
+    /**
+     * @return the number of events that were returned for processing
+     */
+    long getProcessedEventCounter();
+
+    /**
+     * Reset the received, coalesced, and processed event counters.
+     */
+    void resetEventCounters();
+
     /**
      * Start picking in a scene. This is utilized by the scene to perform
      * picking.
@@ -11,19 +11,31 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Class is used to pool actors for scenes that need to destroy and recreate
- * actors often. This class is thread safe.
+ * actors often. Idle actors are kept on a lock-free stack so the most recently
+ * checked in actor is checked out first. Actors are checked in on the calling
+ * thread and the least recently used actor is evicted and disposed when the
+ * pool grows past its maximum size. The pool can be prewarmed in the
+ * background by a single worker thread that exits when it's idle. This class
+ * is thread safe.
  *
  * @author Amelia Bleeker
  * @param <T> the type of actor that this pool manages
@@ -31,10 +43,15 @@ import java.util.logging.Logger;
 public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T> {
 
     private static final Logger logger = Logger.getLogger(AbstractActorPool.class.toString());
+    private static final long WORKER_KEEP_ALIVE = 10L;
     /**
      * pool of actors
+     *
+     * @deprecated idle actors are no longer kept in this list and it's always
+     * empty, use getPoolSize to find the number of pooled actors
      */
-    protected final LinkedList<T> pool;
+    @Deprecated
+    protected final LinkedList<T> pool = new LinkedList<>();
     /**
      * executor used to run long running pool management tasks
      */
@@ -44,6 +61,14 @@ public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T>
      */
     protected static final byte DISPOSED_MASK = StateUtil.getMasks()[0];
     protected byte state = StateUtil.NONE;
+    private final ConcurrentLinkedDeque<Entry<T>> stack = new ConcurrentLinkedDeque<>();
+    private final Set<Entry<T>> pooled = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger prewarmSize = new AtomicInteger();
+    private final AtomicLong hitCounter = new AtomicLong();
+    private final AtomicLong missCounter = new AtomicLong();
+    private final AtomicLong createdCounter = new AtomicLong();
+    private final AtomicLong evictedCounter = new AtomicLong();
     private final Scene scene;
     private final Class<T> clazz;
     private final String type;
@@ -80,12 +105,18 @@ public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T>
         if (scene == null) {
             throw new NullPointerException("scene");
         }
+        if (maxPoolSize < 0) {
+            throw new IllegalArgumentException("maxPoolSize");
+        }
         this.scene = scene;
         this.maxPoolSize = maxPoolSize;
-        pool = new LinkedList<>();
         clazz = (Class<T>) AbstractActorPool.getTypeArguments(AbstractActorPool.class, this.getClass()).get(0);
         this.type = type;
-        executor = Executors.newCachedThreadPool(new NamedThreadFactory(clazz.getClass(), "ActorPool_Worker"));
+        final ThreadPoolExecutor worker = new ThreadPoolExecutor(1, 1, WORKER_KEEP_ALIVE, TimeUnit.SECONDS,
+                                                                 new LinkedBlockingQueue<>(),
+                                                                 new NamedThreadFactory(clazz, "ActorPool_Worker"));
+        worker.allowCoreThreadTimeOut(true);
+        executor = worker;
     }
 
     /**
@@ -111,16 +142,7 @@ public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T>
             state = StateUtil.setValue(state, DISPOSED_MASK);
         }
         executor.shutdownNow();
-        T actor;
-        synchronized (pool) {
-            actor = pool.poll();
-        }
-        while (actor != null) {
-            actor.dispose();
-            synchronized (pool) {
-                actor = pool.poll();
-            }
-        }
+        drain();
     }
 
     @Override
@@ -135,9 +157,7 @@ public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T>
 
     @Override
     public int getPoolSize() {
-        synchronized (pool) {
-            return pool.size();
-        }
+        return size.get();
     }
 
     @Override
@@ -145,10 +165,39 @@ public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T>
         return maxPoolSize;
     }
 
+    @Override
+    public long getHitCounter() {
+        return hitCounter.get();
+    }
+
+    @Override
+    public long getMissCounter() {
+        return missCounter.get();
+    }
+
+    @Override
+    public long getCreatedCounter() {
+        return createdCounter.get();
+    }
+
+    @Override
+    public long getEvictedCounter() {
+        return evictedCounter.get();
+    }
+
+    @Override
+    public void resetCounters() {
+        hitCounter.set(0L);
+        missCounter.set(0L);
+        createdCounter.set(0L);
+        evictedCounter.set(0L);
+    }
+
     /**
      * Create a new actor. This actor should be fully constructed with all
      * support objects added to it. All actors created by this pool must be of
-     * the type AbstractActor.
+     * the type AbstractActor. This method is called with the data passed to
+     * check out when the pool is empty.
      *
      * @param id   id for the new actor
      * @param data optional data for actor creation
@@ -157,6 +206,20 @@ public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T>
      */
     protected abstract T create(String id, Object data);
 
+    /**
+     * Create a new actor to prewarm the pool. This method is called on the
+     * pool worker thread and there is no check out data for the actor. The
+     * default implementation calls create with null data, so subclasses that
+     * require data to create an actor should override this method.
+     *
+     * @param id id for the new actor
+     *
+     * @return a newly created object
+     */
+    protected T createPrewarmed(final String id) {
+        return create(id, null);
+    }
+
     /**
      * Initialize the actor.
      *
@@ -175,6 +238,17 @@ public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T>
      */
     protected abstract boolean validate(T actor);
 
+    /**
+     * Reset the actor after it's removed from the scene and before it's put
+     * back in the pool. This method is called on the thread that checks in the
+     * actor. The default implementation does nothing.
+     *
+     * @param actor the actor to reset
+     */
+    protected void reset(final T actor) {
+        // no implementation
+    }
+
     @Override
     public T checkOut(final String id, final Object data) {
         if (id == null) {
@@ -183,32 +257,29 @@ public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T>
         if (id.isEmpty()) {
             throw new NullPointerException("id");
         }
-        try {
-            // get an actor from the pool
-            final T actor;
-            synchronized (pool) {
-                actor = pool.poll();
-            }
+        // get an actor from the pool
+        T actor = poll();
+        while (actor != null) {
             // validate it
-            if (actor != null) {
-                if (validate(actor)) {
-                    // set the id, initialize, and return
-                    ((AbstractActor) actor).setId(id);
-                    initialize(actor, data);
-                    return actor;
-                } else {
-                    // failed validation so dispose and create a new one
-                    actor.dispose();
-                }
-            }
-        } catch (final NoSuchElementException ex) {
-            // no more actors in the pool
-            // just drop out and create and return a new actor
-            if (getScene().getExtended().getSceneBuilder().isVerbose()) {
-                logger.log(Level.INFO, "{0}: Actor pool is empty.  Creating a new actor...", scene);
+            if (validate(actor)) {
+                hitCounter.incrementAndGet();
+                // set the id, initialize, and return
+                ((AbstractActor) actor).setId(id);
+                initialize(actor, data);
+                return actor;
+            } else {
+                // failed validation so dispose and try the next one
+                actor.dispose();
+                actor = poll();
             }
         }
-        final T actor = create(id, data);
+        // no more actors in the pool so create and return a new actor
+        missCounter.incrementAndGet();
+        if (getScene().getExtended().getSceneBuilder().isVerbose()) {
+            logger.log(Level.INFO, "{0}: Actor pool is empty.  Creating a new actor...", scene);
+        }
+        createdCounter.incrementAndGet();
+        actor = create(id, data);
         initialize(actor, data);
         return actor;
     }
@@ -220,12 +291,129 @@ public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T>
         }
         // remove the actor from the scene
         actor.getScene().remove(actor);
-        executor.execute(new CheckInWorker(actor));
+        reset(actor);
+        offer(actor);
+        evict();
+    }
+
+    @Override
+    public void checkIn(final Collection<? extends T> actors) {
+        if (actors == null) {
+            throw new NullPointerException("actors");
+        }
+        if (actors.isEmpty()) {
+            return;
+        }
+        for (final T actor : actors) {
+            if (actor == null) {
+                throw new NullPointerException("actors");
+            }
+        }
+        // remove all of the actors from the scene at once
+        scene.removeAll(actors);
+        for (final T actor : actors) {
+            reset(actor);
+            offer(actor);
+        }
+        evict();
+    }
+
+    @Override
+    public void prewarm(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size");
+        }
+        final int target = maxPoolSize != UNBOUNDED_MAX_POOL_SIZE ? Math.min(size, maxPoolSize) : size;
+        // only the largest outstanding request needs a worker
+        if (prewarmSize.getAndAccumulate(target, Math::max) >= target || isDisposed()) {
+            return;
+        }
+        executor.execute(new PrewarmWorker());
+    }
+
+    private T poll() {
+        // taking the node off of the stack claims it so it can't be handed out twice
+        final Entry<T> entry = stack.pollFirst();
+        if (entry == null) {
+            return null;
+        }
+        pooled.remove(entry);
+        size.decrementAndGet();
+        return entry.actor;
+    }
+
+    private void offer(final T actor) {
+        if (isDisposed()) {
+            actor.dispose();
+            return;
+        }
+        final Entry<T> entry = new Entry<>(actor);
+        // we can't allow duplicates to exist in the pool
+        if (pooled.add(entry)) {
+            stack.offerFirst(entry);
+            size.incrementAndGet();
+            // the pool may have been drained by dispose before the actor was pooled
+            if (isDisposed()) {
+                drain();
+            }
+        }
+    }
+
+    private void evict() {
+        if (maxPoolSize == UNBOUNDED_MAX_POOL_SIZE) {
+            return;
+        }
+        // the least recently used actors are at the bottom of the stack
+        while (size.get() > maxPoolSize) {
+            final Entry<T> entry = stack.pollLast();
+            if (entry == null) {
+                return;
+            }
+            pooled.remove(entry);
+            size.decrementAndGet();
+            evictedCounter.incrementAndGet();
+            entry.actor.dispose();
+        }
+    }
+
+    private void drain() {
+        T actor = poll();
+        while (actor != null) {
+            actor.dispose();
+            actor = poll();
+        }
+    }
+
+    /**
+     * Fills the pool up to the prewarm size.
+     */
+    private class PrewarmWorker implements Runnable {
+
+        @Override
+        public void run() {
+            int target = prewarmSize.get();
+            while (!isDisposed() && !Thread.currentThread().isInterrupted()) {
+                if (size.get() >= target) {
+                    // finished unless a larger size was requested in the meantime
+                    if (prewarmSize.compareAndSet(target, 0)) {
+                        return;
+                    }
+                    target = prewarmSize.get();
+                    continue;
+                }
+                final long count = createdCounter.incrementAndGet();
+                final T actor = createPrewarmed(clazz.getSimpleName() + "-" + count);
+                offer(actor);
+            }
+        }
     }
 
     /**
      * Checks in an actor to the pool.
+     *
+     * @deprecated actors are checked in on the calling thread, use checkIn
      */
+    @Deprecated
     protected class CheckInWorker implements Runnable {
 
         private final T actor;
@@ -241,21 +429,33 @@ public abstract class AbstractActorPool<T extends Actor> implements ActorPool<T>
 
         @Override
         public void run() {
-            // we can't allow duplicates to exist in the set
-            synchronized (pool) {
-                for (final T t : pool) {
-                    if (actor == t) {
-                        // already in the pool
-                        return;
-                    }
-                }
-                // add it to the pool
-                pool.offer(actor);
-                // if pool is too big then remove an element
-                if (getMaxPoolSize() != UNBOUNDED_MAX_POOL_SIZE && pool.size() > getMaxPoolSize()) {
-                    pool.poll();
-                }
-            }
+            offer(actor);
+            evict();
+        }
+    }
+
+    /**
+     * Node on the stack of pooled actors. Nodes are only taken off of the
+     * stack by polling, which removes the node itself, so equality is only
+     * used by the set of pooled actors. It's by actor identity since actor
+     * equality changes with the actor id.
+     */
+    private static class Entry<T> {
+
+        private final T actor;
+
+        private Entry(final T actor) {
+            this.actor = actor;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(actor);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Entry && ((Entry<?>) obj).actor == actor;
         }
     }
 
@@ -1,6 +1,7 @@
 package gov.pnnl.svf.pool;
 
 import gov.pnnl.svf.actor.Actor;
+import java.util.Collection;
 
 /**
  * Interface is used to pool actors for scenes that need to destroy and recreate
@@ -20,4 +21,74 @@ public interface ActorPool<T extends Actor> extends Pool<T> {
      */
     @Override
     void checkIn(T actor);
+
+    /**
+     * Puts a batch of actors back into the pool. The actors are removed from
+     * the scene together and un-initialized. The default implementation checks
+     * in each actor separately.
+     *
+     * @param actors actors to place back in the pool
+     */
+    default void checkIn(final Collection<? extends T> actors) {
+        if (actors == null) {
+            throw new NullPointerException("actors");
+        }
+        for (final T actor : actors) {
+            checkIn(actor);
+        }
+    }
+
+    /**
+     * Fill the pool in the background until it contains the requested number
+     * of actors or the maximum pool size. The default implementation doesn't
+     * prewarm the pool.
+     *
+     * @param size the number of actors the pool should contain
+     */
+    default void prewarm(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size");
+        }
+    }
+
+    /**
+     * @return the number of check outs that were served from the pool since
+     *         the counters were last reset, or zero if the pool doesn't count
+     *         them
+     */
+    default long getHitCounter() {
+        return 0L;
+    }
+
+    /**
+     * @return the number of check outs that had to create a new actor, or
+     *         zero if the pool doesn't count them
+     */
+    default long getMissCounter() {
+        return 0L;
+    }
+
+    /**
+     * @return the number of actors created by check outs and prewarming, or
+     *         zero if the pool doesn't count them
+     */
+    default long getCreatedCounter() {
+        return 0L;
+    }
+
+    /**
+     * @return the number of actors disposed because the pool was full, or zero
+     *         if the pool doesn't count them
+     */
+    default long getEvictedCounter() {
+        return 0L;
+    }
+
+    /**
+     * Reset the hit, miss, created, and evicted counters. The default
+     * implementation does nothing.
+     */
+    default void resetCounters() {
+        // no implementation
+    }
 }
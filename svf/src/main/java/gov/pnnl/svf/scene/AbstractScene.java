@@ -26,6 +26,7 @@ import gov.pnnl.svf.hint.TextHint;
 import gov.pnnl.svf.picking.ColorPickingUtils;
 import gov.pnnl.svf.picking.PickingCamera;
 import gov.pnnl.svf.text.TextServiceImpl;
+import gov.pnnl.svf.texture.TextureManager;
 import gov.pnnl.svf.update.TaskManager;
 import gov.pnnl.svf.util.ConfigUtil;
 import gov.pnnl.svf.util.Lookup;
@@ -334,6 +335,10 @@ public abstract class AbstractScene<C extends GLAutoDrawable> implements SceneEx
 
     @Override
     public void addListeners(final Object object) {
+        // most objects aren't listeners so don't queue work for them
+        if (!sceneListenerUtils.isListener(object)) {
+            return;
+        }
         factory.runOnUiThread(this, () -> {
                           sceneListenerUtils.addListener(object);
                       });
@@ -341,6 +346,9 @@ public abstract class AbstractScene<C extends GLAutoDrawable> implements SceneEx
 
     @Override
     public void removeListeners(final Object object) {
+        if (!sceneListenerUtils.isListener(object)) {
+            return;
+        }
         factory.runOnUiThread(this, () -> {
                           sceneListenerUtils.removeListener(object);
                       });
@@ -705,6 +713,7 @@ public abstract class AbstractScene<C extends GLAutoDrawable> implements SceneEx
                 }
                 ShapeServiceImpl.newInstance(scene);
                 VboShapeServiceImpl.newInstance(scene);
+                TextureManager.newInstance(scene);
                 // load the scene
                 logger.log(Level.INFO, "Loading the scene using hints: {0}", builder.getHints());
                 scene.load();
@@ -62,6 +62,7 @@ public abstract class AbstractSceneBuilder<T extends AbstractSceneBuilder> imple
     private boolean debug = false;
     private boolean verbose = false;
     private boolean displayFps = false;
+    private boolean profiling = false;
     private boolean auxiliaryBuffers = false;
     private boolean textureColorPicking = false;
     private boolean fullScreenAntiAliasing = true;
@@ -92,6 +93,7 @@ public abstract class AbstractSceneBuilder<T extends AbstractSceneBuilder> imple
         debugColorPicking = sceneBuilder.isDebugColorPicking();
         debug = sceneBuilder.isDebug();
         displayFps = sceneBuilder.isDisplayFps();
+        profiling = sceneBuilder.isProfiling();
         fullScreenAntiAliasing = sceneBuilder.isFullScreenAntiAliasing();
         glCapabilities = sceneBuilder.getGLCapabilities();
         lighting = sceneBuilder.isLighting();
@@ -280,6 +282,11 @@ public abstract class AbstractSceneBuilder<T extends AbstractSceneBuilder> imple
         return displayFps;
     }
 
+    @Override
+    public boolean isProfiling() {
+        return profiling;
+    }
+
     @Override
     public T setDrawableTypes(final String drawableTypes) {
         this.drawableTypes = drawableTypes;
@@ -364,6 +371,12 @@ public abstract class AbstractSceneBuilder<T extends AbstractSceneBuilder> imple
         return (T) this;
     }
 
+    @Override
+    public T setProfiling(final boolean profiling) {
+        this.profiling = profiling;
+        return (T) this;
+    }
+
     @Override
     public T setMaxInitializations(final int maxInitializations) {
         this.maxInitializations = maxInitializations;
@@ -402,6 +415,7 @@ public abstract class AbstractSceneBuilder<T extends AbstractSceneBuilder> imple
         hash = 67 * hash + (this.debug ? 1 : 0);
         hash = 67 * hash + (this.verbose ? 1 : 0);
         hash = 67 * hash + (this.displayFps ? 1 : 0);
+        hash = 67 * hash + (this.profiling ? 1 : 0);
         hash = 67 * hash + (this.auxiliaryBuffers ? 1 : 0);
         hash = 67 * hash + (this.textureColorPicking ? 1 : 0);
         hash = 67 * hash + (this.fullScreenAntiAliasing ? 1 : 0);
@@ -431,6 +445,7 @@ public abstract class AbstractSceneBuilder<T extends AbstractSceneBuilder> imple
         final boolean otherDebug = other.isDebug();
         final boolean otherVerbose = other.isVerbose();
         final boolean otherDisplayFps = other.isDisplayFps();
+        final boolean otherProfiling = other.isProfiling();
         final boolean otherAuxiliaryBuffers = other.isAuxiliaryBuffers();
         final boolean otherTextureColorPicking = other.isTextureColorPicking();
         final boolean otherFullScreenAntiAliasing = other.isFullScreenAntiAliasing();
@@ -470,6 +485,9 @@ public abstract class AbstractSceneBuilder<T extends AbstractSceneBuilder> imple
         if (this.displayFps != otherDisplayFps) {
             return false;
         }
+        if (this.profiling != otherProfiling) {
+            return false;
+        }
         if (this.auxiliaryBuffers != otherAuxiliaryBuffers) {
             return false;
         }
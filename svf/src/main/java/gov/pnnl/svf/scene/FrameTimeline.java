@@ -0,0 +1,254 @@
+package gov.pnnl.svf.scene;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer that retains the CPU and GPU times, in nanoseconds, of each
+ * render phase for the last number of frames drawn by a scene. GPU times are
+ * gathered asynchronously using timer queries and will be added to a frame
+ * after the frame has been recorded, or not at all if timer queries aren't
+ * available. This class is thread safe.
+ *
+ * @author Amelia Bleeker
+ */
+public class FrameTimeline {
+
+    /**
+     * The default number of frames retained by the timeline.
+     */
+    public static final int DEFAULT_CAPACITY = 300;
+    /**
+     * Value returned when a time is not available.
+     */
+    public static final long UNAVAILABLE = -1L;
+    private static final int PHASES = RenderPhase.values().length;
+    private final int capacity;
+    private final long[] frameNanos;
+    private final long[][] cpuNanos;
+    private final long[][] gpuNanos;
+    private long firstFrame = 0L;
+    private long frameCount = 0L;
+
+    /**
+     * Constructor
+     */
+    public FrameTimeline() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity the number of frames to retain
+     *
+     * @throws IllegalArgumentException if capacity is less than one
+     */
+    public FrameTimeline(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity");
+        }
+        this.capacity = capacity;
+        frameNanos = new long[capacity];
+        cpuNanos = new long[capacity][PHASES];
+        gpuNanos = new long[capacity][PHASES];
+    }
+
+    /**
+     * @return the number of frames retained by this timeline
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of frames currently retained by this timeline
+     */
+    public int getSize() {
+        synchronized (this) {
+            return (int) Math.min(frameCount, capacity);
+        }
+    }
+
+    /**
+     * @return the total number of frames that have been recorded since the
+     *         timeline was last cleared
+     */
+    public long getFrameCount() {
+        synchronized (this) {
+            return frameCount;
+        }
+    }
+
+    /**
+     * Record a new frame in the timeline. The GPU times for the frame will be
+     * unavailable until they are set. Frame numbers keep increasing when the
+     * timeline is cleared so GPU times for frames recorded before the clear
+     * are ignored.
+     *
+     * @param totalNanos the total CPU time of the frame
+     * @param phaseNanos the CPU time of each phase ordered by RenderPhase
+     *                   ordinal or UNAVAILABLE for phases that didn't run
+     *
+     * @return the frame number used to add GPU times to the frame
+     *
+     * @throws NullPointerException     if phaseNanos is null
+     * @throws IllegalArgumentException if phaseNanos is the wrong length
+     */
+    public long addFrame(final long totalNanos, final long[] phaseNanos) {
+        if (phaseNanos == null) {
+            throw new NullPointerException("phaseNanos");
+        }
+        if (phaseNanos.length != PHASES) {
+            throw new IllegalArgumentException("phaseNanos");
+        }
+        synchronized (this) {
+            final int slot = (int) (frameCount % capacity);
+            frameNanos[slot] = totalNanos;
+            System.arraycopy(phaseNanos, 0, cpuNanos[slot], 0, PHASES);
+            Arrays.fill(gpuNanos[slot], UNAVAILABLE);
+            return firstFrame + frameCount++;
+        }
+    }
+
+    /**
+     * Set the GPU time for a phase of a previously recorded frame. The time
+     * is ignored if the frame is no longer retained by the timeline or was
+     * recorded before the timeline was cleared.
+     *
+     * @param frame the frame number returned when the frame was added
+     * @param phase the render phase
+     * @param nanos the GPU time in nanoseconds
+     *
+     * @return true if the time was set
+     */
+    public boolean setGpuNanos(final long frame, final RenderPhase phase, final long nanos) {
+        if (phase == null) {
+            throw new NullPointerException("phase");
+        }
+        synchronized (this) {
+            final long local = frame - firstFrame;
+            if (frame < 0L || local < 0L || local >= frameCount || frameCount - local > capacity) {
+                return false;
+            }
+            gpuNanos[(int) (local % capacity)][phase.ordinal()] = nanos;
+            return true;
+        }
+    }
+
+    /**
+     * @return the total CPU time of the last frame or UNAVAILABLE
+     */
+    public long getLastFrameNanos() {
+        synchronized (this) {
+            return frameCount > 0L ? frameNanos[(int) ((frameCount - 1L) % capacity)] : UNAVAILABLE;
+        }
+    }
+
+    /**
+     * @param phase the render phase
+     *
+     * @return the CPU time of the phase in the last frame or UNAVAILABLE
+     */
+    public long getLastCpuNanos(final RenderPhase phase) {
+        synchronized (this) {
+            return frameCount > 0L ? cpuNanos[(int) ((frameCount - 1L) % capacity)][phase.ordinal()] : UNAVAILABLE;
+        }
+    }
+
+    /**
+     * @param phase the render phase
+     *
+     * @return the most recent GPU time of the phase or UNAVAILABLE
+     */
+    public long getLastGpuNanos(final RenderPhase phase) {
+        synchronized (this) {
+            final int size = (int) Math.min(frameCount, capacity);
+            for (int i = 1; i <= size; i++) {
+                final long value = gpuNanos[(int) ((frameCount - i) % capacity)][phase.ordinal()];
+                if (value != UNAVAILABLE) {
+                    return value;
+                }
+            }
+            return UNAVAILABLE;
+        }
+    }
+
+    /**
+     * @param percentile the percentile between 0 and 100
+     *
+     * @return the total CPU frame time at the percentile or UNAVAILABLE
+     */
+    public long getFramePercentile(final double percentile) {
+        synchronized (this) {
+            final int size = (int) Math.min(frameCount, capacity);
+            return FrameTimeline.percentile(Arrays.copyOf(frameNanos, size), size, percentile);
+        }
+    }
+
+    /**
+     * @param phase      the render phase
+     * @param percentile the percentile between 0 and 100
+     *
+     * @return the CPU time of the phase at the percentile or UNAVAILABLE
+     */
+    public long getCpuPercentile(final RenderPhase phase, final double percentile) {
+        synchronized (this) {
+            return FrameTimeline.percentile(cpuNanos, phase, percentile, (int) Math.min(frameCount, capacity));
+        }
+    }
+
+    /**
+     * @param phase      the render phase
+     * @param percentile the percentile between 0 and 100
+     *
+     * @return the GPU time of the phase at the percentile or UNAVAILABLE
+     */
+    public long getGpuPercentile(final RenderPhase phase, final double percentile) {
+        synchronized (this) {
+            return FrameTimeline.percentile(gpuNanos, phase, percentile, (int) Math.min(frameCount, capacity));
+        }
+    }
+
+    /**
+     * Remove all of the frames from the timeline.
+     */
+    public void clear() {
+        synchronized (this) {
+            firstFrame += frameCount;
+            frameCount = 0L;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FrameTimeline{" + "capacity=" + capacity + ", frameCount=" + getFrameCount() + '}';
+    }
+
+    private static long percentile(final long[][] nanos, final RenderPhase phase, final double percentile, final int size) {
+        if (phase == null) {
+            throw new NullPointerException("phase");
+        }
+        final long[] values = new long[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final long value = nanos[i][phase.ordinal()];
+            if (value != UNAVAILABLE) {
+                values[count++] = value;
+            }
+        }
+        return FrameTimeline.percentile(values, count, percentile);
+    }
+
+    private static long percentile(final long[] values, final int count, final double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("percentile");
+        }
+        if (count == 0) {
+            return UNAVAILABLE;
+        }
+        Arrays.sort(values, 0, count);
+        // nearest rank
+        final int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return values[Math.max(0, Math.min(count - 1, rank - 1))];
+    }
+}
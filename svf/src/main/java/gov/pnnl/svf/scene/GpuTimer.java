@@ -0,0 +1,149 @@
+package gov.pnnl.svf.scene;
+
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.GL2GL3;
+import java.util.Arrays;
+
+/**
+ * GPU timer that uses GL_TIME_ELAPSED queries to time each render phase.
+ * Query results are read back without stalling the pipeline, so results are
+ * added to the timeline a few frames after the frame is drawn. This class
+ * should only be accessed on the OpenGL active context thread.
+ *
+ * @author Amelia Bleeker
+ */
+class GpuTimer {
+
+    /**
+     * The number of frames that can be waiting for query results.
+     */
+    private static final int FRAMES_IN_FLIGHT = 4;
+    private static final RenderPhase[] PHASE_VALUES = RenderPhase.values();
+    private static final int PHASES = PHASE_VALUES.length;
+    private final int[] queries = new int[FRAMES_IN_FLIGHT * PHASES];
+    private final boolean[] issued = new boolean[FRAMES_IN_FLIGHT * PHASES];
+    private final long[] frames = new long[FRAMES_IN_FLIGHT];
+    private final int[] available = new int[1];
+    private final long[] result = new long[1];
+    private boolean initialized = false;
+    private boolean supported = false;
+    private int slot = 0;
+    private RenderPhase active = null;
+
+    /**
+     * Constructor
+     */
+    GpuTimer() {
+        Arrays.fill(frames, -1L);
+    }
+
+    /**
+     * @return true if timer queries are supported by the context
+     */
+    boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * Collect the available results from previous frames and prepare for a new
+     * frame.
+     *
+     * @param gl       reference to the gl
+     * @param timeline the timeline to add results to
+     */
+    void startFrame(final GL2 gl, final FrameTimeline timeline) {
+        if (!initialized) {
+            initialized = true;
+            supported = gl.isExtensionAvailable("GL_ARB_timer_query") || gl.isExtensionAvailable("GL_EXT_timer_query");
+            if (supported) {
+                gl.glGenQueries(queries.length, queries, 0);
+            }
+        }
+        if (!supported) {
+            return;
+        }
+        for (int s = 0; s < FRAMES_IN_FLIGHT; s++) {
+            collect(gl, timeline, s, s == slot);
+        }
+    }
+
+    /**
+     * Begin timing a render phase.
+     *
+     * @param gl    reference to the gl
+     * @param phase the phase
+     */
+    void begin(final GL2 gl, final RenderPhase phase) {
+        if (!supported || active != null) {
+            return;
+        }
+        active = phase;
+        gl.glBeginQuery(GL2GL3.GL_TIME_ELAPSED, queries[slot * PHASES + phase.ordinal()]);
+    }
+
+    /**
+     * End timing a render phase.
+     *
+     * @param gl    reference to the gl
+     * @param phase the phase
+     */
+    void end(final GL2 gl, final RenderPhase phase) {
+        if (!supported || active != phase) {
+            return;
+        }
+        active = null;
+        gl.glEndQuery(GL2GL3.GL_TIME_ELAPSED);
+        issued[slot * PHASES + phase.ordinal()] = true;
+    }
+
+    /**
+     * End the active query, if any, without recording it. Used when a frame
+     * fails to render.
+     *
+     * @param gl reference to the gl
+     */
+    void abort(final GL2 gl) {
+        if (!supported) {
+            return;
+        }
+        // results for the failed frame are dropped when they are collected
+        frames[slot] = -1L;
+        if (active == null) {
+            return;
+        }
+        active = null;
+        gl.glEndQuery(GL2GL3.GL_TIME_ELAPSED);
+    }
+
+    /**
+     * Associate the queries issued since the start of the frame with a
+     * timeline frame number.
+     *
+     * @param frame the frame number returned by the timeline
+     */
+    void endFrame(final long frame) {
+        if (!supported) {
+            return;
+        }
+        frames[slot] = frame;
+        slot = (slot + 1) % FRAMES_IN_FLIGHT;
+    }
+
+    private void collect(final GL2 gl, final FrameTimeline timeline, final int s, final boolean force) {
+        for (int p = 0; p < PHASES; p++) {
+            final int index = s * PHASES + p;
+            if (!issued[index]) {
+                continue;
+            }
+            gl.glGetQueryObjectiv(queries[index], GL2GL3.GL_QUERY_RESULT_AVAILABLE, available, 0);
+            if (available[0] != 0) {
+                gl.glGetQueryObjectui64v(queries[index], GL2GL3.GL_QUERY_RESULT, result, 0);
+                timeline.setGpuNanos(frames[s], PHASE_VALUES[p], result[0]);
+                issued[index] = false;
+            } else if (force) {
+                // the slot is about to be reused so drop the result rather than stall
+                issued[index] = false;
+            }
+        }
+    }
+}
@@ -97,6 +97,11 @@ public class ImmutableSceneBuilder implements SceneBuilder {
         return sceneBuilder.isDisplayFps();
     }
 
+    @Override
+    public boolean isProfiling() {
+        return sceneBuilder.isProfiling();
+    }
+
     @Override
     public boolean isAuxiliaryBuffers() {
         return sceneBuilder.isAuxiliaryBuffers();
@@ -187,6 +192,11 @@ public class ImmutableSceneBuilder implements SceneBuilder {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public ImmutableSceneBuilder setProfiling(final boolean profiling) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public ImmutableSceneBuilder setMaxInitializations(final int maxInitializations) {
         throw new UnsupportedOperationException();
@@ -0,0 +1,291 @@
+package gov.pnnl.svf.scene;
+
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.glu.gl2.GLUgl2;
+import gov.pnnl.svf.actor.Actor;
+import gov.pnnl.svf.camera.Camera;
+import gov.pnnl.svf.support.AbstractSupport;
+import gov.pnnl.svf.support.TransformSupport;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.apache.commons.math.geometry.Vector3D;
+
+/**
+ * Scheduler that spreads the initialization of initializables across frames
+ * using a time budget. Each call to initialize is timed and the average time
+ * for each type of initializable is used to predict whether the next
+ * initialization fits in what is left of the budget. At least one
+ * initializable is attempted every frame so the queue always makes progress.
+ * <p>
+ * Initializables are ordered so that interface and overlay items come first,
+ * followed by scene items inside the frustum of a drawing camera ordered by
+ * distance to the camera, then items without a location, and finally items
+ * outside of every camera frustum. This class should only be accessed on the
+ * OpenGL active context thread.
+ *
+ * @author Amelia Bleeker
+ */
+class InitializeScheduler {
+
+    /**
+     * Weight given to the newest sample in the average initialize time.
+     */
+    private static final double SAMPLE_WEIGHT = 0.25;
+    private static final int TIER_ON_SCREEN = 0;
+    private static final int TIER_UNKNOWN = 1;
+    private static final int TIER_OFF_SCREEN = 2;
+    private static final Comparator<Entry> PRIORITY = new Comparator<Entry>() {
+        @Override
+        public int compare(final Entry o1, final Entry o2) {
+            if (o1.tier != o2.tier) {
+                return o1.tier < o2.tier ? -1 : 1;
+            }
+            return Double.compare(o1.distance, o2.distance);
+        }
+    };
+    private final LongSupplier clock;
+    private final Map<Class<?>, Long> averageNanos = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<Entry> queue = new ArrayList<>();
+    private int queueSize = 0;
+    private int initializeCount = 0;
+    private long initializeNanos = 0L;
+
+    /**
+     * Constructor
+     */
+    InitializeScheduler() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param clock the source of the time in nanoseconds
+     */
+    InitializeScheduler(final LongSupplier clock) {
+        if (clock == null) {
+            throw new NullPointerException("clock");
+        }
+        this.clock = clock;
+    }
+
+    /**
+     * @return the number of initializables still waiting to be initialized
+     *         after the last call to initialize
+     */
+    int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return the number of initializables that were initialized during the
+     *         last call to initialize
+     */
+    int getInitializeCount() {
+        return initializeCount;
+    }
+
+    /**
+     * @return the time in nanoseconds spent initializing during the last call
+     *         to initialize
+     */
+    long getInitializeNanos() {
+        return initializeNanos;
+    }
+
+    /**
+     * Get the average time for the initialize call of a type.
+     *
+     * @param type the type of initializable
+     *
+     * @return the average time in nanoseconds or zero if the type has not been
+     *         initialized
+     */
+    long getAverageNanos(final Class<?> type) {
+        final Long average = averageNanos.get(type);
+        return average != null ? average : 0L;
+    }
+
+    /**
+     * Initialize as many visible initializables as will fit in the budget and
+     * un-initialize initializables that are no longer visible.
+     *
+     * @param gl             reference to the gl
+     * @param glu            reference to the glu
+     * @param initializables the initializables in the scene
+     * @param cameras        the drawing cameras used to prioritize
+     *                       initializables
+     * @param budgetNanos    the time budget in nanoseconds
+     * @param maxSlow        the maximum number of slow initializables to
+     *                       initialize
+     *
+     * @return the drawing passes of the visible initializables that are still
+     *         not initialized
+     */
+    DrawingPass initialize(final GL2 gl, final GLUgl2 glu, final Collection<Initializable> initializables, final Collection<? extends Camera> cameras,
+                           final long budgetNanos, final int maxSlow) {
+        prepare(gl, glu, initializables, cameras);
+        return initialize(gl, glu, budgetNanos, maxSlow);
+    }
+
+    /**
+     * Queue the visible initializables that need to be initialized and
+     * un-initialize initializables that are no longer visible.
+     *
+     * @param gl             reference to the gl
+     * @param glu            reference to the glu
+     * @param initializables the initializables in the scene
+     * @param cameras        the drawing cameras used to prioritize
+     *                       initializables
+     *
+     * @return the number of initializables waiting to be initialized
+     */
+    int prepare(final GL2 gl, final GLUgl2 glu, final Collection<Initializable> initializables, final Collection<? extends Camera> cameras) {
+        // find the initializables that need work
+        queue.clear();
+        for (final Initializable initializable : initializables) {
+            if (initializable.isVisible()) {
+                if (!initializable.isInitialized()) {
+                    queue.add(prioritize(nextEntry(queue.size()), initializable, cameras));
+                }
+            } else if (initializable.isInitialized()) {
+                // not visible so uninitialize
+                initializable.unInitialize(gl, glu);
+            }
+        }
+        return queue.size();
+    }
+
+    /**
+     * Initialize as many of the queued initializables as will fit in the
+     * budget.
+     *
+     * @param gl          reference to the gl
+     * @param glu         reference to the glu
+     * @param budgetNanos the time budget in nanoseconds
+     * @param maxSlow     the maximum number of slow initializables to
+     *                    initialize
+     *
+     * @return the drawing passes of the visible initializables that are still
+     *         not initialized
+     */
+    DrawingPass initialize(final GL2 gl, final GLUgl2 glu, final long budgetNanos, final int maxSlow) {
+        Collections.sort(queue, PRIORITY);
+        // initialize within the budget
+        DrawingPass pending = DrawingPass.NONE;
+        int slow = maxSlow;
+        int count = 0;
+        int remaining = 0;
+        final long start = clock.getAsLong();
+        long elapsed = 0L;
+        boolean attempted = false;
+        boolean exhausted = false;
+        for (int i = 0; i < queue.size(); i++) {
+            final Entry entry = queue.get(i);
+            final Initializable initializable = entry.initializable;
+            entry.initializable = null;
+            // an attempt that doesn't initialize still spends the budget
+            if (!exhausted && attempted && elapsed + getAverageNanos(initializable.getClass()) > budgetNanos) {
+                exhausted = true;
+            }
+            if (!exhausted && (!initializable.isSlow() || slow > 0)) {
+                final long before = clock.getAsLong();
+                initializable.initialize(gl, glu);
+                final long after = clock.getAsLong();
+                sample(initializable.getClass(), after - before);
+                elapsed = after - start;
+                attempted = true;
+                if (initializable.isInitialized()) {
+                    count++;
+                    if (initializable.isSlow()) {
+                        slow--;
+                    }
+                }
+            }
+            // ensure scene remains dirty until all objects are initialized
+            if (!initializable.isInitialized()) {
+                remaining++;
+                pending = pending.addDrawingPass(initializable.getDrawingPass());
+            }
+        }
+        queue.clear();
+        queueSize = remaining;
+        initializeCount = count;
+        initializeNanos = elapsed;
+        return pending;
+    }
+
+    private Entry nextEntry(final int index) {
+        if (index == entries.size()) {
+            entries.add(new Entry());
+        }
+        return entries.get(index);
+    }
+
+    private void sample(final Class<?> type, final long nanos) {
+        final Long average = averageNanos.get(type);
+        if (average == null) {
+            averageNanos.put(type, nanos);
+        } else {
+            averageNanos.put(type, (long) (average + (nanos - average) * SAMPLE_WEIGHT));
+        }
+    }
+
+    private static Entry prioritize(final Entry entry, final Initializable initializable, final Collection<? extends Camera> cameras) {
+        entry.initializable = initializable;
+        entry.tier = TIER_UNKNOWN;
+        entry.distance = 0.0;
+        if (!initializable.getDrawingPass().containsDrawingPass(DrawingPass.SCENE)) {
+            // interface and overlay items are always on screen
+            entry.tier = TIER_ON_SCREEN;
+            return entry;
+        }
+        final Actor actor;
+        if (initializable instanceof Actor) {
+            actor = (Actor) initializable;
+        } else if (initializable instanceof AbstractSupport) {
+            actor = ((AbstractSupport<?>) initializable).getActor();
+        } else {
+            actor = null;
+        }
+        final TransformSupport transform = actor != null ? actor.lookup(TransformSupport.class) : null;
+        if (transform == null || cameras.isEmpty()) {
+            return entry;
+        }
+        final Vector3D location = transform.getTranslation();
+        entry.tier = TIER_OFF_SCREEN;
+        entry.distance = Double.POSITIVE_INFINITY;
+        for (final Camera camera : cameras) {
+            if (!camera.isVisible() || !camera.getDrawingPass().containsDrawingPass(DrawingPass.SCENE)) {
+                continue;
+            }
+            final double distance = Vector3D.distance(location, camera.getLocation());
+            if (camera.getFrustum().contains(location)) {
+                if (entry.tier != TIER_ON_SCREEN || distance < entry.distance) {
+                    entry.tier = TIER_ON_SCREEN;
+                    entry.distance = distance;
+                }
+            } else if (entry.tier == TIER_OFF_SCREEN && distance < entry.distance) {
+                entry.distance = distance;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Reusable queue entry.
+     */
+    private static class Entry {
+
+        private Initializable initializable;
+        private int tier;
+        private double distance;
+    }
+}
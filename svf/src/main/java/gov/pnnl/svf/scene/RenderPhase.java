@@ -0,0 +1,39 @@
+package gov.pnnl.svf.scene;
+
+/**
+ * Enumeration of the phases of a single scene render that are profiled by the
+ * scene renderer.
+ *
+ * @author Amelia Bleeker
+ */
+public enum RenderPhase {
+
+    /**
+     * Un-initialization of scene items that were scheduled for removal.
+     */
+    UNINITIALIZE,
+    /**
+     * Initialization of scene items.
+     */
+    INITIALIZE,
+    /**
+     * Drawing of the color picking buffers.
+     */
+    COLOR_PICKING,
+    /**
+     * Ray casting and item picking.
+     */
+    PICKING,
+    /**
+     * Drawing of the scene layer.
+     */
+    SCENE,
+    /**
+     * Drawing of the user interface layer.
+     */
+    INTERFACE,
+    /**
+     * Drawing of the overlay layer.
+     */
+    OVERLAY;
+}
@@ -88,7 +88,9 @@ public interface SceneBuilder {
     Color getBackground();
 
     /**
-     * @return the maxInitializations
+     * @return the maximum number of slow initializables that can be
+     *         initialized each frame in addition to the initialization time
+     *         budget
      */
     int getMaxInitializations();
 
@@ -105,6 +107,9 @@ public interface SceneBuilder {
     int getNumberOfUserInterfaceDrawingPasses();
 
     /**
+     * The target frame rate is also used to find the time budget for
+     * initializing items each frame.
+     *
      * @return the targetFps
      */
     int getTargetFps();
@@ -124,6 +129,12 @@ public interface SceneBuilder {
      */
     boolean isDisplayFps();
 
+    /**
+     * @return true to profile the render phases with GPU timer queries and
+     *         show the profile
+     */
+    boolean isProfiling();
+
     /**
      * @return true to utilize auxiliary buffers if available
      */
@@ -255,6 +266,14 @@ public interface SceneBuilder {
      */
     SceneBuilder setDisplayFps(boolean displayFps);
 
+    /**
+     * @param profiling set to true to profile the render phases with GPU timer
+     *                  queries and show the profile
+     *
+     * @return the builder instance
+     */
+    SceneBuilder setProfiling(boolean profiling);
+
     /**
      * @param maxInitializations the maxInitializations to set
      *
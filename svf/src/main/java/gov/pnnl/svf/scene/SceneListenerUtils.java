@@ -91,6 +91,20 @@ public class SceneListenerUtils implements Disposable {
         // no cleanup
     }
 
+    /**
+     * @param object the object to check
+     *
+     * @return true if the object is one of the listener types
+     */
+    public boolean isListener(final Object object) {
+        for (final Class<?> listenerType : listenerTypes) {
+            if (listenerType.isInstance(object)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Attempts to add the object as a listener to the scene.
      *
@@ -138,7 +138,7 @@ public class SceneLookupImpl implements SceneLookup {
         if (object instanceof Actor) {
             final Actor actor = (Actor) object;
             // add the actor to the actor id lookup
-            addActor(actor);
+            addActors(Collections.singletonList(actor));
             // add the support objects if it's an actor
             final List<Object> all = borrowObject();
             try {
@@ -167,13 +167,19 @@ public class SceneLookupImpl implements SceneLookup {
 
     @Override
     public <T> void addAll(final Collection<T> objects) {
+        // add all of the actors to the actor id lookup at once
+        final List<Actor> list = new ArrayList<>();
+        for (final T object : objects) {
+            if (object instanceof Actor) {
+                list.add((Actor) object);
+            }
+        }
+        addActors(list);
         DrawingPass modified = DrawingPass.NONE;
         for (final T object : objects) {
             // actors have additional actions
             if (object instanceof Actor) {
                 final Actor actor = (Actor) object;
-                // add the actor to the actor id lookup
-                addActor(actor);
                 // add the support objects if it's an actor
                 final List<Object> all = borrowObject();
                 try {
@@ -232,7 +238,7 @@ public class SceneLookupImpl implements SceneLookup {
         if (object instanceof Actor) {
             final Actor actor = (Actor) object;
             // remove the actor from the actor id lookup
-            removeActor(actor);
+            removeActors(Collections.singletonList(actor));
             // remove the support objects if it's an actor
             final List<Object> all = borrowObject();
             try {
@@ -265,6 +271,14 @@ public class SceneLookupImpl implements SceneLookup {
     @SuppressWarnings("rawtypes")
     @Override
     public <T> boolean removeAll(final Collection<T> objects) {
+        // remove all of the actors from the actor id lookup at once
+        final List<Actor> list = new ArrayList<>();
+        for (final Object object : objects) {
+            if (object instanceof Actor) {
+                list.add((Actor) object);
+            }
+        }
+        removeActors(list);
         DrawingPass modified = DrawingPass.NONE;
         for (final Object object : objects) {
             // remove the scene listeners
@@ -272,8 +286,6 @@ public class SceneLookupImpl implements SceneLookup {
             // actors have additional actions
             if (object instanceof Actor) {
                 final Actor actor = (Actor) object;
-                // remove the actor from the actor id lookup
-                removeActor(actor);
                 // remove the support objects if it's an actor
                 final List<Object> all = borrowObject();
                 try {
@@ -386,63 +398,131 @@ public class SceneLookupImpl implements SceneLookup {
         return actors;
     }
 
-    private void addActor(final Actor actor) {
+    private void addActors(final List<Actor> list) {
+        if (list.isEmpty()) {
+            return;
+        }
+        // check every id before adding any of the actors
+        final Map<String, Actor> added = new HashMap<>();
         synchronized (actors) {
-            final String id = actor.getId();
-            final Actor found = actors.get(id);
-            if (found != null && found != actor) {
-                throw new IllegalArgumentException("Scene lookup already contains an actor with the id: " + id);
-            }
-            actors.put(id, actor);
-        }
-        actor.getPropertyChangeSupport().addPropertyChangeListener(Actor.ROOT, rootListener);
-        actor.getPropertyChangeSupport().addPropertyChangeListener(Actor.VISIBLE, visibleListener);
-        rootListener.propertyChange(new PropertyChangeEvent(actor, Actor.ROOT, null, actor.isRoot()));
-        visibleListener.propertyChange(new PropertyChangeEvent(actor, Actor.VISIBLE, null, actor.isVisible()));
-        final ChildSupport children = actor.lookup(ChildSupport.class);
-        if (children != null) {
-            // add a listener so that when a child gets added
-            // it will automatically get added to the scene
-            children.removeListener(childListener);
-            children.addListener(childListener);
-            // recursively add the children
-            addAll(children.getChildren());
+            for (final Actor actor : list) {
+                final String id = actor.getId();
+                Actor found = added.get(id);
+                if (found == null) {
+                    found = actors.get(id);
+                }
+                if (found != null && found != actor) {
+                    throw new IllegalArgumentException("Scene lookup already contains an actor with the id: " + id);
+                }
+                added.put(id, actor);
+            }
+            actors.putAll(added);
+        }
+        final List<Actor> roots = new ArrayList<>();
+        final List<Actor> nonRoots = new ArrayList<>();
+        final List<Actor> visibles = new ArrayList<>();
+        final List<Actor> invisibles = new ArrayList<>();
+        final List<Actor> children = new ArrayList<>();
+        for (final Actor actor : list) {
+            actor.getPropertyChangeSupport().addPropertyChangeListener(Actor.ROOT, rootListener);
+            actor.getPropertyChangeSupport().addPropertyChangeListener(Actor.VISIBLE, visibleListener);
+            if (actor.isRoot()) {
+                roots.add(actor);
+            } else {
+                nonRoots.add(actor);
+            }
+            if (actor.isVisible()) {
+                visibles.add(actor);
+            } else {
+                invisibles.add(actor);
+            }
+            final ChildSupport childSupport = actor.lookup(ChildSupport.class);
+            if (childSupport != null) {
+                // add a listener so that when a child gets added
+                // it will automatically get added to the scene
+                childSupport.removeListener(childListener);
+                childSupport.addListener(childListener);
+                children.addAll(childSupport.getChildren());
+            }
+        }
+        // update the root and visible sets once for all of the actors
+        synchronized (root) {
+            for (final Actor actor : nonRoots) {
+                root.remove(actor);
+            }
+            root.addAll(roots);
+        }
+        synchronized (visible) {
+            for (final Actor actor : invisibles) {
+                visible.remove(actor);
+            }
+            visible.addAll(visibles);
+        }
+        // recursively add the children
+        if (!children.isEmpty()) {
+            addAll(children);
         }
     }
 
-    private void removeActor(final Actor actor) {
+    private void removeActors(final List<Actor> list) {
+        if (list.isEmpty()) {
+            return;
+        }
         // only remove the actor from the actor map if it matches the instance
-        final Actor found = actors.get(actor.getId());
-        if (actor == found) {
-            actors.remove(actor.getId());
-            actor.getPropertyChangeSupport().removePropertyChangeListener(Actor.VISIBLE, visibleListener);
-            actor.getPropertyChangeSupport().removePropertyChangeListener(Actor.ROOT, rootListener);
-            root.remove(actor);
-            visible.remove(actor);
-        }
-        final ChildSupport children = actor.lookup(ChildSupport.class);
-        if (children != null) {
-            // remove the listener that gets called when a child gets added
-            children.removeListener(childListener);
-            // recursively remove the children from the scene
-            for (final Actor child : children.getChildren()) {
-                remove(child);
-            }
-        }
-        // if this is a child of something that is still active in the scene then remove it from the parent's children list
-        final ParentSupport parentSupport = actor.lookup(ParentSupport.class);
-        if (parentSupport != null) {
-            final Actor parent = parentSupport.getParent();
-            if (parent != null) {
-                final Actor instance = scene.getActor(parent.getId());
-                if (instance != null) {
-                    final ChildSupport parentsChildren = parent.lookup(ChildSupport.class);
-                    if (parentsChildren != null) {
-                        parentsChildren.remove(actor);
+        final List<Actor> removed = new ArrayList<>(list.size());
+        synchronized (actors) {
+            for (final Actor actor : list) {
+                final Actor found = actors.get(actor.getId());
+                if (actor == found) {
+                    actors.remove(actor.getId());
+                    removed.add(actor);
+                }
+            }
+        }
+        if (!removed.isEmpty()) {
+            for (final Actor actor : removed) {
+                actor.getPropertyChangeSupport().removePropertyChangeListener(Actor.VISIBLE, visibleListener);
+                actor.getPropertyChangeSupport().removePropertyChangeListener(Actor.ROOT, rootListener);
+            }
+            // update the root and visible sets once for all of the actors
+            synchronized (root) {
+                for (final Actor actor : removed) {
+                    root.remove(actor);
+                }
+            }
+            synchronized (visible) {
+                for (final Actor actor : removed) {
+                    visible.remove(actor);
+                }
+            }
+        }
+        final List<Actor> children = new ArrayList<>();
+        for (final Actor actor : list) {
+            final ChildSupport childSupport = actor.lookup(ChildSupport.class);
+            if (childSupport != null) {
+                // remove the listener that gets called when a child gets added
+                childSupport.removeListener(childListener);
+                children.addAll(childSupport.getChildren());
+            }
+            // if this is a child of something that is still active in the scene then remove it from the parent's children list
+            final ParentSupport parentSupport = actor.lookup(ParentSupport.class);
+            if (parentSupport != null) {
+                final Actor parent = parentSupport.getParent();
+                if (parent != null) {
+                    final Actor instance = scene.getActor(parent.getId());
+                    if (instance != null) {
+                        final ChildSupport parentsChildren = parent.lookup(ChildSupport.class);
+                        if (parentsChildren != null) {
+                            parentsChildren.remove(actor);
+                        }
                     }
                 }
             }
         }
+        // recursively remove the children from the scene
+        if (!children.isEmpty()) {
+            removeAll(children);
+        }
     }
 
     private List<Object> borrowObject() {
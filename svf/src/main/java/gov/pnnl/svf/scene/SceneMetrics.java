@@ -42,6 +42,18 @@ public interface SceneMetrics {
      */
     long getLastCulledActors();
 
+    /**
+     * @return the number of visible initializables still waiting to be
+     *         initialized at the end of the last draw cycle
+     */
+    int getLastInitializeQueueSize();
+
+    /**
+     * @return the number of initializables that were initialized during the
+     *         last draw cycle
+     */
+    int getLastInitializeCount();
+
     /**
      * @return the total number of milliseconds it took to render last draw
      *         cycle
@@ -92,4 +104,13 @@ public interface SceneMetrics {
      *         draw cycle
      */
     String getCollectionsInfo();
+
+    /**
+     * The timeline contains the CPU time of each render phase for the last
+     * frames drawn. GPU times are only available when profiling is enabled in
+     * the scene builder and the context supports timer queries.
+     *
+     * @return the timeline of the last frames drawn
+     */
+    FrameTimeline getFrameTimeline();
 }
@@ -6,6 +6,7 @@ import com.jogamp.opengl.GLException;
 import com.jogamp.opengl.glu.gl2.GLUgl2;
 import gov.pnnl.svf.actor.Actor;
 import gov.pnnl.svf.actor.FpsActor;
+import gov.pnnl.svf.actor.ProfileActor;
 import gov.pnnl.svf.camera.Camera;
 import gov.pnnl.svf.camera.CameraExt;
 import gov.pnnl.svf.camera.DrawingCamera;
@@ -29,6 +30,7 @@ import gov.pnnl.svf.support.BlendingSupport;
 import gov.pnnl.svf.support.ChildSupport;
 import gov.pnnl.svf.support.ColorSupport;
 import gov.pnnl.svf.support.CullingSupport;
+import gov.pnnl.svf.support.FrozenChildSupport;
 import gov.pnnl.svf.support.TransformSupport;
 import gov.pnnl.svf.update.Task;
 import gov.pnnl.svf.update.UninitializeTask;
@@ -38,6 +40,7 @@ import gov.pnnl.svf.util.DebugUtil;
 import gov.pnnl.svf.util.FpsLogger;
 import gov.pnnl.svf.util.MemLogger;
 import gov.pnnl.svf.util.PerfLogger;
+import java.awt.Font;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -47,6 +50,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -92,6 +96,17 @@ public class SceneRenderer implements Disposable {
     }
 
     private static final long FPS_LOGGER_INTERVAL = 10 * 1000;
+    /**
+     * The minimum fraction of the target frame time that is always available
+     * for initialization so the initialize queue keeps draining when the scene
+     * is already rendering slowly.
+     */
+    private static final double MIN_INITIALIZE_FRACTION = 0.25;
+    /**
+     * The target frame time used for the initialize budget when the scene
+     * doesn't have a target frame rate.
+     */
+    private static final long DEFAULT_FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(16L);
     private static final Logger logger = Logger.getLogger(SceneRenderer.class.toString());
     /**
      * State mask for boolean field in this actor.
@@ -133,8 +148,13 @@ public class SceneRenderer implements Disposable {
     private final SceneExt scene;
     private final SceneBuilder builder;
     private final Camera overlay;
+    private final GpuTimer gpuTimer = new GpuTimer();
+    private final InitializeScheduler initializeScheduler = new InitializeScheduler();
+    private final long[] phaseNanos = new long[RenderPhase.values().length];
+    private boolean frameActive = false;
     private long updateTime = 0L;
     private long culledActors = 0L;
+    private boolean recordingSubtree = false;
     private Color background;
     private Vector3D boundary = new Vector3D(10.0, 10.0, 10.0);
     private Vector3D center = new Vector3D(0.0, 0.0, 0.0);
@@ -158,7 +178,7 @@ public class SceneRenderer implements Disposable {
         this.scene = scene;
         this.builder = new ImmutableSceneBuilder(builder);
         // do debug tasks if enabled
-        if (this.builder.isDebug() || this.builder.isDisplayFps()) {
+        if (this.builder.isDebug() || this.builder.isDisplayFps() || this.builder.isProfiling()) {
             UpdateTask.schedule(scene, new DebugLoadUpdateTaskRunnable(scene, this.builder), 400L);
         }
         drawableTypesSet = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(builder.copyDrawableTypes())));
@@ -286,7 +306,12 @@ public class SceneRenderer implements Disposable {
         }
         try {
             // track time
-            final long start = System.currentTimeMillis();
+            final long start = System.nanoTime();
+            final boolean profiling = builder.isProfiling();
+            // phases that don't run this frame stay unavailable
+            Arrays.fill(phaseNanos, FrameTimeline.UNAVAILABLE);
+            frameActive = false;
+            long phaseStart;
             // get repaint state and initialize metrics and collections
             long verticesRendered = 0L;
             culledActors = 0L;
@@ -302,6 +327,11 @@ public class SceneRenderer implements Disposable {
                 attribStack = StateUtil.isValue(state, ATTRIB_STACK_MASK);
                 matrixStack = StateUtil.isValue(state, MATRIX_STACK_MASK);
             }
+            // apply committed transactions at the frame boundary before the repaint state is read
+            final SceneTransactionQueue transactions = scene.lookup(SceneTransactionQueue.class);
+            if (transactions != null) {
+                transactions.apply();
+            }
             DrawingPass repaint = timers.getAndSetRepaint(DrawingPass.NONE);
             if (scene.getSceneBuilder().isVerbose()) {
                 logger.log(Level.FINE, "{0}: Repainting the scene drawing passes: {1}", new Object[]{scene, repaint});
@@ -338,12 +368,26 @@ public class SceneRenderer implements Disposable {
                 gl.glGetIntegerv(GL2.GL_ATTRIB_STACK_DEPTH, attribStackDepths, AttribStackDepths.START.ordinal());
             }
             // un-initialization
-            performUninitialize(gl, glu);
+            scene.lookupAll(UninitializeTask.class, collections.getUninitializables());
+            if (!collections.getUninitializables().isEmpty()) {
+                phaseStart = beginPhase(gl, RenderPhase.UNINITIALIZE, profiling);
+                performUninitialize(gl, glu);
+                endPhase(gl, RenderPhase.UNINITIALIZE, phaseStart, profiling);
+            }
             if (attribStack) {
                 gl.glGetIntegerv(GL2.GL_ATTRIB_STACK_DEPTH, attribStackDepths, AttribStackDepths.UNINITIALIZE.ordinal());
             }
             // initialization
-            performInitialize(gl, glu);
+            scene.lookupAll(Initializable.class, collections.getInitializables());
+            scene.lookupAll(DrawingCamera.class, collections.getDrawingCameras());
+            if (initializeScheduler.prepare(gl, glu, collections.getInitializables(), collections.getDrawingCameras()) > 0) {
+                phaseStart = beginPhase(gl, RenderPhase.INITIALIZE, profiling);
+                performInitialize(gl, glu);
+                endPhase(gl, RenderPhase.INITIALIZE, phaseStart, profiling);
+            } else {
+                timers.setLastInitializeQueueSize(0);
+                timers.setLastInitializeCount(0);
+            }
             if (attribStack) {
                 gl.glGetIntegerv(GL2.GL_ATTRIB_STACK_DEPTH, attribStackDepths, AttribStackDepths.INITIALIZE.ordinal());
             }
@@ -378,7 +422,7 @@ public class SceneRenderer implements Disposable {
                     }
                 }
                 if (perform) {
-                    // continue
+                    phaseStart = beginPhase(gl, RenderPhase.COLOR_PICKING, profiling);
                     final ColorPickingUtils colorPickingUtils = scene.getColorPickingUtils();
                     // determine the color picking buffer to use
                     // start the color picking render for all cameras
@@ -423,6 +467,7 @@ public class SceneRenderer implements Disposable {
                     clearScreen(gl, null, null, 0, buffer);
                     gl.glFinish();
                     colorPickingUtils.end(gl);
+                    endPhase(gl, RenderPhase.COLOR_PICKING, phaseStart, profiling);
                 }
             }
             if (attribStack) {
@@ -446,6 +491,8 @@ public class SceneRenderer implements Disposable {
                 }
             }
             // iterate through the cameras and perform picking rendering
+            boolean picking = false;
+            phaseStart = 0L;
             for (final PickingCamera camera : collections.getPickingCameras()) {
                 if (!camera.isVisible()) {
                     // only visible cameras need to be drawn
@@ -453,19 +500,29 @@ public class SceneRenderer implements Disposable {
                 }
                 if (!(camera instanceof ColorPickingCamera)) {
                     // color picking render happened before this loop
+                    final Set<PickingCameraEvent> events = camera.getEvents();
+                    // the phase only runs when there are events to process
+                    if (!picking && !events.isEmpty()) {
+                        picking = true;
+                        phaseStart = beginPhase(gl, RenderPhase.PICKING, profiling);
+                    }
                     final Rectangle viewport = camera.getViewport();
                     clearScreen(gl, viewport, null, 0, backBuffers);
-                    performPickingRender(gl, glu, camera, collections.getActors());
+                    performPickingRender(gl, glu, camera, events, collections.getActors());
                 }
                 // increment rendering performance stat
                 verticesRendered += camera.getExtended().getVerticesCounter();
                 camera.getExtended().resetVerticesCounter();
             }
+            if (picking) {
+                endPhase(gl, RenderPhase.PICKING, phaseStart, profiling);
+            }
             if (attribStack) {
                 gl.glGetIntegerv(GL2.GL_ATTRIB_STACK_DEPTH, attribStackDepths, AttribStackDepths.PICKING_RENDER.ordinal());
             }
             // paint the scene if necessary
             if (repaint.isScene()) {
+                phaseStart = beginPhase(gl, RenderPhase.SCENE, profiling);
                 // render from cameras
                 for (final Camera camera : collections.getDrawingCameras()) {
                     if (!camera.isVisible()) {
@@ -494,9 +551,11 @@ public class SceneRenderer implements Disposable {
                     verticesRendered += camera.getExtended().getVerticesCounter();
                     camera.getExtended().resetVerticesCounter();
                 }
+                endPhase(gl, RenderPhase.SCENE, phaseStart, profiling);
             }
             // paint the scene and user interface if necessary
             if (repaint.isInterface()) {
+                phaseStart = beginPhase(gl, RenderPhase.INTERFACE, profiling);
                 // render from cameras
                 for (final Camera camera : collections.getDrawingCameras()) {
                     if (!camera.isVisible()) {
@@ -523,9 +582,11 @@ public class SceneRenderer implements Disposable {
                     verticesRendered += camera.getExtended().getVerticesCounter();
                     camera.getExtended().resetVerticesCounter();
                 }
+                endPhase(gl, RenderPhase.INTERFACE, phaseStart, profiling);
             }
             // render overlay if necessary
             if (repaint.isOverlay()) {
+                phaseStart = beginPhase(gl, RenderPhase.OVERLAY, profiling);
                 if (auxBuffer) {
                     clearScreen(gl, null, null, GL.GL_COLOR_BUFFER_BIT | GL.GL_DEPTH_BUFFER_BIT, GL2.GL_AUX3);
                 } else {
@@ -542,6 +603,7 @@ public class SceneRenderer implements Disposable {
                 // increment rendering performance stat
                 verticesRendered += overlay.getExtended().getVerticesCounter();
                 overlay.getExtended().resetVerticesCounter();
+                endPhase(gl, RenderPhase.OVERLAY, phaseStart, profiling);
             }
             // copy the specific buffers to the back or front buffer as applicable
             if (auxBuffer && (repaint.isScene() || repaint.isInterface() || repaint.isOverlay()) && !builder.isDebugColorPicking()) {
@@ -616,7 +678,15 @@ public class SceneRenderer implements Disposable {
                 errorsReported = DebugUtil.clearGLErrors(gl);
             }
             // gather statistics
-            timers.setLastDrawLength(System.currentTimeMillis() - start);
+            final long drawNanos = System.nanoTime() - start;
+            // idle ticks that didn't run any phase aren't recorded in the timeline
+            if (frameActive) {
+                final long frame = timers.getFrameTimeline().addFrame(drawNanos, phaseNanos);
+                if (profiling) {
+                    gpuTimer.endFrame(frame);
+                }
+            }
+            timers.setLastDrawLength(TimeUnit.NANOSECONDS.toMillis(drawNanos));
             timers.setLastVerticesRendered(verticesRendered);
             timers.setLastCulledActors(culledActors);
             timers.setLastAttribStackDepth(lastAttribStackDepth);
@@ -631,6 +701,9 @@ public class SceneRenderer implements Disposable {
             }
             return repaint.isScene() || repaint.isInterface() || repaint.isOverlay() || builder.isDebugColorPicking();
         } catch (final RuntimeException ex) {
+            if (frameActive) {
+                gpuTimer.abort(gl);
+            }
             logger.log(Level.WARNING, MessageFormat.format("{0}: Runtime Exception during drawGLScene method.", scene), ex);
             return false;
         } finally {
@@ -638,10 +711,30 @@ public class SceneRenderer implements Disposable {
         }
     }
 
+    private long beginPhase(final GL2 gl, final RenderPhase phase, final boolean profiling) {
+        if (profiling) {
+            // queries are only issued for frames that run at least one phase
+            if (!frameActive) {
+                gpuTimer.startFrame(gl, timers.getFrameTimeline());
+            }
+            gpuTimer.begin(gl, phase);
+        }
+        frameActive = true;
+        return System.nanoTime();
+    }
+
+    private void endPhase(final GL2 gl, final RenderPhase phase, final long start, final boolean profiling) {
+        final long nanos = System.nanoTime() - start;
+        final int index = phase.ordinal();
+        phaseNanos[index] = phaseNanos[index] != FrameTimeline.UNAVAILABLE ? phaseNanos[index] + nanos : nanos;
+        if (profiling) {
+            gpuTimer.end(gl, phase);
+        }
+    }
+
     private void performUninitialize(final GL2 gl, final GLUgl2 glu) {
         // uninitialize tasks
         DrawingPass uninitialized = DrawingPass.NONE;
-        scene.lookupAll(UninitializeTask.class, collections.getUninitializables());
         for (final UninitializeTask task : collections.getUninitializables()) {
             final boolean initialized = task.isInitialized();
             task.unInitialize(gl, glu);
@@ -658,40 +751,14 @@ public class SceneRenderer implements Disposable {
     }
 
     private void performInitialize(final GL2 gl, final GLUgl2 glu) {
-        // initialize some objects
-        int loads;
+        // initialize some objects within the time budget
+        final int loads;
         synchronized (this) {
             loads = maxInitializations;
         }
-        DrawingPass initialized = DrawingPass.NONE;
-        scene.lookupAll(Initializable.class, collections.getInitializables());
-        for (final Initializable initializable : collections.getInitializables()) {
-            if (initializable.isVisible()) {
-                // the initializable is visible
-                if (!initializable.isInitialized()) {
-                    if (initializable.isSlow()) {
-                        // it's a slow init type so only initialize if the max number hasn't been exceeded
-                        if (loads > 0) {
-                            initializable.initialize(gl, glu);
-                            if (initializable.isInitialized()) {
-                                loads--;
-                            }
-                        }
-                    } else {
-                        initializable.initialize(gl, glu);
-                    }
-                    // ensure scene remains dirty until all objects are initialized
-                    if (!initializable.isInitialized()) {
-                        initialized = initialized.addDrawingPass(initializable.getDrawingPass());
-                    }
-                }
-            } else // not visible so uninitialize
-            {
-                if (initializable.isInitialized()) {
-                    initializable.unInitialize(gl, glu);
-                }
-            }
-        }
+        final DrawingPass initialized = initializeScheduler.initialize(gl, glu, findInitializeBudget(), loads);
+        timers.setLastInitializeQueueSize(initializeScheduler.getQueueSize());
+        timers.setLastInitializeCount(initializeScheduler.getInitializeCount());
         if (initialized != DrawingPass.NONE) {
             timers.setRepaint(initialized);
             if (scene.getSceneBuilder().isVerbose()) {
@@ -700,6 +767,19 @@ public class SceneRenderer implements Disposable {
         }
     }
 
+    private long findInitializeBudget() {
+        // use the time left in the target frame time after the rest of the last frame
+        // an unthrottled animator has no target so a fixed frame time is used instead
+        final int fps = builder.getTargetFps();
+        final long target = fps > 0 ? TimeUnit.SECONDS.toNanos(1L) / fps : DEFAULT_FRAME_NANOS;
+        // the timeline only records frames that ran a phase so idle ticks are ignored
+        final FrameTimeline timeline = timers.getFrameTimeline();
+        final long frame = timeline.getLastFrameNanos();
+        final long initialize = timeline.getLastCpuNanos(RenderPhase.INITIALIZE);
+        final long other = frame != FrameTimeline.UNAVAILABLE ? frame - (initialize != FrameTimeline.UNAVAILABLE ? initialize : 0L) : 0L;
+        return Math.max((long) (target * MIN_INITIALIZE_FRACTION), target - other);
+    }
+
     private void performOverlayRender(final GL2 gl, final GLUgl2 glu, final CameraExt<?> camera, final Collection<Actor> actors, final boolean attribStack) {
         camera.setDirty(false);
         // check camera pass
@@ -818,12 +898,15 @@ public class SceneRenderer implements Disposable {
         timers.setCurrentDrawingPass(null);
     }
 
-    private void performPickingRender(final GL2 gl, final GLUgl2 glu, final PickingCamera camera, final Collection<Actor> actors) {
+    private void performPickingRender(final GL2 gl, final GLUgl2 glu, final PickingCamera camera, final Set<PickingCameraEvent> events,
+                                      final Collection<Actor> actors) {
+        boolean scenePass = false;
         if (camera.getDrawingPass().containsDrawingPass(DrawingPass.SCENE)) {
+            scenePass = true;
             camera.setDirty(false);
             // get the current camera frustum
             final Frustum frustum = camera.getFrustum();
-            for (final PickingCameraEvent event : camera.getEvents()) {
+            for (final PickingCameraEvent event : events) {
                 camera.start(event);
                 // process the picks
                 for (final Actor actor : actors) {
@@ -856,7 +939,8 @@ public class SceneRenderer implements Disposable {
         }
         if (camera.getDrawingPass().containsDrawingPass(DrawingPass.INTERFACE)) {
             camera.setDirty(false);
-            for (final PickingCameraEvent event : camera.getEvents()) {
+            // the scene pass already processed the events
+            for (final PickingCameraEvent event : scenePass ? camera.getEvents() : events) {
                 camera.start(event);
                 // process the picks
                 for (final Actor actor : actors) {
@@ -936,6 +1020,23 @@ public class SceneRenderer implements Disposable {
         // continue for actors with the correct pass number or those with
         // children
         final ChildSupport childSupport = actor.lookup(ChildSupport.class);
+        // replay or record frozen subtrees, nested frozen subtrees are recorded with their parent
+        if (childSupport != null && !recordingSubtree) {
+            final FrozenChildSupport frozen = actor.lookup(FrozenChildSupport.class);
+            if (frozen != null && frozen.isInitialized() && !frozen.isStale()) {
+                if (!frozen.callList(gl, camera, drawingPass, passNumber)) {
+                    frozen.newList(gl, camera, drawingPass, passNumber);
+                    recordingSubtree = true;
+                    try {
+                        drawActor(gl, glu, camera, actor, drawingPass, passNumber, attribStack);
+                    } finally {
+                        recordingSubtree = false;
+                        frozen.endList(gl, camera);
+                    }
+                }
+                return;
+            }
+        }
         if (passNumber == actor.getPassNumber() || childSupport != null) {
             final int[] attribStackDepths = new int[2];
             if (attribStack) {
@@ -1160,12 +1261,13 @@ public class SceneRenderer implements Disposable {
                     return;
                 }
                 updateTime = current;
+                final long start = System.nanoTime();
                 // update any extra updatable objects in the lookup
                 scene.lookupAll(Updatable.class, collections.getUpdatables());
                 for (final Updatable updatable : collections.getUpdatables()) {
                     updatable.update(delta);
                 }
-                timers.setLastUpdateLength(System.currentTimeMillis() - updateTime);
+                timers.setLastUpdateLength(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
             }
         } catch (final RejectedExecutionException ex) {
             if (!scene.isDisposed()) {
@@ -1570,6 +1672,7 @@ public class SceneRenderer implements Disposable {
     private static class DebugLoadUpdateTaskRunnable implements UpdateTaskRunnable {
 
         public static final String ID = "fps-actor";
+        public static final String PROFILE_ID = "profile-actor";
         private final Scene scene;
         private final SceneBuilder builder;
 
@@ -1623,6 +1726,31 @@ public class SceneRenderer implements Disposable {
                 // add fps actor to the scene
                 scene.add(actor);
             }
+            // create a profile actor if necessary
+            if (builder.isProfiling()) {
+                // clear existing actor
+                final Actor existingProfileActor = scene.getActor(PROFILE_ID);
+                if (existingProfileActor != null) {
+                    scene.remove(existingProfileActor);
+                    existingProfileActor.dispose();
+                }
+                // make a new one
+                final Font font = new Font(Font.MONOSPACED, Font.PLAIN, Tooltip.DEFAULT_FONT.getSize());
+                final ProfileActor actor = new ProfileActor(scene, PROFILE_ID);
+                actor.setDrawingPass(DrawingPass.OVERLAY);
+                actor.setOrigin(Alignment.LEFT_BOTTOM);
+                actor.setShape(new Text2D(font, " "));
+                actor.setVisible(true);
+                actor.setBorderThickness(4.0);
+                actor.setBackgroundColor(new Color(Tooltip.DEFAULT_BACKGROUND_COLOR, 0.8f));
+                actor.setBorderColor(new Color(Tooltip.DEFAULT_BORDER_COLOR, 0.8f));
+                // color
+                ColorSupport.newInstance(actor).setColor(new Color(Tooltip.DEFAULT_FONT_COLOR, 0.8f));
+                // transform
+                TransformSupport.newInstance(actor).setTranslation(new Vector3D(10, builder.isDisplayFps() ? 40 : 10, 0));
+                // add profile actor to the scene
+                scene.add(actor);
+            }
             return true;
         }
     }
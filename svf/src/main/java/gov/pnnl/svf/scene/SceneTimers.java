@@ -74,6 +74,18 @@ public interface SceneTimers extends SceneMetrics {
      */
     void setLastCulledActors(long lastCulledActors);
 
+    /**
+     *
+     * @param lastInitializeQueueSize set the last initialize queue size
+     */
+    void setLastInitializeQueueSize(int lastInitializeQueueSize);
+
+    /**
+     *
+     * @param lastInitializeCount set the last number of initializations
+     */
+    void setLastInitializeCount(int lastInitializeCount);
+
     /**
      *
      * @param lastDrawLength set the last draw length in milliseconds
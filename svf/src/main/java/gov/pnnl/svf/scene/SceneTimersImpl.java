@@ -17,6 +17,8 @@ public class SceneTimersImpl implements SceneTimers {
     private final AtomicLong lastUpdateLength = new AtomicLong(0L);
     private final AtomicLong lastVerticesRendered = new AtomicLong(0L);
     private final AtomicLong lastCulledActors = new AtomicLong(0L);
+    private final AtomicInteger lastInitializeQueueSize = new AtomicInteger(0);
+    private final AtomicInteger lastInitializeCount = new AtomicInteger(0);
     private final AtomicInteger lastAttribStackDepth = new AtomicInteger(0);
     private final AtomicInteger lastModelviewStackDepth = new AtomicInteger(0);
     private final AtomicInteger lastProjectionStackDepth = new AtomicInteger(0);
@@ -28,6 +30,7 @@ public class SceneTimersImpl implements SceneTimers {
     private final AtomicBoolean updating = new AtomicBoolean(false);
     private final AtomicBoolean drawing = new AtomicBoolean(false);
     private final AtomicReference<DrawingPass> currentDrawingPass = new AtomicReference<>();
+    private final FrameTimeline frameTimeline = new FrameTimeline();
     private DrawingPass repaint = DrawingPass.ALL;
 
     @Override
@@ -70,6 +73,26 @@ public class SceneTimersImpl implements SceneTimers {
         this.lastCulledActors.set(lastCulledActors);
     }
 
+    @Override
+    public int getLastInitializeQueueSize() {
+        return lastInitializeQueueSize.get();
+    }
+
+    @Override
+    public void setLastInitializeQueueSize(final int lastInitializeQueueSize) {
+        this.lastInitializeQueueSize.set(lastInitializeQueueSize);
+    }
+
+    @Override
+    public int getLastInitializeCount() {
+        return lastInitializeCount.get();
+    }
+
+    @Override
+    public void setLastInitializeCount(final int lastInitializeCount) {
+        this.lastInitializeCount.set(lastInitializeCount);
+    }
+
     @Override
     public int getLastAttribStackDepth() {
         return lastAttribStackDepth.get();
@@ -223,4 +246,9 @@ public class SceneTimersImpl implements SceneTimers {
     public int getDisplayListCount() {
         return displayListCount.get();
     }
+
+    @Override
+    public FrameTimeline getFrameTimeline() {
+        return frameTimeline;
+    }
 }
@@ -0,0 +1,196 @@
+package gov.pnnl.svf.scene;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A batch of objects to add to and remove from a scene. Changes are recorded
+ * until the transaction is committed and then the whole batch is applied on the
+ * rendering thread at the start of the next frame, so a frame never draws part
+ * of a transaction. The actor lookup, root, and visible sets of the scene are
+ * updated once for the batch and the transaction queue listeners are notified
+ * once for the batch.
+ * <p>
+ * Adding an object that was removed earlier in the same transaction cancels
+ * the removal and the reverse. A transaction can only be committed once. This
+ * class is thread safe.
+ *
+ * @author Amelia Bleeker
+ */
+public class SceneTransaction {
+
+    private final SceneTransactionQueue queue;
+    private final Set<Object> added = new LinkedHashSet<>();
+    private final Set<Object> removed = new LinkedHashSet<>();
+    private boolean committed = false;
+
+    /**
+     * Constructor
+     *
+     * @param queue the queue that applies this transaction
+     */
+    SceneTransaction(final SceneTransactionQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Add an object to the scene when this transaction is applied.
+     *
+     * @param object the object to add
+     *
+     * @throws NullPointerException     if object is null
+     * @throws IllegalArgumentException if object is a class
+     * @throws IllegalStateException    if this transaction was already
+     *                                  committed
+     */
+    public void add(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        if (object instanceof Class<?>) {
+            throw new IllegalArgumentException("object");
+        }
+        synchronized (this) {
+            checkCommitted();
+            removed.remove(object);
+            added.add(object);
+        }
+    }
+
+    /**
+     * Add a collection of objects to the scene when this transaction is
+     * applied.
+     *
+     * @param objects the objects to add
+     *
+     * @throws NullPointerException     if objects is null or contains null
+     * @throws IllegalArgumentException if objects contains a class
+     * @throws IllegalStateException    if this transaction was already
+     *                                  committed
+     */
+    public void addAll(final Collection<?> objects) {
+        if (objects == null) {
+            throw new NullPointerException("objects");
+        }
+        for (final Object object : objects) {
+            if (object == null) {
+                throw new NullPointerException("objects");
+            }
+            if (object instanceof Class<?>) {
+                throw new IllegalArgumentException("objects");
+            }
+        }
+        synchronized (this) {
+            checkCommitted();
+            for (final Object object : objects) {
+                removed.remove(object);
+                added.add(object);
+            }
+        }
+    }
+
+    /**
+     * Remove an object from the scene when this transaction is applied.
+     *
+     * @param object the object to remove
+     *
+     * @throws NullPointerException  if object is null
+     * @throws IllegalStateException if this transaction was already committed
+     */
+    public void remove(final Object object) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        synchronized (this) {
+            checkCommitted();
+            added.remove(object);
+            removed.add(object);
+        }
+    }
+
+    /**
+     * Remove a collection of objects from the scene when this transaction is
+     * applied.
+     *
+     * @param objects the objects to remove
+     *
+     * @throws NullPointerException  if objects is null or contains null
+     * @throws IllegalStateException if this transaction was already committed
+     */
+    public void removeAll(final Collection<?> objects) {
+        if (objects == null) {
+            throw new NullPointerException("objects");
+        }
+        for (final Object object : objects) {
+            if (object == null) {
+                throw new NullPointerException("objects");
+            }
+        }
+        synchronized (this) {
+            checkCommitted();
+            for (final Object object : objects) {
+                added.remove(object);
+                removed.add(object);
+            }
+        }
+    }
+
+    /**
+     * Queue this transaction to be applied at the start of the next frame.
+     *
+     * @throws IllegalStateException if this transaction was already committed
+     */
+    public void commit() {
+        synchronized (this) {
+            checkCommitted();
+            committed = true;
+        }
+        queue.offer(this);
+    }
+
+    /**
+     * @return true if this transaction was committed
+     */
+    public boolean isCommitted() {
+        synchronized (this) {
+            return committed;
+        }
+    }
+
+    /**
+     * The collection returned from this method should never be modified.
+     *
+     * @return an immutable view of the objects added by this transaction
+     */
+    public Set<Object> getAdded() {
+        synchronized (this) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(added));
+        }
+    }
+
+    /**
+     * The collection returned from this method should never be modified.
+     *
+     * @return an immutable view of the objects removed by this transaction
+     */
+    public Set<Object> getRemoved() {
+        synchronized (this) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(removed));
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (this) {
+            return "SceneTransaction{" + "added=" + added.size() + ", removed=" + removed.size() + ", committed=" + committed + '}';
+        }
+    }
+
+    private void checkCommitted() {
+        if (committed) {
+            throw new IllegalStateException("The transaction was already committed.");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package gov.pnnl.svf.scene;
+
+/**
+ * @author Amelia Bleeker
+ */
+public interface SceneTransactionListener {
+
+    /**
+     * Called once on the rendering thread after all of the changes in a
+     * transaction were applied to the scene.
+     *
+     * @param transaction The transaction that was applied.
+     */
+    void transactionApplied(SceneTransaction transaction);
+}
@@ -0,0 +1,310 @@
+package gov.pnnl.svf.scene;
+
+import gov.pnnl.svf.actor.Actor;
+import gov.pnnl.svf.core.util.StateUtil;
+import gov.pnnl.svf.support.ChildSupport;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Scene level queue of committed transactions. The scene renderer applies the
+ * committed transactions at the start of every frame before it collects the
+ * actors to draw, so a large batch of actors becomes visible all at once
+ * instead of over several frames. A transaction is checked before the scene
+ * is changed and one that would give two actors the same id is skipped, so
+ * the scene never shows part of a transaction. Only one queue should be added
+ * to a scene. Scenes that aren't rendering can apply the committed
+ * transactions by calling <code>apply</code>. This class is thread safe.
+ *
+ * @author Amelia Bleeker
+ */
+public class SceneTransactionQueue implements Disposable {
+
+    private static final Logger logger = Logger.getLogger(SceneTransactionQueue.class.getName());
+    private static final byte DISPOSED_MASK = StateUtil.getMasks()[0];
+    private final Scene scene;
+    private final Queue<SceneTransaction> pending = new ConcurrentLinkedQueue<>();
+    private byte state = StateUtil.NONE;
+    private List<SceneTransactionListener> listeners;
+
+    /**
+     * Constructor
+     *
+     * @param scene reference to the scene
+     */
+    protected SceneTransactionQueue(final Scene scene) {
+        super();
+        this.scene = scene;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param scene reference to the scene
+     *
+     * @return a new instance
+     *
+     * @throws NullPointerException if scene is null
+     */
+    public static SceneTransactionQueue newInstance(final Scene scene) {
+        if (scene == null) {
+            throw new NullPointerException("scene");
+        }
+        final SceneTransactionQueue instance = new SceneTransactionQueue(scene);
+        scene.add(instance);
+        return instance;
+    }
+
+    /**
+     * Start a new transaction that's applied by this queue when it's
+     * committed.
+     *
+     * @return a new transaction
+     */
+    public SceneTransaction begin() {
+        return new SceneTransaction(this);
+    }
+
+    /**
+     * @return the number of committed transactions waiting to be applied
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Apply all of the committed transactions in the order they were
+     * committed. This is called by the scene renderer at the start of every
+     * frame.
+     *
+     * @return the number of transactions that were applied
+     */
+    public int apply() {
+        int count = 0;
+        // only one thread applies transactions so they stay in order
+        synchronized (pending) {
+            SceneTransaction transaction = pending.poll();
+            while (transaction != null) {
+                if (isDisposed()) {
+                    pending.clear();
+                    return count;
+                }
+                apply(transaction);
+                count++;
+                transaction = pending.poll();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Add a listener to this queue.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(final SceneTransactionListener listener) {
+        synchronized (this) {
+            final List<SceneTransactionListener> temp = listeners != null ? new ArrayList<>(listeners) : new ArrayList<>();
+            temp.remove(listener);
+            temp.add(listener);
+            listeners = Collections.unmodifiableList(temp);
+        }
+    }
+
+    /**
+     * Remove a listener from this queue.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(final SceneTransactionListener listener) {
+        synchronized (this) {
+            if (listeners != null) {
+                final List<SceneTransactionListener> temp = new ArrayList<>(listeners);
+                temp.remove(listener);
+                listeners = temp.isEmpty() ? null : Collections.unmodifiableList(temp);
+            }
+        }
+    }
+
+    /**
+     * Clear all listeners from this queue.
+     */
+    public void clearListeners() {
+        synchronized (this) {
+            listeners = null;
+        }
+    }
+
+    /**
+     * The collection returned from this method should never be modified.
+     *
+     * @return an immutable and static view of the current list of listeners
+     */
+    public List<SceneTransactionListener> getListeners() {
+        synchronized (this) {
+            if (listeners != null) {
+                return listeners;
+            } else {
+                return Collections.<SceneTransactionListener>emptyList();
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        synchronized (this) {
+            return StateUtil.isValue(state, DISPOSED_MASK);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (this) {
+            if (isDisposed()) {
+                return;
+            }
+            state = StateUtil.setValue(state, DISPOSED_MASK);
+            listeners = null;
+        }
+        pending.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "SceneTransactionQueue{" + "pending=" + pending.size() + '}';
+    }
+
+    /**
+     * Queue a committed transaction.
+     *
+     * @param transaction the committed transaction
+     */
+    void offer(final SceneTransaction transaction) {
+        if (isDisposed()) {
+            return;
+        }
+        pending.offer(transaction);
+    }
+
+    private void apply(final SceneTransaction transaction) {
+        final Set<Object> removed = transaction.getRemoved();
+        final Set<Object> added = transaction.getAdded();
+        // check the whole transaction before the scene is changed
+        final List<Actor> created;
+        try {
+            created = validate(removed, added);
+        } catch (final IllegalArgumentException ex) {
+            logger.log(Level.WARNING, MessageFormat.format("{0}: Unable to apply the scene transaction: {1}", scene, transaction), ex);
+            return;
+        }
+        try {
+            if (!removed.isEmpty()) {
+                scene.removeAll(removed);
+            }
+            if (!added.isEmpty()) {
+                scene.addAll(added);
+            }
+        } catch (final RuntimeException ex) {
+            // don't let a bad transaction stop the remaining transactions or the frame
+            logger.log(Level.WARNING, MessageFormat.format("{0}: Unable to apply the scene transaction: {1}", scene, transaction), ex);
+            restore(removed, created);
+            return;
+        }
+        for (final SceneTransactionListener listener : getListeners()) {
+            listener.transactionApplied(transaction);
+        }
+    }
+
+    /**
+     * Check that every actor added by a transaction, including the children,
+     * has an id that isn't used by a different actor in the batch or by an
+     * actor that stays in the scene.
+     *
+     * @param removed the objects removed by the transaction
+     * @param added   the objects added by the transaction
+     *
+     * @return the added actors that aren't already in the scene
+     *
+     * @throws IllegalArgumentException if an id is already in use
+     */
+    private List<Actor> validate(final Set<Object> removed, final Set<Object> added) {
+        final Set<Actor> adding = SceneTransactionQueue.collectActors(added);
+        if (adding.isEmpty()) {
+            return Collections.<Actor>emptyList();
+        }
+        final Set<Actor> freed = SceneTransactionQueue.collectActors(removed);
+        final Map<String, Actor> ids = new HashMap<>();
+        final List<Actor> created = new ArrayList<>();
+        for (final Actor actor : adding) {
+            final String id = actor.getId();
+            final Actor other = ids.put(id, actor);
+            if (other != null) {
+                throw new IllegalArgumentException("Scene transaction contains more than one actor with the id: " + id);
+            }
+            final Actor found = scene.getActor(id);
+            if (found != null && found != actor && !freed.contains(found)) {
+                throw new IllegalArgumentException("Scene lookup already contains an actor with the id: " + id);
+            }
+            if (found != actor) {
+                created.add(actor);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Put the scene back the way it was before a transaction failed.
+     *
+     * @param removed the objects removed by the transaction
+     * @param created the actors added by the transaction that weren't already
+     *                in the scene
+     */
+    private void restore(final Set<Object> removed, final List<Actor> created) {
+        try {
+            if (!created.isEmpty()) {
+                scene.removeAll(created);
+            }
+            if (!removed.isEmpty()) {
+                scene.addAll(removed);
+            }
+        } catch (final RuntimeException ex) {
+            logger.log(Level.WARNING, MessageFormat.format("{0}: Unable to restore the scene after a failed transaction.", scene), ex);
+        }
+    }
+
+    private static Set<Actor> collectActors(final Collection<Object> objects) {
+        final Set<Actor> actors = Collections.newSetFromMap(new IdentityHashMap<Actor, Boolean>());
+        final Deque<Actor> stack = new ArrayDeque<>();
+        for (final Object object : objects) {
+            if (object instanceof Actor) {
+                stack.push((Actor) object);
+            }
+        }
+        while (!stack.isEmpty()) {
+            final Actor actor = stack.pop();
+            if (actors.add(actor)) {
+                // children are added to and removed from the scene with the parent
+                final ChildSupport children = actor.lookup(ChildSupport.class);
+                if (children != null) {
+                    for (final Actor child : children.getChildren()) {
+                        stack.push(child);
+                    }
+                }
+            }
+        }
+        return actors;
+    }
+}
@@ -0,0 +1,17 @@
+package gov.pnnl.svf.support;
+
+/**
+ * Interface for actors, support objects, and shape renderers whose drawing
+ * depends on the camera that is drawing them, such as a level of detail chosen
+ * from the distance to the camera. Recorded drawing that contains one of these
+ * objects must be recorded again when the camera changes.
+ *
+ * @author Amelia Bleeker
+ */
+public interface CameraDependent {
+
+    /**
+     * @return true if the drawing currently depends on the camera
+     */
+    boolean isCameraDependent();
+}
@@ -0,0 +1,414 @@
+package gov.pnnl.svf.support;
+
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.glu.gl2.GLUgl2;
+import gov.pnnl.svf.actor.Actor;
+import gov.pnnl.svf.camera.Camera;
+import gov.pnnl.svf.scene.DrawingPass;
+import gov.pnnl.svf.scene.Initializable;
+import gov.pnnl.svf.scene.Scene;
+import gov.pnnl.svf.update.UninitializeTask;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Support for actors with children that freezes the entire child subtree into
+ * recorded display lists. The first time the subtree is drawn for a camera,
+ * drawing pass, and pass number the transforms and draws of the actor and all
+ * of its descendants are recorded. Every following draw replays the recorded
+ * list instead of walking the actor tree.
+ * <p>
+ * Any property change on an actor in the subtree, or a child being added or
+ * removed from a ChildSupport object in the subtree, will invalidate the
+ * recorded lists. If the subtree contains a CameraDependent actor or support
+ * then a property change on a camera will also invalidate the lists recorded
+ * for that camera, which are recorded again the next time they are drawn.
+ * Other supports that change their drawing every frame without firing a
+ * property change should not be used inside a frozen subtree. Picking is not
+ * affected by this support.
+ *
+ * @author Amelia Bleeker
+ */
+public class FrozenChildSupport extends AbstractSupport<Object> implements Initializable {
+
+    private static final int DRAWING_PASSES = DrawingPass.values().length;
+    /**
+     * Map of the recorded lists for each camera indexed by drawing pass and
+     * pass number. This field should only be accessed on the OpenGL active
+     * context thread.
+     */
+    protected final Map<Camera, CameraLists> lists = new WeakHashMap<>();
+    /**
+     * Listener used to watch the subtree for changes.
+     */
+    protected final SubtreeListener subtreeListener = new SubtreeListener();
+    /**
+     * The actors that are currently being watched. This field should only be
+     * accessed on the OpenGL active context thread.
+     */
+    protected final List<Actor> watchedActors = new ArrayList<>();
+    /**
+     * The child support objects that are currently being watched. This field
+     * should only be accessed on the OpenGL active context thread.
+     */
+    protected final List<ChildSupport> watchedChildren = new ArrayList<>();
+    /**
+     * The recorded list currently being compiled. This field should only be
+     * accessed on the OpenGL active context thread.
+     */
+    protected RecordedList recording = null;
+    private boolean stale = false;
+    private boolean cameraDependent = false;
+
+    /**
+     * Constructor kept private to prevent 'this' reference from escaping during
+     * object construction.
+     *
+     * @param actor The owning actor.
+     */
+    protected FrozenChildSupport(final Actor actor) {
+        super(actor);
+    }
+
+    /**
+     * Creates a new support class and adds it to the actor's lookup.
+     *
+     * @param actor The owning actor. The actor should have a ChildSupport
+     *              object.
+     *
+     * @return the newly created instance that is already added to the actor's
+     *         lookup
+     */
+    public static FrozenChildSupport newInstance(final Actor actor) {
+        final FrozenChildSupport instance = new FrozenChildSupport(actor);
+        actor.add(instance);
+        return instance;
+    }
+
+    @Override
+    public boolean isVisible() {
+        return getActor().isVisible();
+    }
+
+    @Override
+    public DrawingPass getDrawingPass() {
+        return getActor().getDrawingPass();
+    }
+
+    @Override
+    public Scene getScene() {
+        return getActor().getScene();
+    }
+
+    /**
+     * @return true if the recorded lists have been invalidated and are waiting
+     *         to be released
+     */
+    public boolean isStale() {
+        synchronized (this) {
+            return stale;
+        }
+    }
+
+    /**
+     * Invalidate the recorded lists. The lists will be released and recorded
+     * again during the next draw cycle.
+     */
+    public void invalidate() {
+        synchronized (this) {
+            if (stale || supportState.isDisposed()) {
+                return;
+            }
+            stale = true;
+        }
+        UninitializeTask.schedule(getScene(), this);
+        getScene().draw(getDrawingPass());
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        UninitializeTask.schedule(getScene(), this);
+    }
+
+    /**
+     * Replay the recorded list for the subtree if one exists.
+     *
+     * @param gl          reference to the gl
+     * @param camera      the camera that is drawing
+     * @param drawingPass the current drawing pass
+     * @param passNumber  the current pass number
+     *
+     * @return true if a recorded list was replayed, false if the subtree must
+     *         be recorded
+     */
+    public boolean callList(final GL2 gl, final Camera camera, final DrawingPass drawingPass, final int passNumber) {
+        final CameraLists cameraLists = lists.get(camera);
+        if (cameraLists == null) {
+            return false;
+        }
+        final RecordedList recorded = cameraLists.get(drawingPass, passNumber);
+        if (recorded == null || !recorded.valid || cameraLists.changed) {
+            return false;
+        }
+        replayList(gl, recorded.list);
+        camera.getExtended().incrementVerticesCounter(recorded.vertices);
+        return true;
+    }
+
+    /**
+     * Start recording a list for the subtree. The subtree will also be drawn
+     * while it's being recorded. Every call to this method must be followed by
+     * a call to endList.
+     *
+     * @param gl          reference to the gl
+     * @param camera      the camera that is drawing
+     * @param drawingPass the current drawing pass
+     * @param passNumber  the current pass number
+     */
+    public void newList(final GL2 gl, final Camera camera, final DrawingPass drawingPass, final int passNumber) {
+        if (recording != null) {
+            throw new IllegalStateException("A list is already being recorded.");
+        }
+        if (watchedActors.isEmpty()) {
+            watch(getActor());
+        }
+        CameraLists cameraLists = lists.get(camera);
+        if (cameraLists == null) {
+            cameraLists = new CameraLists();
+            lists.put(camera, cameraLists);
+            if (cameraDependent) {
+                camera.getPropertyChangeSupport().addPropertyChangeListener(cameraLists);
+            }
+        } else if (cameraLists.changed) {
+            // every list recorded for the camera is out of date
+            cameraLists.changed = false;
+            cameraLists.invalidate();
+        }
+        RecordedList recorded = cameraLists.get(drawingPass, passNumber);
+        if (recorded == null) {
+            // new lists are created once and then recorded over
+            recorded = new RecordedList(generateList(gl));
+            cameraLists.put(drawingPass, passNumber, recorded);
+            getScene().getExtended().getSceneMetrics().incrementDisplayListCount();
+        }
+        recorded.valid = false;
+        recorded.vertices = camera.getExtended().getVerticesCounter();
+        recording = recorded;
+        compileList(gl, recording.list);
+    }
+
+    /**
+     * Finish recording the current list.
+     *
+     * @param gl     reference to the gl
+     * @param camera the camera that is drawing
+     */
+    public void endList(final GL2 gl, final Camera camera) {
+        if (recording == null) {
+            throw new IllegalStateException("A list is not being recorded.");
+        }
+        finishList(gl);
+        recording.vertices = camera.getExtended().getVerticesCounter() - recording.vertices;
+        recording.valid = true;
+        recording = null;
+    }
+
+    @Override
+    public void initialize(final GL2 gl, final GLUgl2 glu) {
+        // lists are recorded lazily during the draw
+        synchronized (this) {
+            supportState.setInitialized(!supportState.isDisposed());
+        }
+    }
+
+    @Override
+    public boolean isInitialized() {
+        synchronized (this) {
+            return supportState.isInitialized();
+        }
+    }
+
+    @Override
+    public boolean isSlow() {
+        return false;
+    }
+
+    @Override
+    public void unInitialize(final GL2 gl, final GLUgl2 glu) {
+        for (final Map.Entry<Camera, CameraLists> entry : lists.entrySet()) {
+            entry.getKey().getPropertyChangeSupport().removePropertyChangeListener(entry.getValue());
+            for (final RecordedList[] passes : entry.getValue().lists) {
+                if (passes != null) {
+                    for (final RecordedList recorded : passes) {
+                        if (recorded != null) {
+                            deleteList(gl, recorded);
+                        }
+                    }
+                }
+            }
+        }
+        lists.clear();
+        unwatch();
+        synchronized (this) {
+            stale = false;
+            supportState.setInitialized(false);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FrozenChildSupport{" + "actor=" + getActor() + ", stale=" + isStale() + '}';
+    }
+
+    private void deleteList(final GL2 gl, final RecordedList recorded) {
+        deleteList(gl, recorded.list);
+        getScene().getExtended().getSceneMetrics().decrementDisplayListCount();
+    }
+
+    // the display list calls are kept together so the bookkeeping can be
+    // tested without an OpenGL device
+    int generateList(final GL2 gl) {
+        return gl.glGenLists(1);
+    }
+
+    void compileList(final GL2 gl, final int list) {
+        gl.glNewList(list, GL2.GL_COMPILE_AND_EXECUTE);
+    }
+
+    void finishList(final GL2 gl) {
+        gl.glEndList();
+    }
+
+    void replayList(final GL2 gl, final int list) {
+        gl.glCallList(list);
+    }
+
+    void deleteList(final GL2 gl, final int list) {
+        gl.glDeleteLists(list, 1);
+    }
+
+    private void watch(final Actor actor) {
+        actor.getPropertyChangeSupport().addPropertyChangeListener(subtreeListener);
+        watchedActors.add(actor);
+        if (actor instanceof CameraDependent && ((CameraDependent) actor).isCameraDependent()) {
+            cameraDependent = true;
+        }
+        for (final Object object : actor.lookupAll()) {
+            if (object instanceof CameraDependent && ((CameraDependent) object).isCameraDependent()) {
+                cameraDependent = true;
+            }
+        }
+        final ChildSupport childSupport = actor.lookup(ChildSupport.class);
+        if (childSupport != null) {
+            childSupport.addListener(subtreeListener);
+            watchedChildren.add(childSupport);
+            for (final Actor child : childSupport.getChildren()) {
+                watch(child);
+            }
+        }
+    }
+
+    private void unwatch() {
+        for (final Actor actor : watchedActors) {
+            actor.getPropertyChangeSupport().removePropertyChangeListener(subtreeListener);
+        }
+        watchedActors.clear();
+        for (final ChildSupport childSupport : watchedChildren) {
+            childSupport.removeListener(subtreeListener);
+        }
+        watchedChildren.clear();
+        cameraDependent = false;
+    }
+
+    /**
+     * The lists recorded for a camera indexed by drawing pass and pass number.
+     * The lists are marked as changed when a property of the camera changes
+     * if the subtree is camera dependent.
+     */
+    protected class CameraLists implements PropertyChangeListener {
+
+        private final RecordedList[][] lists = new RecordedList[DRAWING_PASSES][];
+        private volatile boolean changed = false;
+
+        private RecordedList get(final DrawingPass drawingPass, final int passNumber) {
+            final RecordedList[] passes = lists[drawingPass.ordinal()];
+            return passes != null && passNumber >= 0 && passNumber < passes.length ? passes[passNumber] : null;
+        }
+
+        private void put(final DrawingPass drawingPass, final int passNumber, final RecordedList recorded) {
+            RecordedList[] passes = lists[drawingPass.ordinal()];
+            if (passes == null || passNumber >= passes.length) {
+                passes = passes == null ? new RecordedList[passNumber + 1] : Arrays.copyOf(passes, passNumber + 1);
+                lists[drawingPass.ordinal()] = passes;
+            }
+            passes[passNumber] = recorded;
+        }
+
+        private void invalidate() {
+            for (final RecordedList[] passes : lists) {
+                if (passes != null) {
+                    for (final RecordedList recorded : passes) {
+                        if (recorded != null) {
+                            recorded.valid = false;
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            // the renderer clears the dirty flag while drawing
+            if (Actor.DIRTY.equals(evt.getPropertyName()) && !Boolean.TRUE.equals(evt.getNewValue())) {
+                return;
+            }
+            changed = true;
+        }
+    }
+
+    /**
+     * A list that has been recorded for a specific camera, drawing pass, and
+     * pass number.
+     */
+    protected static class RecordedList {
+
+        private final int list;
+        private long vertices;
+        private boolean valid = false;
+
+        private RecordedList(final int list) {
+            this.list = list;
+        }
+    }
+
+    /**
+     * Listener used to invalidate the recorded lists when the subtree changes.
+     */
+    protected class SubtreeListener implements PropertyChangeListener, ChildSupportListener {
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            // the renderer clears the dirty flag while drawing
+            if (Actor.DIRTY.equals(evt.getPropertyName()) && !Boolean.TRUE.equals(evt.getNewValue())) {
+                return;
+            }
+            invalidate();
+        }
+
+        @Override
+        public void childAdded(final Actor child) {
+            invalidate();
+        }
+
+        @Override
+        public void childRemoved(final Actor child) {
+            invalidate();
+        }
+    }
+}
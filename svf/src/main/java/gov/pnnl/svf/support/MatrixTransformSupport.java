@@ -15,7 +15,7 @@ import java.util.Arrays;
  * @author Amelia Bleeker
  *
  */
-public class MatrixTransformSupport extends TransformSupport {
+public class MatrixTransformSupport extends TransformSupport implements CameraDependent {
 
     private final double[] modelview = new double[]{
         1.0, 0.0, 0.0, 0.0,
@@ -93,6 +93,12 @@ public class MatrixTransformSupport extends TransformSupport {
         }
     }
 
+    @Override
+    public boolean isCameraDependent() {
+        // the matrices are read back while drawing
+        return true;
+    }
+
     @Override
     public void pushTransform(final GL2 gl, final GLUgl2 glu, final Camera camera) {
         super.pushTransform(gl, glu, camera);
@@ -0,0 +1,570 @@
+package gov.pnnl.svf.support;
+
+import gov.pnnl.svf.scene.Scene;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Scene level store for the selection states of a large number of items. Each
+ * state is kept in a compact bit set where an item is identified by an index,
+ * either one supplied by the caller or one assigned to an actor or item by
+ * this store. This is an alternative to adding a selection or highlight
+ * support object to every actor when a scene contains many selectable items.
+ * <p>
+ * Every operation changes any number of items and notifies the listeners once
+ * with all of the items that changed. After each operation the bits of the
+ * state are published as an immutable snapshot so the state of an item can be
+ * queried while rendering without locking. Single item operations copy the
+ * bits of a state, so bulk operations should be preferred when changing many
+ * items.
+ * <p>
+ * The store keeps a reference to every actor or item that has been assigned
+ * an index until it's removed. Removing an item clears it from every state
+ * and the index is reused by the next item that's assigned one.
+ *
+ * @author Amelia Bleeker
+ */
+public class SelectionStore {
+
+    private static final long[] EMPTY = new long[0];
+    private static final SelectionState[] STATES = SelectionState.values();
+    private final BitSet[] bits = new BitSet[STATES.length];
+    private final AtomicReferenceArray<long[]> snapshots = new AtomicReferenceArray<>(STATES.length);
+    private final Map<Object, Integer> indexes = new ConcurrentHashMap<>();
+    private final List<Object> items = new ArrayList<>();
+    private final BitSet free = new BitSet();
+    private List<SelectionStoreListener> listeners;
+    private volatile int size = 0;
+
+    /**
+     * Constructor
+     */
+    protected SelectionStore() {
+        super();
+        for (int i = 0; i < STATES.length; i++) {
+            bits[i] = new BitSet();
+            snapshots.set(i, EMPTY);
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param scene reference to the scene
+     *
+     * @return a new instance
+     *
+     * @throws NullPointerException if scene is null
+     */
+    public static SelectionStore newInstance(final Scene scene) {
+        if (scene == null) {
+            throw new NullPointerException("scene");
+        }
+        final SelectionStore instance = new SelectionStore();
+        scene.add(instance);
+        return instance;
+    }
+
+    /**
+     * Add a listener to this store.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(final SelectionStoreListener listener) {
+        synchronized (this) {
+            final List<SelectionStoreListener> temp = listeners != null ? new ArrayList<>(listeners) : new ArrayList<>();
+            temp.remove(listener);
+            temp.add(listener);
+            listeners = Collections.unmodifiableList(temp);
+        }
+    }
+
+    /**
+     * Remove a listener from this store.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(final SelectionStoreListener listener) {
+        synchronized (this) {
+            if (listeners != null) {
+                final List<SelectionStoreListener> temp = new ArrayList<>(listeners);
+                temp.remove(listener);
+                listeners = temp.isEmpty() ? null : Collections.unmodifiableList(temp);
+            }
+        }
+    }
+
+    /**
+     * Clear all listeners from this store.
+     */
+    public void clearListeners() {
+        synchronized (this) {
+            listeners = null;
+        }
+    }
+
+    /**
+     * The collection returned from this method should never be modified.
+     *
+     * @return an immutable and static view of the current list of listeners
+     */
+    public List<SelectionStoreListener> getListeners() {
+        synchronized (this) {
+            if (listeners != null) {
+                return listeners;
+            } else {
+                return Collections.<SelectionStoreListener>emptyList();
+            }
+        }
+    }
+
+    /**
+     * Get the index of an actor or item, assigning the lowest free index the
+     * first time the item is seen.
+     *
+     * @param item the actor or item
+     *
+     * @return the index of the item
+     *
+     * @throws NullPointerException if item is null
+     */
+    public int indexOf(final Object item) {
+        if (item == null) {
+            throw new NullPointerException("item");
+        }
+        final Integer index = indexes.get(item);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            Integer assigned = indexes.get(item);
+            if (assigned == null) {
+                if (free.isEmpty()) {
+                    assigned = items.size();
+                    items.add(item);
+                } else {
+                    // reuse the index of a removed item
+                    assigned = free.nextSetBit(0);
+                    free.clear(assigned);
+                    items.set(assigned, item);
+                }
+                indexes.put(item, assigned);
+                size = Math.max(size, assigned + 1);
+            }
+            return assigned;
+        }
+    }
+
+    /**
+     * Remove an actor or item from the store. The item is removed from every
+     * state and its index is freed so it can be assigned to another item. The
+     * listeners are notified once for each state the item was in.
+     *
+     * @param item the actor or item
+     *
+     * @return true if the item had an index
+     *
+     * @throws NullPointerException if item is null
+     */
+    public boolean remove(final Object item) {
+        if (item == null) {
+            throw new NullPointerException("item");
+        }
+        final List<SelectionStoreEvent> events = new ArrayList<>();
+        final List<SelectionStoreListener> temp;
+        synchronized (this) {
+            final Integer index = indexes.remove(item);
+            if (index == null) {
+                return false;
+            }
+            items.set(index, null);
+            free.set(index);
+            for (final SelectionState state : STATES) {
+                final int ordinal = state.ordinal();
+                final BitSet bitset = bits[ordinal];
+                if (bitset.get(index)) {
+                    bitset.clear(index);
+                    snapshots.set(ordinal, bitset.toLongArray());
+                    final BitSet changed = new BitSet();
+                    changed.set(index);
+                    events.add(new SelectionStoreEvent(this, state, changed));
+                }
+            }
+            temp = getListeners();
+        }
+        for (final SelectionStoreEvent event : events) {
+            for (final SelectionStoreListener listener : temp) {
+                listener.selectionChanged(event);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param item the actor or item
+     *
+     * @return the index of the item or -1 if an index hasn't been assigned
+     */
+    public int getIndex(final Object item) {
+        if (item == null) {
+            return -1;
+        }
+        final Integer index = indexes.get(item);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * @param index the item index
+     *
+     * @return the actor or item assigned to the index or null
+     */
+    public Object getItem(final int index) {
+        synchronized (this) {
+            return index >= 0 && index < items.size() ? items.get(index) : null;
+        }
+    }
+
+    /**
+     * The number of items is used by operations that apply to all items. It
+     * grows as indexes are assigned or used.
+     *
+     * @return the number of items in the store
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @param size the number of items in the store
+     *
+     * @return a reference to this store
+     *
+     * @throws IllegalArgumentException if size is negative
+     */
+    public SelectionStore setSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size");
+        }
+        synchronized (this) {
+            this.size = size;
+        }
+        return this;
+    }
+
+    /**
+     * This method doesn't lock.
+     *
+     * @param state the state
+     * @param index the item index
+     *
+     * @return true if the item is in the state
+     *
+     * @throws NullPointerException      if state is null
+     * @throws IndexOutOfBoundsException if index is negative
+     */
+    public boolean isSet(final SelectionState state, final int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("index");
+        }
+        final long[] words = snapshots.get(state.ordinal());
+        final int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0L;
+    }
+
+    /**
+     * This method doesn't lock.
+     *
+     * @param state the state
+     * @param item  the actor or item
+     *
+     * @return true if the item has an index and is in the state
+     *
+     * @throws NullPointerException if state is null
+     */
+    public boolean isSet(final SelectionState state, final Object item) {
+        final int index = getIndex(item);
+        return index != -1 && isSet(state, index);
+    }
+
+    /**
+     * This method doesn't lock.
+     *
+     * @param index the item index
+     *
+     * @return true if the item is selected
+     *
+     * @throws IndexOutOfBoundsException if index is negative
+     */
+    public boolean isSelected(final int index) {
+        return isSet(SelectionState.SELECTED, index);
+    }
+
+    /**
+     * This method doesn't lock.
+     *
+     * @param index the item index
+     *
+     * @return true if the item is highlighted
+     *
+     * @throws IndexOutOfBoundsException if index is negative
+     */
+    public boolean isHighlighted(final int index) {
+        return isSet(SelectionState.HIGHLIGHTED, index);
+    }
+
+    /**
+     * @param state the state
+     *
+     * @return a copy of the indexes of the items in the state
+     *
+     * @throws NullPointerException if state is null
+     */
+    public BitSet get(final SelectionState state) {
+        return BitSet.valueOf(snapshots.get(state.ordinal()));
+    }
+
+    /**
+     * @param state the state
+     *
+     * @return the number of items in the state
+     *
+     * @throws NullPointerException if state is null
+     */
+    public int getCount(final SelectionState state) {
+        final long[] words = snapshots.get(state.ordinal());
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * @param state the state
+     * @param index the item index
+     * @param value true to add the item to the state
+     *
+     * @return true if the item changed
+     *
+     * @throws NullPointerException      if state is null
+     * @throws IndexOutOfBoundsException if index is negative
+     */
+    public boolean set(final SelectionState state, final int index, final boolean value) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("index");
+        }
+        return apply(state, index + 1, (bitset) -> bitset.set(index, value));
+    }
+
+    /**
+     * @param state the state
+     * @param item  the actor or item
+     * @param value true to add the item to the state
+     *
+     * @return true if the item changed
+     *
+     * @throws NullPointerException if state or item is null
+     */
+    public boolean set(final SelectionState state, final Object item, final boolean value) {
+        return set(state, indexOf(item), value);
+    }
+
+    /**
+     * @param state the state
+     * @param from  the first item index
+     * @param to    the item index after the last item
+     * @param value true to add the items to the state
+     *
+     * @return true if any item changed
+     *
+     * @throws NullPointerException      if state is null
+     * @throws IndexOutOfBoundsException if from is negative or larger than to
+     */
+    public boolean set(final SelectionState state, final int from, final int to, final boolean value) {
+        checkRange(from, to);
+        return apply(state, to, (bitset) -> bitset.set(from, to, value));
+    }
+
+    /**
+     * @param state   the state
+     * @param indexes the indexes of the items
+     * @param value   true to add the items to the state
+     *
+     * @return true if any item changed
+     *
+     * @throws NullPointerException if state or indexes is null
+     */
+    public boolean set(final SelectionState state, final BitSet indexes, final boolean value) {
+        if (indexes == null) {
+            throw new NullPointerException("indexes");
+        }
+        final BitSet copy = (BitSet) indexes.clone();
+        if (value) {
+            return apply(state, copy.length(), (bitset) -> bitset.or(copy));
+        } else {
+            return apply(state, 0, (bitset) -> bitset.andNot(copy));
+        }
+    }
+
+    /**
+     * Replace the items in a state.
+     *
+     * @param state   the state
+     * @param indexes the indexes of the items that will be in the state
+     *
+     * @return true if any item changed
+     *
+     * @throws NullPointerException if state or indexes is null
+     */
+    public boolean replace(final SelectionState state, final BitSet indexes) {
+        if (indexes == null) {
+            throw new NullPointerException("indexes");
+        }
+        final BitSet copy = (BitSet) indexes.clone();
+        return apply(state, copy.length(), (bitset) -> {
+            bitset.clear();
+            bitset.or(copy);
+        });
+    }
+
+    /**
+     * @param state the state
+     * @param value true to add all of the items to the state
+     *
+     * @return true if any item changed
+     *
+     * @throws NullPointerException if state is null
+     */
+    public boolean setAll(final SelectionState state, final boolean value) {
+        if (value) {
+            return apply(state, 0, (bitset) -> bitset.set(0, size));
+        } else {
+            return apply(state, 0, (bitset) -> bitset.clear());
+        }
+    }
+
+    /**
+     * Remove all of the items from a state.
+     *
+     * @param state the state
+     *
+     * @return true if any item changed
+     *
+     * @throws NullPointerException if state is null
+     */
+    public boolean clear(final SelectionState state) {
+        return setAll(state, false);
+    }
+
+    /**
+     * Invert the state of all of the items.
+     *
+     * @param state the state
+     *
+     * @return true if any item changed
+     *
+     * @throws NullPointerException if state is null
+     */
+    public boolean invert(final SelectionState state) {
+        return apply(state, 0, (bitset) -> {
+            // items past the size can only be cleared
+            bitset.clear(size, Math.max(size, bitset.length()));
+            bitset.flip(0, size);
+        });
+    }
+
+    /**
+     * Invert the state of a range of items.
+     *
+     * @param state the state
+     * @param from  the first item index
+     * @param to    the item index after the last item
+     *
+     * @return true if any item changed
+     *
+     * @throws NullPointerException      if state is null
+     * @throws IndexOutOfBoundsException if from is negative or larger than to
+     */
+    public boolean invert(final SelectionState state, final int from, final int to) {
+        checkRange(from, to);
+        return apply(state, to, (bitset) -> bitset.flip(from, to));
+    }
+
+    /**
+     * Remove the items from a state that aren't in a set, such as the items
+     * that are currently visible.
+     *
+     * @param state   the state
+     * @param indexes the indexes of the items to keep
+     *
+     * @return true if any item changed
+     *
+     * @throws NullPointerException if state or indexes is null
+     */
+    public boolean retain(final SelectionState state, final BitSet indexes) {
+        if (indexes == null) {
+            throw new NullPointerException("indexes");
+        }
+        final BitSet copy = (BitSet) indexes.clone();
+        return apply(state, 0, (bitset) -> bitset.and(copy));
+    }
+
+    /**
+     * @return a map of each state to the number of items in the state
+     */
+    public Map<SelectionState, Integer> getCounts() {
+        final Map<SelectionState, Integer> counts = new EnumMap<>(SelectionState.class);
+        for (final SelectionState state : STATES) {
+            counts.put(state, getCount(state));
+        }
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "SelectionStore{" + "size=" + size + ", counts=" + getCounts() + '}';
+    }
+
+    private boolean apply(final SelectionState state, final int length, final Consumer<BitSet> operation) {
+        if (state == null) {
+            throw new NullPointerException("state");
+        }
+        final SelectionStoreEvent event;
+        final List<SelectionStoreListener> temp;
+        synchronized (this) {
+            size = Math.max(size, length);
+            final int ordinal = state.ordinal();
+            final BitSet bitset = bits[ordinal];
+            final BitSet changed = BitSet.valueOf(snapshots.get(ordinal));
+            operation.accept(bitset);
+            changed.xor(bitset);
+            if (changed.isEmpty()) {
+                return false;
+            }
+            snapshots.set(ordinal, bitset.toLongArray());
+            event = new SelectionStoreEvent(this, state, changed);
+            temp = getListeners();
+        }
+        // one notification for the whole operation
+        for (final SelectionStoreListener listener : temp) {
+            listener.selectionChanged(event);
+        }
+        return true;
+    }
+
+    private static void checkRange(final int from, final int to) {
+        if (from < 0) {
+            throw new IndexOutOfBoundsException("from");
+        }
+        if (to < from) {
+            throw new IndexOutOfBoundsException("to");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package gov.pnnl.svf.support;
+
+import java.util.BitSet;
+
+/**
+ * Event object for the SelectionStore class. A single event describes every
+ * item that changed during an operation.
+ *
+ * @author Amelia Bleeker
+ */
+public class SelectionStoreEvent {
+
+    private final SelectionStore source;
+    private final SelectionState state;
+    private final BitSet changed;
+
+    /**
+     * Constructor
+     *
+     * @param source  the store that changed
+     * @param state   the state that changed
+     * @param changed the indexes of the items that changed
+     */
+    protected SelectionStoreEvent(final SelectionStore source, final SelectionState state, final BitSet changed) {
+        super();
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+        if (state == null) {
+            throw new NullPointerException("state");
+        }
+        if (changed == null) {
+            throw new NullPointerException("changed");
+        }
+        this.source = source;
+        this.state = state;
+        this.changed = changed;
+    }
+
+    /**
+     * @return the store that changed
+     */
+    public SelectionStore getSource() {
+        return source;
+    }
+
+    /**
+     * @return the state that changed
+     */
+    public SelectionState getState() {
+        return state;
+    }
+
+    /**
+     * @return a copy of the indexes of the items that changed
+     */
+    public BitSet getChanged() {
+        return (BitSet) changed.clone();
+    }
+
+    /**
+     * @return the number of items that changed
+     */
+    public int getChangedCount() {
+        return changed.cardinality();
+    }
+
+    /**
+     * @param index the item index
+     *
+     * @return true if the state of the item changed
+     */
+    public boolean isChanged(final int index) {
+        return changed.get(index);
+    }
+
+    @Override
+    public String toString() {
+        return "SelectionStoreEvent{" + "state=" + state + ", changed=" + changed.cardinality() + '}';
+    }
+}
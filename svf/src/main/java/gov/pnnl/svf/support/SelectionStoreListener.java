@@ -0,0 +1,15 @@
+package gov.pnnl.svf.support;
+
+/**
+ * @author Amelia Bleeker
+ */
+public interface SelectionStoreListener {
+
+    /**
+     * Called once for each operation that changes the state of one or more
+     * items in the store.
+     *
+     * @param event The event that describes the items that changed.
+     */
+    void selectionChanged(SelectionStoreEvent event);
+}
@@ -0,0 +1,678 @@
+package gov.pnnl.svf.texture;
+
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.GL2ES1;
+import com.jogamp.opengl.GL2ES2;
+import com.jogamp.opengl.fixedfunc.GLMatrixFunc;
+import com.jogamp.opengl.glu.gl2.GLUgl2;
+import gov.pnnl.svf.actor.AbstractActor;
+import gov.pnnl.svf.actor.Actor;
+import gov.pnnl.svf.camera.Camera;
+import gov.pnnl.svf.geometry.Frustum;
+import gov.pnnl.svf.geometry.Point2D;
+import gov.pnnl.svf.geometry.RayMarchVolume3DRenderer;
+import gov.pnnl.svf.geometry.ShapeRenderer;
+import gov.pnnl.svf.geometry.Volume3D;
+import gov.pnnl.svf.scene.DrawingPass;
+import gov.pnnl.svf.support.CameraDependent;
+import gov.pnnl.svf.support.MatrixTransformSupport;
+import gov.pnnl.svf.support.ParentSupport;
+import gov.pnnl.svf.support.TransformSupport;
+import gov.pnnl.svf.update.UninitializeTask;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.math.geometry.Vector3D;
+
+/**
+ * Support for a volumetric 3d texture that is too large to be resident in
+ * memory. The volume is read in bricks from a VolumeBrickSource and only the
+ * bricks that are inside of the viewing frustum and not empty are streamed
+ * into a fixed size 3d texture cache. A limited number of bricks are uploaded
+ * each frame and the least recently drawn bricks are replaced when the cache is
+ * full.
+ * <p>
+ * The VolumeActor draws the volume through the drawShape method of this
+ * support object. Each brick is drawn by the shape renderer for the volume,
+ * ordered from back to front, with the texture matrix mapping the brick into
+ * its slot in the cache. The bricks are culled and ordered on the CPU from the
+ * camera and the transform supports of the actor.
+ *
+ * @author Amelia Bleeker
+ */
+public class BrickedTexture3dSupport extends TextureSupport implements CameraDependent {
+
+    /**
+     * String representation of a field in this object.
+     */
+    public static final String MEMORY_CAP = "memoryCap";
+    /**
+     * String representation of a field in this object.
+     */
+    public static final String UPLOAD_BUDGET = "uploadBudget";
+    /**
+     * String representation of a field in this object.
+     */
+    public static final String THRESHOLD = "threshold";
+    /**
+     * The default number of bytes used by the texture cache.
+     */
+    public static final long DEFAULT_MEMORY_CAP = 128L * 1024L * 1024L;
+    /**
+     * The default number of bricks uploaded each frame.
+     */
+    public static final int DEFAULT_UPLOAD_BUDGET = 16;
+    /**
+     * The default threshold for empty bricks.
+     */
+    public static final int DEFAULT_THRESHOLD = 0;
+    private static final Logger logger = Logger.getLogger(BrickedTexture3dSupport.class.toString());
+    private final VolumeBrickSource source;
+    private long memoryCap = DEFAULT_MEMORY_CAP;
+    private int uploadBudget = DEFAULT_UPLOAD_BUDGET;
+    private int threshold = DEFAULT_THRESHOLD;
+    // cache state that is only used on the rendering thread
+    private final int[] brickSlots;
+    private final int[] order;
+    private final double[] depths;
+    private final Volume3D[] brickShapes;
+    private final double[] box = new double[6];
+    private final double[] model = new double[12];
+    private final double[] temp = new double[12];
+    private Volume3D brickVolume = null;
+    private int[] slotBricks = new int[0];
+    private long[] slotFrames = new long[0];
+    private int slotsX;
+    private int slotsY;
+    private int slotsZ;
+    private ByteBuffer staging = null;
+    private long frame = 0L;
+    private int residentCount = 0;
+
+    /**
+     *
+     * @param actor
+     * @param source
+     */
+    protected BrickedTexture3dSupport(final AbstractActor actor, final VolumeBrickSource source) {
+        super(actor, source.getType(), null);
+        this.source = source;
+        brickSlots = new int[source.getBrickCount()];
+        Arrays.fill(brickSlots, -1);
+        order = new int[brickSlots.length];
+        depths = new double[brickSlots.length];
+        brickShapes = new Volume3D[brickSlots.length];
+    }
+
+    /**
+     * Constructor
+     *
+     * @param actor  The actor that owns this texture support object.
+     * @param source The source of the volume bricks
+     *
+     * @return the new support object
+     *
+     * @throws NullPointerException if the actor or source is null
+     */
+    public static BrickedTexture3dSupport newInstance(final AbstractActor actor, final VolumeBrickSource source) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+        final BrickedTexture3dSupport instance = new BrickedTexture3dSupport(actor, source);
+        actor.add(instance);
+        return instance;
+    }
+
+    /**
+     * @return the source of the volume bricks
+     */
+    public VolumeBrickSource getSource() {
+        return source;
+    }
+
+    /**
+     * @return the number of bytes used by the texture cache
+     */
+    public long getMemoryCap() {
+        synchronized (this) {
+            return memoryCap;
+        }
+    }
+
+    /**
+     * The cache always holds at least one brick and is also limited by the
+     * maximum 3d texture size of the device.
+     *
+     * @param memoryCap the number of bytes used by the texture cache
+     *
+     * @return this instance
+     *
+     * @throws IllegalArgumentException if memoryCap is less than one
+     */
+    public BrickedTexture3dSupport setMemoryCap(final long memoryCap) {
+        if (memoryCap < 1L) {
+            throw new IllegalArgumentException("memoryCap");
+        }
+        final long old;
+        synchronized (this) {
+            old = this.memoryCap;
+            this.memoryCap = memoryCap;
+        }
+        if (old != memoryCap) {
+            UninitializeTask.schedule(getScene(), this);
+        }
+        getPropertyChangeSupport().firePropertyChange(MEMORY_CAP, old, memoryCap);
+        return this;
+    }
+
+    /**
+     * @return the number of bricks uploaded each frame
+     */
+    public int getUploadBudget() {
+        synchronized (this) {
+            return uploadBudget;
+        }
+    }
+
+    /**
+     * Bricks that are not uploaded are requested again in the next frame.
+     *
+     * @param uploadBudget the number of bricks uploaded each frame
+     *
+     * @return this instance
+     *
+     * @throws IllegalArgumentException if uploadBudget is less than one
+     */
+    public BrickedTexture3dSupport setUploadBudget(final int uploadBudget) {
+        if (uploadBudget < 1) {
+            throw new IllegalArgumentException("uploadBudget");
+        }
+        final int old;
+        synchronized (this) {
+            old = this.uploadBudget;
+            this.uploadBudget = uploadBudget;
+        }
+        getPropertyChangeSupport().firePropertyChange(UPLOAD_BUDGET, old, uploadBudget);
+        return this;
+    }
+
+    /**
+     * @return the value from 0 to 255 that a brick maximum must exceed to be
+     *         drawn
+     */
+    public int getThreshold() {
+        synchronized (this) {
+            return threshold;
+        }
+    }
+
+    /**
+     * Bricks with a maximum value at or below the threshold are never read or
+     * drawn.
+     *
+     * @param threshold the value from 0 to 255 that a brick maximum must exceed
+     *                  to be drawn
+     *
+     * @return this instance
+     *
+     * @throws IllegalArgumentException if threshold is out of range
+     */
+    public BrickedTexture3dSupport setThreshold(final int threshold) {
+        if (threshold < 0 || threshold > 255) {
+            throw new IllegalArgumentException("threshold");
+        }
+        final int old;
+        synchronized (this) {
+            old = this.threshold;
+            this.threshold = threshold;
+        }
+        getScene().draw(getDrawingPass());
+        getPropertyChangeSupport().firePropertyChange(THRESHOLD, old, threshold);
+        return this;
+    }
+
+    /**
+     * @return the number of bricks resident in the texture cache
+     */
+    public int getResidentCount() {
+        synchronized (this) {
+            return residentCount;
+        }
+    }
+
+    /**
+     * @return the number of bricks that fit in the texture cache
+     */
+    public int getCacheCapacity() {
+        synchronized (this) {
+            return slotBricks.length;
+        }
+    }
+
+    @Override
+    public boolean isCameraDependent() {
+        // the bricks are culled and ordered for the camera
+        return true;
+    }
+
+    @Override
+    public void draw(final GL2 gl, final GLUgl2 glu, final Camera camera) {
+        drawState.clearValues();
+        final int target;
+        synchronized (this) {
+            if (id[0] == -1) {
+                return;
+            }
+            target = id[0];
+        }
+        gl.glPushAttrib(GL2.GL_ENABLE_BIT | GL2.GL_CURRENT_BIT | GL2.GL_TEXTURE_BIT);
+        drawState.setAttrib();
+        gl.glEnable(GL2ES2.GL_TEXTURE_3D);
+        gl.glBindTexture(GL2ES2.GL_TEXTURE_3D, target);
+        gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
+        gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
+        gl.glTexEnvf(GL2ES1.GL_TEXTURE_ENV, GL2ES1.GL_TEXTURE_ENV_MODE, GL2ES1.GL_MODULATE);
+    }
+
+    /**
+     * Draw the visible bricks of the volume through the shape renderer for the
+     * volume. Missing bricks are uploaded within the upload budget and another
+     * frame is requested until all of the visible bricks are resident. This
+     * must be called while this texture is bound and with the offset of the
+     * volume already applied to the modelview.
+     *
+     * @param gl       reference to the gl
+     * @param camera   the camera that is drawing
+     * @param volume   the volume shape
+     * @param offset   the offset of the volume from the origin of the actor
+     * @param renderer the shape renderer for the volume
+     *
+     * @return the number of vertices drawn
+     */
+    public int drawShape(final GL2 gl, final Camera camera, final Volume3D volume, final Point2D offset, final ShapeRenderer renderer) {
+        final int budget;
+        final int threshold;
+        synchronized (this) {
+            if (id[0] == -1) {
+                return 0;
+            }
+            budget = uploadBudget;
+            threshold = this.threshold;
+        }
+        frame++;
+        if (!volume.equals(brickVolume)) {
+            // the slices of each brick depend on the size of the volume
+            Arrays.fill(brickShapes, null);
+            brickVolume = volume;
+        }
+        // find the visible bricks and their eye space depth from the transforms
+        final boolean culling = findModel(offset) && getDrawingPass().containsDrawingPass(DrawingPass.SCENE);
+        final boolean perspective = getDrawingPass().containsDrawingPass(DrawingPass.SCENE);
+        final Frustum frustum = camera.getFrustum();
+        final Vector3D location = camera.getLocation();
+        final Vector3D look = camera.getLook();
+        final double scale = Math.max(Math.sqrt(model[0] * model[0] + model[4] * model[4] + model[8] * model[8]),
+                                      Math.max(Math.sqrt(model[1] * model[1] + model[5] * model[5] + model[9] * model[9]),
+                                               Math.sqrt(model[2] * model[2] + model[6] * model[6] + model[10] * model[10])));
+        final int count = source.getBrickCount();
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (source.getMaximum(i) <= threshold) {
+                continue;
+            }
+            findBox(i, box);
+            final double x = (box[0] + box[1]) * 0.5;
+            final double y = (box[2] + box[3]) * 0.5;
+            final double z = (box[4] + box[5]) * 0.5;
+            final double wx = model[0] * x + model[1] * y + model[2] * z + model[3];
+            final double wy = model[4] * x + model[5] * y + model[6] * z + model[7];
+            final double wz = model[8] * x + model[9] * y + model[10] * z + model[11];
+            if (culling) {
+                final double width = box[1] - box[0];
+                final double height = box[3] - box[2];
+                final double depth = box[5] - box[4];
+                if (!frustum.contains(wx, wy, wz, 0.5 * scale * Math.sqrt(width * width + height * height + depth * depth))) {
+                    continue;
+                }
+            }
+            // eye space z is negative in front of the camera
+            depths[i] = perspective
+                        ? -((wx - location.getX()) * look.getX() + (wy - location.getY()) * look.getY() + (wz - location.getZ()) * look.getZ())
+                        : wz;
+            order[size++] = i;
+        }
+        // back to front
+        sort(order, size, depths);
+        // upload the missing bricks that are nearest to the camera first
+        boolean missing = false;
+        int uploaded = 0;
+        gl.glPushClientAttrib(GL2.GL_CLIENT_PIXEL_STORE_BIT);
+        gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 1);
+        for (int i = size - 1; i >= 0; i--) {
+            final int brick = order[i];
+            if (brickSlots[brick] != -1) {
+                slotFrames[brickSlots[brick]] = frame;
+                continue;
+            }
+            if (uploaded >= budget) {
+                missing = true;
+                continue;
+            }
+            final int slot = findSlot();
+            if (slot == -1) {
+                // the cache is full of bricks drawn in this frame
+                break;
+            }
+            upload(gl, brick, slot);
+            uploaded++;
+        }
+        gl.glPopClientAttrib();
+        if (missing) {
+            getScene().draw(getDrawingPass());
+        }
+        // draw the resident bricks from back to front
+        final int brickSize = source.getBrickSize();
+        final double cx = slotsX * brickSize;
+        final double cy = slotsY * brickSize;
+        final double cz = slotsZ * brickSize;
+        int v = 0;
+        for (int i = 0; i < size; i++) {
+            final int brick = order[i];
+            final int slot = brickSlots[brick];
+            if (slot == -1) {
+                continue;
+            }
+            findBox(brick, box);
+            final int lx = source.getLength(source.getBrickX(brick), source.getWidth());
+            final int ly = source.getLength(source.getBrickY(brick), source.getHeight());
+            final int lz = source.getLength(source.getBrickZ(brick), source.getDepth());
+            final int sx = slot % slotsX;
+            final int sy = (slot / slotsX) % slotsY;
+            final int sz = slot / (slotsX * slotsY);
+            final double width = box[1] - box[0];
+            final double height = box[3] - box[2];
+            final double depth = box[5] - box[4];
+            if (brickShapes[brick] == null) {
+                brickShapes[brick] = new Volume3D(volume.getWidth() * width, volume.getHeight() * height, volume.getDepth() * depth, volume.getSlices());
+            }
+            // map the unit texture coordinates to the voxel centers of the slot
+            gl.glMatrixMode(GL.GL_TEXTURE);
+            gl.glPushMatrix();
+            gl.glLoadIdentity();
+            gl.glTranslated((sx * brickSize + 0.5) / cx, (sy * brickSize + 0.5) / cy, (sz * brickSize + 0.5) / cz);
+            gl.glScaled((lx - 1) / cx, (ly - 1) / cy, (lz - 1) / cz);
+            gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+            gl.glPushMatrix();
+            gl.glTranslated((box[0] + box[1]) * 0.5, (box[2] + box[3]) * 0.5, (box[4] + box[5]) * 0.5);
+            gl.glScaled(width, height, depth);
+            if (renderer instanceof RayMarchVolume3DRenderer) {
+                // the occupancy grid of the whole volume doesn't apply to a brick
+                v += ((RayMarchVolume3DRenderer) renderer).drawShape(gl, brickShapes[brick], getType(), null);
+            } else {
+                v += renderer.drawShape(gl, brickShapes[brick]);
+            }
+            gl.glPopMatrix();
+            gl.glMatrixMode(GL.GL_TEXTURE);
+            gl.glPopMatrix();
+            gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+        }
+        return v;
+    }
+
+    @Override
+    public void initialize(final GL2 gl, final GLUgl2 glu) {
+        unInitialize(gl, glu);
+        int textureObject;
+        synchronized (this) {
+            if (isDisposed()) {
+                return;
+            }
+            if (getActor().getScene().getExtended().getSceneBuilder().isVerbose()) {
+                logger.log(Level.INFO, String.format("Creating the texture cache for %s.", source));
+            }
+            // size the cache from the memory cap and the device limits
+            final int[] max = new int[1];
+            gl.glGetIntegerv(GL2ES2.GL_MAX_3D_TEXTURE_SIZE, max, 0);
+            final int brickSize = source.getBrickSize();
+            final int axis = Math.max(1, max[0] / brickSize);
+            final long capacity = Math.max(1L, Math.min(source.getBrickCount(), memoryCap / source.getBrickBytes()));
+            slotsX = (int) Math.min(axis, Math.max(1L, (long) Math.cbrt(capacity)));
+            slotsY = (int) Math.min(axis, Math.max(1L, (long) Math.sqrt((double) capacity / slotsX)));
+            slotsZ = (int) Math.min(axis, Math.max(1L, capacity / ((long) slotsX * slotsY)));
+            slotBricks = new int[slotsX * slotsY * slotsZ];
+            slotFrames = new long[slotBricks.length];
+            Arrays.fill(slotBricks, -1);
+            Arrays.fill(brickSlots, -1);
+            residentCount = 0;
+            staging = ByteBuffer.allocateDirect(source.getBrickBytes());
+            // create the texture id and bind it
+            gl.glPushAttrib(GL2.GL_ENABLE_BIT | GL2.GL_CURRENT_BIT | GL2.GL_TEXTURE_BIT);
+            gl.glEnable(GL2ES2.GL_TEXTURE_3D);
+            gl.glGenTextures(1, id, 0);
+            gl.glBindTexture(GL2ES2.GL_TEXTURE_3D, id[0]);
+            textureObject = id[0];
+            gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
+            gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
+            gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL.GL_TEXTURE_WRAP_S, GL2.GL_CLAMP);
+            gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL.GL_TEXTURE_WRAP_T, GL2.GL_CLAMP);
+            gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL2ES2.GL_TEXTURE_WRAP_R, GL2.GL_CLAMP);
+            final int format = getFormat();
+            gl.glTexImage3D(GL2ES2.GL_TEXTURE_3D, 0, format, slotsX * brickSize, slotsY * brickSize, slotsZ * brickSize, 0, format, GL.GL_UNSIGNED_BYTE,
+                            null);
+            gl.glPopAttrib();
+        }
+        // notify the listeners
+        if (textureObject > -1) {
+            for (final TextureSupportListener listener : getListeners()) {
+                listener.textureLoaded(this);
+            }
+        } else {
+            for (final TextureSupportListener listener : getListeners()) {
+                listener.textureError(this);
+            }
+        }
+        getPropertyChangeSupport().firePropertyChange(TEXTURE, -1, textureObject);
+    }
+
+    @Override
+    public boolean isInitialized() {
+        synchronized (this) {
+            return id[0] != -1;
+        }
+    }
+
+    @Override
+    public void unInitialize(final GL2 gl, final GLUgl2 glu) {
+        int textureObject;
+        synchronized (this) {
+            if (id[0] == -1) {
+                return;
+            }
+            if (getActor().getScene().getExtended().getSceneBuilder().isVerbose()) {
+                logger.log(Level.INFO, String.format("Unloading the texture cache for %s.", source));
+            }
+            gl.glDeleteTextures(1, id, 0);
+            textureObject = id[0];
+            id[0] = -1;
+            Arrays.fill(brickSlots, -1);
+            slotBricks = new int[0];
+            slotFrames = new long[0];
+            residentCount = 0;
+            staging = null;
+        }
+        // notify the listeners
+        for (final TextureSupportListener listener : getListeners()) {
+            listener.textureUnloaded(this);
+        }
+        getPropertyChangeSupport().firePropertyChange(TEXTURE, textureObject, -1);
+    }
+
+    private int getFormat() {
+        switch (getType()) {
+            case ALPHA:
+                return GL.GL_ALPHA;
+            case RGB:
+                return GL.GL_RGB;
+            default:
+                return GL.GL_RGBA;
+        }
+    }
+
+    private int findSlot() {
+        int slot = -1;
+        for (int i = 0; i < slotBricks.length; i++) {
+            if (slotBricks[i] == -1) {
+                return i;
+            }
+            if (slotFrames[i] != frame && (slot == -1 || slotFrames[i] < slotFrames[slot])) {
+                slot = i;
+            }
+        }
+        return slot;
+    }
+
+    private void upload(final GL2 gl, final int brick, final int slot) {
+        final int brickSize = source.getBrickSize();
+        staging.clear();
+        source.readBrick(brick, staging);
+        staging.flip();
+        gl.glTexSubImage3D(GL2ES2.GL_TEXTURE_3D, 0,
+                           (slot % slotsX) * brickSize, ((slot / slotsX) % slotsY) * brickSize, (slot / (slotsX * slotsY)) * brickSize,
+                           brickSize, brickSize, brickSize, getFormat(), GL.GL_UNSIGNED_BYTE, staging);
+        synchronized (this) {
+            if (slotBricks[slot] != -1) {
+                brickSlots[slotBricks[slot]] = -1;
+            } else {
+                residentCount++;
+            }
+            slotBricks[slot] = brick;
+            slotFrames[slot] = frame;
+            brickSlots[brick] = slot;
+        }
+    }
+
+    /**
+     * Find the bounds of the brick in the unit cube drawn for the volume.
+     * Texture coordinates in the unit cube are (x + 0.5, 0.5 - y, 0.5 - z) and
+     * the brick spans the centers of its first and last voxels.
+     */
+    private void findBox(final int brick, final double[] box) {
+        bounds(source.getBrickX(brick), source.getWidth(), box, 0);
+        bounds(source.getBrickY(brick), source.getHeight(), box, 2);
+        bounds(source.getBrickZ(brick), source.getDepth(), box, 4);
+        // flip y and z
+        for (int i = 2; i < 6; i += 2) {
+            final double min = -box[i + 1];
+            box[i + 1] = -box[i];
+            box[i] = min;
+        }
+    }
+
+    private void bounds(final int coordinate, final int size, final double[] box, final int offset) {
+        final int origin = source.getOrigin(coordinate);
+        final int length = source.getLength(coordinate, size);
+        box[offset] = (origin + 0.5) / size - 0.5;
+        box[offset + 1] = (origin + length - 0.5) / size - 0.5;
+    }
+
+    /**
+     * Find the transformation from the unit cube of the volume to the scene
+     * from the transform supports of the actor and its parents, in the same
+     * order that they are pushed while drawing.
+     *
+     * @return false if a transform in the chain is adjusted while drawing, in
+     *         which case the model is only good enough to order the bricks
+     */
+    private boolean findModel(final Point2D offset) {
+        Arrays.fill(model, 0.0);
+        model[0] = 1.0;
+        model[5] = 1.0;
+        model[10] = 1.0;
+        model[3] = offset.getX();
+        model[7] = offset.getY();
+        boolean exact = true;
+        Actor actor = getActor();
+        while (actor != null) {
+            final TransformSupport transform = actor.lookup(TransformSupport.class);
+            if (transform != null) {
+                exact &= transform.getClass() == TransformSupport.class || transform.getClass() == MatrixTransformSupport.class;
+                transform(transform.getTranslation(), transform.getRotation(), transform.getRotationAxis(), transform.getScale());
+            }
+            final ParentSupport parent = actor.lookup(ParentSupport.class);
+            actor = parent != null ? parent.getParent() : null;
+        }
+        return exact;
+    }
+
+    /**
+     * Apply a translation, rotation in degrees, and scale before the current
+     * model like glTranslated, glRotated, and glScaled.
+     */
+    private void transform(final Vector3D translation, final double rotation, final Vector3D axis, final Vector3D scale) {
+        final double length = axis.getNorm();
+        final double x = length > 0.0 ? axis.getX() / length : 0.0;
+        final double y = length > 0.0 ? axis.getY() / length : 0.0;
+        final double z = length > 0.0 ? axis.getZ() / length : 0.0;
+        final double c = length > 0.0 ? Math.cos(Math.toRadians(rotation)) : 1.0;
+        final double s = length > 0.0 ? Math.sin(Math.toRadians(rotation)) : 0.0;
+        final double t = 1.0 - c;
+        // rotation times scale
+        temp[0] = (x * x * t + c) * scale.getX();
+        temp[1] = (x * y * t - z * s) * scale.getY();
+        temp[2] = (x * z * t + y * s) * scale.getZ();
+        temp[3] = translation.getX();
+        temp[4] = (y * x * t + z * s) * scale.getX();
+        temp[5] = (y * y * t + c) * scale.getY();
+        temp[6] = (y * z * t - x * s) * scale.getZ();
+        temp[7] = translation.getY();
+        temp[8] = (z * x * t - y * s) * scale.getX();
+        temp[9] = (z * y * t + x * s) * scale.getY();
+        temp[10] = (z * z * t + c) * scale.getZ();
+        temp[11] = translation.getZ();
+        for (int c0 = 0; c0 < 4; c0++) {
+            final double m0 = model[c0];
+            final double m1 = model[4 + c0];
+            final double m2 = model[8 + c0];
+            for (int r = 0; r < 3; r++) {
+                model[r * 4 + c0] = temp[r * 4] * m0 + temp[r * 4 + 1] * m1 + temp[r * 4 + 2] * m2 + (c0 == 3 ? temp[r * 4 + 3] : 0.0);
+            }
+        }
+    }
+
+    /**
+     * Heap sort the first size entries of the order by ascending key.
+     */
+    private static void sort(final int[] order, final int size, final double[] keys) {
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            sift(order, i, size, keys);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            final int swap = order[0];
+            order[0] = order[end];
+            order[end] = swap;
+            sift(order, 0, end, keys);
+        }
+    }
+
+    private static void sift(final int[] order, final int start, final int size, final double[] keys) {
+        int root = start;
+        while (true) {
+            int child = root * 2 + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && keys[order[child + 1]] > keys[order[child]]) {
+                child++;
+            }
+            if (keys[order[root]] >= keys[order[child]]) {
+                return;
+            }
+            final int swap = order[root];
+            order[root] = order[child];
+            order[child] = swap;
+            root = child;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.jogamp.opengl.glu.gl2.GLUgl2;
 import com.jogamp.opengl.util.texture.Texture;
 import com.jogamp.opengl.util.texture.TextureIO;
 import gov.pnnl.svf.actor.Actor;
+import gov.pnnl.svf.camera.Camera;
 import gov.pnnl.svf.core.texture.TextureType;
 import java.io.IOException;
 import java.net.URL;
@@ -26,6 +27,8 @@ class MultiTexture2dUrlSupport extends MultiTexture2dSupport {
 
     private static final Logger logger = Logger.getLogger(MultiTexture2dUrlSupport.class.toString());
     private final List<URL> urls = new ArrayList<>();
+    private final List<TextureManager.Reference> references = new ArrayList<>();
+    private TextureManager manager;
 
     MultiTexture2dUrlSupport(final Actor actor, final TextureType type, final List<URL> urls) {
         super(actor, type);
@@ -35,10 +38,17 @@ class MultiTexture2dUrlSupport extends MultiTexture2dSupport {
     }
 
     /**
-     * Loads the PNG image from file as a texture.
+     * Loads the PNG image from file as a texture. The images are decoded in the
+     * background and shared with other actors when the scene has a texture
+     * manager.
      */
     @Override
     public void initialize(final GL2 gl, final GLUgl2 glu) {
+        final TextureManager manager = getScene().lookup(TextureManager.class);
+        if (manager != null) {
+            initialize(gl, manager);
+            return;
+        }
         unInitialize(gl, glu);
         int textureObject = -1;
         synchronized (this) {
@@ -65,6 +75,87 @@ class MultiTexture2dUrlSupport extends MultiTexture2dSupport {
                 urls.clear();
             }
         }
+        fireInitialized(textureObject);
+    }
+
+    /**
+     * Acquire the textures from the texture manager. The support stays
+     * uninitialized until every texture has been decoded and uploaded.
+     */
+    private void initialize(final GL2 gl, final TextureManager manager) {
+        int textureObject = -1;
+        synchronized (this) {
+            if (isDisposed() || urls.isEmpty()) {
+                return;
+            }
+            if (this.manager != manager || isEvicted()) {
+                release();
+            }
+            if (references.isEmpty()) {
+                this.manager = manager;
+                for (final URL url : urls) {
+                    if (getActor().getScene().getExtended().getSceneBuilder().isVerbose()) {
+                        logger.log(Level.INFO, String.format("Loading the texture from URL %s.", url.getPath()));
+                    }
+                    references.add(manager.acquire(url));
+                }
+            }
+            boolean failed = false;
+            boolean loading = false;
+            for (final TextureManager.Reference reference : references) {
+                if (reference.isFailed()) {
+                    failed = true;
+                } else if (reference.getTexture() == null) {
+                    loading = true;
+                }
+            }
+            if (failed) {
+                logger.log(Level.WARNING, "{0}: Unable to load the textures.", getScene());
+                release();
+                urls.clear();
+            } else if (loading) {
+                return;
+            } else {
+                textures.clear();
+                for (final TextureManager.Reference reference : references) {
+                    final Texture texture = reference.getTexture();
+                    textures.add(texture);
+                    textureObject = texture.getTextureObject(gl);
+                }
+            }
+        }
+        fireInitialized(textureObject);
+    }
+
+    /**
+     * Must be called while synchronized on this support.
+     *
+     * @return true if any of the shared textures were destroyed by the texture
+     *         manager
+     */
+    private boolean isEvicted() {
+        for (int i = 0; i < references.size(); i++) {
+            if (references.get(i).isEvicted()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Release the shared textures. Must be called while synchronized on this
+     * support.
+     */
+    private void release() {
+        for (final TextureManager.Reference reference : references) {
+            manager.release(reference);
+        }
+        references.clear();
+        textures.clear();
+        manager = null;
+    }
+
+    private void fireInitialized(final int textureObject) {
         // notify the listeners
         if (textureObject > -1) {
             for (final TextureSupportListener listener : getListeners()) {
@@ -79,15 +170,28 @@ class MultiTexture2dUrlSupport extends MultiTexture2dSupport {
     }
 
     /**
-     * true if the texture has been loaded
+     * true if the texture has been loaded. Shared textures that were destroyed
+     * by the texture manager need to be loaded again.
      */
     @Override
     public boolean isInitialized() {
         synchronized (this) {
-            return !textures.isEmpty() || urls.isEmpty();
+            return (!textures.isEmpty() && !isEvicted()) || urls.isEmpty();
         }
     }
 
+    @Override
+    public void draw(final GL2 gl, final GLUgl2 glu, final Camera camera) {
+        synchronized (this) {
+            if (isEvicted()) {
+                // don't bind a destroyed texture
+                drawState.clearValues();
+                return;
+            }
+        }
+        super.draw(gl, glu, camera);
+    }
+
     @Override
     public MultiTexture2dUrlSupport nextIndex() {
         super.nextIndex();
@@ -98,16 +202,25 @@ class MultiTexture2dUrlSupport extends MultiTexture2dSupport {
     public void unInitialize(final GL2 gl, final GLUgl2 glu) {
         final int textureObject = -1;
         synchronized (this) {
-            if (isDisposed() || textures.isEmpty()) {
-                return;
-            }
-            for (int i = 0; i < textures.size(); i++) {
-                if (urls.get(i) != null && getActor().getScene().getExtended().getSceneBuilder().isVerbose()) {
-                    logger.log(Level.INFO, String.format("Unloading the texture %s.", urls.get(i)));
+            if (!references.isEmpty()) {
+                // shared textures are destroyed by the texture manager
+                final boolean loaded = !textures.isEmpty();
+                release();
+                if (!loaded) {
+                    return;
+                }
+            } else {
+                if (isDisposed() || textures.isEmpty()) {
+                    return;
                 }
-                textures.get(i).destroy(gl);
+                for (int i = 0; i < textures.size(); i++) {
+                    if (urls.get(i) != null && getActor().getScene().getExtended().getSceneBuilder().isVerbose()) {
+                        logger.log(Level.INFO, String.format("Unloading the texture %s.", urls.get(i)));
+                    }
+                    textures.get(i).destroy(gl);
+                }
+                textures.clear();
             }
-            textures.clear();
         }
         // notify the listeners
         for (final TextureSupportListener listener : getListeners()) {
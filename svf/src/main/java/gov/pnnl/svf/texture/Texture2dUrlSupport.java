@@ -30,6 +30,8 @@ class Texture2dUrlSupport extends Texture2dSupport {
     private static final Logger logger = Logger.getLogger(Texture2dUrlSupport.class.toString());
     private URL url;
     private Texture texture;
+    private TextureManager manager;
+    private TextureManager.Reference reference;
 
     /**
      * Constructor protected to prevent 'this' reference from escaping during
@@ -54,7 +56,7 @@ class Texture2dUrlSupport extends Texture2dSupport {
         final int target;
         final boolean flip;
         synchronized (this) {
-            if (texture == null) {
+            if (texture == null || isEvicted()) {
                 return;
             }
             target = texture.getTextureObject(gl);
@@ -96,7 +98,7 @@ class Texture2dUrlSupport extends Texture2dSupport {
     @Override
     public int getHeight() {
         synchronized (this) {
-            if (texture != null) {
+            if (texture != null && !isEvicted()) {
                 return texture.getHeight();
             }
         }
@@ -106,7 +108,7 @@ class Texture2dUrlSupport extends Texture2dSupport {
     @Override
     public int getTexture() {
         synchronized (this) {
-            if (texture != null) {
+            if (texture != null && !isEvicted()) {
                 return texture.getTextureObject(null);
             }
         }
@@ -116,7 +118,7 @@ class Texture2dUrlSupport extends Texture2dSupport {
     @Override
     public int getWidth() {
         synchronized (this) {
-            if (texture != null) {
+            if (texture != null && !isEvicted()) {
                 return texture.getWidth();
             }
         }
@@ -124,10 +126,17 @@ class Texture2dUrlSupport extends Texture2dSupport {
     }
 
     /**
-     * Loads the PNG image from file as a texture.
+     * Loads the PNG image from file as a texture. The image is decoded in the
+     * background and shared with other actors when the scene has a texture
+     * manager.
      */
     @Override
     public void initialize(final GL2 gl, final GLUgl2 glu) {
+        final TextureManager manager = getScene().lookup(TextureManager.class);
+        if (manager != null) {
+            initialize(gl, manager);
+            return;
+        }
         unInitialize(gl, glu);
         int textureObject = -1;
         synchronized (this) {
@@ -171,6 +180,49 @@ class Texture2dUrlSupport extends Texture2dSupport {
                 url = null;
             }
         }
+        fireInitialized(textureObject);
+    }
+
+    /**
+     * Acquire the texture from the texture manager. The support stays
+     * uninitialized until the texture has been decoded and uploaded.
+     */
+    private void initialize(final GL2 gl, final TextureManager manager) {
+        final int textureObject;
+        synchronized (this) {
+            if (isDisposed() || url == null) {
+                return;
+            }
+            if (reference != null && (reference.isEvicted() || this.manager != manager)) {
+                this.manager.release(reference);
+                reference = null;
+            }
+            if (reference == null) {
+                if (getActor().getScene().getExtended().getSceneBuilder().isVerbose()) {
+                    logger.log(Level.INFO, String.format("Loading the texture %s.", url.getPath()));
+                }
+                this.manager = manager;
+                reference = manager.acquire(url);
+            }
+            if (reference.isFailed()) {
+                logger.log(Level.WARNING, "{0}: Unable to load the texture {1}.", new Object[]{getScene(), url});
+                manager.release(reference);
+                reference = null;
+                url = null;
+                textureObject = -1;
+            } else {
+                texture = reference.getTexture();
+                if (texture == null) {
+                    // still loading
+                    return;
+                }
+                textureObject = texture.getTextureObject(gl);
+            }
+        }
+        fireInitialized(textureObject);
+    }
+
+    private void fireInitialized(final int textureObject) {
         // notify the listeners
         if (textureObject > -1) {
             for (final TextureSupportListener listener : getListeners()) {
@@ -185,15 +237,25 @@ class Texture2dUrlSupport extends Texture2dSupport {
     }
 
     /**
-     * Checks whether the texture has been loaded.
+     * Checks whether the texture has been loaded. A shared texture that was
+     * destroyed by the texture manager needs to be loaded again.
      */
     @Override
     public boolean isInitialized() {
         synchronized (this) {
-            return (texture != null) || (url == null);
+            return (texture != null && !isEvicted()) || (url == null);
         }
     }
 
+    /**
+     * Must be called while synchronized on this support.
+     *
+     * @return true if the shared texture was destroyed by the texture manager
+     */
+    private boolean isEvicted() {
+        return reference != null && reference.isEvicted();
+    }
+
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
@@ -212,18 +274,30 @@ class Texture2dUrlSupport extends Texture2dSupport {
     public void unInitialize(final GL2 gl, final GLUgl2 glu) {
         int textureObject;
         synchronized (this) {
-            if (isDisposed() || texture == null) {
-                return;
-            }
-            if (url != null && getActor().getScene().getExtended().getSceneBuilder().isVerbose()) {
-                logger.log(Level.INFO, String.format("Unloading the texture %s.", url));
+            if (reference != null) {
+                // shared textures are destroyed by the texture manager
+                manager.release(reference);
+                reference = null;
+                manager = null;
+                if (texture == null) {
+                    return;
+                }
+                textureObject = texture.getTextureObject(gl);
+                texture = null;
+            } else {
+                if (isDisposed() || texture == null) {
+                    return;
+                }
+                if (url != null && getActor().getScene().getExtended().getSceneBuilder().isVerbose()) {
+                    logger.log(Level.INFO, String.format("Unloading the texture %s.", url));
+                }
+                // destroying the texture when using a texture map destroys
+                // unintended textures that are also in the
+                // same map
+                textureObject = texture.getTextureObject(gl);
+                texture.destroy(gl);
+                texture = null;
             }
-            // destroying the texture when using a texture map destroys
-            // unintended textures that are also in the
-            // same map
-            textureObject = texture.getTextureObject(gl);
-            texture.destroy(gl);
-            texture = null;
         }
         // notify the listeners
         for (final TextureSupportListener listener : getListeners()) {
@@ -0,0 +1,578 @@
+package gov.pnnl.svf.texture;
+
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.glu.gl2.GLUgl2;
+import com.jogamp.opengl.util.texture.Texture;
+import com.jogamp.opengl.util.texture.TextureData;
+import com.jogamp.opengl.util.texture.TextureIO;
+import gov.pnnl.svf.core.util.NamedThreadFactory;
+import gov.pnnl.svf.scene.Disposable;
+import gov.pnnl.svf.scene.DrawingPass;
+import gov.pnnl.svf.scene.Initializable;
+import gov.pnnl.svf.scene.Scene;
+import gov.pnnl.svf.update.UninitializeTask;
+import gov.pnnl.svf.util.TextureUtil;
+import java.net.URL;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * Shared cache of textures for a scene. Images are decoded into texture data
+ * on a pool of worker threads and the decoded data is uploaded to the GL
+ * during scene initialization, limited to a number of bytes per frame so large
+ * images don't stall the render thread.
+ * <p>
+ * Textures are reference counted by key, which is the URL for images loaded
+ * from a URL or a content key supplied by the caller, so actors that use the
+ * same image share one texture. Textures that are no longer referenced stay
+ * resident until the total estimated size of the resident textures exceeds the
+ * cap, at which point they are destroyed in least recently used order.
+ *
+ * @author Amelia Bleeker
+ */
+public class TextureManager implements Initializable, Disposable {
+
+    private static final Logger logger = Logger.getLogger(TextureManager.class.toString());
+    /**
+     * The default number of bytes that can be uploaded each frame.
+     */
+    public static final long DEFAULT_UPLOAD_BUDGET = 8L * 1024L * 1024L;
+    /**
+     * The default number of bytes of resident textures before unreferenced
+     * textures are evicted.
+     */
+    public static final long DEFAULT_MEMORY_CAP = 256L * 1024L * 1024L;
+    private final Scene scene;
+    private final ExecutorService executor;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Queue<Entry> decoded = new ArrayDeque<>();
+    private long uploadBudget = DEFAULT_UPLOAD_BUDGET;
+    private long memoryCap = DEFAULT_MEMORY_CAP;
+    private long residentBytes = 0L;
+    private boolean evict = false;
+    private boolean disposed = false;
+
+    /**
+     * Constructor
+     *
+     * @param scene   reference to the scene
+     * @param threads the number of decode threads
+     */
+    private TextureManager(final Scene scene, final int threads) {
+        this.scene = scene;
+        executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory(TextureManager.class, "Decode"));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param scene reference to the scene
+     *
+     * @return a new instance
+     */
+    public static TextureManager newInstance(final Scene scene) {
+        return newInstance(scene, Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param scene   reference to the scene
+     * @param threads the number of decode threads
+     *
+     * @return a new instance
+     *
+     * @throws NullPointerException     if scene is null
+     * @throws IllegalArgumentException if threads is less than one
+     */
+    public static TextureManager newInstance(final Scene scene, final int threads) {
+        if (scene == null) {
+            throw new NullPointerException("scene");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads");
+        }
+        final TextureManager instance = new TextureManager(scene, threads);
+        scene.add(instance);
+        return instance;
+    }
+
+    /**
+     * Acquire a reference to the texture for an image URL. The image is
+     * decoded in the background the first time it's acquired.
+     *
+     * @param url the image URL
+     *
+     * @return the reference which must be released when it's no longer used
+     *
+     * @throws NullPointerException if url is null
+     */
+    public Reference acquire(final URL url) {
+        if (url == null) {
+            throw new NullPointerException("url");
+        }
+        return acquire(url.toExternalForm(), new Callable<TextureData>() {
+            @Override
+            public TextureData call() throws Exception {
+                return TextureUtil.createTextureData(scene, url, false, FilenameUtils.getExtension(url.getPath()));
+            }
+        });
+    }
+
+    /**
+     * Acquire a reference to the texture for a key. The decoder is called on
+     * a worker thread the first time the key is acquired and should return
+     * null or throw an exception if the texture can't be created.
+     *
+     * @param key     the URL or content key for the texture
+     * @param decoder the decoder used to create the texture data
+     *
+     * @return the reference which must be released when it's no longer used
+     *
+     * @throws NullPointerException if key or decoder is null
+     */
+    public Reference acquire(final String key, final Callable<TextureData> decoder) {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        if (decoder == null) {
+            throw new NullPointerException("decoder");
+        }
+        final Entry entry;
+        final boolean decode;
+        synchronized (this) {
+            Entry existing = entries.get(key);
+            if (existing == null || existing.state == State.FAILED && existing.references == 0) {
+                existing = new Entry(key);
+                entries.put(key, existing);
+            }
+            entry = existing;
+            entry.references++;
+            decode = entry.state == State.NEW && !disposed;
+            if (decode) {
+                entry.state = State.DECODING;
+            }
+        }
+        if (decode) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    decode(entry, decoder);
+                }
+            });
+        }
+        return new Reference(this, entry);
+    }
+
+    /**
+     * Release a reference. Releasing a reference more than once does nothing.
+     *
+     * @param reference the reference to release
+     *
+     * @throws NullPointerException if reference is null
+     */
+    public void release(final Reference reference) {
+        if (reference == null) {
+            throw new NullPointerException("reference");
+        }
+        synchronized (this) {
+            if (reference.released) {
+                return;
+            }
+            reference.released = true;
+            final Entry entry = reference.entry;
+            entry.references--;
+            if (entry.references == 0) {
+                if (entry.state == State.FAILED) {
+                    entries.remove(entry.key, entry);
+                } else if (residentBytes > memoryCap) {
+                    evict = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes that can be uploaded each frame
+     */
+    public long getUploadBudget() {
+        synchronized (this) {
+            return uploadBudget;
+        }
+    }
+
+    /**
+     * At least one texture is uploaded each frame regardless of the budget.
+     *
+     * @param uploadBudget the number of bytes that can be uploaded each frame
+     *
+     * @return this instance
+     *
+     * @throws IllegalArgumentException if uploadBudget is less than one
+     */
+    public TextureManager setUploadBudget(final long uploadBudget) {
+        if (uploadBudget < 1L) {
+            throw new IllegalArgumentException("uploadBudget");
+        }
+        synchronized (this) {
+            this.uploadBudget = uploadBudget;
+        }
+        return this;
+    }
+
+    /**
+     * @return the number of bytes of resident textures before unreferenced
+     *         textures are evicted
+     */
+    public long getMemoryCap() {
+        synchronized (this) {
+            return memoryCap;
+        }
+    }
+
+    /**
+     * Textures that are referenced are never evicted so the resident size can
+     * exceed the cap.
+     *
+     * @param memoryCap the number of bytes of resident textures before
+     *                  unreferenced textures are evicted
+     *
+     * @return this instance
+     *
+     * @throws IllegalArgumentException if memoryCap is negative
+     */
+    public TextureManager setMemoryCap(final long memoryCap) {
+        if (memoryCap < 0L) {
+            throw new IllegalArgumentException("memoryCap");
+        }
+        synchronized (this) {
+            this.memoryCap = memoryCap;
+            evict = residentBytes > memoryCap;
+        }
+        scene.draw();
+        return this;
+    }
+
+    /**
+     * @return the estimated number of bytes of the resident textures
+     */
+    public long getResidentBytes() {
+        synchronized (this) {
+            return residentBytes;
+        }
+    }
+
+    /**
+     * @return the number of cached textures including ones still being
+     *         decoded or uploaded
+     */
+    public int getCachedCount() {
+        synchronized (this) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return the number of decoded textures waiting to be uploaded
+     */
+    public int getPendingCount() {
+        synchronized (this) {
+            return decoded.size();
+        }
+    }
+
+    @Override
+    public void initialize(final GL2 gl, final GLUgl2 glu) {
+        final long budget;
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            budget = uploadBudget;
+        }
+        // upload decoded textures within the budget
+        long uploaded = 0L;
+        while (uploaded < budget) {
+            final Entry entry;
+            final TextureData data;
+            synchronized (this) {
+                entry = decoded.poll();
+                if (entry == null) {
+                    break;
+                }
+                data = entry.data;
+                entry.data = null;
+            }
+            final long bytes = data.getEstimatedMemorySize();
+            Texture texture = null;
+            try {
+                texture = TextureIO.newTexture(data);
+            } catch (final RuntimeException ex) {
+                logger.log(Level.WARNING, MessageFormat.format("{0}: Unable to upload the texture {1}.", scene, entry.key), ex);
+            } finally {
+                data.flush();
+            }
+            synchronized (this) {
+                if (texture != null) {
+                    entry.texture = texture;
+                    entry.bytes = bytes;
+                    entry.state = State.RESIDENT;
+                    residentBytes += bytes;
+                    evict |= residentBytes > memoryCap;
+                } else {
+                    fail(entry);
+                }
+            }
+            uploaded += bytes;
+        }
+        // evict unreferenced textures in least recently used order
+        synchronized (this) {
+            if (!evict) {
+                return;
+            }
+            evict = false;
+            for (final Iterator<Entry> it = entries.values().iterator(); it.hasNext() && residentBytes > memoryCap;) {
+                final Entry entry = it.next();
+                if (entry.references == 0 && entry.state == State.RESIDENT) {
+                    if (scene.getExtended().getSceneBuilder().isVerbose()) {
+                        logger.log(Level.INFO, String.format("Evicting the texture %s.", entry.key));
+                    }
+                    entry.texture.destroy(gl);
+                    entry.texture = null;
+                    entry.state = State.EVICTED;
+                    entry.evicted = true;
+                    residentBytes -= entry.bytes;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isInitialized() {
+        synchronized (this) {
+            return disposed || decoded.isEmpty() && !evict;
+        }
+    }
+
+    @Override
+    public boolean isSlow() {
+        return false;
+    }
+
+    /**
+     * Destroys all of the resident textures. Textures that are still
+     * referenced are marked as evicted so the supports that use them acquire
+     * them again.
+     */
+    @Override
+    public void unInitialize(final GL2 gl, final GLUgl2 glu) {
+        boolean referenced = false;
+        synchronized (this) {
+            for (final Entry entry : entries.values()) {
+                if (entry.texture != null) {
+                    entry.texture.destroy(gl);
+                    entry.texture = null;
+                }
+                entry.data = null;
+                entry.state = State.EVICTED;
+                entry.evicted = true;
+                referenced |= entry.references > 0;
+            }
+            entries.clear();
+            decoded.clear();
+            residentBytes = 0L;
+            evict = false;
+        }
+        if (referenced) {
+            // the supports need to initialize again
+            scene.draw();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+        }
+        executor.shutdownNow();
+        UninitializeTask.schedule(scene, this);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        synchronized (this) {
+            return disposed;
+        }
+    }
+
+    @Override
+    public Scene getScene() {
+        return scene;
+    }
+
+    @Override
+    public DrawingPass getDrawingPass() {
+        return DrawingPass.ALL;
+    }
+
+    @Override
+    public boolean isVisible() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        synchronized (this) {
+            return "TextureManager{" + "cached=" + entries.size() + ", pending=" + decoded.size() + ", residentBytes=" + residentBytes
+                   + ", memoryCap=" + memoryCap + ", uploadBudget=" + uploadBudget + '}';
+        }
+    }
+
+    private void decode(final Entry entry, final Callable<TextureData> decoder) {
+        if (scene.getExtended().getSceneBuilder().isVerbose()) {
+            logger.log(Level.INFO, String.format("Decoding the texture %s.", entry.key));
+        }
+        TextureData data = null;
+        try {
+            data = decoder.call();
+        } catch (final Exception ex) {
+            logger.log(Level.WARNING, MessageFormat.format("{0}: Unable to decode the texture {1}.", scene, entry.key), ex);
+        }
+        synchronized (this) {
+            if (entry.state != State.DECODING) {
+                // evicted while decoding
+                return;
+            }
+            if (data != null) {
+                entry.data = data;
+                entry.state = State.DECODED;
+                decoded.add(entry);
+            } else {
+                fail(entry);
+            }
+        }
+        scene.draw();
+    }
+
+    private void fail(final Entry entry) {
+        entry.state = State.FAILED;
+        if (entry.references == 0) {
+            entries.remove(entry.key, entry);
+        }
+    }
+
+    /**
+     * The state of a cached texture.
+     */
+    private enum State {
+
+        NEW,
+        DECODING,
+        DECODED,
+        RESIDENT,
+        FAILED,
+        EVICTED;
+    }
+
+    /**
+     * Cached texture for a key. Fields are guarded by the manager.
+     */
+    private static class Entry {
+
+        private final String key;
+        private State state = State.NEW;
+        private int references = 0;
+        private TextureData data;
+        private Texture texture;
+        private long bytes = 0L;
+        // read by the supports while drawing without locking the manager
+        private volatile boolean evicted = false;
+
+        private Entry(final String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Reference to a texture held by a user of the manager.
+     */
+    public static class Reference {
+
+        private final TextureManager manager;
+        private final Entry entry;
+        private boolean released = false;
+
+        private Reference(final TextureManager manager, final Entry entry) {
+            this.manager = manager;
+            this.entry = entry;
+        }
+
+        /**
+         * @return the URL or content key for the texture
+         */
+        public String getKey() {
+            return entry.key;
+        }
+
+        /**
+         * The texture is only available once it's been uploaded and should
+         * only be used on the OpenGL active context thread.
+         *
+         * @return the texture or null if it isn't resident
+         */
+        public Texture getTexture() {
+            synchronized (manager) {
+                return !released ? entry.texture : null;
+            }
+        }
+
+        /**
+         * @return true if the texture couldn't be decoded or uploaded
+         */
+        public boolean isFailed() {
+            synchronized (manager) {
+                return entry.state == State.FAILED;
+            }
+        }
+
+        /**
+         * The texture was destroyed while it was still referenced, which only
+         * happens when the manager is un-initialized. The reference should be
+         * released and acquired again. This method doesn't lock so it can be
+         * checked while drawing.
+         *
+         * @return true if the texture was evicted
+         */
+        public boolean isEvicted() {
+            return entry.evicted;
+        }
+
+        /**
+         * @return true if this reference has been released
+         */
+        public boolean isReleased() {
+            synchronized (manager) {
+                return released;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Reference{" + "key=" + entry.key + '}';
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package gov.pnnl.svf.texture;
+
+import gov.pnnl.svf.core.texture.TextureType;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Source of volume data that is read directly from a raw volume file in fixed
+ * size bricks. The file is memory mapped so only the pages of the bricks that
+ * are read are brought into memory. Voxels are stored in x, then y, then z
+ * order starting at an optional header offset.
+ * <p>
+ * Neighboring bricks share one layer of voxels so each brick can be filtered
+ * without seams. Bricks on the far edges of the volume may be smaller than the
+ * brick size and the remaining voxels are filled by repeating the edge voxels.
+ * The minimum and maximum value of every brick is computed when the source is
+ * created so empty bricks can be skipped without reading them again. The
+ * value of a voxel is its alpha component for ALPHA and RGBA volumes and its
+ * largest color component for RGB volumes.
+ *
+ * @author Amelia Bleeker
+ */
+public class VolumeBrickSource {
+
+    /**
+     * The default width, height, and depth of a brick.
+     */
+    public static final int DEFAULT_BRICK_SIZE = 64;
+    private final TextureType type;
+    private final int width;
+    private final int height;
+    private final int depth;
+    private final int brickSize;
+    private final int bytesPerVoxel;
+    private final int bricksX;
+    private final int bricksY;
+    private final int bricksZ;
+    private final int slabDepth;
+    private final MappedByteBuffer[] slabs;
+    private final byte[] minimums;
+    private final byte[] maximums;
+
+    /**
+     * Constructor
+     *
+     * @param file   the raw volume file
+     * @param type   the texture type of the voxels
+     * @param width  the width of the volume in voxels
+     * @param height the height of the volume in voxels
+     * @param depth  the depth of the volume in voxels
+     *
+     * @throws NullPointerException     if file or type is null
+     * @throws IllegalArgumentException if a dimension is less than one or the
+     *                                  type is not supported
+     * @throws IOException              if the file can't be mapped or is too
+     *                                  small for the volume
+     */
+    public VolumeBrickSource(final File file, final TextureType type, final int width, final int height, final int depth) throws IOException {
+        this(file, type, width, height, depth, DEFAULT_BRICK_SIZE, 0L);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param file      the raw volume file
+     * @param type      the texture type of the voxels
+     * @param width     the width of the volume in voxels
+     * @param height    the height of the volume in voxels
+     * @param depth     the depth of the volume in voxels
+     * @param brickSize the width, height, and depth of a brick in voxels
+     *
+     * @throws NullPointerException     if file or type is null
+     * @throws IllegalArgumentException if a dimension is less than one, the
+     *                                  brick size is less than two, or the
+     *                                  type is not supported
+     * @throws IOException              if the file can't be mapped or is too
+     *                                  small for the volume
+     */
+    public VolumeBrickSource(final File file, final TextureType type, final int width, final int height, final int depth, final int brickSize)
+            throws IOException {
+        this(file, type, width, height, depth, brickSize, 0L);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param file         the raw volume file
+     * @param type         the texture type of the voxels
+     * @param width        the width of the volume in voxels
+     * @param height       the height of the volume in voxels
+     * @param depth        the depth of the volume in voxels
+     * @param brickSize    the width, height, and depth of a brick in voxels
+     * @param headerOffset the number of bytes to skip at the start of the file
+     *
+     * @throws NullPointerException     if file or type is null
+     * @throws IllegalArgumentException if a dimension is less than one, the
+     *                                  brick size is less than two, the header
+     *                                  offset is negative, or the type is not
+     *                                  supported
+     * @throws IOException              if the file can't be mapped or is too
+     *                                  small for the volume
+     */
+    public VolumeBrickSource(final File file, final TextureType type, final int width, final int height, final int depth, final int brickSize,
+                             final long headerOffset) throws IOException {
+        if (file == null) {
+            throw new NullPointerException("file");
+        }
+        if (type == null) {
+            throw new NullPointerException("type");
+        }
+        if (width < 1) {
+            throw new IllegalArgumentException("width");
+        }
+        if (height < 1) {
+            throw new IllegalArgumentException("height");
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth");
+        }
+        if (brickSize < 2) {
+            throw new IllegalArgumentException("brickSize");
+        }
+        if (headerOffset < 0L) {
+            throw new IllegalArgumentException("headerOffset");
+        }
+        switch (type) {
+            case ALPHA:
+                bytesPerVoxel = 1;
+                break;
+            case RGB:
+                bytesPerVoxel = 3;
+                break;
+            case RGBA:
+                bytesPerVoxel = 4;
+                break;
+            default:
+                throw new IllegalArgumentException("type");
+        }
+        this.type = type;
+        this.width = width;
+        this.height = height;
+        this.depth = depth;
+        this.brickSize = brickSize;
+        bricksX = count(width, brickSize);
+        bricksY = count(height, brickSize);
+        bricksZ = count(depth, brickSize);
+        // map the file in slabs of whole z slices that fit in a single buffer
+        final long sliceBytes = (long) width * height * bytesPerVoxel;
+        if (sliceBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("width");
+        }
+        slabDepth = (int) Math.min(depth, Integer.MAX_VALUE / sliceBytes);
+        slabs = new MappedByteBuffer[(depth + slabDepth - 1) / slabDepth];
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "r");
+             final FileChannel channel = raf.getChannel()) {
+            if (channel.size() < headerOffset + sliceBytes * depth) {
+                throw new IOException("The file " + file + " is too small for a volume of " + width + "x" + height + "x" + depth + ".");
+            }
+            for (int i = 0; i < slabs.length; i++) {
+                final int slices = Math.min(slabDepth, depth - i * slabDepth);
+                slabs[i] = channel.map(FileChannel.MapMode.READ_ONLY, headerOffset + sliceBytes * i * slabDepth, sliceBytes * slices);
+            }
+        }
+        // compute the brick metadata
+        final int count = getBrickCount();
+        minimums = new byte[count];
+        maximums = new byte[count];
+        for (int i = 0; i < count; i++) {
+            computeRange(i);
+        }
+    }
+
+    /**
+     * @return the texture type of the voxels
+     */
+    public TextureType getType() {
+        return type;
+    }
+
+    /**
+     * @return the width of the volume in voxels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the volume in voxels
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the depth of the volume in voxels
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the width, height, and depth of a brick in voxels
+     */
+    public int getBrickSize() {
+        return brickSize;
+    }
+
+    /**
+     * @return the number of bytes in a voxel
+     */
+    public int getBytesPerVoxel() {
+        return bytesPerVoxel;
+    }
+
+    /**
+     * @return the number of bytes in a brick
+     */
+    public int getBrickBytes() {
+        return brickSize * brickSize * brickSize * bytesPerVoxel;
+    }
+
+    /**
+     * @return the number of bricks along the x axis
+     */
+    public int getBricksX() {
+        return bricksX;
+    }
+
+    /**
+     * @return the number of bricks along the y axis
+     */
+    public int getBricksY() {
+        return bricksY;
+    }
+
+    /**
+     * @return the number of bricks along the z axis
+     */
+    public int getBricksZ() {
+        return bricksZ;
+    }
+
+    /**
+     * @return the total number of bricks
+     */
+    public int getBrickCount() {
+        return bricksX * bricksY * bricksZ;
+    }
+
+    /**
+     * @param index the brick index
+     *
+     * @return the brick x coordinate in the brick grid
+     */
+    public int getBrickX(final int index) {
+        return index % bricksX;
+    }
+
+    /**
+     * @param index the brick index
+     *
+     * @return the brick y coordinate in the brick grid
+     */
+    public int getBrickY(final int index) {
+        return (index / bricksX) % bricksY;
+    }
+
+    /**
+     * @param index the brick index
+     *
+     * @return the brick z coordinate in the brick grid
+     */
+    public int getBrickZ(final int index) {
+        return index / (bricksX * bricksY);
+    }
+
+    /**
+     * @param coordinate the brick coordinate along an axis
+     *
+     * @return the first voxel of the brick along that axis
+     */
+    public int getOrigin(final int coordinate) {
+        return coordinate * (brickSize - 1);
+    }
+
+    /**
+     * @param coordinate the brick coordinate along an axis
+     * @param size       the number of voxels along that axis
+     *
+     * @return the number of voxels of the volume in the brick along that axis
+     */
+    public int getLength(final int coordinate, final int size) {
+        return Math.min(brickSize, size - getOrigin(coordinate));
+    }
+
+    /**
+     * @param index the brick index
+     *
+     * @return the minimum voxel value in the brick from 0 to 255
+     */
+    public int getMinimum(final int index) {
+        return minimums[index] & 0xff;
+    }
+
+    /**
+     * @param index the brick index
+     *
+     * @return the maximum voxel value in the brick from 0 to 255
+     */
+    public int getMaximum(final int index) {
+        return maximums[index] & 0xff;
+    }
+
+    /**
+     * Read a brick into a buffer starting at the current position. A full
+     * brick is always written and the position is advanced past it.
+     *
+     * @param index  the brick index
+     * @param target the buffer to write to
+     *
+     * @return the buffer
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws NullPointerException      if target is null
+     * @throws java.nio.BufferOverflowException if the buffer doesn't have
+     *                                          enough space remaining
+     */
+    public ByteBuffer readBrick(final int index, final ByteBuffer target) {
+        if (index < 0 || index >= getBrickCount()) {
+            throw new IndexOutOfBoundsException("index");
+        }
+        if (target == null) {
+            throw new NullPointerException("target");
+        }
+        final int x0 = getOrigin(getBrickX(index));
+        final int y0 = getOrigin(getBrickY(index));
+        final int z0 = getOrigin(getBrickZ(index));
+        final int lx = getLength(getBrickX(index), width);
+        final int ly = getLength(getBrickY(index), height);
+        final int lz = getLength(getBrickZ(index), depth);
+        final int rowBytes = brickSize * bytesPerVoxel;
+        final int sliceBytes = rowBytes * brickSize;
+        final int start = target.position();
+        for (int z = 0; z < lz; z++) {
+            final int vz = z0 + z;
+            final ByteBuffer slab = slabs[vz / slabDepth].duplicate();
+            final int slabOffset = (vz % slabDepth) * width * height * bytesPerVoxel;
+            for (int y = 0; y < ly; y++) {
+                final int row = start + z * sliceBytes + y * rowBytes;
+                final int offset = slabOffset + ((y0 + y) * width + x0) * bytesPerVoxel;
+                slab.limit(offset + lx * bytesPerVoxel).position(offset);
+                target.position(row);
+                target.put(slab);
+                // repeat the last voxel to fill the row
+                for (int x = lx; x < brickSize; x++) {
+                    for (int b = 0; b < bytesPerVoxel; b++) {
+                        target.put(target.get(row + (lx - 1) * bytesPerVoxel + b));
+                    }
+                }
+            }
+            // repeat the last row to fill the slice
+            for (int y = ly; y < brickSize; y++) {
+                copy(target, start + z * sliceBytes + (ly - 1) * rowBytes, start + z * sliceBytes + y * rowBytes, rowBytes);
+            }
+        }
+        // repeat the last slice to fill the brick
+        for (int z = lz; z < brickSize; z++) {
+            copy(target, start + (lz - 1) * sliceBytes, start + z * sliceBytes, sliceBytes);
+        }
+        target.position(start + sliceBytes * brickSize);
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return "VolumeBrickSource{" + "type=" + type + ", width=" + width + ", height=" + height + ", depth=" + depth + ", brickSize=" + brickSize + '}';
+    }
+
+    private void computeRange(final int index) {
+        final int x0 = getOrigin(getBrickX(index));
+        final int y0 = getOrigin(getBrickY(index));
+        final int z0 = getOrigin(getBrickZ(index));
+        final int lx = getLength(getBrickX(index), width);
+        final int ly = getLength(getBrickY(index), height);
+        final int lz = getLength(getBrickZ(index), depth);
+        int min = 255;
+        int max = 0;
+        for (int z = z0; z < z0 + lz; z++) {
+            final ByteBuffer slab = slabs[z / slabDepth];
+            final int slabOffset = (z % slabDepth) * width * height * bytesPerVoxel;
+            for (int y = y0; y < y0 + ly; y++) {
+                int offset = slabOffset + (y * width + x0) * bytesPerVoxel;
+                for (int x = 0; x < lx; x++) {
+                    final int value = value(slab, offset);
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                    offset += bytesPerVoxel;
+                }
+            }
+        }
+        minimums[index] = (byte) min;
+        maximums[index] = (byte) max;
+    }
+
+    private int value(final ByteBuffer slab, final int offset) {
+        switch (bytesPerVoxel) {
+            case 1:
+                return slab.get(offset) & 0xff;
+            case 3:
+                return Math.max(slab.get(offset) & 0xff, Math.max(slab.get(offset + 1) & 0xff, slab.get(offset + 2) & 0xff));
+            default:
+                return slab.get(offset + 3) & 0xff;
+        }
+    }
+
+    private static void copy(final ByteBuffer buffer, final int from, final int to, final int length) {
+        final ByteBuffer source = buffer.duplicate();
+        source.limit(from + length).position(from);
+        buffer.position(to);
+        buffer.put(source);
+    }
+
+    private static int count(final int size, final int brickSize) {
+        return Math.max(1, (size - 1 + brickSize - 2) / (brickSize - 1));
+    }
+}
@@ -0,0 +1,254 @@
+package gov.pnnl.svf.texture;
+
+import gov.pnnl.svf.core.texture.TextureType;
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
+
+/**
+ * Coarse grid that holds the maximum voxel value of each cell of a volume.
+ * Cells with a maximum at or below the transfer function cutoff contain only
+ * transparent voxels and can be skipped when marching rays through the volume.
+ * Each cell also includes the voxels that border it so linear filtering at
+ * the edge of a cell can't produce a value larger than the cell maximum.
+ * <p>
+ * The value of a voxel is its alpha component for ALPHA and RGBA volumes and
+ * its largest color component for RGB volumes.
+ *
+ * @author Amelia Bleeker
+ */
+public class VolumeOccupancyGrid {
+
+    /**
+     * The default width, height, and depth of a cell in voxels.
+     */
+    public static final int DEFAULT_CELL_SIZE = 8;
+    /**
+     * Slices are scanned in parallel once a volume has at least this many
+     * voxels.
+     */
+    private static final long PARALLEL_THRESHOLD = 1L << 20;
+    private final int width;
+    private final int height;
+    private final int depth;
+    private final int cellSize;
+    private final int cellsX;
+    private final int cellsY;
+    private final int cellsZ;
+    private final byte[] maximums;
+
+    /**
+     * Constructor
+     *
+     * @param data   the volume data starting at position zero
+     * @param type   the texture type of the voxels
+     * @param width  the width of the volume in voxels
+     * @param height the height of the volume in voxels
+     * @param depth  the depth of the volume in voxels
+     *
+     * @throws NullPointerException     if data or type is null
+     * @throws IllegalArgumentException if a dimension is less than one, the
+     *                                  type is not supported, or the data is
+     *                                  too small for the volume
+     */
+    public VolumeOccupancyGrid(final ByteBuffer data, final TextureType type, final int width, final int height, final int depth) {
+        this(data, type, width, height, depth, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param data     the volume data starting at position zero
+     * @param type     the texture type of the voxels
+     * @param width    the width of the volume in voxels
+     * @param height   the height of the volume in voxels
+     * @param depth    the depth of the volume in voxels
+     * @param cellSize the width, height, and depth of a cell in voxels
+     *
+     * @throws NullPointerException     if data or type is null
+     * @throws IllegalArgumentException if a dimension or the cell size is less
+     *                                  than one, the type is not supported, or
+     *                                  the data is too small for the volume
+     */
+    public VolumeOccupancyGrid(final ByteBuffer data, final TextureType type, final int width, final int height, final int depth, final int cellSize) {
+        if (data == null) {
+            throw new NullPointerException("data");
+        }
+        if (type == null) {
+            throw new NullPointerException("type");
+        }
+        if (width < 1) {
+            throw new IllegalArgumentException("width");
+        }
+        if (height < 1) {
+            throw new IllegalArgumentException("height");
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth");
+        }
+        if (cellSize < 1) {
+            throw new IllegalArgumentException("cellSize");
+        }
+        final int bytesPerVoxel;
+        switch (type) {
+            case ALPHA:
+                bytesPerVoxel = 1;
+                break;
+            case RGB:
+                bytesPerVoxel = 3;
+                break;
+            case RGBA:
+                bytesPerVoxel = 4;
+                break;
+            default:
+                throw new IllegalArgumentException("type");
+        }
+        if ((long) data.limit() < (long) width * height * depth * bytesPerVoxel) {
+            throw new IllegalArgumentException("data");
+        }
+        this.width = width;
+        this.height = height;
+        this.depth = depth;
+        this.cellSize = cellSize;
+        cellsX = (width + cellSize - 1) / cellSize;
+        cellsY = (height + cellSize - 1) / cellSize;
+        cellsZ = (depth + cellSize - 1) / cellSize;
+        maximums = new byte[cellsX * cellsY * cellsZ];
+        // each slice of cells is only written by a single task
+        final IntStream slices = IntStream.range(0, cellsZ);
+        ((long) width * height * depth >= PARALLEL_THRESHOLD ? slices.parallel() : slices)
+                .forEach(cz -> scan(data, bytesPerVoxel, cz));
+    }
+
+    /**
+     * @return the width of the volume in voxels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the volume in voxels
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the depth of the volume in voxels
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the width, height, and depth of a cell in voxels
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return the number of cells along the x axis
+     */
+    public int getCellsX() {
+        return cellsX;
+    }
+
+    /**
+     * @return the number of cells along the y axis
+     */
+    public int getCellsY() {
+        return cellsY;
+    }
+
+    /**
+     * @return the number of cells along the z axis
+     */
+    public int getCellsZ() {
+        return cellsZ;
+    }
+
+    /**
+     * @param x the cell x coordinate
+     * @param y the cell y coordinate
+     * @param z the cell z coordinate
+     *
+     * @return the maximum voxel value in the cell from 0 to 255
+     *
+     * @throws IndexOutOfBoundsException if a coordinate is out of range
+     */
+    public int getMaximum(final int x, final int y, final int z) {
+        if (x < 0 || x >= cellsX || y < 0 || y >= cellsY || z < 0 || z >= cellsZ) {
+            throw new IndexOutOfBoundsException("cell");
+        }
+        return maximums[x + (y + z * cellsY) * cellsX] & 0xff;
+    }
+
+    /**
+     * @param threshold the value from 0 to 255 a cell maximum must exceed
+     *
+     * @return the number of cells with a maximum above the threshold
+     */
+    public int getOccupiedCount(final int threshold) {
+        int count = 0;
+        for (int i = 0; i < maximums.length; i++) {
+            if ((maximums[i] & 0xff) > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Create alpha texture data for the grid with one texel per cell.
+     *
+     * @return a new direct buffer ready to be read
+     */
+    public ByteBuffer createTexture() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(maximums.length);
+        buffer.put(maximums);
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public String toString() {
+        return "VolumeOccupancyGrid{" + "width=" + width + ", height=" + height + ", depth=" + depth + ", cellSize=" + cellSize + '}';
+    }
+
+    private void scan(final ByteBuffer data, final int bytesPerVoxel, final int cz) {
+        // include the bordering voxels of the neighboring cells
+        final int z0 = Math.max(0, cz * cellSize - 1);
+        final int z1 = Math.min(depth, (cz + 1) * cellSize + 1);
+        for (int cy = 0; cy < cellsY; cy++) {
+            final int y0 = Math.max(0, cy * cellSize - 1);
+            final int y1 = Math.min(height, (cy + 1) * cellSize + 1);
+            for (int cx = 0; cx < cellsX; cx++) {
+                final int x0 = Math.max(0, cx * cellSize - 1);
+                final int x1 = Math.min(width, (cx + 1) * cellSize + 1);
+                int max = 0;
+                for (int z = z0; z < z1 && max < 255; z++) {
+                    for (int y = y0; y < y1; y++) {
+                        int offset = ((z * height + y) * width + x0) * bytesPerVoxel;
+                        for (int x = x0; x < x1; x++) {
+                            max = Math.max(max, value(data, offset, bytesPerVoxel));
+                            offset += bytesPerVoxel;
+                        }
+                    }
+                }
+                maximums[cx + (cy + cz * cellsY) * cellsX] = (byte) max;
+            }
+        }
+    }
+
+    private static int value(final ByteBuffer data, final int offset, final int bytesPerVoxel) {
+        switch (bytesPerVoxel) {
+            case 1:
+                return data.get(offset) & 0xff;
+            case 3:
+                return Math.max(data.get(offset) & 0xff, Math.max(data.get(offset + 1) & 0xff, data.get(offset + 2) & 0xff));
+            default:
+                return data.get(offset + 3) & 0xff;
+        }
+    }
+}
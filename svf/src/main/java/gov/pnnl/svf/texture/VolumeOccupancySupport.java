@@ -0,0 +1,170 @@
+package gov.pnnl.svf.texture;
+
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.GL2ES2;
+import com.jogamp.opengl.fixedfunc.GLMatrixFunc;
+import com.jogamp.opengl.glu.gl2.GLUgl2;
+import gov.pnnl.svf.actor.AbstractActor;
+import gov.pnnl.svf.camera.Camera;
+import gov.pnnl.svf.core.texture.TextureType;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Support for the occupancy grid of a volume. The grid is bound to texture
+ * unit one, as an alpha 3d texture with one texel per cell, so a ray marching
+ * volume renderer can skip cells that are empty. The texture matrix of that
+ * unit maps volume texture coordinates to grid texture coordinates, since the
+ * last cell along an axis can extend past the edge of the volume. Texture 3d
+ * is not enabled on that unit so fixed function drawing is not affected.
+ *
+ * @author Amelia Bleeker
+ */
+public class VolumeOccupancySupport extends TextureSupport {
+
+    /**
+     * The texture unit the grid is bound to.
+     */
+    public static final int TEXTURE_UNIT = GL.GL_TEXTURE1;
+    private static final Logger logger = Logger.getLogger(VolumeOccupancySupport.class.toString());
+    private final VolumeOccupancyGrid grid;
+
+    /**
+     *
+     * @param actor
+     * @param grid
+     */
+    protected VolumeOccupancySupport(final AbstractActor actor, final VolumeOccupancyGrid grid) {
+        super(actor, TextureType.ALPHA, null);
+        this.grid = grid;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param actor The actor that owns this texture support object.
+     * @param grid  The occupancy grid of the volume
+     *
+     * @return the new support object
+     *
+     * @throws NullPointerException if the actor or grid is null
+     */
+    public static VolumeOccupancySupport newInstance(final AbstractActor actor, final VolumeOccupancyGrid grid) {
+        if (grid == null) {
+            throw new NullPointerException("grid");
+        }
+        final VolumeOccupancySupport instance = new VolumeOccupancySupport(actor, grid);
+        actor.add(instance);
+        return instance;
+    }
+
+    /**
+     * @return the occupancy grid of the volume
+     */
+    public VolumeOccupancyGrid getGrid() {
+        return grid;
+    }
+
+    @Override
+    public void draw(final GL2 gl, final GLUgl2 glu, final Camera camera) {
+        drawState.clearValues();
+        final int target;
+        synchronized (this) {
+            if (id[0] == -1) {
+                return;
+            }
+            target = id[0];
+        }
+        gl.glPushAttrib(GL2.GL_TEXTURE_BIT);
+        drawState.setAttrib();
+        gl.glActiveTexture(TEXTURE_UNIT);
+        gl.glBindTexture(GL2ES2.GL_TEXTURE_3D, target);
+        gl.glMatrixMode(GL.GL_TEXTURE);
+        gl.glPushMatrix();
+        gl.glLoadIdentity();
+        final double size = grid.getCellSize();
+        gl.glScaled(grid.getWidth() / (size * grid.getCellsX()), grid.getHeight() / (size * grid.getCellsY()), grid.getDepth() / (size * grid.getCellsZ()));
+        gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+        gl.glActiveTexture(GL.GL_TEXTURE0);
+    }
+
+    @Override
+    public void endDraw(final GL2 gl, final GLUgl2 glu, final Camera camera) {
+        if (drawState.isAttrib()) {
+            // the texture matrix isn't part of the attribute stack
+            gl.glActiveTexture(TEXTURE_UNIT);
+            gl.glMatrixMode(GL.GL_TEXTURE);
+            gl.glPopMatrix();
+            gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
+            gl.glActiveTexture(GL.GL_TEXTURE0);
+        }
+        super.endDraw(gl, glu, camera);
+    }
+
+    @Override
+    public void initialize(final GL2 gl, final GLUgl2 glu) {
+        unInitialize(gl, glu);
+        int textureObject;
+        synchronized (this) {
+            if (isDisposed()) {
+                return;
+            }
+            if (getActor().getScene().getExtended().getSceneBuilder().isVerbose()) {
+                logger.log(Level.INFO, String.format("Loading the occupancy texture for %s.", grid));
+            }
+            gl.glPushAttrib(GL2.GL_TEXTURE_BIT);
+            gl.glActiveTexture(TEXTURE_UNIT);
+            gl.glGenTextures(1, id, 0);
+            gl.glBindTexture(GL2ES2.GL_TEXTURE_3D, id[0]);
+            textureObject = id[0];
+            // cells are looked up exactly so filtering is never used
+            gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_NEAREST);
+            gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_NEAREST);
+            gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL.GL_TEXTURE_WRAP_S, GL.GL_CLAMP_TO_EDGE);
+            gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL.GL_TEXTURE_WRAP_T, GL.GL_CLAMP_TO_EDGE);
+            gl.glTexParameteri(GL2ES2.GL_TEXTURE_3D, GL2ES2.GL_TEXTURE_WRAP_R, GL.GL_CLAMP_TO_EDGE);
+            gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 1);
+            gl.glTexImage3D(GL2ES2.GL_TEXTURE_3D, 0, GL.GL_ALPHA, grid.getCellsX(), grid.getCellsY(), grid.getCellsZ(), 0, GL.GL_ALPHA,
+                            GL.GL_UNSIGNED_BYTE, grid.createTexture());
+            gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 4);
+            gl.glPopAttrib();
+        }
+        // notify the listeners
+        if (textureObject > -1) {
+            for (final TextureSupportListener listener : getListeners()) {
+                listener.textureLoaded(this);
+            }
+        } else {
+            for (final TextureSupportListener listener : getListeners()) {
+                listener.textureError(this);
+            }
+        }
+        getPropertyChangeSupport().firePropertyChange(TEXTURE, -1, textureObject);
+    }
+
+    @Override
+    public boolean isInitialized() {
+        synchronized (this) {
+            return id[0] != -1;
+        }
+    }
+
+    @Override
+    public void unInitialize(final GL2 gl, final GLUgl2 glu) {
+        int textureObject;
+        synchronized (this) {
+            if (id[0] == -1) {
+                return;
+            }
+            gl.glDeleteTextures(1, id, 0);
+            textureObject = id[0];
+            id[0] = -1;
+        }
+        // notify the listeners
+        for (final TextureSupportListener listener : getListeners()) {
+            listener.textureUnloaded(this);
+        }
+        getPropertyChangeSupport().firePropertyChange(TEXTURE, textureObject, -1);
+    }
+}
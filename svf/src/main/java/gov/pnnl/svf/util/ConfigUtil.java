@@ -620,6 +620,7 @@ public class ConfigUtil {
         builder.setDebugColorPicking(Boolean.parseBoolean(properties.getProperty("debugColorPicking", String.valueOf(builder.isDebugColorPicking()))));
         builder.setDebug(Boolean.parseBoolean(properties.getProperty("debug", String.valueOf(builder.isDebug()))));
         builder.setDisplayFps(Boolean.parseBoolean(properties.getProperty("displayFps", String.valueOf(builder.isDisplayFps()))));
+        builder.setProfiling(Boolean.parseBoolean(properties.getProperty("profiling", String.valueOf(builder.isProfiling()))));
         builder.setDrawableTypes(properties.getProperty("drawableTypes", builder.getDrawableTypes()));
         builder.setFullScreenAntiAliasing(Boolean.parseBoolean(properties.getProperty("fullScreenAntiAliasing", String.valueOf(builder.isFullScreenAntiAliasing()))));
         builder.setLighting(Boolean.parseBoolean(properties.getProperty("lighting", String.valueOf(builder.isLighting()))));
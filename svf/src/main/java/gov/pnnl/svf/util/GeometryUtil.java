@@ -393,6 +393,7 @@ public class GeometryUtil extends AbstractGLUtil {
      * @param slices the number of slices to render with
      */
     public static void drawArc(final GL2 gl, final double x, final double y, final double radius, final double start, final double end, final int slices) {
+        final double first = Math.toRadians(start);
         final double angle = Math.toRadians(end - start) / slices;
         // create a triangle fan
         gl.glBegin(GL.GL_TRIANGLE_FAN);
@@ -400,7 +401,8 @@ public class GeometryUtil extends AbstractGLUtil {
         // center point
         gl.glVertex3d(x, y, 0.0);
         // circle points
-        for (double a = end; a >= start; a -= angle) {
+        for (int i = slices; i >= 0; i--) {
+            final double a = first + angle * i;
             final double ax = Math.sin(a);
             final double ay = Math.cos(a);
             // vertex
@@ -468,11 +470,13 @@ public class GeometryUtil extends AbstractGLUtil {
      * @param slices      the number of slices to render with
      */
     public static void drawArc(final GL2 gl, final double x, final double y, final double innerRadius, final double outerRadius, final double start, final double end, final int slices) {
+        final double first = Math.toRadians(start);
         final double angle = Math.toRadians(end - start) / slices;
         gl.glBegin(GL2.GL_QUAD_STRIP);
         gl.glNormal3dv(NORMAL, 0);
         // vertices
-        for (double a = end; a >= start; a -= angle) {
+        for (int i = slices; i >= 0; i--) {
+            final double a = first + angle * i;
             final double ax = Math.sin(a);
             final double ay = Math.cos(a);
             // inner vertex
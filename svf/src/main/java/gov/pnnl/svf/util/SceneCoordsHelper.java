@@ -9,6 +9,8 @@ import gov.pnnl.svf.scene.Scene;
 import gov.pnnl.svf.scene.SceneExt;
 import java.awt.Point;
 import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.math.geometry.Vector3D;
@@ -16,11 +18,24 @@ import org.apache.commons.math.geometry.Vector3D;
 /**
  * Helper class used to encapsulate the functionality for getting scene
  * coordinates. This class is not thread safe.
+ * <p>
+ * The bulk project and unProject methods convert packed (x, y, z) coordinate
+ * arrays. The matrices are combined once per call and large arrays are
+ * converted in parallel. They only use the supplied matrices and the
+ * supplied arrays, so they can be called from any thread.
  *
  * @author Amelia Bleeker
  */
 public class SceneCoordsHelper {
 
+    /**
+     * Points are converted in parallel once there are at least this many.
+     */
+    private static final int PARALLEL_THRESHOLD = 16384;
+    /**
+     * The number of points converted by each parallel task.
+     */
+    private static final int PARALLEL_CHUNK = 4096;
     private static final Logger logger = Logger.getLogger(SceneCoordsHelper.class.getName());
     private final SceneExt scene;
     private final double[] window = new double[3];
@@ -233,4 +248,365 @@ public class SceneCoordsHelper {
             }
         }
     }
+
+    /**
+     * Project packed scene coordinates to screen coordinates. The GL context
+     * must be current.
+     *
+     * @param gl     reference to gl
+     * @param points the packed (x, y, z) scene coordinates
+     * @param output the packed (x, y, depth) screen coordinates, which can be
+     *               the same array as points
+     *
+     * @return the output array
+     *
+     * @throws NullPointerException     if points or output is null
+     * @throws IllegalArgumentException if the length of points isn't a
+     *                                  multiple of three or output is shorter
+     *                                  than points
+     */
+    public double[] project(final GL2 gl, final double[] points, final double[] output) {
+        synchronized (this) {
+            gl.glGetDoublev(GLMatrixFunc.GL_MODELVIEW_MATRIX, modelview, 0);
+            gl.glGetDoublev(GLMatrixFunc.GL_PROJECTION_MATRIX, projection, 0);
+            gl.glGetIntegerv(GL.GL_VIEWPORT, viewport, 0);
+            return project(points, output, modelview, projection, viewport);
+        }
+    }
+
+    /**
+     * Project packed scene coordinates to screen coordinates without the GL
+     * context being current. Screen coordinates match the project method for a
+     * single point without truncating to whole pixels. The depth is the window
+     * depth from 0.0 to 1.0. Points that can't be projected are set to zero.
+     *
+     * @param points     the packed (x, y, z) scene coordinates
+     * @param output     the packed (x, y, depth) screen coordinates, which can
+     *                   be the same array as points
+     * @param modelview  the modelview matrix
+     * @param projection the projection matrix
+     * @param viewport   the viewport (x, y, width, height)
+     *
+     * @return the output array
+     *
+     * @throws NullPointerException     if points or output is null
+     * @throws IllegalArgumentException if the length of points isn't a
+     *                                  multiple of three or output is shorter
+     *                                  than points
+     */
+    public double[] project(final double[] points, final double[] output, final double[] modelview, final double[] projection, final int[] viewport) {
+        convert(new DoublePoints(points, "points"), new DoublePoints(output, "output"),
+                multiply(projection, modelview), viewport, SceneCoordsHelper::project);
+        return output;
+    }
+
+    /**
+     * Project packed scene coordinates to screen coordinates without the GL
+     * context being current. Screen coordinates match the project method for a
+     * single point without truncating to whole pixels. The depth is the window
+     * depth from 0.0 to 1.0. Points that can't be projected are set to zero.
+     *
+     * @param points     the packed (x, y, z) scene coordinates
+     * @param output     the packed (x, y, depth) screen coordinates, which can
+     *                   be the same array as points
+     * @param modelview  the modelview matrix
+     * @param projection the projection matrix
+     * @param viewport   the viewport (x, y, width, height)
+     *
+     * @return the output array
+     *
+     * @throws NullPointerException     if points or output is null
+     * @throws IllegalArgumentException if the length of points isn't a
+     *                                  multiple of three or output is shorter
+     *                                  than points
+     */
+    public float[] project(final float[] points, final float[] output, final double[] modelview, final double[] projection, final int[] viewport) {
+        convert(new FloatPoints(points, "points"), new FloatPoints(output, "output"),
+                multiply(projection, modelview), viewport, SceneCoordsHelper::project);
+        return output;
+    }
+
+    /**
+     * Un-project packed screen coordinates to scene coordinates without the GL
+     * context being current. Scene coordinates match the unProject method for
+     * a single point. Points that can't be unprojected are set to zero.
+     *
+     * @param points     the packed (x, y, depth) screen coordinates
+     * @param output     the packed (x, y, z) scene coordinates, which can be
+     *                   the same array as points
+     * @param modelview  the modelview matrix
+     * @param projection the projection matrix
+     * @param viewport   the viewport (x, y, width, height)
+     *
+     * @return the output array
+     *
+     * @throws NullPointerException     if points or output is null
+     * @throws IllegalArgumentException if the length of points isn't a
+     *                                  multiple of three or output is shorter
+     *                                  than points
+     */
+    public double[] unProject(final double[] points, final double[] output, final double[] modelview, final double[] projection, final int[] viewport) {
+        convert(new DoublePoints(points, "points"), new DoublePoints(output, "output"),
+                invert(multiply(projection, modelview)), viewport, SceneCoordsHelper::unProject);
+        return output;
+    }
+
+    /**
+     * Un-project packed screen coordinates to scene coordinates without the GL
+     * context being current. Scene coordinates match the unProject method for
+     * a single point. Points that can't be unprojected are set to zero.
+     *
+     * @param points     the packed (x, y, depth) screen coordinates
+     * @param output     the packed (x, y, z) scene coordinates, which can be
+     *                   the same array as points
+     * @param modelview  the modelview matrix
+     * @param projection the projection matrix
+     * @param viewport   the viewport (x, y, width, height)
+     *
+     * @return the output array
+     *
+     * @throws NullPointerException     if points or output is null
+     * @throws IllegalArgumentException if the length of points isn't a
+     *                                  multiple of three or output is shorter
+     *                                  than points
+     */
+    public float[] unProject(final float[] points, final float[] output, final double[] modelview, final double[] projection, final int[] viewport) {
+        convert(new FloatPoints(points, "points"), new FloatPoints(output, "output"),
+                invert(multiply(projection, modelview)), viewport, SceneCoordsHelper::unProject);
+        return output;
+    }
+
+    /**
+     * Convert the packed points with the combined matrix. Every point is set
+     * to zero if the matrix is null.
+     */
+    private void convert(final Points points, final Points output, final double[] m, final int[] viewport, final Kernel kernel) {
+        final int count = count(points.length(), output.length());
+        if (m == null) {
+            if (scene.getSceneBuilder().isVerbose()) {
+                logger.log(Level.WARNING, "Unable to unproject the scene picks.");
+            }
+            for (int i = 0; i < count * 3; i++) {
+                output.set(i, 0.0);
+            }
+            return;
+        }
+        split(count, (from, to) -> {
+            final double[] result = new double[3];
+            for (int i = from * 3; i < to * 3; i += 3) {
+                if (!kernel.convert(m, viewport, points.get(i), points.get(i + 1), points.get(i + 2), result)) {
+                    Arrays.fill(result, 0.0);
+                }
+                output.set(i, result[0]);
+                output.set(i + 1, result[1]);
+                output.set(i + 2, result[2]);
+            }
+        });
+    }
+
+    /**
+     * Project a point with the combined projection and modelview matrix.
+     *
+     * @return false if the point can't be projected
+     */
+    private static boolean project(final double[] m, final int[] viewport, final double x, final double y, final double z, final double[] result) {
+        final double w = m[3] * x + m[7] * y + m[11] * z + m[15];
+        if (w == 0.0) {
+            return false;
+        }
+        final double cx = (m[0] * x + m[4] * y + m[8] * z + m[12]) / w;
+        final double cy = (m[1] * x + m[5] * y + m[9] * z + m[13]) / w;
+        final double cz = (m[2] * x + m[6] * y + m[10] * z + m[14]) / w;
+        result[0] = viewport[0] + (cx * 0.5 + 0.5) * viewport[2];
+        // screen coordinates start at the top of the viewport
+        result[1] = viewport[3] - (viewport[1] + (cy * 0.5 + 0.5) * viewport[3]);
+        result[2] = cz * 0.5 + 0.5;
+        return true;
+    }
+
+    /**
+     * Un-project a point with the inverse of the combined projection and
+     * modelview matrix.
+     *
+     * @return false if the point can't be unprojected
+     */
+    private static boolean unProject(final double[] m, final int[] viewport, final double sx, final double sy, final double depth, final double[] result) {
+        final double x = (sx - viewport[0]) / viewport[2] * 2.0 - 1.0;
+        // screen coordinates start at the top of the viewport
+        final double y = (viewport[3] - sy - viewport[1]) / viewport[3] * 2.0 - 1.0;
+        final double z = depth * 2.0 - 1.0;
+        final double w = m[3] * x + m[7] * y + m[11] * z + m[15];
+        if (w == 0.0) {
+            return false;
+        }
+        result[0] = (m[0] * x + m[4] * y + m[8] * z + m[12]) / w;
+        result[1] = (m[1] * x + m[5] * y + m[9] * z + m[13]) / w;
+        result[2] = (m[2] * x + m[6] * y + m[10] * z + m[14]) / w;
+        return true;
+    }
+
+    private static int count(final int points, final int output) {
+        if (points % 3 != 0) {
+            throw new IllegalArgumentException("points");
+        }
+        if (output < points) {
+            throw new IllegalArgumentException("output");
+        }
+        return points / 3;
+    }
+
+    /**
+     * Multiply two column major matrices.
+     */
+    private static double[] multiply(final double[] a, final double[] b) {
+        final double[] r = new double[16];
+        for (int c = 0; c < 4; c++) {
+            for (int row = 0; row < 4; row++) {
+                r[c * 4 + row] = a[row] * b[c * 4] + a[4 + row] * b[c * 4 + 1] + a[8 + row] * b[c * 4 + 2] + a[12 + row] * b[c * 4 + 3];
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Invert a matrix using Gaussian elimination with partial pivoting.
+     *
+     * @return the inverse or null if the matrix is singular
+     */
+    private static double[] invert(final double[] m) {
+        final double[][] a = new double[4][8];
+        for (int row = 0; row < 4; row++) {
+            for (int c = 0; c < 4; c++) {
+                a[row][c] = m[c * 4 + row];
+            }
+            a[row][4 + row] = 1.0;
+        }
+        for (int c = 0; c < 4; c++) {
+            int pivot = c;
+            for (int row = c + 1; row < 4; row++) {
+                if (Math.abs(a[row][c]) > Math.abs(a[pivot][c])) {
+                    pivot = row;
+                }
+            }
+            if (a[pivot][c] == 0.0) {
+                return null;
+            }
+            final double[] swap = a[c];
+            a[c] = a[pivot];
+            a[pivot] = swap;
+            final double scale = 1.0 / a[c][c];
+            for (int k = 0; k < 8; k++) {
+                a[c][k] *= scale;
+            }
+            for (int row = 0; row < 4; row++) {
+                if (row != c && a[row][c] != 0.0) {
+                    final double factor = a[row][c];
+                    for (int k = 0; k < 8; k++) {
+                        a[row][k] -= factor * a[c][k];
+                    }
+                }
+            }
+        }
+        final double[] r = new double[16];
+        for (int row = 0; row < 4; row++) {
+            for (int c = 0; c < 4; c++) {
+                r[c * 4 + row] = a[row][4 + c];
+            }
+        }
+        return r;
+    }
+
+    private static void split(final int count, final Range range) {
+        if (count < PARALLEL_THRESHOLD) {
+            range.run(0, count);
+        } else {
+            final int chunks = (count + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                final int from = chunk * PARALLEL_CHUNK;
+                range.run(from, Math.min(count, from + PARALLEL_CHUNK));
+            });
+        }
+    }
+
+    /**
+     * A range of points to convert.
+     */
+    private interface Range {
+
+        void run(int from, int to);
+    }
+
+    /**
+     * Converts a single point.
+     */
+    private interface Kernel {
+
+        boolean convert(double[] m, int[] viewport, double x, double y, double z, double[] result);
+    }
+
+    /**
+     * Packed coordinates of either precision.
+     */
+    private interface Points {
+
+        int length();
+
+        double get(int index);
+
+        void set(int index, double value);
+    }
+
+    private static class DoublePoints implements Points {
+
+        private final double[] array;
+
+        private DoublePoints(final double[] array, final String name) {
+            if (array == null) {
+                throw new NullPointerException(name);
+            }
+            this.array = array;
+        }
+
+        @Override
+        public int length() {
+            return array.length;
+        }
+
+        @Override
+        public double get(final int index) {
+            return array[index];
+        }
+
+        @Override
+        public void set(final int index, final double value) {
+            array[index] = value;
+        }
+    }
+
+    private static class FloatPoints implements Points {
+
+        private final float[] array;
+
+        private FloatPoints(final float[] array, final String name) {
+            if (array == null) {
+                throw new NullPointerException(name);
+            }
+            this.array = array;
+        }
+
+        @Override
+        public int length() {
+            return array.length;
+        }
+
+        @Override
+        public double get(final int index) {
+            return array[index];
+        }
+
+        @Override
+        public void set(final int index, final double value) {
+            array[index] = (float) value;
+        }
+    }
 }
@@ -0,0 +1,669 @@
+package gov.pnnl.svf.util;
+
+import gov.pnnl.svf.util.SearchUtil.Match;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiPredicate;
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Prebuilt index for searching a large number of objects. Objects are matched
+ * using the same terms as <code>SearchUtil</code>: the <code>Searchable</code>
+ * label and keywords, the enumeration name, or the <code>toString</code> of
+ * the object. The distinct terms are kept in a sorted map for prefix queries,
+ * a trigram inverted index for substring queries, and a BK-tree for
+ * Levenshtein distance queries.
+ * <p>
+ * The results of <code>search</code> are ranked the same way as
+ * <code>SearchUtil.search</code>: by distance, then by score, then by the
+ * order the objects were added. An index built from a set returns the same
+ * result as <code>SearchUtil.search</code> for that set. Only the objects
+ * that can rank within the result limit are matched, which are found by
+ * visiting the terms that could contain the string in order of length and
+ * then the terms that are within the distance of the last result. Those are
+ * the terms that share enough trigrams with the string, visited in order of
+ * the least distance the shared trigrams allow, or the terms of the BK-tree
+ * when the string is too short to rule any out.
+ * <p>
+ * The terms of an object are read when it's added, so <code>update</code>
+ * must be called when the label or keywords of an object change.
+ *
+ * @param <T> the type of object
+ *
+ * @author Amelia Bleeker
+ */
+public class SearchIndex<T> {
+
+    private static final int GRAM = 3;
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+    private final TreeMap<String, Node<T>> terms = new TreeMap<>();
+    private final Map<String, Set<Node<T>>> grams = new HashMap<>();
+    private final List<Set<Node<T>>> lengths = new ArrayList<>();
+    private final Comparator<Result<T>> comparator = (final Result<T> o1, final Result<T> o2) -> {
+        if (o1.match.distance != o2.match.distance) {
+            return Integer.compare(o1.match.distance, o2.match.distance);
+        }
+        if (o1.match.score != o2.match.score) {
+            return Integer.compare(o2.match.score, o1.match.score);
+        }
+        return Long.compare(o1.entry.sequence, o2.entry.sequence);
+    };
+    private Node<T> root;
+    private long sequence = 0L;
+
+    /**
+     * Constructor
+     */
+    public SearchIndex() {
+        super();
+    }
+
+    /**
+     * Constructor
+     *
+     * @param objects the objects to add in iteration order
+     *
+     * @throws NullPointerException if objects is null or contains null
+     */
+    public SearchIndex(final Collection<? extends T> objects) {
+        this();
+        addAll(objects);
+    }
+
+    /**
+     * Add an object to the index.
+     *
+     * @param object the object
+     *
+     * @return true if the object was added
+     *
+     * @throws NullPointerException if object is null
+     */
+    public boolean add(final T object) {
+        if (object == null) {
+            throw new NullPointerException("object");
+        }
+        synchronized (this) {
+            if (entries.containsKey(object)) {
+                return false;
+            }
+            final Entry<T> entry = new Entry<>(object, sequence++);
+            entries.put(object, entry);
+            index(entry);
+            return true;
+        }
+    }
+
+    /**
+     * Add objects to the index in iteration order.
+     *
+     * @param objects the objects
+     *
+     * @return true if any object was added
+     *
+     * @throws NullPointerException if objects is null or contains null
+     */
+    public boolean addAll(final Collection<? extends T> objects) {
+        if (objects == null) {
+            throw new NullPointerException("objects");
+        }
+        boolean changed = false;
+        synchronized (this) {
+            for (final T object : objects) {
+                changed |= add(object);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Remove an object from the index.
+     *
+     * @param object the object
+     *
+     * @return true if the object was removed
+     */
+    public boolean remove(final T object) {
+        if (object == null) {
+            return false;
+        }
+        synchronized (this) {
+            final Entry<T> entry = entries.remove(object);
+            if (entry == null) {
+                return false;
+            }
+            unIndex(entry);
+            return true;
+        }
+    }
+
+    /**
+     * Read the terms of an object again after its label or keywords changed.
+     * The object keeps its position in the order the objects were added.
+     *
+     * @param object the object
+     *
+     * @return true if the object is in the index
+     */
+    public boolean update(final T object) {
+        if (object == null) {
+            return false;
+        }
+        synchronized (this) {
+            final Entry<T> entry = entries.get(object);
+            if (entry == null) {
+                return false;
+            }
+            unIndex(entry);
+            index(entry);
+            return true;
+        }
+    }
+
+    /**
+     * @param object the object
+     *
+     * @return true if the object is in the index
+     */
+    public boolean contains(final T object) {
+        synchronized (this) {
+            return entries.containsKey(object);
+        }
+    }
+
+    /**
+     * @return the number of objects in the index
+     */
+    public int size() {
+        synchronized (this) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Remove all of the objects from the index.
+     */
+    public void clear() {
+        synchronized (this) {
+            entries.clear();
+            terms.clear();
+            grams.clear();
+            lengths.clear();
+            root = null;
+        }
+    }
+
+    /**
+     * Find the object that best matches a string. This returns the same object
+     * as <code>SearchUtil.search</code> for the objects in this index.
+     *
+     * @param string the string
+     *
+     * @return the best match or null if no meaningful matches were found
+     *
+     * @throws NullPointerException if string is null
+     */
+    public T search(final String string) {
+        final List<T> results = search(string, 1);
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    /**
+     * Find the objects that best match a string. Objects match when they have
+     * a keyword equal to the string, a term that contains the string, a term
+     * that's contained in the string, or a term within the meaningful
+     * Levenshtein distance of the string.
+     *
+     * @param string the string
+     * @param limit  the maximum number of results
+     *
+     * @return the ranked matches
+     *
+     * @throws NullPointerException     if string is null
+     * @throws IllegalArgumentException if limit is less than one
+     */
+    public List<T> search(final String string, final int limit) {
+        if (string == null) {
+            throw new NullPointerException("string");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit");
+        }
+        final String source = string.toLowerCase(Locale.US);
+        synchronized (this) {
+            final List<Node<T>> seeds = new ArrayList<>();
+            // terms that are contained in the string
+            for (int i = 0; i <= source.length(); i++) {
+                for (int j = i; j <= source.length(); j++) {
+                    final Node<T> node = terms.get(source.substring(i, j));
+                    if (node != null) {
+                        seeds.add(node);
+                    }
+                }
+            }
+            // a meaningful fuzzy match needs at least that many characters in common
+            final boolean fuzzy = source.length() >= SearchUtil.MEANINGFUL_DISTANCE;
+            final BiPredicate<Entry<T>, Match> retained = (final Entry<T> entry, final Match match) -> match.retained;
+            // terms that contain the string
+            if (source.length() >= GRAM) {
+                Set<Node<T>> smallest = null;
+                for (int i = 0; i + GRAM <= source.length(); i++) {
+                    final Set<Node<T>> nodes = grams.get(source.substring(i, i + GRAM));
+                    if (nodes == null) {
+                        smallest = Collections.emptySet();
+                        break;
+                    }
+                    if (smallest == null || nodes.size() < smallest.size()) {
+                        smallest = nodes;
+                    }
+                }
+                for (final Node<T> node : smallest) {
+                    if (node.term.contains(source)) {
+                        seeds.add(node);
+                    }
+                }
+                return rank(source, limit, seeds, null, retained, fuzzy);
+            }
+            // short strings check the terms that contain them in order of length
+            return rank(source, limit, seeds, (final Node<T> node) -> node.term.contains(source), retained, fuzzy);
+        }
+    }
+
+    /**
+     * Find the objects with a term that starts with a string, ranked the same
+     * way as <code>search</code>.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum number of results
+     *
+     * @return the ranked matches
+     *
+     * @throws NullPointerException     if prefix is null
+     * @throws IllegalArgumentException if limit is less than one
+     */
+    public List<T> searchPrefix(final String prefix, final int limit) {
+        if (prefix == null) {
+            throw new NullPointerException("prefix");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit");
+        }
+        final String source = prefix.toLowerCase(Locale.US);
+        synchronized (this) {
+            // an object can rank by a term that doesn't start with the prefix so none are skipped
+            final Results<T> results = new Results<>(limit, Integer.MAX_VALUE, comparator);
+            final BiPredicate<Entry<T>, Match> filter = (final Entry<T> entry, final Match match) -> true;
+            for (final Node<T> node : terms.subMap(source, true, source + Character.MAX_VALUE, false).values()) {
+                results.offer(node, source, filter);
+            }
+            return results.toList();
+        }
+    }
+
+    /**
+     * Find the objects that are within a Levenshtein distance of a string,
+     * ranked the same way as <code>search</code>.
+     *
+     * @param string      the string
+     * @param maxDistance the maximum distance
+     * @param limit       the maximum number of results
+     *
+     * @return the ranked matches
+     *
+     * @throws NullPointerException     if string is null
+     * @throws IllegalArgumentException if max distance is negative or limit is
+     *                                  less than one
+     */
+    public List<T> searchFuzzy(final String string, final int maxDistance, final int limit) {
+        if (string == null) {
+            throw new NullPointerException("string");
+        }
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit");
+        }
+        final String source = string.toLowerCase(Locale.US);
+        synchronized (this) {
+            final Results<T> results = new Results<>(limit, maxDistance, comparator);
+            nearest(source, results, (final Entry<T> entry, final Match match) -> match.distance <= maxDistance);
+            return results.toList();
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (this) {
+            return "SearchIndex{" + "size=" + entries.size() + ", terms=" + terms.size() + '}';
+        }
+    }
+
+    private List<T> rank(final String source, final int limit, final List<Node<T>> seeds, final NodeFilter<T> lengthFilter,
+                         final BiPredicate<Entry<T>, Match> filter, final boolean fuzzy) {
+        final Results<T> results = new Results<>(limit, Integer.MAX_VALUE, comparator);
+        // a term that contains or is contained in the string is at least the length difference away
+        seeds.sort((final Node<T> o1, final Node<T> o2) -> Integer.compare(Math.abs(o1.term.length() - source.length()),
+                                                                           Math.abs(o2.term.length() - source.length())));
+        for (final Node<T> node : seeds) {
+            if (Math.abs(node.term.length() - source.length()) > results.bound()) {
+                break;
+            }
+            results.offer(node, source, filter);
+        }
+        if (lengthFilter != null) {
+            for (int length = source.length(); length < lengths.size(); length++) {
+                if (length - source.length() > results.bound()) {
+                    break;
+                }
+                final Set<Node<T>> nodes = lengths.get(length);
+                if (nodes != null) {
+                    for (final Node<T> node : nodes) {
+                        if (lengthFilter.accept(node)) {
+                            results.offer(node, source, filter);
+                        }
+                    }
+                }
+            }
+        }
+        // the effective distance of an object is at least the distance of its closest term
+        // so a skipped object can only rank by a term that matches by distance
+        if (fuzzy) {
+            nearest(source, results, filter);
+        }
+        return results.toList();
+    }
+
+    private void nearest(final String source, final Results<T> results, final BiPredicate<Entry<T>, Match> filter) {
+        if (root == null) {
+            return;
+        }
+        // each edit removes at most one gram length of grams from the string
+        final Set<String> sourceGrams = new HashSet<>();
+        for (int i = 0; i + GRAM <= source.length(); i++) {
+            sourceGrams.add(source.substring(i, i + GRAM));
+        }
+        if (!sourceGrams.isEmpty()) {
+            nearest(source, results, filter, sourceGrams);
+            // every term within the bound shares a gram with the string
+            if (results.bound() <= (sourceGrams.size() - 1) / GRAM) {
+                return;
+            }
+        }
+        final Deque<Visit<T>> stack = new ArrayDeque<>();
+        final List<Visit<T>> children = new ArrayList<>();
+        stack.push(new Visit<>(root, 0));
+        while (!stack.isEmpty()) {
+            final Visit<T> visit = stack.pop();
+            // the bound may have shrunk since the node was pushed
+            if (visit.lowerBound > results.bound()) {
+                continue;
+            }
+            final Node<T> node = visit.node;
+            final int distance = StringUtils.getLevenshteinDistance(source, node.term);
+            if (distance <= results.bound()) {
+                results.offer(node, source, filter);
+            }
+            if (node.children != null) {
+                final int bound = results.bound();
+                for (final Map.Entry<Integer, Node<T>> child : node.children.entrySet()) {
+                    final int lowerBound = Math.abs(child.getKey() - distance);
+                    if (lowerBound <= bound) {
+                        children.add(new Visit<>(child.getValue(), lowerBound));
+                    }
+                }
+                // visit the closest children first so the bound shrinks sooner
+                children.sort((final Visit<T> o1, final Visit<T> o2) -> Integer.compare(o2.lowerBound, o1.lowerBound));
+                for (final Visit<T> child : children) {
+                    stack.push(child);
+                }
+                children.clear();
+            }
+        }
+    }
+
+    private void nearest(final String source, final Results<T> results, final BiPredicate<Entry<T>, Match> filter,
+                         final Set<String> sourceGrams) {
+        // only terms that share enough grams with the string can be within the bound
+        final Map<Node<T>, Integer> counts = new HashMap<>();
+        for (final String gram : sourceGrams) {
+            final Set<Node<T>> nodes = grams.get(gram);
+            if (nodes != null) {
+                for (final Node<T> node : nodes) {
+                    counts.merge(node, 1, Integer::sum);
+                }
+            }
+        }
+        // visit the terms in order of the least distance their shared grams allow
+        final int bound = results.bound();
+        final List<List<Node<T>>> candidates = new ArrayList<>();
+        for (final Map.Entry<Node<T>, Integer> count : counts.entrySet()) {
+            final Node<T> node = count.getKey();
+            final int missing = Math.max(sourceGrams.size(), node.grams) - count.getValue();
+            final int lowerBound = Math.max((missing + GRAM - 1) / GRAM, Math.abs(node.term.length() - source.length()));
+            if (lowerBound <= bound) {
+                while (candidates.size() <= lowerBound) {
+                    candidates.add(new ArrayList<>());
+                }
+                candidates.get(lowerBound).add(node);
+            }
+        }
+        // the bound only shrinks so the remaining terms can't rank once it's passed
+        for (int lowerBound = 0; lowerBound < candidates.size(); lowerBound++) {
+            for (final Node<T> node : candidates.get(lowerBound)) {
+                if (lowerBound > results.bound()) {
+                    return;
+                }
+                if (StringUtils.getLevenshteinDistance(source, node.term) <= results.bound()) {
+                    results.offer(node, source, filter);
+                }
+            }
+        }
+    }
+
+    private void index(final Entry<T> entry) {
+        entry.terms = terms(entry.object);
+        for (final String term : entry.terms) {
+            Node<T> node = terms.get(term);
+            if (node == null) {
+                node = insert(term);
+                terms.put(term, node);
+                int count = 0;
+                for (int i = 0; i + GRAM <= term.length(); i++) {
+                    if (grams.computeIfAbsent(term.substring(i, i + GRAM), (final String key) -> new HashSet<>()).add(node)) {
+                        count++;
+                    }
+                }
+                node.grams = count;
+                while (lengths.size() <= term.length()) {
+                    lengths.add(null);
+                }
+                if (lengths.get(term.length()) == null) {
+                    lengths.set(term.length(), new HashSet<>());
+                }
+                lengths.get(term.length()).add(node);
+            }
+            node.entries.add(entry);
+        }
+    }
+
+    private void unIndex(final Entry<T> entry) {
+        for (final String term : entry.terms) {
+            final Node<T> node = terms.get(term);
+            node.entries.remove(entry);
+            if (node.entries.isEmpty()) {
+                // the node stays in the BK-tree to route queries and is reused if the term returns
+                terms.remove(term);
+                for (int i = 0; i + GRAM <= term.length(); i++) {
+                    final String gram = term.substring(i, i + GRAM);
+                    final Set<Node<T>> nodes = grams.get(gram);
+                    if (nodes != null) {
+                        nodes.remove(node);
+                        if (nodes.isEmpty()) {
+                            grams.remove(gram);
+                        }
+                    }
+                }
+                lengths.get(term.length()).remove(node);
+            }
+        }
+        entry.terms = Collections.emptySet();
+    }
+
+    private Node<T> insert(final String term) {
+        if (root == null) {
+            root = new Node<>(term);
+            return root;
+        }
+        Node<T> current = root;
+        while (true) {
+            final int distance = StringUtils.getLevenshteinDistance(term, current.term);
+            if (distance == 0) {
+                return current;
+            }
+            if (current.children == null) {
+                current.children = new HashMap<>();
+            }
+            final Node<T> child = current.children.get(distance);
+            if (child == null) {
+                final Node<T> node = new Node<>(term);
+                current.children.put(distance, node);
+                return node;
+            }
+            current = child;
+        }
+    }
+
+    private static Set<String> terms(final Object object) {
+        // the same terms that are compared by the search util
+        final Set<String> terms = new LinkedHashSet<>();
+        if (object instanceof Searchable) {
+            final Searchable searchable = (Searchable) object;
+            terms.add(searchable.getLabel().toLowerCase(Locale.US));
+            for (final String keyword : searchable.getKeywords()) {
+                terms.add(keyword.toLowerCase(Locale.US));
+            }
+        } else if (object instanceof Enum) {
+            terms.add(((Enum<?>) object).name().toLowerCase(Locale.US));
+        } else {
+            terms.add(object.toString());
+        }
+        return terms;
+    }
+
+    private interface NodeFilter<T> {
+
+        boolean accept(Node<T> node);
+    }
+
+    private static class Entry<T> {
+
+        private final T object;
+        private final long sequence;
+        private Set<String> terms = Collections.emptySet();
+
+        private Entry(final T object, final long sequence) {
+            this.object = object;
+            this.sequence = sequence;
+        }
+    }
+
+    private static class Node<T> {
+
+        private final String term;
+        private final Set<Entry<T>> entries = new HashSet<>();
+        private Map<Integer, Node<T>> children;
+        private int grams;
+
+        private Node(final String term) {
+            this.term = term;
+        }
+    }
+
+    private static class Visit<T> {
+
+        private final Node<T> node;
+        private final int lowerBound;
+
+        private Visit(final Node<T> node, final int lowerBound) {
+            this.node = node;
+            this.lowerBound = lowerBound;
+        }
+    }
+
+    private static class Result<T> {
+
+        private final Entry<T> entry;
+        private final Match match;
+
+        private Result(final Entry<T> entry, final Match match) {
+            this.entry = entry;
+            this.match = match;
+        }
+    }
+
+    /**
+     * The best results found so far with the worst result at the head.
+     */
+    private static class Results<T> {
+
+        private final int limit;
+        private final int maxDistance;
+        private final Comparator<Result<T>> comparator;
+        private final PriorityQueue<Result<T>> queue;
+        private final Set<Entry<T>> matched = new HashSet<>();
+
+        private Results(final int limit, final int maxDistance, final Comparator<Result<T>> comparator) {
+            this.limit = limit;
+            this.maxDistance = maxDistance;
+            this.comparator = comparator;
+            queue = new PriorityQueue<>(Math.min(limit, 1024) + 1, comparator.reversed());
+        }
+
+        private int bound() {
+            return queue.size() < limit ? maxDistance : Math.min(maxDistance, queue.peek().match.distance);
+        }
+
+        private void offer(final Node<T> node, final String source, final BiPredicate<Entry<T>, Match> filter) {
+            for (final Entry<T> entry : node.entries) {
+                if (!matched.add(entry)) {
+                    continue;
+                }
+                final Match match = SearchUtil.match(entry.object, source);
+                if (!filter.test(entry, match)) {
+                    continue;
+                }
+                final Result<T> result = new Result<>(entry, match);
+                if (queue.size() < limit) {
+                    queue.add(result);
+                } else if (comparator.compare(result, queue.peek()) < 0) {
+                    queue.poll();
+                    queue.add(result);
+                }
+            }
+        }
+
+        private List<T> toList() {
+            final List<Result<T>> sorted = new ArrayList<>(queue);
+            sorted.sort(comparator);
+            final List<T> list = new ArrayList<>(sorted.size());
+            for (final Result<T> result : sorted) {
+                list.add(result.entry.object);
+            }
+            return list;
+        }
+    }
+}
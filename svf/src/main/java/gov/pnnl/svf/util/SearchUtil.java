@@ -23,7 +23,7 @@ public class SearchUtil {
     /**
      * The minimum characters required to make a meaningful match.
      */
-    private static final int MEANINGFUL_DISTANCE = 3;
+    static final int MEANINGFUL_DISTANCE = 3;
 
     /**
      * Constructor kept private for static util pattern
@@ -58,54 +58,16 @@ public class SearchUtil {
         final Map<T, Integer> distances = new HashMap<>();
         final Map<T, Integer> scores = new HashMap<>();
         for (final T e : set) {
-            // get the distance for the label
-            String target;
-            int distance;
-            int length;
-            int score;
-            // check if the label or keywords are a shorter distance
-            if (e instanceof Searchable) {
-                // searchable interface
-                final Searchable se = (Searchable) e;
-                // label
-                target = se.getLabel().toLowerCase(Locale.US);
-                distance = StringUtils.getLevenshteinDistance(source, target);
-                length = Math.max(source.length(), target.length());
-                score = length - distance;
-                // keywords
-                for (String keyword : se.getKeywords()) {
-                    keyword = keyword.toLowerCase(Locale.US);
-                    final int ld = StringUtils.getLevenshteinDistance(source, keyword);
-                    final int l = Math.max(source.length(), keyword.length());
-                    if (l - ld >= score && ld <= distance) {
-                        target = keyword;
-                        distance = ld;
-                        length = l;
-                        score = l - ld;
-                    }
-                }
-            } else if (e instanceof Enum) {
-                // enumeration
-                target = ((Enum) e).name().toLowerCase(Locale.US);
-                distance = StringUtils.getLevenshteinDistance(source, target);
-                length = Math.max(source.length(), target.length());
-                score = length - distance;
-            } else {
-                // object
-                target = e.toString();
-                distance = StringUtils.getLevenshteinDistance(source, target);
-                length = Math.max(source.length(), target.length());
-                score = length - distance;
-            }
+            final Match match = match(e, source);
+            final String target = match.target;
+            final int distance = match.distance;
+            final int length = match.length;
+            final int score = match.score;
             // place in the distances list using the shortest distance found
             distances.put(e, distance);
             scores.put(e, score);
             // remove from the master list if it's not a meaningful match
-            // verify that this is a relevant field use type for the string
-            if (!((e instanceof Searchable && ((Searchable) e).getKeywords().contains(source)) // it's a keyword
-                  || target.contains(source) // the field use type contains the string
-                  || source.contains(target) // the string contains the field use type
-                  || score >= MEANINGFUL_DISTANCE)) { // the string is a fuzzy match
+            if (!match.retained) {
                 list.remove(e);
             } else {
                 final boolean kw = (e instanceof Searchable && ((Searchable) e).getKeywords().contains(source)); // it's a keyword
@@ -136,4 +98,81 @@ public class SearchUtil {
         logger.log(Level.INFO, "List of prioritized matching objects additionally sorted by distances: {0}", list);
         return list.isEmpty() ? null : list.get(0);
     }
+
+    /**
+     * Match an object against a lower case search string using the label,
+     * keywords, enumeration name, or <code>toString</code> of the object.
+     *
+     * @param e      the object
+     * @param source the lower case search string
+     *
+     * @return the match
+     */
+    static Match match(final Object e, final String source) {
+        // get the distance for the label
+        String target;
+        int distance;
+        int length;
+        int score;
+        // check if the label or keywords are a shorter distance
+        if (e instanceof Searchable) {
+            // searchable interface
+            final Searchable se = (Searchable) e;
+            // label
+            target = se.getLabel().toLowerCase(Locale.US);
+            distance = StringUtils.getLevenshteinDistance(source, target);
+            length = Math.max(source.length(), target.length());
+            score = length - distance;
+            // keywords
+            for (String keyword : se.getKeywords()) {
+                keyword = keyword.toLowerCase(Locale.US);
+                final int ld = StringUtils.getLevenshteinDistance(source, keyword);
+                final int l = Math.max(source.length(), keyword.length());
+                if (l - ld >= score && ld <= distance) {
+                    target = keyword;
+                    distance = ld;
+                    length = l;
+                    score = l - ld;
+                }
+            }
+        } else if (e instanceof Enum) {
+            // enumeration
+            target = ((Enum) e).name().toLowerCase(Locale.US);
+            distance = StringUtils.getLevenshteinDistance(source, target);
+            length = Math.max(source.length(), target.length());
+            score = length - distance;
+        } else {
+            // object
+            target = e.toString();
+            distance = StringUtils.getLevenshteinDistance(source, target);
+            length = Math.max(source.length(), target.length());
+            score = length - distance;
+        }
+        // verify that this is a relevant field use type for the string
+        final boolean retained = (e instanceof Searchable && ((Searchable) e).getKeywords().contains(source)) // it's a keyword
+                                 || target.contains(source) // the field use type contains the string
+                                 || source.contains(target) // the string contains the field use type
+                                 || score >= MEANINGFUL_DISTANCE; // the string is a fuzzy match
+        return new Match(target, distance, length, score, retained);
+    }
+
+    /**
+     * The result of matching a single object against a search string.
+     */
+    static class Match {
+
+        final String target;
+        final int distance;
+        final int length;
+        final int score;
+        final boolean retained;
+
+        private Match(final String target, final int distance, final int length, final int score, final boolean retained) {
+            this.target = target;
+            this.distance = distance;
+            this.length = length;
+            this.score = score;
+            this.retained = retained;
+        }
+    }
 }
@@ -2,19 +2,19 @@ package gov.pnnl.svf.util;
 
 import com.jogamp.opengl.GL;
 import com.jogamp.opengl.GL2;
-import com.jogamp.opengl.glu.GLU;
 import com.jogamp.opengl.glu.GLUnurbs;
-import com.jogamp.opengl.glu.GLUtessellator;
 import com.jogamp.opengl.glu.gl2.GLUgl2;
 import gov.pnnl.svf.core.color.Color;
 import gov.pnnl.svf.core.util.BezierCurveEvaluator;
 import gov.pnnl.svf.core.util.MathUtil;
 import gov.pnnl.svf.geometry.Arc2D;
+import gov.pnnl.svf.geometry.ArrayChart2D;
 import gov.pnnl.svf.geometry.Chart2D;
 import gov.pnnl.svf.geometry.Circle2D;
 import gov.pnnl.svf.geometry.Path2D;
 import gov.pnnl.svf.geometry.Point2D;
 import gov.pnnl.svf.geometry.Polygon2D;
+import gov.pnnl.svf.geometry.PolygonTriangles;
 import gov.pnnl.svf.geometry.Rectangle;
 import gov.pnnl.svf.geometry.Rectangle2D;
 import gov.pnnl.svf.geometry.RoundedRectangle2D;
@@ -288,10 +288,10 @@ public class Shape2DUtil extends ShapeUtil {
         if (slices < 3) {
             throw new IllegalArgumentException("slices");
         }
-        final double innerRadius = arc.getRadius() - (arc.getHeight() / 2.0);
-        final double outerRadius = arc.getRadius() + (arc.getHeight() / 2.0);
-        final double start = Math.toRadians(arc.getAngle() - (arc.getSector() / 2.0));
-        final double end = Math.toRadians(arc.getAngle() + (arc.getSector() / 2.0));
+        final double innerRadius = arc.getRadius() - (arc.getArcHeight() / 2.0);
+        final double outerRadius = arc.getRadius() + (arc.getArcHeight() / 2.0);
+        final double start = arc.getAngle() - (arc.getSector() / 2.0);
+        final double end = arc.getAngle() + (arc.getSector() / 2.0);
         // create a polygon
         int vertices = 0;
         if (Double.compare(innerRadius, 0.0) == 0) {
@@ -345,30 +345,18 @@ public class Shape2DUtil extends ShapeUtil {
      * @throws NullPointerException if gl or polygon are null
      */
     public static int drawShape(final GL2 gl, final Polygon2D polygon) {
-        final GLUtessellator tessellator = GLU.gluNewTess();
-        GLU.gluTessNormal(tessellator, NORMAL[0], NORMAL[1], NORMAL[2]);
-        GLU.gluTessProperty(tessellator, GLU.GLU_TESS_WINDING_RULE, GLU.GLU_TESS_WINDING_ODD);
-        final TessellatorCallbackGl callback = new TessellatorCallbackGl(gl);
-        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_VERTEX, callback);
-        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_BEGIN, callback);
-        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_END, callback);
-        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_ERROR, callback);
-        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_COMBINE, callback);
-        GLU.gluTessBeginPolygon(tessellator, null);
-        int vertices = 0;
-        for (final List<Point2D> points : polygon.getContours()) {
-            GLU.gluTessBeginContour(tessellator);
-            for (final Point2D point : points) {
-                final double[] tess = new double[]{polygon.getX() + point.getX(), polygon.getY() + point.getY(), 0.0};
-                GLU.gluTessVertex(tessellator, tess, 0, tess);
-            }
-            GLU.gluTessEndContour(tessellator);
-            vertices += points.size() * 4; // just a guess-timate
+        // the triangles are cached on the polygon
+        final PolygonTriangles triangles = polygon.getTriangles();
+        final double[] vertices = triangles.getVertices();
+        final int[] indices = triangles.getIndices();
+        gl.glBegin(GL.GL_TRIANGLES);
+        gl.glNormal3dv(NORMAL, 0);
+        for (int i = 0; i < indices.length; i++) {
+            final int index = indices[i] * 2;
+            gl.glVertex3d(vertices[index] + polygon.getX(), vertices[index + 1] + polygon.getY(), 0.0);
         }
-        GLU.gluTessEndPolygon(tessellator);
-        // cleanup
-        GLU.gluDeleteTess(tessellator);
-        return vertices;
+        gl.glEnd();
+        return indices.length;
     }
 
     /**
@@ -382,6 +370,16 @@ public class Shape2DUtil extends ShapeUtil {
      * @throws NullPointerException if gl or chart are null
      */
     public static int drawShape(final GL2 gl, final Chart2D chart) {
+        if (chart instanceof ArrayChart2D) {
+            switch (chart.getStyle()) {
+                case SCATTER:
+                case LINE:
+                case AREA:
+                    return drawShape(gl, (ArrayChart2D) chart);
+                default:
+                // other styles use the list of points
+            }
+        }
         int vertices = 0;
         switch (chart.getStyle()) {
             case NONE:
@@ -495,4 +493,50 @@ public class Shape2DUtil extends ShapeUtil {
         return vertices;
     }
 
+    /**
+     * Draw a chart using the supplied shape. Scatter, line, and area charts
+     * are drawn from the raw values relative to the minimum and scaled by the
+     * modelview matrix, other styles are drawn from the list of points.
+     *
+     * @param gl    reference to the current GL
+     * @param chart the chart to draw
+     *
+     * @return the number of vertices used to draw the shape
+     *
+     * @throws NullPointerException if gl or chart are null
+     */
+    public static int drawShape(final GL2 gl, final ArrayChart2D chart) {
+        final int mode;
+        switch (chart.getStyle()) {
+            case SCATTER:
+                mode = GL.GL_POINTS;
+                break;
+            case LINE:
+                mode = GL.GL_LINE_STRIP;
+                break;
+            case AREA:
+                mode = GL.GL_TRIANGLE_STRIP;
+                break;
+            default:
+                return drawShape(gl, (Chart2D) chart);
+        }
+        final double[] values = chart.getValues();
+        final double minX = chart.getMinimum().getX();
+        final double minY = chart.getMinimum().getY();
+        gl.glPushMatrix();
+        gl.glTranslated(chart.getX() - 0.5, chart.getY() - 0.5, 0.0);
+        gl.glScaled(chart.getScaleX(), chart.getScaleY(), 1.0);
+        gl.glBegin(mode);
+        for (int i = 0; i < values.length; i += 2) {
+            final double x = values[i] - minX;
+            if (mode == GL.GL_TRIANGLE_STRIP) {
+                gl.glVertex2d(x, 0.0);
+            }
+            gl.glVertex2d(x, values[i + 1] - minY);
+        }
+        gl.glEnd();
+        gl.glPopMatrix();
+        return mode == GL.GL_TRIANGLE_STRIP ? values.length : values.length / 2;
+    }
+
 }
@@ -1,23 +1,25 @@
 package gov.pnnl.svf.util;
 
 import com.jogamp.opengl.GL;
-import com.jogamp.opengl.glu.GLU;
-import com.jogamp.opengl.glu.GLUtessellator;
 import gov.pnnl.svf.core.color.Color;
 import gov.pnnl.svf.core.constant.DimensionConst;
+import gov.pnnl.svf.core.geometry.Chart;
 import gov.pnnl.svf.core.util.BezierCurveEvaluator;
 import gov.pnnl.svf.core.util.MathUtil;
 import gov.pnnl.svf.geometry.Arc2D;
+import gov.pnnl.svf.geometry.ArrayChart2D;
 import gov.pnnl.svf.geometry.Chart2D;
 import gov.pnnl.svf.geometry.Circle2D;
 import gov.pnnl.svf.geometry.Path2D;
 import gov.pnnl.svf.geometry.Point2D;
 import gov.pnnl.svf.geometry.Polygon2D;
+import gov.pnnl.svf.geometry.PolygonTriangles;
 import gov.pnnl.svf.geometry.Rectangle;
 import gov.pnnl.svf.geometry.Rectangle2D;
 import gov.pnnl.svf.geometry.RoundedRectangle2D;
 import gov.pnnl.svf.geometry.Text2D;
 import static gov.pnnl.svf.util.AbstractGLUtil.createCurves2D;
+import gov.pnnl.svf.vbo.ScaledVertexBufferObject;
 import gov.pnnl.svf.vbo.VertexBufferObject;
 import java.util.ArrayList;
 import java.util.List;
@@ -435,10 +437,10 @@ public class VboShape2DUtil extends VboUtil implements DimensionConst {
         if (slices < 3) {
             throw new IllegalArgumentException("slices");
         }
-        final double innerRadius = arc.getRadius() - (arc.getHeight() / 2.0);
-        final double outerRadius = arc.getRadius() + (arc.getHeight() / 2.0);
-        final double start = Math.toRadians(arc.getAngle() - (arc.getSector() / 2.0));
-        final double end = Math.toRadians(arc.getAngle() + (arc.getSector() / 2.0));
+        final double innerRadius = arc.getRadius() - (arc.getArcHeight() / 2.0);
+        final double outerRadius = arc.getRadius() + (arc.getArcHeight() / 2.0);
+        final double start = arc.getAngle() - (arc.getSector() / 2.0);
+        final double end = arc.getAngle() + (arc.getSector() / 2.0);
         // create a polygon
         if (Double.compare(innerRadius, 0.0) == 0) {
             final DoubleList vertices = new ArrayDoubleList((slices + 2) * 2);
@@ -476,28 +478,17 @@ public class VboShape2DUtil extends VboUtil implements DimensionConst {
      * @throws NullPointerException if shape is null
      */
     public static List<VertexBufferObject> createShape(final Polygon2D polygon, final Color color) {
-        final GLUtessellator tessellator = GLU.gluNewTess();
-        GLU.gluTessNormal(tessellator, NORMAL[0], NORMAL[1], NORMAL[2]);
-        GLU.gluTessProperty(tessellator, GLU.GLU_TESS_WINDING_RULE, GLU.GLU_TESS_WINDING_ODD);
-        final TessellatorCallbackVbo callback = new TessellatorCallbackVbo(color);
-        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_VERTEX, callback);
-        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_BEGIN, callback);
-        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_END, callback);
-        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_ERROR, callback);
-        GLU.gluTessCallback(tessellator, GLU.GLU_TESS_COMBINE, callback);
-        GLU.gluTessBeginPolygon(tessellator, null);
-        for (final List<Point2D> points : polygon.getContours()) {
-            GLU.gluTessBeginContour(tessellator);
-            for (final Point2D point : points) {
-                final double[] tess = new double[]{polygon.getX() + point.getX(), polygon.getY() + point.getY(), 0.0};
-                GLU.gluTessVertex(tessellator, tess, 0, tess);
-            }
-            GLU.gluTessEndContour(tessellator);
+        // the triangles are cached on the polygon
+        final PolygonTriangles triangles = polygon.getTriangles();
+        final List<VertexBufferObject> vbos = new ArrayList<>(1);
+        if (triangles.getTriangleCount() > 0) {
+            final VertexBufferObject.Builder vbo = VertexBufferObject.Builder.construct()
+                    .vertexDimension(TWO_D)
+                    .mode(GL.GL_TRIANGLES)
+                    .vertices(triangles.toTriangleVertices(polygon.getX(), polygon.getY()));
+            vbos.add(buildVbo(vbo, NORMAL, null, color));
         }
-        GLU.gluTessEndPolygon(tessellator);
-        // cleanup
-        GLU.gluDeleteTess(tessellator);
-        return callback.getVbos();
+        return vbos;
     }
 
     /**
@@ -511,6 +502,16 @@ public class VboShape2DUtil extends VboUtil implements DimensionConst {
      * @throws NullPointerException if shape is null
      */
     public static List<VertexBufferObject> createShape(final Chart2D chart, final Color color) {
+        if (chart instanceof ArrayChart2D) {
+            switch (chart.getStyle()) {
+                case SCATTER:
+                case LINE:
+                case AREA:
+                    return createShape((ArrayChart2D) chart, color);
+                default:
+                // other styles use the list of points
+            }
+        }
         final List<VertexBufferObject> vbos = new ArrayList<>();
         VertexBufferObject.Builder vbo;
         DoubleList vertices;
@@ -661,4 +662,56 @@ public class VboShape2DUtil extends VboUtil implements DimensionConst {
         return vbos;
     }
 
+    /**
+     * Create a chart using the supplied shape. Scatter, line, and area charts
+     * use the raw values relative to the minimum and are scaled by the
+     * modelview matrix when drawn, other styles are created from the list of
+     * points.
+     *
+     * @param chart the chart to draw
+     * @param color the optional color
+     *
+     * @return the vertex buffer objects
+     *
+     * @throws NullPointerException if shape is null
+     */
+    public static List<VertexBufferObject> createShape(final ArrayChart2D chart, final Color color) {
+        final double[] values = chart.getValues();
+        final double minX = chart.getMinimum().getX();
+        final double minY = chart.getMinimum().getY();
+        final int mode;
+        final double[] vertices;
+        switch (chart.getStyle()) {
+            case SCATTER:
+            case LINE:
+                mode = chart.getStyle() == Chart.SCATTER ? GL.GL_POINTS : GL.GL_LINE_STRIP;
+                vertices = new double[values.length];
+                for (int i = 0; i < values.length; i += 2) {
+                    vertices[i] = values[i] - minX;
+                    vertices[i + 1] = values[i + 1] - minY;
+                }
+                break;
+            case AREA:
+                // strip between the bottom of the chart and each point
+                mode = GL.GL_TRIANGLE_STRIP;
+                vertices = new double[values.length * 2];
+                for (int i = 0; i < values.length; i += 2) {
+                    final double x = values[i] - minX;
+                    vertices[i * 2] = x;
+                    vertices[i * 2 + 1] = 0.0;
+                    vertices[i * 2 + 2] = x;
+                    vertices[i * 2 + 3] = values[i + 1] - minY;
+                }
+                break;
+            default:
+                return createShape((Chart2D) chart, color);
+        }
+        final List<VertexBufferObject> vbos = new ArrayList<>(1);
+        if (vertices.length > 0) {
+            vbos.add(new ScaledVertexBufferObject(mode, TWO_D, vertices, color != null ? color.toRgbaArray() : null,
+                                                  chart.getX() - 0.5, chart.getY() - 0.5, chart.getScaleX(), chart.getScaleY()));
+        }
+        return vbos;
+    }
+
 }
@@ -6,6 +6,7 @@ import gov.pnnl.svf.core.util.BezierCurveEvaluator;
 import gov.pnnl.svf.geometry.Path3D;
 import gov.pnnl.svf.geometry.PathVector3D;
 import gov.pnnl.svf.geometry.Point3D;
+import gov.pnnl.svf.geometry.Sphere3D;
 import gov.pnnl.svf.geometry.Text3D;
 import gov.pnnl.svf.vbo.VertexBufferObject;
 import java.util.List;
@@ -212,4 +213,76 @@ public class VboShape3DUtil extends VboUtil {
         }
     }
 
+    /**
+     * Create a sphere using the supplied shape. The sphere is drawn as a
+     * single triangle strip with per vertex normals. Stacks are joined using
+     * degenerate triangles.
+     *
+     * @param sphere    the sphere to draw
+     * @param slices    number of slices around the sphere (must be at least 4)
+     * @param color     the optional color
+     * @param texCoords true to include texture coordinates
+     *
+     * @return the vertex buffer object
+     *
+     * @throws NullPointerException     if shape is null
+     * @throws IllegalArgumentException if slices is less than four
+     */
+    public static VertexBufferObject createShape(final Sphere3D sphere, final int slices, final Color color, final boolean texCoords) {
+        if (slices < 4) {
+            throw new IllegalArgumentException("slices");
+        }
+        final int stacks = slices / 2;
+        final int size = stacks * (slices + 1) * 2 + (stacks - 1) * 2;
+        final double radius = sphere.getRadius();
+        final double[] vertices = new double[size * THREE_D];
+        final double[] normals = new double[size * THREE_D];
+        final double[] coords = texCoords ? new double[size * TWO_D] : null;
+        int index = 0;
+        for (int stack = 0; stack < stacks; stack++) {
+            for (int slice = 0; slice <= slices; slice++) {
+                for (int row = stack; row <= stack + 1; row++) {
+                    // repeat the first vertex of a stack to join it to the previous stack
+                    final int count = row == stack && slice == 0 && stack > 0 ? 2 : 1;
+                    for (int c = 0; c < count; c++) {
+                        index = addSpherePoint(vertices, normals, coords, index, sphere, radius, slices, stacks, slice, row);
+                    }
+                }
+            }
+            // repeat the last vertex of the stack
+            if (stack < stacks - 1) {
+                index = addSpherePoint(vertices, normals, coords, index, sphere, radius, slices, stacks, slices, stack + 1);
+            }
+        }
+        final VertexBufferObject.Builder vbo = VertexBufferObject.Builder.construct()
+                .vertexDimension(THREE_D)
+                .mode(GL.GL_TRIANGLE_STRIP)
+                .vertices(vertices);
+        if (texCoords) {
+            vbo.texCoordDimension(TWO_D);
+        }
+        return buildVbo(vbo, normals, coords, color);
+    }
+
+    private static int addSpherePoint(final double[] vertices, final double[] normals, final double[] coords, final int index, final Sphere3D sphere,
+                                      final double radius, final int slices, final int stacks, final int slice, final int stack) {
+        final double theta = 2.0 * Math.PI * slice / slices;
+        final double phi = Math.PI * stack / stacks;
+        final double nx = Math.sin(phi) * Math.cos(theta);
+        final double ny = Math.sin(phi) * Math.sin(theta);
+        final double nz = Math.cos(phi);
+        final int v = index * THREE_D;
+        normals[v] = nx;
+        normals[v + 1] = ny;
+        normals[v + 2] = nz;
+        vertices[v] = sphere.getX() + nx * radius;
+        vertices[v + 1] = sphere.getY() + ny * radius;
+        vertices[v + 2] = sphere.getZ() + nz * radius;
+        if (coords != null) {
+            coords[index * TWO_D] = (double) slice / slices;
+            coords[index * TWO_D + 1] = 1.0 - (double) stack / stacks;
+        }
+        return index + 1;
+    }
+
 }
@@ -5,6 +5,7 @@ import com.jogamp.opengl.GL2;
 import gov.pnnl.svf.core.color.Color;
 import gov.pnnl.svf.core.constant.DimensionConst;
 import gov.pnnl.svf.core.geometry.Border;
+import gov.pnnl.svf.vbo.ScaledVertexBufferObject;
 import gov.pnnl.svf.vbo.VertexBufferObject;
 import java.util.List;
 import java.util.logging.Logger;
@@ -61,6 +62,31 @@ public class VboUtil extends AbstractGLUtil implements DimensionConst {
     protected VboUtil() {
     }
 
+    /**
+     * Translate the vertices of a VBO. The transform of a scaled VBO is
+     * translated instead of its raw vertices.
+     *
+     * @param vbo the vbo to translate
+     * @param x   the x translation
+     * @param y   the y translation
+     *
+     * @throws NullPointerException if vbo is null
+     */
+    public static void translate(final VertexBufferObject vbo, final double x, final double y) {
+        if (vbo instanceof ScaledVertexBufferObject) {
+            final double[] transform = ((ScaledVertexBufferObject) vbo).getTransform();
+            transform[0] += x;
+            transform[1] += y;
+            return;
+        }
+        final double[] vertices = vbo.getVertices();
+        final int dimension = vbo.getVertexDimension();
+        for (int i = 0; i < vbo.getSize(); i++) {
+            vertices[i * dimension] += x;
+            vertices[i * dimension + 1] += y;
+        }
+    }
+
     /**
      * Add a 2D or 3D point.
      *
@@ -349,12 +375,14 @@ public class VboUtil extends AbstractGLUtil implements DimensionConst {
      */
     public static DoubleList arcTexCoords(final double start, final double end, final int slices) {
         final DoubleList texCoords = new ArrayDoubleList();
+        final double first = Math.toRadians(start);
         final double angle = Math.toRadians(end - start) / slices;
         // create a triangle fan
         // center point
         addPoint(texCoords, 0.5, 0.5);
         // circle points
-        for (double a = end; a >= start; a -= angle) {
+        for (int i = slices; i >= 0; i--) {
+            final double a = first + angle * i;
             final double ax = Math.sin(a);
             final double ay = Math.cos(a);
             // vertex
@@ -377,12 +405,14 @@ public class VboUtil extends AbstractGLUtil implements DimensionConst {
      * @return the mode
      */
     public static int addArc(final DoubleList output, final double x, final double y, final double radius, final double start, final double end, final int slices) {
+        final double first = Math.toRadians(start);
         final double angle = Math.toRadians(end - start) / slices;
         // create a triangle fan
         // center point
         addPoint(output, x, y);
         // circle points
-        for (double a = end; a >= start; a -= angle) {
+        for (int i = slices; i >= 0; i--) {
+            final double a = first + angle * i;
             final double ax = Math.sin(a);
             final double ay = Math.cos(a);
             // vertex
@@ -452,9 +482,11 @@ public class VboUtil extends AbstractGLUtil implements DimensionConst {
      * @return the mode
      */
     public static int addArc(final DoubleList output, final double x, final double y, final double innerRadius, final double outerRadius, final double start, final double end, final int slices) {
+        final double first = Math.toRadians(start);
         final double angle = Math.toRadians(end - start) / slices;
         // vertices
-        for (double a = end; a >= start; a -= angle) {
+        for (int i = slices; i >= 0; i--) {
+            final double a = first + angle * i;
             final double ax = Math.sin(a);
             final double ay = Math.cos(a);
             // inner vertex
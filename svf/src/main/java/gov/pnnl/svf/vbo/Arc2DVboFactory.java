@@ -15,7 +15,7 @@ import java.util.List;
  *
  * @author Arthur Bleeker
  */
-public class Arc2DVboFactory extends AbstractVboShapeFactory {
+public class Arc2DVboFactory extends AbstractVboShapeFactory implements LodVboShapeFactory {
 
     /**
      * Constructor
@@ -34,6 +34,34 @@ public class Arc2DVboFactory extends AbstractVboShapeFactory {
         return Collections.emptyList();
     }
 
+    @Override
+    public LevelOfDetail getLevelOfDetail(final Shape shape) {
+        if (shape instanceof Arc2D) {
+            return LevelOfDetail.CIRCLE;
+        }
+        return null;
+    }
+
+    @Override
+    public double getTessellationRadius(final Shape shape) {
+        if (shape instanceof Arc2D) {
+            final Arc2D arc = (Arc2D) shape;
+            return arc.getRadius() + arc.getArcHeight() / 2.0;
+        }
+        return 0.0;
+    }
+
+    @Override
+    public List<VertexBufferObject> createShapeVbos(final Shape shape, final Color color, final boolean texCoords, final int level) {
+        if (shape instanceof Arc2D) {
+            final Arc2D arc = (Arc2D) shape;
+            // only use the portion of the circle slices covered by the arc
+            final int slices = Math.max(3, (int) Math.ceil(LevelOfDetail.CIRCLE.getSlices(level) * Math.abs(arc.getSector()) / 360.0));
+            return Collections.singletonList(VboShape2DUtil.createShape(arc, slices, color, texCoords));
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public List<VertexBufferObject> createBorderVbos(final Shape shape, final Border border, final double thickness, final Color color) {
         if (shape instanceof Arc2D) {
@@ -311,6 +311,14 @@ public class ArrayDrawableSupport extends AbstractSupport<Object> implements Ini
         }
         // determine if tex coords are specified
         texCoord = vbo.getTexCoords() != null;
+        // apply the transform for raw vertices
+        final boolean scaled = vbo instanceof ScaledVertexBufferObject;
+        if (scaled) {
+            final double[] transform = ((ScaledVertexBufferObject) vbo).getTransform();
+            gl.glPushMatrix();
+            gl.glTranslated(transform[0], transform[1], 0.0);
+            gl.glScaled(transform[2], transform[3], 1.0);
+        }
         // draw
         gl.glBegin(vbo.getMode());
         for (int i = 0; i < vbo.getSize(); i++) {
@@ -353,6 +361,9 @@ public class ArrayDrawableSupport extends AbstractSupport<Object> implements Ini
             }
         }
         gl.glEnd();
+        if (scaled) {
+            gl.glPopMatrix();
+        }
         // handle single color and determine if color is per vertex
         switch (vbo.getColorDataType()) {
             case SINGLE:
@@ -2,7 +2,9 @@ package gov.pnnl.svf.vbo;
 
 import gov.pnnl.svf.core.color.Color;
 import gov.pnnl.svf.core.geometry.Border;
+import gov.pnnl.svf.geometry.ArrayChart2D;
 import gov.pnnl.svf.geometry.Chart2D;
+import gov.pnnl.svf.geometry.ChartDecimation;
 import gov.pnnl.svf.geometry.Circle2D;
 import gov.pnnl.svf.geometry.Rectangle2D;
 import gov.pnnl.svf.geometry.Shape;
@@ -18,7 +20,7 @@ import java.util.List;
  *
  * @author Arthur Bleeker
  */
-public class Chart2DVboFactory extends AbstractVboShapeFactory {
+public class Chart2DVboFactory extends AbstractVboShapeFactory implements LodVboShapeFactory {
 
     /**
      * Constructor
@@ -37,6 +39,50 @@ public class Chart2DVboFactory extends AbstractVboShapeFactory {
         return Collections.emptyList();
     }
 
+    @Override
+    public LevelOfDetail getLevelOfDetail(final Shape shape) {
+        if (shape instanceof Chart2D) {
+            final Chart2D chart = (Chart2D) shape;
+            final ChartDecimation decimation = chart.getDecimation();
+            if (decimation.getLevels() == 0) {
+                return null;
+            }
+            // level zero draws every point and each decimated level is used
+            // while the chart covers no more pixel columns than it has bins
+            final int[] slices = new int[decimation.getLevels() + 1];
+            final double[] sizes = new double[decimation.getLevels()];
+            slices[0] = chart.getPoints().size();
+            for (int i = 0; i < decimation.getLevels(); i++) {
+                slices[i + 1] = decimation.getBins(i);
+                sizes[i] = decimation.getBins(i);
+            }
+            return new LevelOfDetail(slices, sizes);
+        }
+        return null;
+    }
+
+    @Override
+    public double getTessellationRadius(final Shape shape) {
+        if (shape instanceof Chart2D) {
+            // the projected diameter is the width of the chart
+            return ((Chart2D) shape).getWidth() / 2.0;
+        }
+        return 0.0;
+    }
+
+    @Override
+    public List<VertexBufferObject> createShapeVbos(final Shape shape, final Color color, final boolean texCoords, final int level) {
+        if (shape instanceof Chart2D) {
+            if (level == 0) {
+                return createShapeVbos(shape, color, texCoords);
+            }
+            final Chart2D chart = (Chart2D) shape;
+            final ArrayChart2D decimated = chart.getDecimation().createChart(chart, level - 1);
+            return VboShape2DUtil.createShape(decimated, color);
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public List<VertexBufferObject> createBorderVbos(final Shape shape, final Border border, final double thickness, final Color color) {
         if (shape instanceof Chart2D) {
@@ -15,7 +15,7 @@ import java.util.List;
  *
  * @author Arthur Bleeker
  */
-public class Circle2DVboFactory extends AbstractVboShapeFactory {
+public class Circle2DVboFactory extends AbstractVboShapeFactory implements LodVboShapeFactory {
 
     /**
      * Constructor
@@ -34,6 +34,30 @@ public class Circle2DVboFactory extends AbstractVboShapeFactory {
         return Collections.emptyList();
     }
 
+    @Override
+    public LevelOfDetail getLevelOfDetail(final Shape shape) {
+        if (shape instanceof Circle2D) {
+            return LevelOfDetail.CIRCLE;
+        }
+        return null;
+    }
+
+    @Override
+    public double getTessellationRadius(final Shape shape) {
+        if (shape instanceof Circle2D) {
+            return ((Circle2D) shape).getRadius();
+        }
+        return 0.0;
+    }
+
+    @Override
+    public List<VertexBufferObject> createShapeVbos(final Shape shape, final Color color, final boolean texCoords, final int level) {
+        if (shape instanceof Circle2D) {
+            return Collections.singletonList(VboShape2DUtil.createShape((Circle2D) shape, LevelOfDetail.CIRCLE.getSlices(level), color, texCoords));
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public List<VertexBufferObject> createBorderVbos(final Shape shape, final Border border, final double thickness, final Color color) {
         if (shape instanceof Circle2D) {
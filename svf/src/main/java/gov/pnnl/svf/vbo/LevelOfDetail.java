@@ -0,0 +1,201 @@
+package gov.pnnl.svf.vbo;
+
+import java.util.Arrays;
+
+/**
+ * Immutable description of the levels of detail used to tessellate a shape.
+ * Level zero is the most detailed level. Each level has a number of slices and
+ * every level except the last has the minimum projected size, in pixels, that
+ * the shape must cover for that level to be used. A hysteresis factor widens
+ * the thresholds in the direction of the current level so that shapes near a
+ * threshold won't switch levels every frame.
+ *
+ * @author Amelia Bleeker
+ */
+public class LevelOfDetail {
+
+    /**
+     * The default hysteresis factor.
+     */
+    public static final double DEFAULT_HYSTERESIS = 0.2;
+    /**
+     * Levels of detail for circles. Each level keeps the error from the
+     * tessellation at or below about half a pixel.
+     */
+    public static final LevelOfDetail CIRCLE = new LevelOfDetail(new int[]{128, 64, 32, 16, 8}, new double[]{800.0, 200.0, 50.0, 12.0});
+    /**
+     * Levels of detail for spheres.
+     */
+    public static final LevelOfDetail SPHERE = new LevelOfDetail(new int[]{64, 32, 16, 8, 4}, new double[]{400.0, 100.0, 25.0, 6.0});
+    private final int[] slices;
+    private final double[] sizes;
+    private final double hysteresis;
+
+    /**
+     * Constructor
+     *
+     * @param slices the number of slices for each level starting with the most
+     *               detailed
+     * @param sizes  the minimum projected size in pixels for each level except
+     *               the last level
+     *
+     * @throws NullPointerException     if slices or sizes are null
+     * @throws IllegalArgumentException if slices is empty, sizes isn't one
+     *                                  shorter than slices, or sizes isn't
+     *                                  decreasing
+     */
+    public LevelOfDetail(final int[] slices, final double[] sizes) {
+        this(slices, sizes, DEFAULT_HYSTERESIS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param slices     the number of slices for each level starting with the
+     *                   most detailed
+     * @param sizes      the minimum projected size in pixels for each level
+     *                   except the last level
+     * @param hysteresis the fraction of a threshold that a projected size must
+     *                   cross before changing levels {x:0.0 &le; x &lt; 1.0}
+     *
+     * @throws NullPointerException     if slices or sizes are null
+     * @throws IllegalArgumentException if slices is empty, sizes isn't one
+     *                                  shorter than slices, sizes isn't
+     *                                  decreasing, or hysteresis is out of
+     *                                  range
+     */
+    public LevelOfDetail(final int[] slices, final double[] sizes, final double hysteresis) {
+        if (slices == null) {
+            throw new NullPointerException("slices");
+        }
+        if (sizes == null) {
+            throw new NullPointerException("sizes");
+        }
+        if (slices.length == 0) {
+            throw new IllegalArgumentException("slices");
+        }
+        if (sizes.length != slices.length - 1) {
+            throw new IllegalArgumentException("sizes");
+        }
+        for (int i = 1; i < sizes.length; i++) {
+            if (sizes[i] >= sizes[i - 1]) {
+                throw new IllegalArgumentException("sizes");
+            }
+        }
+        if (hysteresis < 0.0 || hysteresis >= 1.0) {
+            throw new IllegalArgumentException("hysteresis");
+        }
+        this.slices = Arrays.copyOf(slices, slices.length);
+        this.sizes = Arrays.copyOf(sizes, sizes.length);
+        this.hysteresis = hysteresis;
+    }
+
+    /**
+     * @return the number of levels
+     */
+    public int getLevels() {
+        return slices.length;
+    }
+
+    /**
+     * @param level the level
+     *
+     * @return the number of slices for the level
+     *
+     * @throws IndexOutOfBoundsException if level is out of range
+     */
+    public int getSlices(final int level) {
+        return slices[level];
+    }
+
+    /**
+     * @param level the level
+     *
+     * @return the minimum projected size in pixels for the level or zero for
+     *         the last level
+     *
+     * @throws IndexOutOfBoundsException if level is out of range
+     */
+    public double getSize(final int level) {
+        if (level == sizes.length) {
+            return 0.0;
+        }
+        return sizes[level];
+    }
+
+    /**
+     * @return the hysteresis factor
+     */
+    public double getHysteresis() {
+        return hysteresis;
+    }
+
+    /**
+     * Select the level for a shape that covers the specified number of pixels.
+     *
+     * @param current the level currently in use or -1 if there isn't one
+     * @param pixels  the projected size of the shape in pixels
+     *
+     * @return the level to use
+     */
+    public int select(final int current, final double pixels) {
+        if (current < 0 || current >= slices.length) {
+            return find(pixels, 1.0);
+        }
+        // only move to a finer level once the size is well past the threshold
+        final int finer = find(pixels, 1.0 + hysteresis);
+        if (finer < current) {
+            return finer;
+        }
+        // only move to a coarser level once the size is well below the threshold
+        final int coarser = find(pixels, 1.0 - hysteresis);
+        if (coarser > current) {
+            return coarser;
+        }
+        return current;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 59 * hash + Arrays.hashCode(slices);
+        hash = 59 * hash + Arrays.hashCode(sizes);
+        hash = 59 * hash + (int) (Double.doubleToLongBits(hysteresis) ^ (Double.doubleToLongBits(hysteresis) >>> 32));
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final LevelOfDetail other = (LevelOfDetail) obj;
+        if (Double.doubleToLongBits(hysteresis) != Double.doubleToLongBits(other.hysteresis)) {
+            return false;
+        }
+        if (!Arrays.equals(slices, other.slices)) {
+            return false;
+        }
+        return Arrays.equals(sizes, other.sizes);
+    }
+
+    @Override
+    public String toString() {
+        return "LevelOfDetail{" + "slices=" + Arrays.toString(slices) + ", sizes=" + Arrays.toString(sizes) + ", hysteresis=" + hysteresis + '}';
+    }
+
+    private int find(final double pixels, final double factor) {
+        for (int i = 0; i < sizes.length; i++) {
+            if (pixels >= sizes[i] * factor) {
+                return i;
+            }
+        }
+        return sizes.length;
+    }
+}
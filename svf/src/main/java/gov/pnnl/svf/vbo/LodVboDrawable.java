@@ -0,0 +1,38 @@
+package gov.pnnl.svf.vbo;
+
+import java.util.List;
+
+/**
+ * Interface for classes that draw using VBOs with multiple levels of detail.
+ * The level is chosen each frame using the projected size of the item.
+ *
+ * @author Amelia Bleeker
+ */
+public interface LodVboDrawable extends VboDrawable {
+
+    /**
+     * Get the levels of detail for this item. This may be called off of the GL
+     * draw thread.
+     *
+     * @return the levels of detail or null if the item only has one level
+     */
+    LevelOfDetail getLevelOfDetail();
+
+    /**
+     * Get the radius of the curved part of this item that is tessellated
+     * before the actor transform is applied.
+     *
+     * @return the tessellation radius
+     */
+    double getTessellationRadius();
+
+    /**
+     * This method is called when the drawing VBOs for a level of detail need
+     * to be created. This may be called off of the GL draw thread.
+     *
+     * @param level the level of detail
+     *
+     * @return the VBOs or an empty list
+     */
+    List<VertexBufferObject> createVbos(int level);
+}
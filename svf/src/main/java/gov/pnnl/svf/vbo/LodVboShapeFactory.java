@@ -0,0 +1,53 @@
+package gov.pnnl.svf.vbo;
+
+import gov.pnnl.svf.core.color.Color;
+import gov.pnnl.svf.geometry.Shape;
+import java.util.List;
+
+/**
+ * Factory for creating geometry VBOs with multiple levels of detail.
+ *
+ * @author Amelia Bleeker
+ */
+public interface LodVboShapeFactory extends VboShapeFactory {
+
+    /**
+     * Get the levels of detail used to tessellate the shape.
+     *
+     * @param shape the shape
+     *
+     * @return the levels of detail or null if the shape only has one level
+     *
+     * @throws NullPointerException if shape is null
+     */
+    LevelOfDetail getLevelOfDetail(Shape shape);
+
+    /**
+     * Get the radius of the curved part of the shape that is tessellated. The
+     * projected diameter of this radius is compared with the sizes of the
+     * levels of detail.
+     *
+     * @param shape the shape
+     *
+     * @return the tessellation radius
+     *
+     * @throws NullPointerException if shape is null
+     */
+    double getTessellationRadius(Shape shape);
+
+    /**
+     * Create the shape VBO for a level of detail.
+     *
+     * @param shape     the shape
+     * @param color     the optional color
+     * @param texCoords true to include texture coordinates
+     * @param level     the level of detail
+     *
+     * @return the VBOs
+     *
+     * @throws NullPointerException      if shape is null
+     * @throws IllegalArgumentException  if shape is not supported
+     * @throws IndexOutOfBoundsException if level is out of range
+     */
+    List<VertexBufferObject> createShapeVbos(Shape shape, Color color, boolean texCoords, int level);
+}
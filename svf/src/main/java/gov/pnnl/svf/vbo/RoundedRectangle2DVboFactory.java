@@ -15,7 +15,7 @@ import java.util.List;
  *
  * @author Arthur Bleeker
  */
-public class RoundedRectangle2DVboFactory extends AbstractVboShapeFactory {
+public class RoundedRectangle2DVboFactory extends AbstractVboShapeFactory implements LodVboShapeFactory {
 
     /**
      * Constructor
@@ -34,6 +34,32 @@ public class RoundedRectangle2DVboFactory extends AbstractVboShapeFactory {
         return Collections.emptyList();
     }
 
+    @Override
+    public LevelOfDetail getLevelOfDetail(final Shape shape) {
+        if (shape instanceof RoundedRectangle2D) {
+            return LevelOfDetail.CIRCLE;
+        }
+        return null;
+    }
+
+    @Override
+    public double getTessellationRadius(final Shape shape) {
+        if (shape instanceof RoundedRectangle2D) {
+            return ((RoundedRectangle2D) shape).getRoundness();
+        }
+        return 0.0;
+    }
+
+    @Override
+    public List<VertexBufferObject> createShapeVbos(final Shape shape, final Color color, final boolean texCoords, final int level) {
+        if (shape instanceof RoundedRectangle2D) {
+            // each corner is a quarter of a circle
+            final int slices = Math.max(2, LevelOfDetail.CIRCLE.getSlices(level) / 4);
+            return VboShape2DUtil.createShape((RoundedRectangle2D) shape, slices, color, texCoords);
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public List<VertexBufferObject> createBorderVbos(final Shape shape, final Border border, final double thickness, final Color color) {
         if (shape instanceof RoundedRectangle2D) {
@@ -0,0 +1,77 @@
+package gov.pnnl.svf.vbo;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Vertex buffer object with raw vertices that are scaled and translated by the
+ * modelview matrix when they are drawn. This lets large data sets be uploaded
+ * as is instead of rescaling every vertex. This version exposes mutable
+ * internal state for performance reasons.
+ *
+ * @author Amelia Bleeker
+ */
+public class ScaledVertexBufferObject extends VertexBufferObjectImpl implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private final double[] transform;
+
+    /**
+     * Constructor
+     *
+     * @param mode            the mode
+     * @param vertexDimension the vertex dimension
+     * @param vertices        the list of vertices
+     * @param colors          the colors
+     * @param x               the x translation
+     * @param y               the y translation
+     * @param scaleX          the x scale
+     * @param scaleY          the y scale
+     *
+     * @throws NullPointerException     if vertices is null
+     * @throws IllegalArgumentException if any list lengths are incorrect or
+     *                                  vertex dimension is outside [2,3]
+     */
+    public ScaledVertexBufferObject(final int mode,
+                                    final int vertexDimension,
+                                    final double[] vertices,
+                                    final float[] colors,
+                                    final double x,
+                                    final double y,
+                                    final double scaleX,
+                                    final double scaleY) {
+        super(mode, vertexDimension, 0, vertices, null, null, colors);
+        transform = new double[]{x, y, scaleX, scaleY};
+    }
+
+    /**
+     * The transform applied to the vertices. The vertices are scaled and then
+     * translated. I.e. <code>{X, Y, SCALE_X, SCALE_Y}</code>
+     *
+     * @return the transform
+     */
+    public double[] getTransform() {
+        return transform;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = super.hashCode();
+        hash = 97 * hash + Arrays.hashCode(this.transform);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!super.equals(obj)) {
+            return false;
+        }
+        final ScaledVertexBufferObject other = (ScaledVertexBufferObject) obj;
+        return Arrays.equals(this.transform, other.transform);
+    }
+
+    @Override
+    public String toString() {
+        return "ScaledVertexBufferObject{" + "size=" + getSize() + ", mode=" + getMode() + ", transform=" + Arrays.toString(transform) + '}';
+    }
+}
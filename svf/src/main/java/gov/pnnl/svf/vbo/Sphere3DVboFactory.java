@@ -3,7 +3,10 @@ package gov.pnnl.svf.vbo;
 import gov.pnnl.svf.core.color.Color;
 import gov.pnnl.svf.core.geometry.Border;
 import gov.pnnl.svf.geometry.Shape;
+import gov.pnnl.svf.geometry.Sphere3D;
 import gov.pnnl.svf.scene.Scene;
+import gov.pnnl.svf.util.VboShape3DUtil;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -11,7 +14,7 @@ import java.util.List;
  *
  * @author Arthur Bleeker
  */
-public class Sphere3DVboFactory extends AbstractVboShapeFactory {
+public class Sphere3DVboFactory extends AbstractVboShapeFactory implements LodVboShapeFactory {
 
     /**
      * Constructor
@@ -24,12 +27,37 @@ public class Sphere3DVboFactory extends AbstractVboShapeFactory {
 
     @Override
     public List<VertexBufferObject> createShapeVbos(final Shape shape, final Color color, final boolean texCoords) {
-        throw new IllegalArgumentException("shape");
+        return createShapeVbos(shape, color, texCoords, 0);
+    }
+
+    @Override
+    public LevelOfDetail getLevelOfDetail(final Shape shape) {
+        if (shape instanceof Sphere3D) {
+            return LevelOfDetail.SPHERE;
+        }
+        return null;
+    }
+
+    @Override
+    public double getTessellationRadius(final Shape shape) {
+        if (shape instanceof Sphere3D) {
+            return ((Sphere3D) shape).getRadius();
+        }
+        return 0.0;
+    }
+
+    @Override
+    public List<VertexBufferObject> createShapeVbos(final Shape shape, final Color color, final boolean texCoords, final int level) {
+        if (shape instanceof Sphere3D) {
+            return Collections.singletonList(VboShape3DUtil.createShape((Sphere3D) shape, LevelOfDetail.SPHERE.getSlices(level), color, texCoords));
+        }
+        return Collections.emptyList();
     }
 
     @Override
     public List<VertexBufferObject> createBorderVbos(final Shape shape, final Border border, final double thickness, final Color color) {
-        throw new IllegalArgumentException("shape");
+        // 3D shapes don't have borders
+        return Collections.emptyList();
     }
 
 }
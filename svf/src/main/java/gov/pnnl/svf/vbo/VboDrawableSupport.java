@@ -6,6 +6,8 @@ import com.jogamp.opengl.glu.gl2.GLUgl2;
 import gov.pnnl.svf.actor.Actor;
 import gov.pnnl.svf.camera.Camera;
 import gov.pnnl.svf.event.PickingCameraEvent;
+import gov.pnnl.svf.geometry.Frustum;
+import gov.pnnl.svf.geometry.Rectangle;
 import gov.pnnl.svf.picking.ColorPickingSupport;
 import gov.pnnl.svf.picking.ItemPickableActor;
 import gov.pnnl.svf.scene.DrawableSupport;
@@ -14,38 +16,71 @@ import gov.pnnl.svf.scene.Initializable;
 import gov.pnnl.svf.scene.Scene;
 import gov.pnnl.svf.scene.SceneMetrics;
 import gov.pnnl.svf.support.AbstractSupport;
+import gov.pnnl.svf.support.CameraDependent;
+import gov.pnnl.svf.support.TransformSupport;
 import gov.pnnl.svf.update.Task;
 import gov.pnnl.svf.update.UninitializeTask;
+import gov.pnnl.svf.update.WorkerUpdateTaskAdapter;
 import gov.pnnl.svf.update.WorkerUpdateTaskRunnable;
 import gov.pnnl.svf.util.ShapeUtil;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import org.apache.commons.math.geometry.Vector3D;
 
 /**
  * Support for actors that need to draw that require performance enhancement
  * through the use of vertex buffer objects (VBO)s.
+ * <p>
+ * If the VBO drawable is a LodVboDrawable with a level of detail then the level
+ * drawn for each camera is chosen using the projected size of the tessellated
+ * radius. The VBOs for a level are only created on a worker thread once a
+ * camera needs that level, and the nearest level that is ready is drawn in the
+ * meantime. Levels that haven't been drawn for a while are released. The projected size is
+ * found using the translation and largest scale component of the actor's
+ * TransformSupport, parent transforms are not taken into account. Actors that
+ * are drawn in the scene pass use the camera frustum at the distance of the
+ * actor, otherwise one unit is treated as one pixel.
  *
  * @author Arthur Bleeker
  */
-public class VboDrawableSupport extends AbstractSupport<Object> implements Initializable, WorkerUpdateTaskRunnable, DrawableSupport {
+public class VboDrawableSupport extends AbstractSupport<Object> implements Initializable, WorkerUpdateTaskRunnable, DrawableSupport, CameraDependent {
 
     /**
      * String representation of a field in this object.
      */
     protected static final String DISPOSE = "dispose";
     protected static final int[] EMPTY_BUFFER = new int[0];
+    /**
+     * The number of draws that a level of detail can go undrawn before it's
+     * released.
+     */
+    protected static final int RELEASE_DRAWS = 120;
     protected final VboDrawableItem vboDrawable;
     protected final Set<String> initializeFields;
     protected final UninitializeListener uninitializeListener;
     protected List<VertexBufferObject> vbos;
     protected List<VertexBufferObject> pickingVbos;
     protected List<VertexBufferObject> colorPickingVbos;
+    /**
+     * The VBOs for each level of detail or null if there aren't any levels. A
+     * level that hasn't been created yet is null.
+     */
+    protected List<List<VertexBufferObject>> levelVbos;
+    /**
+     * Whether each level of detail has been requested from a worker thread.
+     */
+    protected boolean[] levelRequested;
+    protected LevelOfDetail levelOfDetail;
+    protected double tessellationRadius;
     /**
      * The reference pointer for the VBO buffers. This field should only be
      * accessed on the OpenGL active context thread.
@@ -53,6 +88,31 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
     protected int[] vboBuffers;
     protected int[] pickingVboBuffers;
     protected int[] colorPickingVboBuffers;
+    /**
+     * The reference pointers for the level of detail VBO buffers. This field
+     * should only be accessed on the OpenGL active context thread.
+     */
+    protected int[][] levelVboBuffers;
+    /**
+     * The number of vertices in each level of detail. This field should only
+     * be accessed on the OpenGL active context thread.
+     */
+    protected int[] levelVertices;
+    /**
+     * The draw count when each level of detail was last drawn. This field
+     * should only be accessed on the OpenGL active context thread.
+     */
+    protected long[] levelDraws;
+    /**
+     * The number of level of detail draws. This field should only be accessed
+     * on the OpenGL active context thread.
+     */
+    protected long draws = 0L;
+    /**
+     * The level of detail last drawn for each camera. This field should only
+     * be accessed on the OpenGL active context thread.
+     */
+    protected final Map<Camera, Integer> cameraLevels = new WeakHashMap<>();
     /**
      * The total number of vertices rendered for performance tracking. This
      * field should only be accessed on the OpenGL active context thread.
@@ -121,16 +181,46 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
         uninitializeListener.propertyChange(new PropertyChangeEvent(this, DISPOSE, null, this));
     }
 
+    @Override
+    public boolean isCameraDependent() {
+        // the level of detail is chosen for each camera
+        return vboDrawable instanceof LodVboDrawable;
+    }
+
     @Override
     public void draw(final GL2 gl, final GLUgl2 glu, final Camera camera) {
         final List<VertexBufferObject> vbos;
+        final List<List<VertexBufferObject>> levelVbos;
+        final LevelOfDetail levelOfDetail;
+        final double tessellationRadius;
         synchronized (this) {
             vbos = this.vbos;
+            levelVbos = this.levelVbos;
+            levelOfDetail = this.levelOfDetail;
+            tessellationRadius = this.tessellationRadius;
         }
         if (vbos != null && !vbos.isEmpty()) {
             drawBuffers(gl, vbos, vboBuffers);
         }
-        camera.getExtended().incrementVerticesCounter(vertices);
+        if (levelVbos != null && levelVboBuffers != null && levelVbos.size() == levelVboBuffers.length) {
+            final Integer current = cameraLevels.get(camera);
+            final int level = levelOfDetail.select(current != null ? current : -1, findProjectedSize(camera, tessellationRadius));
+            if (current == null || current != level) {
+                cameraLevels.put(camera, level);
+            }
+            draws++;
+            final int ready = prepareLevel(gl, levelVbos, level);
+            if (ready != -1) {
+                levelDraws[ready] = draws;
+                drawBuffers(gl, getLevelVbos(levelVbos, ready), levelVboBuffers[ready]);
+                camera.getExtended().incrementVerticesCounter(vertices + levelVertices[ready]);
+            } else {
+                camera.getExtended().incrementVerticesCounter(vertices);
+            }
+            releaseLevels(gl, levelVbos);
+        } else {
+            camera.getExtended().incrementVerticesCounter(vertices);
+        }
     }
 
     @Override
@@ -183,12 +273,15 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
         final List<VertexBufferObject> vbos;
         final List<VertexBufferObject> pickingVbos;
         final List<VertexBufferObject> colorPickingVbos;
+        final List<List<VertexBufferObject>> levelVbos;
         synchronized (this) {
             vbos = this.vbos;
             pickingVbos = this.pickingVbos;
             colorPickingVbos = this.colorPickingVbos;
+            levelVbos = this.levelVbos;
         }
         final boolean initialized = (vbos != null ? vboBuffers != null : true)
+                                    && (levelVbos != null ? levelVboBuffers != null : true)
                                     && (pickingVbos != null ? pickingVboBuffers != null : true)
                                     && (colorPickingVbos != null ? colorPickingVboBuffers != null : true);
         synchronized (this) {
@@ -234,9 +327,25 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
                 metrics.decrementVboBufferCount();
             }
         }
+        if (levelVboBuffers != null) {
+            final SceneMetrics metrics = getScene().getExtended().getSceneMetrics();
+            for (final int[] buffers : levelVboBuffers) {
+                if (buffers != null && buffers.length > 0) {
+                    gl.glDeleteBuffers(buffers.length, buffers, 0);
+                    // update metrics
+                    for (int i = 0; i < buffers.length; i++) {
+                        metrics.decrementVboBufferCount();
+                    }
+                }
+            }
+        }
         vboBuffers = null;
         pickingVboBuffers = null;
         colorPickingVboBuffers = null;
+        levelVboBuffers = null;
+        levelVertices = null;
+        levelDraws = null;
+        cameraLevels.clear();
         synchronized (this) {
             supportState.setInitialized(false);
         }
@@ -253,10 +362,12 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
         final List<VertexBufferObject> vbos;
         final List<VertexBufferObject> pickingVbos;
         final List<VertexBufferObject> colorPickingVbos;
+        final List<List<VertexBufferObject>> levelVbos;
         synchronized (this) {
             vbos = this.vbos;
             pickingVbos = this.pickingVbos;
             colorPickingVbos = this.colorPickingVbos;
+            levelVbos = this.levelVbos;
             // cleanup
             // we need to keep them around for now
 //            this.vbos = null;
@@ -267,21 +378,32 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
         // generate, bind, and populate vbos
         if (vbos != null) {
             vboBuffers = genBuffers(gl, vbos);
-            populateBuffers(gl, vbos, vboBuffers);
+            vertices += populateBuffers(gl, vbos, vboBuffers);
         } else {
             vboBuffers = null;
         }
+        // level of detail vbos are bound when they are first drawn
+        if (levelVbos != null) {
+            levelVboBuffers = new int[levelVbos.size()][];
+            levelVertices = new int[levelVbos.size()];
+            levelDraws = new long[levelVbos.size()];
+        } else {
+            levelVboBuffers = null;
+            levelVertices = null;
+            levelDraws = null;
+        }
+        cameraLevels.clear();
         // generate, bind, and populate picking vbos
         if (pickingVbos != null) {
             pickingVboBuffers = genBuffers(gl, pickingVbos);
-            populateBuffers(gl, pickingVbos, pickingVboBuffers);
+            vertices += populateBuffers(gl, pickingVbos, pickingVboBuffers);
         } else {
             pickingVboBuffers = null;
         }
         // generate, bind, and populate color picking vbos
         if (colorPickingVbos != null) {
             colorPickingVboBuffers = genBuffers(gl, colorPickingVbos);
-            populateBuffers(gl, colorPickingVbos, colorPickingVboBuffers);
+            vertices += populateBuffers(gl, colorPickingVbos, colorPickingVboBuffers);
         } else {
             colorPickingVboBuffers = null;
         }
@@ -298,8 +420,19 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
         final List<VertexBufferObject> vbos;
         final List<VertexBufferObject> pickingVbos;
         final List<VertexBufferObject> colorPickingVbos;
+        List<List<VertexBufferObject>> levelVbos = null;
+        double tessellationRadius = 0.0;
         // primary drawing
-        vbos = vboDrawable.createVbos();
+        final LevelOfDetail levelOfDetail = vboDrawable instanceof LodVboDrawable ? ((LodVboDrawable) vboDrawable).getLevelOfDetail() : null;
+        if (levelOfDetail != null) {
+            final LodVboDrawable lodVboDrawable = (LodVboDrawable) vboDrawable;
+            tessellationRadius = lodVboDrawable.getTessellationRadius();
+            // the levels are created when a camera first needs them
+            levelVbos = new ArrayList<>(Collections.<List<VertexBufferObject>>nCopies(levelOfDetail.getLevels(), null));
+            vbos = null;
+        } else {
+            vbos = vboDrawable.createVbos();
+        }
         // picking drawing
         pickingVbos = vboDrawable.createPickingVbos();
         // color picking drawing
@@ -313,6 +446,10 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
             this.vbos = vbos;
             this.pickingVbos = pickingVbos;
             this.colorPickingVbos = colorPickingVbos;
+            this.levelVbos = levelVbos;
+            this.levelRequested = levelVbos != null ? new boolean[levelVbos.size()] : null;
+            this.levelOfDetail = levelOfDetail;
+            this.tessellationRadius = tessellationRadius;
         }
         // bind the vbos
         UninitializeTask.schedule(getScene(), this);
@@ -358,10 +495,11 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
         return buffers;
     }
 
-    private void populateBuffers(final GL2 gl, final List<VertexBufferObject> list, final int[] buffers) {
+    private int populateBuffers(final GL2 gl, final List<VertexBufferObject> list, final int[] buffers) {
         if (list.isEmpty()) {
-            return;
+            return 0;
         }
+        int count = 0;
         int index = 0;
         for (int i = 0; i < list.size(); i++) {
             final VertexBufferObject vbo = list.get(i);
@@ -381,7 +519,7 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
             }
             // normals
             if (vbo.getNormalDataType() == VboDataType.PER_VERTEX) {
-                final DoubleBuffer normalsBuffer = DoubleBuffer.wrap(vbo.getVertices());
+                final DoubleBuffer normalsBuffer = DoubleBuffer.wrap(vbo.getNormals());
                 normalsBuffer.rewind();
                 gl.glBindBuffer(GL.GL_ARRAY_BUFFER, buffers[index++]);
                 gl.glBufferData(GL.GL_ARRAY_BUFFER, vbo.getNormals().length * 8L, normalsBuffer, GL.GL_STATIC_DRAW);
@@ -392,10 +530,112 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
             gl.glBindBuffer(GL.GL_ARRAY_BUFFER, buffers[index++]);
             gl.glBufferData(GL.GL_ARRAY_BUFFER, vbo.getVertices().length * 8L, verticesBuffer, GL.GL_STATIC_DRAW);
             // calculate vertices
-            vertices += vbo.getVertices().length / vbo.getVertexDimension();
+            count += vbo.getVertices().length / vbo.getVertexDimension();
+        }
+        return count;
+    }
+
+    /**
+     * Bind the VBOs for a level of detail if they have been created, otherwise
+     * request them from a worker thread and find the nearest level that is
+     * ready to draw.
+     *
+     * @return the level to draw or -1 if no levels are ready
+     */
+    private int prepareLevel(final GL2 gl, final List<List<VertexBufferObject>> levelVbos, final int level) {
+        if (levelVboBuffers[level] != null) {
+            return level;
+        }
+        final List<VertexBufferObject> list = getLevelVbos(levelVbos, level);
+        if (list != null) {
+            levelVboBuffers[level] = genBuffers(gl, list);
+            levelVertices[level] = populateBuffers(gl, list, levelVboBuffers[level]);
+            return level;
+        }
+        requestLevel(levelVbos, level);
+        for (int offset = 1; offset < levelVboBuffers.length; offset++) {
+            if (level - offset >= 0 && levelVboBuffers[level - offset] != null) {
+                return level - offset;
+            }
+            if (level + offset < levelVboBuffers.length && levelVboBuffers[level + offset] != null) {
+                return level + offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Release the levels of detail that haven't been drawn by any camera
+     * recently. They are created again if a camera needs them.
+     */
+    private void releaseLevels(final GL2 gl, final List<List<VertexBufferObject>> levelVbos) {
+        for (int i = 0; i < levelVboBuffers.length; i++) {
+            if (levelVboBuffers[i] != null && draws - levelDraws[i] > RELEASE_DRAWS) {
+                if (levelVboBuffers[i].length > 0) {
+                    gl.glDeleteBuffers(levelVboBuffers[i].length, levelVboBuffers[i], 0);
+                    // update metrics
+                    final SceneMetrics metrics = getScene().getExtended().getSceneMetrics();
+                    for (int j = 0; j < levelVboBuffers[i].length; j++) {
+                        metrics.decrementVboBufferCount();
+                    }
+                }
+                levelVboBuffers[i] = null;
+                levelVertices[i] = 0;
+                synchronized (this) {
+                    if (this.levelVbos == levelVbos) {
+                        levelVbos.set(i, null);
+                        levelRequested[i] = false;
+                    }
+                }
+            }
         }
     }
 
+    private List<VertexBufferObject> getLevelVbos(final List<List<VertexBufferObject>> levelVbos, final int level) {
+        synchronized (this) {
+            return levelVbos.get(level);
+        }
+    }
+
+    private void requestLevel(final List<List<VertexBufferObject>> levelVbos, final int level) {
+        synchronized (this) {
+            if (this.levelVbos != levelVbos || levelRequested[level]) {
+                return;
+            }
+            levelRequested[level] = true;
+        }
+        getScene().getDefaultTaskManager().schedule(new LevelTask(levelVbos, level));
+    }
+
+    private double findProjectedSize(final Camera camera, final double radius) {
+        Vector3D translation = Vector3D.ZERO;
+        double scale = 1.0;
+        final TransformSupport transform = getActor().lookup(TransformSupport.class);
+        if (transform != null) {
+            translation = transform.getTranslation();
+            final Vector3D s = transform.getScale();
+            scale = Math.max(Math.abs(s.getX()), Math.max(Math.abs(s.getY()), Math.abs(s.getZ())));
+        }
+        final double diameter = radius * 2.0 * scale;
+        if (!getDrawingPass().containsDrawingPass(DrawingPass.SCENE)) {
+            // orthographic projection
+            return diameter;
+        }
+        // distance along the look vector
+        final double distance = Vector3D.dotProduct(translation.subtract(camera.getLocation()), camera.getLook());
+        if (distance <= camera.getNearClip()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        final Frustum frustum = camera.getFrustum();
+        final double height = frustum.getViewableArea(distance).getHeight();
+        if (!(height > 0.0)) {
+            // frustum hasn't been calculated yet
+            return Double.POSITIVE_INFINITY;
+        }
+        final Rectangle viewport = camera.getViewport();
+        return diameter / height * viewport.getHeight();
+    }
+
     private void drawBuffers(final GL2 gl, final List<VertexBufferObject> list, final int[] buffers) {
         if (list.isEmpty() || buffers == null || buffers.length == 0) {
             return;
@@ -441,7 +681,16 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
             gl.glBindBuffer(GL.GL_ARRAY_BUFFER, buffers[index++]);
             gl.glVertexPointer(vbo.getVertexDimension(), GL2.GL_DOUBLE, 0, 0);
             // draw
-            gl.glDrawArrays(vbo.getMode(), 0, vbo.getSize());
+            if (vbo instanceof ScaledVertexBufferObject) {
+                final double[] transform = ((ScaledVertexBufferObject) vbo).getTransform();
+                gl.glPushMatrix();
+                gl.glTranslated(transform[0], transform[1], 0.0);
+                gl.glScaled(transform[2], transform[3], 1.0);
+                gl.glDrawArrays(vbo.getMode(), 0, vbo.getSize());
+                gl.glPopMatrix();
+            } else {
+                gl.glDrawArrays(vbo.getMode(), 0, vbo.getSize());
+            }
             // cleanup
             if (vbo.getColorDataType() == VboDataType.SINGLE) {
                 ShapeUtil.popColor(gl, vbo.getColors(), 0);
@@ -450,6 +699,48 @@ public class VboDrawableSupport extends AbstractSupport<Object> implements Initi
         }
     }
 
+    /**
+     * Task used to create the VBOs for a level of detail on a worker thread.
+     */
+    protected class LevelTask extends WorkerUpdateTaskAdapter {
+
+        private final List<List<VertexBufferObject>> levelVbos;
+        private final int level;
+
+        /**
+         * Constructor
+         *
+         * @param levelVbos the level of detail VBOs that the level belongs to
+         * @param level     the level of detail
+         */
+        protected LevelTask(final List<List<VertexBufferObject>> levelVbos, final int level) {
+            this.levelVbos = levelVbos;
+            this.level = level;
+        }
+
+        @Override
+        public void run(final Task task) {
+            final List<VertexBufferObject> vbos = ((LodVboDrawable) vboDrawable).createVbos(level);
+            synchronized (VboDrawableSupport.this) {
+                // the levels may have been created again since this was requested
+                if (VboDrawableSupport.this.levelVbos != levelVbos) {
+                    return;
+                }
+                levelVbos.set(level, vbos);
+            }
+            getScene().draw(getDrawingPass());
+        }
+
+        @Override
+        public void disposed(final Task task) {
+            synchronized (VboDrawableSupport.this) {
+                if (VboDrawableSupport.this.levelVbos == levelVbos && levelVbos.get(level) == null) {
+                    levelRequested[level] = false;
+                }
+            }
+        }
+    }
+
     /**
      * Listener used to uninitialize the call list support when necessary.
      */
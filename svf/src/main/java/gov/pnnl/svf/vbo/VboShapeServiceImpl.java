@@ -1,6 +1,7 @@
 package gov.pnnl.svf.vbo;
 
 import gov.pnnl.svf.geometry.Arc2D;
+import gov.pnnl.svf.geometry.ArrayChart2D;
 import gov.pnnl.svf.geometry.Chart2D;
 import gov.pnnl.svf.geometry.Circle2D;
 import gov.pnnl.svf.geometry.Cuboid3D;
@@ -64,6 +65,7 @@ public class VboShapeServiceImpl implements VboShapeService {
         instance.setVboShapeFactory(Text3D.class, new Text3DVboFactory(scene));
         instance.setVboShapeFactory(Volume3D.class, new Volume3DVboFactory(scene));
         instance.setVboShapeFactory(Chart2D.class, new Chart2DVboFactory(scene));
+        instance.setVboShapeFactory(ArrayChart2D.class, new Chart2DVboFactory(scene));
         scene.add(instance);
         return instance;
     }
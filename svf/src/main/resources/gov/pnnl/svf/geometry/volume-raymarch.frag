@@ -0,0 +1,90 @@
+#version 120
+// Ray marching volume renderer fragment program.
+// Rays are cast through the unit cube centered at the origin. The volume
+// texture coordinates of an object space point p are (p.x + 0.5, 0.5 - p.y,
+// 0.5 - p.z) which matches the slices drawn by the fixed function renderer.
+
+const int MAX_STEPS = 4096;
+
+uniform sampler3D volume;
+uniform sampler3D occupancy;
+uniform sampler1D transfer;
+// samples per unit length
+uniform float samples;
+// use the largest color component as the value of a voxel
+uniform bool rgb;
+// number of entries in the transfer function
+uniform float transferLength;
+// stop marching once the accumulated opacity reaches this value
+uniform float termination;
+// skip cells with a maximum value at or below this cutoff
+uniform bool skipping;
+uniform float cutoff;
+uniform vec3 cells;
+
+varying vec3 position;
+varying vec3 eye;
+varying vec3 direction;
+
+vec3 toTexture(vec3 p) {
+    return vec3(p.x + 0.5, 0.5 - p.y, 0.5 - p.z);
+}
+
+// reciprocal that stays finite for axis aligned directions
+vec3 reciprocal(vec3 v) {
+    return 1.0 / mix(v, vec3(1.0e-6), vec3(lessThan(abs(v), vec3(1.0e-6))));
+}
+
+void main() {
+    bool orthographic = gl_ProjectionMatrix[2][3] == 0.0 && gl_ProjectionMatrix[3][3] == 1.0;
+    vec3 dir = orthographic ? normalize(direction) : normalize(position - eye);
+    vec3 origin = orthographic ? position - dir * 2.0 : eye;
+    // intersect the ray with the unit cube
+    vec3 inv = reciprocal(dir);
+    vec3 t0 = (vec3(-0.5) - origin) * inv;
+    vec3 t1 = (vec3(0.5) - origin) * inv;
+    vec3 tmin = min(t0, t1);
+    vec3 tmax = max(t0, t1);
+    float near = max(max(tmin.x, tmin.y), max(tmin.z, 0.0));
+    float far = min(min(tmax.x, tmax.y), tmax.z);
+    if (near >= far) {
+        discard;
+    }
+    float dt = 1.0 / samples;
+    // direction in texture and occupancy grid space
+    vec3 tdir = vec3(dir.x, -dir.y, -dir.z);
+    vec3 gdir = (gl_TextureMatrix[1] * vec4(tdir, 0.0)).xyz * cells;
+    vec3 ginv = reciprocal(gdir);
+    vec4 sum = vec4(0.0);
+    float t = near + 0.5 * dt;
+    for (int i = 0; i < MAX_STEPS; i++) {
+        if (t > far || sum.a >= termination) {
+            break;
+        }
+        vec3 tc = toTexture(origin + dir * t);
+        if (skipping) {
+            vec3 g = (gl_TextureMatrix[1] * vec4(tc, 1.0)).xyz;
+            if (texture3D(occupancy, g).a <= cutoff) {
+                // jump to the step after the ray leaves the empty cell
+                vec3 c = g * cells;
+                vec3 boundary = floor(c) + step(0.0, gdir);
+                vec3 exits = (boundary - c) * ginv;
+                float exit = min(min(exits.x, exits.y), exits.z);
+                t += max(ceil(exit / dt), 1.0) * dt;
+                continue;
+            }
+        }
+        // the texture matrix maps a brick into its slot in a brick cache
+        vec4 voxel = texture3D(volume, (gl_TextureMatrix[0] * vec4(tc, 1.0)).xyz);
+        float value = rgb ? max(voxel.r, max(voxel.g, voxel.b)) : voxel.a;
+        vec4 color = texture1D(transfer, (value * (transferLength - 1.0) + 0.5) / transferLength) * gl_Color;
+        sum.rgb += (1.0 - sum.a) * color.a * color.rgb;
+        sum.a += (1.0 - sum.a) * color.a;
+        t += dt;
+    }
+    if (sum.a <= 0.0) {
+        discard;
+    }
+    // the scene blends with the source alpha
+    gl_FragColor = vec4(sum.rgb / sum.a, sum.a);
+}
@@ -0,0 +1,17 @@
+#version 120
+// Ray marching volume renderer vertex program.
+// Passes the object space position of the unit cube and the camera to the
+// fragment program.
+
+varying vec3 position;
+// camera position, or view direction for orthographic projections, in object space
+varying vec3 eye;
+varying vec3 direction;
+
+void main() {
+    position = gl_Vertex.xyz;
+    eye = (gl_ModelViewMatrixInverse * vec4(0.0, 0.0, 0.0, 1.0)).xyz;
+    direction = -gl_ModelViewMatrixInverse[2].xyz;
+    gl_FrontColor = gl_Color;
+    gl_Position = ftransform();
+}
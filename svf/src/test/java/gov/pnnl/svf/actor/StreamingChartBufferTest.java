@@ -0,0 +1,117 @@
+package gov.pnnl.svf.actor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class StreamingChartBufferTest {
+
+    public StreamingChartBufferTest() {
+    }
+
+    /**
+     * Test of append method, of class StreamingChartBuffer.
+     */
+    @Test
+    public void testAppend() {
+        final StreamingChartBuffer buffer = new StreamingChartBuffer(4);
+        buffer.append(1000.0, 1.0);
+        buffer.append(1001.0, 2.0);
+        buffer.append(1002.0, 3.0);
+        Assert.assertEquals(3, buffer.getSize());
+        Assert.assertEquals(0, buffer.getStart());
+        Assert.assertEquals(1000.0, buffer.getOrigin(), 0.0);
+        Assert.assertEquals(0.0, buffer.getOldestX(), 0.0);
+        Assert.assertEquals(2.0, buffer.getNewestX(), 0.0);
+        // wrap around the end of the ring
+        buffer.append(new double[]{1003.0, 1004.0, 1005.0}, new double[]{4.0, 5.0, 6.0}, 0, 3);
+        Assert.assertEquals(4, buffer.getSize());
+        Assert.assertEquals(2, buffer.getStart());
+        Assert.assertEquals(6L, buffer.getAppended());
+        Assert.assertEquals(2.0, buffer.getOldestX(), 0.0);
+        Assert.assertEquals(5.0, buffer.getNewestX(), 0.0);
+        Assert.assertArrayEquals(new double[]{4.0, 5.0, 5.0, 6.0, 2.0, 3.0, 3.0, 4.0}, buffer.getValues(), 0.0);
+        // only the samples that fit are written and the window moved past its width so the origin moves
+        buffer.append(new double[]{0.0, 1006.0, 1007.0, 1008.0, 1009.0, 1010.0, 1011.0}, new double[]{0.0, 7.0, 8.0, 9.0, 10.0, 11.0, 12.0}, 1, 6);
+        Assert.assertEquals(12L, buffer.getAppended());
+        Assert.assertEquals(0, buffer.getStart());
+        Assert.assertEquals(1008.0, buffer.getOrigin(), 0.0);
+        Assert.assertEquals(0.0, buffer.getOldestX(), 0.0);
+        Assert.assertEquals(3.0, buffer.getNewestX(), 0.0);
+        // resize keeps the newest samples in order
+        final StreamingChartBuffer resized = new StreamingChartBuffer(2, buffer);
+        Assert.assertEquals(2, resized.getSize());
+        Assert.assertArrayEquals(new double[]{2.0, 11.0, 3.0, 12.0}, resized.getValues(), 0.0);
+        Assert.assertEquals(1008.0, resized.getOrigin(), 0.0);
+    }
+
+    /**
+     * Test of moving the origin with epoch time stamps, of class
+     * StreamingChartBuffer.
+     */
+    @Test
+    public void testRebase() {
+        final StreamingChartBuffer buffer = new StreamingChartBuffer(100);
+        final int[] ranges = new int[4];
+        final double epoch = 1.5e12;
+        for (int i = 0; i < 150; i++) {
+            buffer.append(epoch + i, i);
+        }
+        // the window hasn't moved past its width yet
+        Assert.assertEquals(epoch, buffer.getOrigin(), 0.0);
+        Assert.assertEquals(1, buffer.upload(ranges));
+        Assert.assertEquals(0, buffer.upload(ranges));
+        for (int i = 150; i < 1000000; i++) {
+            buffer.append(epoch + i, i);
+        }
+        // the relative values stay small enough to draw with floats
+        Assert.assertTrue(buffer.getNewestX() < 200.0);
+        Assert.assertEquals(99.0, buffer.getNewestX() - buffer.getOldestX(), 0.0);
+        Assert.assertEquals(epoch + 999999.0, buffer.getOrigin() + buffer.getNewestX(), 0.0);
+        Assert.assertEquals((float) (buffer.getNewestX() - 1.0), (float) buffer.getValues()[(buffer.getStart() + 98) % 100 * 2], 0.0f);
+        // every sample is uploaded again after the origin moves
+        Assert.assertEquals(1, buffer.upload(ranges));
+        Assert.assertEquals(0, ranges[0]);
+        Assert.assertEquals(100, ranges[1]);
+    }
+
+    /**
+     * Test of upload method, of class StreamingChartBuffer.
+     */
+    @Test
+    public void testUpload() {
+        final StreamingChartBuffer buffer = new StreamingChartBuffer(8);
+        final int[] ranges = new int[4];
+        Assert.assertEquals(0, buffer.upload(ranges));
+        for (int i = 0; i < 6; i++) {
+            buffer.append(i, i);
+        }
+        Assert.assertEquals(1, buffer.upload(ranges));
+        Assert.assertArrayEquals(new int[]{0, 6, 0, 0}, ranges);
+        Assert.assertEquals(0, buffer.upload(ranges));
+        // new samples that wrap are split into two ranges
+        for (int i = 6; i < 11; i++) {
+            buffer.append(i, i);
+        }
+        Assert.assertEquals(2, buffer.upload(ranges));
+        Assert.assertArrayEquals(new int[]{6, 2, 0, 3}, ranges);
+        // more new samples than slots uploads everything
+        for (int i = 11; i < 30; i++) {
+            buffer.append(i, i);
+        }
+        Assert.assertEquals(1, buffer.upload(ranges));
+        Assert.assertEquals(0, ranges[0]);
+        Assert.assertEquals(8, ranges[1]);
+        // invalidating uploads the whole window again
+        buffer.invalidate();
+        Assert.assertEquals(1, buffer.upload(ranges));
+        Assert.assertEquals(0, ranges[0]);
+        Assert.assertEquals(8, ranges[1]);
+        buffer.clear();
+        Assert.assertEquals(0, buffer.getSize());
+        Assert.assertEquals(0, buffer.upload(ranges));
+    }
+}
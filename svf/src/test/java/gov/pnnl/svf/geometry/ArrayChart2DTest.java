@@ -0,0 +1,106 @@
+package gov.pnnl.svf.geometry;
+
+import gov.pnnl.svf.core.color.Color;
+import gov.pnnl.svf.core.geometry.Chart;
+import gov.pnnl.svf.test.AbstractObjectTestBase;
+import gov.pnnl.svf.util.VboShape2DUtil;
+import gov.pnnl.svf.vbo.ScaledVertexBufferObject;
+import gov.pnnl.svf.vbo.VertexBufferObject;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class ArrayChart2DTest extends AbstractObjectTestBase<ArrayChart2D> {
+
+    private static final double EPSILON = 1.0e-9;
+    private final Random random = new Random();
+
+    public ArrayChart2DTest() {
+    }
+
+    @Override
+    protected ArrayChart2D copyValueObject(final ArrayChart2D object) {
+        final double[] xValues = new double[object.getSize()];
+        final double[] yValues = new double[object.getSize()];
+        for (int i = 0; i < object.getSize(); i++) {
+            xValues[i] = object.getValueX(i);
+            yValues[i] = object.getValueY(i);
+        }
+        return new ArrayChart2D(object.getX(), object.getY(), object.getStyle(), object.getMinimum(), object.getMaximum(), xValues, yValues);
+    }
+
+    @Override
+    protected ArrayChart2D newValueObject() {
+        final int size = random.nextInt(10) + 1;
+        final double[] xValues = new double[size];
+        final double[] yValues = new double[size];
+        for (int i = 0; i < size; i++) {
+            xValues[i] = random.nextDouble();
+            yValues[i] = random.nextDouble();
+        }
+        return new ArrayChart2D(random.nextDouble(), random.nextDouble(),
+                                Chart.values()[random.nextInt(Chart.values().length)],
+                                random.nextBoolean() ? new Point2D(random.nextDouble(), random.nextDouble()) : null,
+                                random.nextBoolean() ? new Point2D(random.nextDouble(), random.nextDouble()) : null,
+                                xValues, yValues);
+    }
+
+    @Override
+    protected void setFieldsToNull(final ArrayChart2D object) {
+        // no fields to set to null
+    }
+
+    /**
+     * Test of getPoints method, of class ArrayChart2D.
+     */
+    @Test
+    public void testGetPoints() {
+        final ArrayChart2D chart = new ArrayChart2D(Chart.LINE, new double[]{3.0, 1.0, 2.0, 1.0}, new double[]{30.0, 10.0, 20.0, 11.0});
+        final List<Point2D> points = chart.getPoints();
+        Assert.assertEquals(4, points.size());
+        // sorted by x and stable for equal x
+        Assert.assertEquals(new Point2D(1.0, 10.0), points.get(0));
+        Assert.assertEquals(new Point2D(1.0, 11.0), points.get(1));
+        Assert.assertEquals(new Point2D(2.0, 20.0), points.get(2));
+        Assert.assertEquals(new Point2D(3.0, 30.0), points.get(3));
+        Assert.assertEquals(new Point2D(1.0, 10.0), chart.getMinimum());
+        Assert.assertEquals(new Point2D(3.0, 30.0), chart.getMaximum());
+        // bar charts keep their order
+        final ArrayChart2D bar = new ArrayChart2D(Chart.BAR, new double[]{Color.RED.toInt(), Chart2D.NO_COLOR}, new double[]{2.0, 1.0});
+        Assert.assertEquals(Color.RED.toInt(), bar.getValueX(0), 0.0);
+        Assert.assertEquals(1.0, bar.getValueY(1), 0.0);
+    }
+
+    /**
+     * Test of createShape method, of class VboShape2DUtil.
+     */
+    @Test
+    public void testCreateShape() {
+        final double[] xValues = {1000.0, 1001.0, 1002.0, 1004.0};
+        final double[] yValues = {5.0, 7.0, 6.0, 9.0};
+        final ArrayChart2D line = new ArrayChart2D(2.0, 3.0, Chart.LINE, xValues, yValues);
+        final Chart2D points = new Chart2D(2.0, 3.0, Chart.LINE, line.getPoints());
+        final VertexBufferObject expected = VboShape2DUtil.createShape(points, null).get(0);
+        final List<VertexBufferObject> vbos = VboShape2DUtil.createShape(line, null);
+        Assert.assertEquals(1, vbos.size());
+        Assert.assertTrue(vbos.get(0) instanceof ScaledVertexBufferObject);
+        final ScaledVertexBufferObject vbo = (ScaledVertexBufferObject) vbos.get(0);
+        final double[] transform = vbo.getTransform();
+        // the transformed vertices match the rescaled points
+        for (int i = 0; i < vbo.getSize(); i++) {
+            Assert.assertEquals(expected.getVertices()[i * 2], vbo.getVertices()[i * 2] * transform[2] + transform[0], EPSILON);
+            Assert.assertEquals(expected.getVertices()[i * 2 + 1], vbo.getVertices()[i * 2 + 1] * transform[3] + transform[1], EPSILON);
+        }
+        // area charts are a strip from the bottom of the chart
+        final ArrayChart2D area = new ArrayChart2D(Chart.AREA, xValues, yValues);
+        final VertexBufferObject strip = VboShape2DUtil.createShape(area, Color.RED).get(0);
+        Assert.assertEquals(xValues.length * 2, strip.getSize());
+        Assert.assertEquals(0.0, strip.getVertices()[1], 0.0);
+        Assert.assertEquals(4.0, strip.getVertices()[strip.getVertices().length - 1], 0.0);
+    }
+}
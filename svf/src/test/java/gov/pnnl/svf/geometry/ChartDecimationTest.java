@@ -0,0 +1,79 @@
+package gov.pnnl.svf.geometry;
+
+import gov.pnnl.svf.core.geometry.Chart;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class ChartDecimationTest {
+
+    private final Random random = new Random(1L);
+
+    public ChartDecimationTest() {
+    }
+
+    private ArrayChart2D newChart(final Chart style, final int size) {
+        final double[] xValues = new double[size];
+        final double[] yValues = new double[size];
+        for (int i = 0; i < size; i++) {
+            xValues[i] = i * 0.5;
+            yValues[i] = random.nextGaussian();
+        }
+        return new ArrayChart2D(style, xValues, yValues);
+    }
+
+    /**
+     * Test of decimate method, of class ChartDecimation.
+     */
+    @Test
+    public void testDecimate() {
+        final ArrayChart2D chart = newChart(Chart.LINE, 10000);
+        final double[] raw = chart.getValues();
+        final int bins = 100;
+        final double[] values = ChartDecimation.decimate(raw, raw[0], raw[raw.length - 2], bins);
+        Assert.assertTrue(values.length <= (bins * 2 + 2) * 2);
+        // first and last points are kept
+        Assert.assertEquals(raw[0], values[0], 0.0);
+        Assert.assertEquals(raw[raw.length - 1], values[values.length - 1], 0.0);
+        // the extremes are kept and the points are still in order
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (int i = 0; i < values.length; i += 2) {
+            min = Math.min(min, values[i + 1]);
+            max = Math.max(max, values[i + 1]);
+            if (i > 0) {
+                Assert.assertTrue(values[i] >= values[i - 2]);
+            }
+        }
+        Assert.assertEquals(chart.getMinimum().getY(), min, 0.0);
+        Assert.assertEquals(chart.getMaximum().getY(), max, 0.0);
+    }
+
+    /**
+     * Test of create method, of class ChartDecimation.
+     */
+    @Test
+    public void testCreate() {
+        final ArrayChart2D chart = newChart(Chart.AREA, 20000);
+        final ChartDecimation decimation = chart.getDecimation();
+        Assert.assertSame(decimation, chart.getDecimation());
+        Assert.assertEquals(ChartDecimation.MAXIMUM_BINS, decimation.getBins(0));
+        Assert.assertEquals(ChartDecimation.MINIMUM_BINS, decimation.getBins(decimation.getLevels() - 1));
+        final double[] raw = chart.getValues();
+        for (int i = 0; i < decimation.getLevels(); i++) {
+            // each level matches decimating the raw values directly
+            final double[] expected = ChartDecimation.decimate(raw, raw[0], raw[raw.length - 2], decimation.getBins(i));
+            Assert.assertArrayEquals(expected, decimation.getValues(i), 0.0);
+            final ArrayChart2D level = decimation.createChart(chart, i);
+            Assert.assertEquals(chart.getMinimum(), level.getMinimum());
+            Assert.assertEquals(chart.getMaximum(), level.getMaximum());
+        }
+        // small charts and other styles aren't decimated
+        Assert.assertEquals(0, newChart(Chart.LINE, 50).getDecimation().getLevels());
+        Assert.assertEquals(0, newChart(Chart.SCATTER, 20000).getDecimation().getLevels());
+    }
+}
@@ -0,0 +1,125 @@
+package gov.pnnl.svf.geometry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class PolygonTriangulatorTest {
+
+    private static final double EPSILON = 1.0e-9;
+
+    public PolygonTriangulatorTest() {
+    }
+
+    private static List<Point2D> square(final double x, final double y, final double size) {
+        return Arrays.asList(new Point2D(x, y), new Point2D(x + size, y), new Point2D(x + size, y + size), new Point2D(x, y + size));
+    }
+
+    private static double area(final PolygonTriangles triangles) {
+        final double[] vertices = triangles.getVertices();
+        final int[] indices = triangles.getIndices();
+        double area = 0.0;
+        for (int i = 0; i < indices.length; i += 3) {
+            final double ax = vertices[indices[i] * 2];
+            final double ay = vertices[indices[i] * 2 + 1];
+            final double bx = vertices[indices[i + 1] * 2];
+            final double by = vertices[indices[i + 1] * 2 + 1];
+            final double cx = vertices[indices[i + 2] * 2];
+            final double cy = vertices[indices[i + 2] * 2 + 1];
+            area += Math.abs((bx - ax) * (cy - ay) - (cx - ax) * (by - ay)) / 2.0;
+        }
+        return area;
+    }
+
+    /**
+     * Test of triangulate method, of class PolygonTriangulator.
+     */
+    @Test
+    public void testTriangulateSquare() {
+        final PolygonTriangles triangles = PolygonTriangulator.triangulate(Collections.singletonList(square(0.0, 0.0, 2.0)));
+        Assert.assertEquals(2, triangles.getTriangleCount());
+        Assert.assertEquals(4.0, area(triangles), EPSILON);
+    }
+
+    /**
+     * Test of triangulate method, of class PolygonTriangulator.
+     */
+    @Test
+    public void testTriangulateConcave() {
+        final List<Point2D> points = Arrays.asList(new Point2D(0.0, 0.0), new Point2D(4.0, 0.0), new Point2D(4.0, 4.0),
+                                                   new Point2D(2.0, 1.0), new Point2D(0.0, 4.0));
+        final PolygonTriangles triangles = PolygonTriangulator.triangulate(Collections.singletonList(points));
+        Assert.assertEquals(3, triangles.getTriangleCount());
+        Assert.assertEquals(10.0, area(triangles), EPSILON);
+    }
+
+    /**
+     * Test of triangulate method, of class PolygonTriangulator.
+     */
+    @Test
+    public void testTriangulateHole() {
+        final PolygonTriangles triangles = PolygonTriangulator.triangulate(Arrays.asList(square(0.0, 0.0, 4.0), square(1.0, 1.0, 2.0)));
+        Assert.assertEquals(8, triangles.getTriangleCount());
+        Assert.assertEquals(12.0, area(triangles), EPSILON);
+    }
+
+    /**
+     * Test of triangulate method, of class PolygonTriangulator.
+     */
+    @Test
+    public void testTriangulateDisjoint() {
+        final PolygonTriangles triangles = PolygonTriangulator.triangulate(Arrays.asList(square(0.0, 0.0, 1.0), square(5.0, 5.0, 2.0)));
+        Assert.assertEquals(4, triangles.getTriangleCount());
+        Assert.assertEquals(5.0, area(triangles), EPSILON);
+    }
+
+    /**
+     * Test of triangulate method, of class PolygonTriangulator.
+     */
+    @Test
+    public void testTriangulateLarge() {
+        // star shaped outline that uses the z-order hash
+        final int count = 1000;
+        final List<Point2D> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final double angle = Math.PI * 2.0 * i / count;
+            final double radius = i % 2 == 0 ? 10.0 : 9.0;
+            points.add(new Point2D(Math.cos(angle) * radius, Math.sin(angle) * radius));
+        }
+        double expected = 0.0;
+        for (int i = 0; i < count; i++) {
+            final Point2D a = points.get(i);
+            final Point2D b = points.get((i + 1) % count);
+            expected += a.getX() * b.getY() - b.getX() * a.getY();
+        }
+        expected /= 2.0;
+        final PolygonTriangles triangles = PolygonTriangulator.triangulate(Collections.singletonList(points));
+        Assert.assertEquals(count - 2, triangles.getTriangleCount());
+        Assert.assertEquals(expected, area(triangles), 1.0e-6);
+    }
+
+    /**
+     * Test of getTriangles method, of class Polygon2D.
+     */
+    @Test
+    public void testGetTriangles() {
+        final Polygon2D polygon = new Polygon2D(1.0, 2.0, square(0.0, 0.0, 2.0));
+        Assert.assertFalse(polygon.isTriangulated());
+        final PolygonTriangles triangles = polygon.getTriangles();
+        Assert.assertTrue(polygon.isTriangulated());
+        Assert.assertSame(triangles, polygon.getTriangles());
+        final double[] vertices = triangles.toTriangleVertices(polygon.getX(), polygon.getY());
+        Assert.assertEquals(12, vertices.length);
+        for (int i = 0; i < vertices.length; i += 2) {
+            Assert.assertTrue(vertices[i] >= 0.0 && vertices[i] <= 3.0);
+            Assert.assertTrue(vertices[i + 1] >= 1.0 && vertices[i + 1] <= 4.0);
+        }
+    }
+}
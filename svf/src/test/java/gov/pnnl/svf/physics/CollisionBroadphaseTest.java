@@ -0,0 +1,85 @@
+package gov.pnnl.svf.physics;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class CollisionBroadphaseTest {
+
+    /**
+     * Test of findPairs method, of class CollisionBroadphase.
+     */
+    @Test
+    public void testFindPairs() {
+        final Random random = new Random(7L);
+        final int count = 2000;
+        final double[][] boxes = new double[count][6];
+        final CollisionBroadphase broadphase = new CollisionBroadphase();
+        for (int i = 0; i < count; i++) {
+            final double x = random.nextDouble() * 100.0;
+            final double y = random.nextDouble() * 100.0;
+            final double z = random.nextDouble() * 10.0;
+            // a few boxes are large enough to cover many cells
+            final double size = i % 500 == 0 ? 40.0 : 0.5 + random.nextDouble() * 2.0;
+            boxes[i] = new double[]{x, y, z, x + size, y + size, z + size};
+            Assert.assertEquals(i, broadphase.add(x, y, z, x + size, y + size, z + size));
+        }
+        // naive pairwise check
+        final Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                if (overlaps(boxes[i], boxes[j])) {
+                    expected.add(key(i, j));
+                }
+            }
+        }
+        final Set<Long> actual = new HashSet<>();
+        final int pairs = broadphase.findPairs(new CollisionBroadphase.PairListener() {
+            @Override
+            public void overlap(final int a, final int b) {
+                Assert.assertTrue(actual.add(key(a, b)));
+            }
+        });
+        Assert.assertFalse(expected.isEmpty());
+        Assert.assertEquals(expected.size(), pairs);
+        Assert.assertEquals(expected, actual);
+    }
+
+    /**
+     * Test of findPairs method, of class CollisionBroadphase.
+     */
+    @Test
+    public void testFindPairsTouching() {
+        final CollisionBroadphase broadphase = new CollisionBroadphase();
+        broadphase.add(0.0, 0.0, 0.0, 1.0, 1.0, 1.0);
+        broadphase.add(1.0, 0.0, 0.0, 2.0, 1.0, 1.0);
+        broadphase.add(3.0, 0.0, 0.0, 4.0, 1.0, 1.0);
+        // separated on the y axis only
+        broadphase.add(0.0, 5.0, 0.0, 1.0, 6.0, 1.0);
+        final int[] found = new int[2];
+        Assert.assertEquals(1, broadphase.findPairs(new CollisionBroadphase.PairListener() {
+            @Override
+            public void overlap(final int a, final int b) {
+                found[0] = Math.min(a, b);
+                found[1] = Math.max(a, b);
+            }
+        }));
+        Assert.assertArrayEquals(new int[]{0, 1}, found);
+        broadphase.clear();
+        Assert.assertEquals(0, broadphase.size());
+    }
+
+    private static boolean overlaps(final double[] a, final double[] b) {
+        return a[0] <= b[3] && b[0] <= a[3] && a[1] <= b[4] && b[1] <= a[4] && a[2] <= b[5] && b[2] <= a[5];
+    }
+
+    private static long key(final int a, final int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+}
@@ -0,0 +1,190 @@
+package gov.pnnl.svf.physics;
+
+import gov.pnnl.svf.actor.Actor;
+import gov.pnnl.svf.actor.ShapeActor;
+import gov.pnnl.svf.geometry.Rectangle2D;
+import gov.pnnl.svf.scene.ProxyGLCanvas;
+import gov.pnnl.svf.scene.ProxyScene;
+import gov.pnnl.svf.scene.Scene;
+import gov.pnnl.svf.support.TransformSupport;
+import gov.pnnl.svf.util.ConfigUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.math.geometry.Vector3D;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class PhysicsEngineTest {
+
+    private static final double FLUID_DENSITY = 10.0;
+    private static final double EPSILON = 1.0e-9;
+    private final Scene scene = new ProxyScene(new ProxyGLCanvas(), ConfigUtil.configure());
+
+    /**
+     * Test of update method, of class PhysicsEngine.
+     */
+    @Test
+    public void testUpdate() {
+        final PhysicsEngine engine = new PhysicsEngine(scene);
+        final ShapeActor actor = newActor(Vector3D.ZERO);
+        final PhysicsSupport physics = PhysicsSupport.newInstance(actor);
+        physics.setMass(2.0);
+        physics.setMaxSpeed(5.0);
+        physics.setCoefficientOfFriction(0.1);
+        physics.setVelocity(new Vector3D(0.5, 0.0, -0.25));
+        scene.add(actor);
+        // compare against the vector implementation over a few ticks
+        Vector3D velocity = physics.getVelocity();
+        Vector3D translation = Vector3D.ZERO;
+        for (int i = 0; i < 10; i++) {
+            final Vector3D force = new Vector3D(3.0, -1.0, 0.5);
+            physics.addForce(force);
+            velocity = integrate(physics, force, velocity, 0.05);
+            translation = translation.add(new Vector3D(0.05, velocity));
+            engine.update(50L);
+            assertEquals(velocity, physics.getVelocity());
+            assertEquals(translation, actor.lookup(TransformSupport.class).getTranslation());
+            assertEquals(Vector3D.ZERO, physics.getForces());
+            Assert.assertEquals(velocity.getNorm(), physics.getSpeed(), EPSILON);
+        }
+        engine.dispose();
+    }
+
+    /**
+     * Test of update method, of class PhysicsEngine.
+     */
+    @Test
+    public void testUpdateMaxSpeed() {
+        final PhysicsEngine engine = new PhysicsEngine(scene);
+        final ShapeActor actor = newActor(Vector3D.ZERO);
+        final PhysicsSupport physics = PhysicsSupport.newInstance(actor);
+        physics.setDragCoefficient(0.0);
+        physics.setMaxSpeed(1.0);
+        physics.addForce(new Vector3D(100.0, 0.0, 0.0));
+        scene.add(actor);
+        engine.update(1000L);
+        Assert.assertEquals(1.0, physics.getSpeed(), EPSILON);
+        assertEquals(new Vector3D(1.0, 0.0, 0.0), physics.getVelocity());
+        assertEquals(new Vector3D(100.0, 0.0, 0.0), physics.getAcceleration());
+        engine.dispose();
+    }
+
+    /**
+     * Test of update method, of class PhysicsEngine.
+     */
+    @Test
+    public void testUpdateRemoved() {
+        final PhysicsEngine engine = new PhysicsEngine(scene);
+        final ShapeActor first = newActor(Vector3D.ZERO);
+        final ShapeActor second = newActor(Vector3D.ZERO);
+        final PhysicsSupport a = PhysicsSupport.newInstance(first);
+        final PhysicsSupport b = PhysicsSupport.newInstance(second);
+        a.setDragCoefficient(0.0);
+        b.setDragCoefficient(0.0);
+        a.setVelocity(new Vector3D(1.0, 0.0, 0.0));
+        b.setVelocity(new Vector3D(0.0, 1.0, 0.0));
+        scene.add(first);
+        scene.add(second);
+        engine.update(100L);
+        // removing an actor keeps the state of its support object
+        scene.remove(first);
+        engine.update(100L);
+        assertEquals(new Vector3D(1.0, 0.0, 0.0), a.getVelocity());
+        assertEquals(new Vector3D(0.1, 0.0, 0.0), first.lookup(TransformSupport.class).getTranslation());
+        assertEquals(new Vector3D(0.0, 1.0, 0.0), b.getVelocity());
+        assertEquals(new Vector3D(0.0, 0.2, 0.0), second.lookup(TransformSupport.class).getTranslation());
+        // and the remaining support object is still integrated
+        b.setVelocity(new Vector3D(0.0, 0.0, 1.0));
+        engine.update(100L);
+        assertEquals(new Vector3D(0.0, 0.2, 0.1), second.lookup(TransformSupport.class).getTranslation());
+        engine.dispose();
+        assertEquals(new Vector3D(0.0, 0.0, 1.0), b.getVelocity());
+    }
+
+    /**
+     * Test of update method with actor collisions, of class PhysicsEngine.
+     */
+    @Test
+    public void testUpdateCollisions() {
+        final PhysicsEngine engine = new PhysicsEngine(scene);
+        final ShapeActor first = newActor(Vector3D.ZERO);
+        final ShapeActor second = new ShapeActor(scene, "second", "second");
+        TransformSupport.newInstance(second).setTranslation(new Vector3D(0.5, 0.0, 0.0));
+        // an actor with the scene type isn't the scene boundary
+        final ShapeActor other = new ShapeActor(scene, CollisionSupport.SCENE_COLLISION_TYPE, "other");
+        TransformSupport.newInstance(other).setTranslation(new Vector3D(-0.5, 0.0, 0.0));
+        final CollisionSupport collision = CollisionSupport.newInstance(first);
+        collision.addCollisionType(CollisionSupport.SCENE_COLLISION_TYPE);
+        Assert.assertFalse(collision.isActorCollidable());
+        collision.addCollisionType("second");
+        Assert.assertTrue(collision.isActorCollidable());
+        CollisionSupport.newInstance(second);
+        CollisionSupport.newInstance(other);
+        final List<Actor> collided = new ArrayList<>();
+        collision.addListener(new CollisionSupportListener() {
+            @Override
+            public void collidedWithActor(final Actor actor1, final Actor actor2) {
+                collided.add(actor2);
+            }
+
+            @Override
+            public void collidedWithBoundary(final Actor actor) {
+            }
+        });
+        scene.add(first);
+        scene.add(second);
+        scene.add(other);
+        engine.update(100L);
+        Assert.assertEquals(Collections.singletonList(second), collided);
+        engine.dispose();
+    }
+
+    private ShapeActor newActor(final Vector3D translation) {
+        final ShapeActor actor = new ShapeActor(scene);
+        actor.setShape(new Rectangle2D(1.0, 1.0));
+        TransformSupport.newInstance(actor).setTranslation(translation);
+        return actor;
+    }
+
+    /**
+     * Reference implementation of the integration using vectors.
+     */
+    private static Vector3D integrate(final PhysicsSupport support, final Vector3D forces, final Vector3D current, final double t) {
+        final Vector3D acceleration = new Vector3D(1.0 / support.getMass(), forces);
+        Vector3D velocity = current.add(new Vector3D(t, acceleration));
+        double speed = velocity.getNorm();
+        if (speed > support.getMaxSpeed()) {
+            speed = support.getMaxSpeed();
+            velocity = new Vector3D(support.getMaxSpeed(), velocity.normalize());
+        }
+        if (support.getDragCoefficient() > 0.0 && speed > 0.0) {
+            double scale = 0.5 * FLUID_DENSITY * speed * speed * support.getDragArea() * support.getDragCoefficient();
+            scale *= 1.0 / support.getMass() * t;
+            Vector3D dragVector = new Vector3D(scale, velocity.normalize());
+            if (dragVector.getNorm() > speed) {
+                dragVector = new Vector3D(speed, dragVector.normalize());
+            }
+            velocity = velocity.subtract(dragVector);
+            speed = velocity.getNorm();
+        }
+        if (support.getCoefficientOfFriction() > 0.0 && speed > 0.0) {
+            Vector3D frictionVector = new Vector3D(support.getMass() * support.getCoefficientOfFriction() * t, velocity.normalize());
+            if (frictionVector.getNorm() > speed) {
+                frictionVector = new Vector3D(speed, frictionVector.normalize());
+            }
+            velocity = velocity.subtract(frictionVector);
+        }
+        return velocity;
+    }
+
+    private static void assertEquals(final Vector3D expected, final Vector3D actual) {
+        Assert.assertEquals(expected.getX(), actual.getX(), EPSILON);
+        Assert.assertEquals(expected.getY(), actual.getY(), EPSILON);
+        Assert.assertEquals(expected.getZ(), actual.getZ(), EPSILON);
+    }
+}
@@ -0,0 +1,101 @@
+package gov.pnnl.svf.picking;
+
+import gov.pnnl.svf.camera.SimpleCamera;
+import gov.pnnl.svf.event.CameraEventType;
+import gov.pnnl.svf.event.PickingCameraEvent;
+import gov.pnnl.svf.scene.ProxyGLCanvas;
+import gov.pnnl.svf.scene.ProxyScene;
+import gov.pnnl.svf.scene.Scene;
+import gov.pnnl.svf.util.ConfigUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class AbstractPickingCameraTest {
+
+    private static final Set<CameraEventType> MOVE = Collections.unmodifiableSet(EnumSet.of(CameraEventType.MOVE));
+    private static final Set<CameraEventType> DRAG = Collections.unmodifiableSet(EnumSet.of(CameraEventType.DRAG));
+
+    private final Scene scene = new ProxyScene(new ProxyGLCanvas(), ConfigUtil.configure());
+    private final SimpleCamera camera = new SimpleCamera(scene);
+    private final PickingCamera picking = new AbstractPickingCamera(scene, camera) {
+    };
+
+    public AbstractPickingCameraTest() {
+        picking.setPickTypes(CameraEventType.Collections.ALL_TYPES);
+    }
+
+    /**
+     * Test of getEvents method, of class AbstractPickingCamera.
+     */
+    @Test
+    public void testGetEvents() {
+        Assert.assertTrue(picking.getEvents().isEmpty());
+        final PickingCameraEvent down = new PickingCameraEvent(picking, 1, 1, 1, EnumSet.of(CameraEventType.DOWN, CameraEventType.LEFT));
+        final PickingCameraEvent click = new PickingCameraEvent(picking, 1, 1, 1, EnumSet.of(CameraEventType.SINGLE, CameraEventType.LEFT));
+        final PickingCameraEvent wheel = new PickingCameraEvent(picking, 1, 1, 1, EnumSet.of(CameraEventType.WHEEL_UP));
+        final PickingCameraEvent move = new PickingCameraEvent(picking, 9, 9, 0, MOVE);
+        picking.addEvent(new PickingCameraEvent(picking, 2, 2, 0, MOVE));
+        picking.addEvent(down);
+        picking.addEvent(new PickingCameraEvent(picking, 3, 3, 0, MOVE));
+        picking.addEvent(click);
+        picking.addEvent(wheel);
+        picking.addEvent(move);
+        final List<PickingCameraEvent> events = new ArrayList<>(picking.getEvents());
+        Assert.assertEquals(4, events.size());
+        Assert.assertSame(down, events.get(0));
+        Assert.assertSame(click, events.get(1));
+        Assert.assertSame(wheel, events.get(2));
+        Assert.assertSame(move, events.get(3));
+        Assert.assertTrue(picking.getEvents().isEmpty());
+        Assert.assertEquals(6L, picking.getReceivedEventCounter());
+        Assert.assertEquals(2L, picking.getCoalescedEventCounter());
+        Assert.assertEquals(4L, picking.getProcessedEventCounter());
+        picking.resetEventCounters();
+        Assert.assertEquals(0L, picking.getReceivedEventCounter());
+        Assert.assertEquals(0L, picking.getCoalescedEventCounter());
+        Assert.assertEquals(0L, picking.getProcessedEventCounter());
+    }
+
+    /**
+     * Test of getEvents method with drag events, of class
+     * AbstractPickingCamera.
+     */
+    @Test
+    public void testGetEventsDrag() {
+        final PickingCameraEvent move = new PickingCameraEvent(picking, 1, 1, 0, MOVE);
+        final PickingCameraEvent drag = new PickingCameraEvent(picking, 5, 5, 0, DRAG);
+        // a drag release has a button and is never coalesced
+        final PickingCameraEvent release = new PickingCameraEvent(picking, 6, 6, 1, EnumSet.of(CameraEventType.DRAG, CameraEventType.LEFT));
+        picking.addEvent(new PickingCameraEvent(picking, 4, 4, 0, DRAG));
+        picking.addEvent(move);
+        picking.addEvent(drag);
+        picking.addEvent(release);
+        final List<PickingCameraEvent> events = new ArrayList<>(picking.getEvents());
+        Assert.assertEquals(3, events.size());
+        Assert.assertSame(release, events.get(0));
+        Assert.assertSame(move, events.get(1));
+        Assert.assertSame(drag, events.get(2));
+        Assert.assertEquals(1L, picking.getCoalescedEventCounter());
+    }
+
+    /**
+     * Test of addEvent method with filtered events, of class
+     * AbstractPickingCamera.
+     */
+    @Test
+    public void testAddEventFiltered() {
+        picking.setPickTypes(EnumSet.of(CameraEventType.SINGLE, CameraEventType.LEFT));
+        picking.addEvent(new PickingCameraEvent(picking, 1, 1, 0, MOVE));
+        Assert.assertTrue(picking.getEvents().isEmpty());
+        Assert.assertEquals(0L, picking.getReceivedEventCounter());
+    }
+}
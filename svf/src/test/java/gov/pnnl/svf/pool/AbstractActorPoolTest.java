@@ -8,6 +8,8 @@ import gov.pnnl.svf.scene.Scene;
 import gov.pnnl.svf.support.ColorSupport;
 import gov.pnnl.svf.support.TransformSupport;
 import gov.pnnl.svf.util.ConfigUtil;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -110,12 +112,114 @@ public class AbstractActorPoolTest {
         Assert.assertEquals(1, pool.getPoolSize());
     }
 
+    /**
+     * Test of checkIn method with a collection, of class AbstractActorPool.
+     */
+    @Test
+    public void testCheckInBatch() {
+        final Shape2DActorPoolImpl pool = new Shape2DActorPoolImpl(scene, 2);
+
+        final ShapeActor actor1 = pool.checkOut("1", null);
+        final ShapeActor actor2 = pool.checkOut("2", null);
+        final ShapeActor actor3 = pool.checkOut("3", null);
+        scene.add(actor1);
+        scene.add(actor2);
+        scene.add(actor3);
+        pool.checkIn(Arrays.asList(actor1, actor2, actor3, actor3));
+        Assert.assertNull(scene.getActor("1"));
+        Assert.assertNull(scene.getActor("3"));
+        // the least recently checked in actor is evicted
+        Assert.assertEquals(2, pool.getPoolSize());
+        Assert.assertEquals(1L, pool.getEvictedCounter());
+        Assert.assertTrue(actor1.isDisposed());
+        // the most recently checked in actor is checked out first
+        Assert.assertTrue(actor3 == pool.checkOut("4", null));
+        Assert.assertTrue(actor2 == pool.checkOut("5", null));
+    }
+
+    /**
+     * Test of the hit, miss, and created counters, of class AbstractActorPool.
+     */
+    @Test
+    public void testCounters() {
+        final Shape2DActorPoolImpl pool = new Shape2DActorPoolImpl(scene);
+
+        final ShapeActor actor1 = pool.checkOut("1", null);
+        pool.checkIn(actor1);
+        pool.checkOut("2", null);
+        pool.checkOut("3", null);
+        Assert.assertEquals(1L, pool.getHitCounter());
+        Assert.assertEquals(2L, pool.getMissCounter());
+        Assert.assertEquals(2L, pool.getCreatedCounter());
+        pool.resetCounters();
+        Assert.assertEquals(0L, pool.getHitCounter());
+        Assert.assertEquals(0L, pool.getMissCounter());
+        Assert.assertEquals(0L, pool.getCreatedCounter());
+    }
+
+    /**
+     * Test of prewarm method, of class AbstractActorPool.
+     */
+    @Test
+    public void testPrewarm() throws InterruptedException {
+        final Shape2DActorPoolImpl pool = new Shape2DActorPoolImpl(scene, 5);
+
+        pool.prewarm(10);
+        for (int i = 0; i < 100 && pool.getPoolSize() < 5; i++) {
+            Thread.sleep(10L);
+        }
+        Assert.assertEquals(5, pool.getPoolSize());
+        Assert.assertEquals(5L, pool.getCreatedCounter());
+        pool.checkOut("1", null);
+        Assert.assertEquals(1L, pool.getHitCounter());
+        Assert.assertEquals(0L, pool.getMissCounter());
+        pool.dispose();
+    }
+
+    /**
+     * Test of createPrewarmed method, of class AbstractActorPool.
+     */
+    @Test
+    public void testCreatePrewarmed() throws InterruptedException {
+        final AtomicInteger prewarmed = new AtomicInteger();
+        final Shape2DActorPoolImpl pool = new Shape2DActorPoolImpl(scene, 3) {
+            @Override
+            protected ShapeActor createPrewarmed(final String id) {
+                prewarmed.incrementAndGet();
+                return super.createPrewarmed(id);
+            }
+        };
+
+        pool.prewarm(3);
+        for (int i = 0; i < 100 && pool.getPoolSize() < 3; i++) {
+            Thread.sleep(10L);
+        }
+        Assert.assertEquals(3, prewarmed.get());
+        // a check out miss doesn't use the prewarm hook
+        pool.checkOut("1", null);
+        pool.checkOut("2", null);
+        pool.checkOut("3", null);
+        pool.checkOut("4", null);
+        Assert.assertEquals(3, prewarmed.get());
+        Assert.assertEquals(1L, pool.getMissCounter());
+        pool.dispose();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrewarmExc1() {
+        new Shape2DActorPoolImpl(scene).prewarm(-1);
+    }
+
     private static class Shape2DActorPoolImpl extends AbstractActorPool<ShapeActor> {
 
         Shape2DActorPoolImpl(final Scene scene) {
             super(scene);
         }
 
+        Shape2DActorPoolImpl(final Scene scene, final int maxPoolSize) {
+            super(scene, maxPoolSize);
+        }
+
         @Override
         protected ShapeActor create(final String id, final Object data) {
             final ShapeActor actor = new ShapeActor(getScene(), id);
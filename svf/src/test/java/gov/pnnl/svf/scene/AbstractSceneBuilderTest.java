@@ -65,6 +65,17 @@ public class AbstractSceneBuilderTest extends AbstractObjectTestBase<AbstractSce
         Assert.assertNotSame(old, builder.isDisplayFps());
     }
 
+    /**
+     * Test of setProfiling method, of class AbstractSceneBuilder.
+     */
+    @Test
+    public void testSetProfiling() {
+        final AbstractSceneBuilder<?> builder = newValueObject();
+        final boolean old = builder.isProfiling();
+        builder.setProfiling(!old);
+        Assert.assertNotSame(old, builder.isProfiling());
+    }
+
     /**
      * Test of setMaxInitializations method, of class AbstractSceneBuilder.
      */
@@ -249,6 +260,7 @@ public class AbstractSceneBuilderTest extends AbstractObjectTestBase<AbstractSce
         builder.setDebugColorPicking(random.nextBoolean());
         builder.setDebug(random.nextBoolean());
         builder.setDisplayFps(random.nextBoolean());
+        builder.setProfiling(random.nextBoolean());
         builder.setFullScreenAntiAliasing(random.nextBoolean());
         builder.setLighting(random.nextBoolean());
         builder.setMaxInitializations(random.nextInt(Integer.MAX_VALUE));
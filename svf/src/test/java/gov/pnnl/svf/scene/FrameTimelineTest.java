@@ -0,0 +1,146 @@
+package gov.pnnl.svf.scene;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class FrameTimelineTest {
+
+    private static final int PHASES = RenderPhase.values().length;
+
+    /**
+     * Test of constructor, of class FrameTimeline.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorCapacity() {
+        new FrameTimeline(0);
+    }
+
+    /**
+     * Test of addFrame method, of class FrameTimeline.
+     */
+    @Test
+    public void testAddFrame() {
+        final FrameTimeline timeline = new FrameTimeline(4);
+        Assert.assertEquals(0, timeline.getSize());
+        Assert.assertEquals(FrameTimeline.UNAVAILABLE, timeline.getLastFrameNanos());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(i, timeline.addFrame(i, newPhases(i)));
+        }
+        Assert.assertEquals(4, timeline.getCapacity());
+        Assert.assertEquals(4, timeline.getSize());
+        Assert.assertEquals(10L, timeline.getFrameCount());
+        Assert.assertEquals(9L, timeline.getLastFrameNanos());
+        Assert.assertEquals(9L * (RenderPhase.SCENE.ordinal() + 1), timeline.getLastCpuNanos(RenderPhase.SCENE));
+        Assert.assertEquals(FrameTimeline.UNAVAILABLE, timeline.getLastGpuNanos(RenderPhase.SCENE));
+        timeline.clear();
+        Assert.assertEquals(0, timeline.getSize());
+    }
+
+    /**
+     * Test of addFrame method, of class FrameTimeline.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddFrameLength() {
+        new FrameTimeline().addFrame(0L, new long[PHASES + 1]);
+    }
+
+    /**
+     * Test of setGpuNanos method, of class FrameTimeline.
+     */
+    @Test
+    public void testSetGpuNanos() {
+        final FrameTimeline timeline = new FrameTimeline(4);
+        Assert.assertFalse(timeline.setGpuNanos(0L, RenderPhase.SCENE, 5L));
+        for (int i = 0; i < 6; i++) {
+            timeline.addFrame(i, newPhases(i));
+        }
+        // frames no longer retained
+        Assert.assertFalse(timeline.setGpuNanos(1L, RenderPhase.SCENE, 5L));
+        Assert.assertFalse(timeline.setGpuNanos(6L, RenderPhase.SCENE, 5L));
+        Assert.assertTrue(timeline.setGpuNanos(2L, RenderPhase.SCENE, 5L));
+        Assert.assertTrue(timeline.setGpuNanos(3L, RenderPhase.SCENE, 7L));
+        Assert.assertEquals(7L, timeline.getLastGpuNanos(RenderPhase.SCENE));
+        Assert.assertEquals(5L, timeline.getGpuPercentile(RenderPhase.SCENE, 50.0));
+        Assert.assertEquals(7L, timeline.getGpuPercentile(RenderPhase.SCENE, 100.0));
+        Assert.assertEquals(FrameTimeline.UNAVAILABLE, timeline.getGpuPercentile(RenderPhase.OVERLAY, 50.0));
+    }
+
+    /**
+     * Test of clear method, of class FrameTimeline.
+     */
+    @Test
+    public void testClear() {
+        final FrameTimeline timeline = new FrameTimeline(4);
+        for (int i = 0; i < 3; i++) {
+            timeline.addFrame(i, newPhases(i));
+        }
+        timeline.clear();
+        Assert.assertEquals(0L, timeline.getFrameCount());
+        Assert.assertEquals(FrameTimeline.UNAVAILABLE, timeline.getLastFrameNanos());
+        // frame numbers keep increasing after a clear
+        Assert.assertEquals(3L, timeline.addFrame(10L, newPhases(10L)));
+        // late GPU results for frames recorded before the clear are dropped
+        Assert.assertFalse(timeline.setGpuNanos(0L, RenderPhase.SCENE, 5L));
+        Assert.assertFalse(timeline.setGpuNanos(2L, RenderPhase.SCENE, 5L));
+        Assert.assertEquals(FrameTimeline.UNAVAILABLE, timeline.getLastGpuNanos(RenderPhase.SCENE));
+        Assert.assertTrue(timeline.setGpuNanos(3L, RenderPhase.SCENE, 7L));
+        Assert.assertEquals(7L, timeline.getLastGpuNanos(RenderPhase.SCENE));
+        Assert.assertEquals(1L, timeline.getFrameCount());
+    }
+
+    /**
+     * Test of getCpuPercentile method, of class FrameTimeline.
+     */
+    @Test
+    public void testCpuPercentileUnavailable() {
+        final FrameTimeline timeline = new FrameTimeline(10);
+        for (int i = 1; i <= 10; i++) {
+            final long[] phases = newPhases(i);
+            // the scene phase only ran in the first frame
+            if (i > 1) {
+                phases[RenderPhase.SCENE.ordinal()] = FrameTimeline.UNAVAILABLE;
+            }
+            timeline.addFrame(i, phases);
+        }
+        Assert.assertEquals(RenderPhase.SCENE.ordinal() + 1L, timeline.getCpuPercentile(RenderPhase.SCENE, 50.0));
+        Assert.assertEquals(RenderPhase.SCENE.ordinal() + 1L, timeline.getCpuPercentile(RenderPhase.SCENE, 99.0));
+        Assert.assertEquals(FrameTimeline.UNAVAILABLE, timeline.getLastCpuNanos(RenderPhase.SCENE));
+    }
+
+    /**
+     * Test of getFramePercentile method, of class FrameTimeline.
+     */
+    @Test
+    public void testPercentile() {
+        final FrameTimeline timeline = new FrameTimeline(100);
+        for (int i = 100; i > 0; i--) {
+            timeline.addFrame(i, newPhases(i));
+        }
+        Assert.assertEquals(1L, timeline.getFramePercentile(0.0));
+        Assert.assertEquals(50L, timeline.getFramePercentile(50.0));
+        Assert.assertEquals(95L, timeline.getFramePercentile(95.0));
+        Assert.assertEquals(99L, timeline.getFramePercentile(99.0));
+        Assert.assertEquals(100L, timeline.getFramePercentile(100.0));
+        Assert.assertEquals(99L * (RenderPhase.INTERFACE.ordinal() + 1), timeline.getCpuPercentile(RenderPhase.INTERFACE, 99.0));
+    }
+
+    /**
+     * Test of getFramePercentile method, of class FrameTimeline.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPercentileRange() {
+        new FrameTimeline().getFramePercentile(101.0);
+    }
+
+    private static long[] newPhases(final long value) {
+        final long[] phases = new long[PHASES];
+        for (int i = 0; i < PHASES; i++) {
+            phases[i] = value * (i + 1);
+        }
+        return phases;
+    }
+}
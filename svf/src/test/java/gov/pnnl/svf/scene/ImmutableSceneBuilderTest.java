@@ -47,6 +47,14 @@ public class ImmutableSceneBuilderTest extends AbstractObjectTestBase<ImmutableS
         newValueObject().setDisplayFps(true);
     }
 
+    /**
+     * Test of setProfiling method, of class ImmutableSceneBuilder.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSetProfiling() {
+        newValueObject().setProfiling(true);
+    }
+
     /**
      * Test of setMaxInitializations method, of class ImmutableSceneBuilder.
      */
@@ -143,6 +151,7 @@ public class ImmutableSceneBuilderTest extends AbstractObjectTestBase<ImmutableS
         sceneBuilder.setDebugColorPicking(random.nextBoolean());
         sceneBuilder.setDebug(random.nextBoolean());
         sceneBuilder.setDisplayFps(random.nextBoolean());
+        sceneBuilder.setProfiling(random.nextBoolean());
         sceneBuilder.setFullScreenAntiAliasing(random.nextBoolean());
         sceneBuilder.setLighting(random.nextBoolean());
         sceneBuilder.setMaxInitializations(random.nextInt(Integer.MAX_VALUE));
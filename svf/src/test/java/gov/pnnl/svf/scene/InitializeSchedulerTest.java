@@ -0,0 +1,169 @@
+package gov.pnnl.svf.scene;
+
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.glu.gl2.GLUgl2;
+import gov.pnnl.svf.camera.Camera;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The scheduler in these tests uses a clock that only advances when a test
+ * initializable does its work so the budget doesn't depend on the machine.
+ *
+ * @author Arthur Bleeker
+ */
+public class InitializeSchedulerTest {
+
+    private static final List<Camera> CAMERAS = Collections.emptyList();
+    private final long[] clock = new long[1];
+    private final InitializeScheduler scheduler = new InitializeScheduler(() -> clock[0]);
+
+    /**
+     * Test of initialize method, of class InitializeScheduler.
+     */
+    @Test
+    public void testInitializeBudget() {
+        final List<Initializable> initializables = newInitializables(20, TimeUnit.MILLISECONDS.toNanos(2L), false);
+        // budget is large enough for two items per frame
+        DrawingPass pending = scheduler.initialize(null, null, initializables, CAMERAS, TimeUnit.MILLISECONDS.toNanos(5L), Integer.MAX_VALUE);
+        Assert.assertEquals(DrawingPass.INTERFACE, pending);
+        Assert.assertEquals(2, scheduler.getInitializeCount());
+        Assert.assertEquals(18, scheduler.getQueueSize());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(4L), scheduler.getInitializeNanos());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(2L), scheduler.getAverageNanos(TestInitializable.class));
+        // keep going until everything is initialized
+        int frames = 1;
+        while (pending != DrawingPass.NONE) {
+            pending = scheduler.initialize(null, null, initializables, CAMERAS, TimeUnit.MILLISECONDS.toNanos(5L), Integer.MAX_VALUE);
+            frames++;
+            Assert.assertTrue(frames <= initializables.size());
+        }
+        Assert.assertEquals(10, frames);
+        Assert.assertEquals(0, scheduler.getQueueSize());
+        for (final Initializable initializable : initializables) {
+            Assert.assertTrue(initializable.isInitialized());
+        }
+    }
+
+    /**
+     * Test of initialize method, of class InitializeScheduler.
+     */
+    @Test
+    public void testInitializeProgress() {
+        final List<Initializable> initializables = newInitializables(3, TimeUnit.MILLISECONDS.toNanos(1L), false);
+        // at least one item is initialized even without a budget
+        scheduler.initialize(null, null, initializables, CAMERAS, 0L, Integer.MAX_VALUE);
+        Assert.assertEquals(1, scheduler.getInitializeCount());
+        Assert.assertEquals(2, scheduler.getQueueSize());
+    }
+
+    /**
+     * Test of initialize method, of class InitializeScheduler.
+     */
+    @Test
+    public void testInitializeFailed() {
+        final List<Initializable> initializables = newInitializables(5, TimeUnit.MILLISECONDS.toNanos(3L), false);
+        for (final Initializable initializable : initializables) {
+            ((TestInitializable) initializable).fails = true;
+        }
+        // attempts that don't initialize still spend the budget
+        final DrawingPass pending = scheduler.initialize(null, null, initializables, CAMERAS, TimeUnit.MILLISECONDS.toNanos(5L), Integer.MAX_VALUE);
+        Assert.assertEquals(DrawingPass.INTERFACE, pending);
+        Assert.assertEquals(0, scheduler.getInitializeCount());
+        Assert.assertEquals(5, scheduler.getQueueSize());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(3L), scheduler.getInitializeNanos());
+        Assert.assertEquals(1, ((TestInitializable) initializables.get(0)).attempts);
+        Assert.assertEquals(0, ((TestInitializable) initializables.get(1)).attempts);
+    }
+
+    /**
+     * Test of initialize method, of class InitializeScheduler.
+     */
+    @Test
+    public void testInitializeMaxSlow() {
+        final List<Initializable> initializables = newInitializables(10, 0L, true);
+        scheduler.initialize(null, null, initializables, CAMERAS, TimeUnit.SECONDS.toNanos(1L), 4);
+        Assert.assertEquals(4, scheduler.getInitializeCount());
+        Assert.assertEquals(6, scheduler.getQueueSize());
+    }
+
+    /**
+     * Test of initialize method, of class InitializeScheduler.
+     */
+    @Test
+    public void testUnInitialize() {
+        final List<Initializable> initializables = newInitializables(2, 0L, false);
+        scheduler.initialize(null, null, initializables, CAMERAS, TimeUnit.SECONDS.toNanos(1L), Integer.MAX_VALUE);
+        Assert.assertTrue(initializables.get(0).isInitialized());
+        ((TestInitializable) initializables.get(0)).visible = false;
+        final DrawingPass pending = scheduler.initialize(null, null, initializables, CAMERAS, TimeUnit.SECONDS.toNanos(1L), Integer.MAX_VALUE);
+        Assert.assertEquals(DrawingPass.NONE, pending);
+        Assert.assertFalse(initializables.get(0).isInitialized());
+        Assert.assertTrue(initializables.get(1).isInitialized());
+    }
+
+    private List<Initializable> newInitializables(final int count, final long nanos, final boolean slow) {
+        final List<Initializable> initializables = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            initializables.add(new TestInitializable(nanos, slow));
+        }
+        return initializables;
+    }
+
+    private class TestInitializable implements Initializable {
+
+        private final long nanos;
+        private final boolean slow;
+        private boolean initialized = false;
+        private boolean visible = true;
+        private boolean fails = false;
+        private int attempts = 0;
+
+        private TestInitializable(final long nanos, final boolean slow) {
+            this.nanos = nanos;
+            this.slow = slow;
+        }
+
+        @Override
+        public void initialize(final GL2 gl, final GLUgl2 glu) {
+            // the work takes the same time on every machine
+            clock[0] += nanos;
+            attempts++;
+            initialized = !fails;
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return initialized;
+        }
+
+        @Override
+        public boolean isSlow() {
+            return slow;
+        }
+
+        @Override
+        public void unInitialize(final GL2 gl, final GLUgl2 glu) {
+            initialized = false;
+        }
+
+        @Override
+        public Scene getScene() {
+            return null;
+        }
+
+        @Override
+        public DrawingPass getDrawingPass() {
+            return DrawingPass.INTERFACE;
+        }
+
+        @Override
+        public boolean isVisible() {
+            return visible;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package gov.pnnl.svf.scene;
+
+import gov.pnnl.svf.actor.Actor;
+import gov.pnnl.svf.actor.ShapeActor;
+import gov.pnnl.svf.support.ChildSupport;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The scene used by these tests only has a scene lookup so they don't require
+ * an OpenGL device.
+ *
+ * @author Arthur Bleeker
+ */
+public class SceneTransactionQueueTest {
+
+    private SceneExt scene;
+
+    /**
+     * Set up for testing
+     */
+    @Before
+    public void setUp() {
+        scene = newLookupScene();
+    }
+
+    /**
+     * Test of apply method, of class SceneTransactionQueue.
+     */
+    @Test
+    public void testApply() {
+        final SceneTransactionQueue queue = SceneTransactionQueue.newInstance(scene);
+        Assert.assertEquals(queue, scene.lookup(SceneTransactionQueue.class));
+        final List<SceneTransaction> applied = new ArrayList<>();
+        queue.addListener(applied::add);
+        final List<Actor> actors = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Actor parent = new ShapeActor(scene, "apply-parent" + i);
+            ChildSupport.newInstance(parent).add(new ShapeActor(scene, "apply-child" + i));
+            actors.add(parent);
+        }
+        final SceneTransaction transaction = queue.begin();
+        transaction.addAll(actors);
+        Assert.assertNull(scene.getActor("apply-parent0"));
+        transaction.commit();
+        Assert.assertTrue(transaction.isCommitted());
+        // nothing is visible until the transaction is applied
+        Assert.assertNull(scene.getActor("apply-parent0"));
+        Assert.assertEquals(1, queue.getPendingCount());
+        Assert.assertEquals(1, queue.apply());
+        Assert.assertEquals(0, queue.getPendingCount());
+        Assert.assertEquals(Arrays.asList(transaction), applied);
+        Assert.assertEquals(actors.get(0), scene.getActor("apply-parent0"));
+        Assert.assertNotNull(scene.getActor("apply-child99"));
+        Assert.assertTrue(scene.getVisibleRootActors().containsAll(actors));
+
+        final SceneTransaction remove = queue.begin();
+        remove.removeAll(actors);
+        remove.commit();
+        queue.apply();
+        Assert.assertNull(scene.getActor("apply-parent0"));
+        Assert.assertNull(scene.getActor("apply-child99"));
+        Assert.assertTrue(scene.getVisibleRootActors().isEmpty());
+        Assert.assertEquals(2, applied.size());
+        queue.dispose();
+    }
+
+    /**
+     * Test of add and remove methods, of class SceneTransaction.
+     */
+    @Test
+    public void testAddRemove() {
+        final SceneTransactionQueue queue = SceneTransactionQueue.newInstance(scene);
+        final Actor a = new ShapeActor(scene, "add-remove-a");
+        final Actor b = new ShapeActor(scene, "add-remove-b");
+        final SceneTransaction transaction = queue.begin();
+        transaction.add(a);
+        transaction.add(b);
+        transaction.remove(a);
+        Assert.assertEquals(1, transaction.getAdded().size());
+        Assert.assertEquals(1, transaction.getRemoved().size());
+        transaction.commit();
+        queue.apply();
+        Assert.assertNull(scene.getActor("add-remove-a"));
+        Assert.assertEquals(b, scene.getActor("add-remove-b"));
+        queue.dispose();
+    }
+
+    /**
+     * Test of a transaction with a duplicate actor id, of class
+     * SceneTransactionQueue.
+     */
+    @Test
+    public void testDuplicateId() {
+        final SceneTransactionQueue queue = SceneTransactionQueue.newInstance(scene);
+        final List<SceneTransaction> applied = new ArrayList<>();
+        queue.addListener(applied::add);
+        final SceneTransaction transaction = queue.begin();
+        transaction.add(new ShapeActor(scene, "duplicate-a"));
+        transaction.add(new ShapeActor(scene, "duplicate-b"));
+        transaction.add(new ShapeActor(scene, "duplicate-b") {
+            // a different type so it isn't equal to the other actor
+        });
+        transaction.commit();
+        // the failed transaction doesn't add any of its actors
+        Assert.assertEquals(1, queue.apply());
+        Assert.assertNull(scene.getActor("duplicate-a"));
+        Assert.assertNull(scene.getActor("duplicate-b"));
+        Assert.assertTrue(applied.isEmpty());
+        queue.dispose();
+    }
+
+    /**
+     * Test of a transaction that removes actors and adds an actor with an id
+     * that is already in the scene, of class SceneTransactionQueue.
+     */
+    @Test
+    public void testFailedTransactionLeavesSceneUnchanged() {
+        final SceneTransactionQueue queue = SceneTransactionQueue.newInstance(scene);
+        final Actor existing = new ShapeActor(scene, "existing");
+        final Actor parent = new ShapeActor(scene, "parent");
+        ChildSupport.newInstance(parent).add(new ShapeActor(scene, "child"));
+        scene.addAll(Arrays.asList(existing, parent));
+        final SceneTransaction transaction = queue.begin();
+        transaction.remove(parent);
+        transaction.add(new ShapeActor(scene, "new"));
+        // the id of a child of a new actor is checked too
+        final Actor other = new ShapeActor(scene, "other");
+        ChildSupport.newInstance(other).add(new ShapeActor(scene, "existing"));
+        transaction.add(other);
+        transaction.commit();
+        Assert.assertEquals(1, queue.apply());
+        // nothing in the transaction was applied
+        Assert.assertEquals(parent, scene.getActor("parent"));
+        Assert.assertNotNull(scene.getActor("child"));
+        Assert.assertEquals(existing, scene.getActor("existing"));
+        Assert.assertNull(scene.getActor("new"));
+        Assert.assertNull(scene.getActor("other"));
+        Assert.assertTrue(scene.getVisibleRootActors().containsAll(Arrays.asList(existing, parent)));
+        queue.dispose();
+    }
+
+    /**
+     * Test of a transaction that replaces an actor with a new actor using the
+     * same id, of class SceneTransactionQueue.
+     */
+    @Test
+    public void testReplace() {
+        final SceneTransactionQueue queue = SceneTransactionQueue.newInstance(scene);
+        final Actor parent = new ShapeActor(scene, "parent");
+        ChildSupport.newInstance(parent).add(new ShapeActor(scene, "child"));
+        scene.add(parent);
+        final Actor replacement = new ShapeActor(scene, "child");
+        final SceneTransaction transaction = queue.begin();
+        transaction.remove(parent);
+        transaction.add(replacement);
+        transaction.commit();
+        queue.apply();
+        Assert.assertNull(scene.getActor("parent"));
+        Assert.assertEquals(replacement, scene.getActor("child"));
+        queue.dispose();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCommitExc1() {
+        final SceneTransactionQueue queue = SceneTransactionQueue.newInstance(scene);
+        final SceneTransaction transaction = queue.begin();
+        transaction.commit();
+        transaction.add(new ShapeActor(scene, "commit"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddExc1() {
+        final SceneTransactionQueue queue = SceneTransactionQueue.newInstance(scene);
+        queue.begin().add(Actor.class);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static SceneExt newLookupScene() {
+        final Object[] holder = new Object[3];
+        final InvocationHandler handler = (proxy, method, args) -> {
+            final SceneLookupImpl lookup = (SceneLookupImpl) holder[1];
+            switch (method.getName()) {
+                case "getExtended":
+                    return holder[0];
+                case "getSceneBuilder":
+                    return holder[2];
+                case "add":
+                    lookup.add(args[0]);
+                    return null;
+                case "addAll":
+                    lookup.addAll((Collection) args[0]);
+                    return null;
+                case "remove":
+                    return lookup.remove(args[0]);
+                case "removeAll":
+                    return lookup.removeAll((Collection) args[0]);
+                case "lookup":
+                    return lookup.lookup((Class) args[0]);
+                case "getActor":
+                    return lookup.getActor((String) args[0]);
+                case "getVisibleRootActors":
+                    if (args == null) {
+                        return lookup.getVisibleRootActors();
+                    }
+                    lookup.getVisibleRootActors((Collection) args[0]);
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "LookupScene";
+                default:
+                    final Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return Boolean.FALSE;
+                    }
+                    return type == int.class ? Integer.valueOf(0) : null;
+            }
+        };
+        final SceneExt scene = (SceneExt) Proxy.newProxyInstance(SceneExt.class.getClassLoader(), new Class<?>[]{SceneExt.class}, handler);
+        holder[0] = scene;
+        holder[1] = new SceneLookupImpl(scene);
+        // the scene builder defaults are all false or null
+        holder[2] = Proxy.newProxyInstance(SceneBuilder.class.getClassLoader(), new Class<?>[]{SceneBuilder.class}, handler);
+        return scene;
+    }
+}
@@ -0,0 +1,263 @@
+package gov.pnnl.svf.support;
+
+import com.jogamp.opengl.GL2;
+import gov.pnnl.svf.actor.Actor;
+import gov.pnnl.svf.actor.ShapeActor;
+import gov.pnnl.svf.actor.VolumeActor;
+import gov.pnnl.svf.camera.Camera;
+import gov.pnnl.svf.camera.SimpleCamera;
+import gov.pnnl.svf.geometry.Rectangle;
+import gov.pnnl.svf.scene.DrawingPass;
+import gov.pnnl.svf.scene.SceneBuilder;
+import gov.pnnl.svf.scene.SceneExt;
+import gov.pnnl.svf.scene.SceneMetrics;
+import gov.pnnl.svf.update.UninitializeTask;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.math.geometry.Vector3D;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The scene used by these tests is a proxy and the display list calls are
+ * recorded instead of made so they don't require an OpenGL device.
+ *
+ * @author Arthur Bleeker
+ */
+public class FrozenChildSupportTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private final List<Object> scheduled = new ArrayList<>();
+    private final int[] displayLists = new int[1];
+    private SceneExt scene;
+    // the recording support never touches the gl
+    private final GL2 gl = null;
+    private Camera camera;
+    private Actor parent;
+    private Actor child;
+    private FrozenChildSupport support;
+
+    /**
+     * Set up for testing
+     */
+    @Before
+    public void setUp() {
+        scene = newScene();
+        camera = new SimpleCamera(scene, "camera");
+        parent = new ShapeActor(scene, "parent");
+        child = new ShapeActor(scene, "child");
+        ChildSupport.newInstance(parent).add(child);
+        support = new RecordingSupport(parent);
+        parent.add(support);
+    }
+
+    /**
+     * Test of newList, endList, and callList methods, of class
+     * FrozenChildSupport.
+     */
+    @Test
+    public void testRecordAndReplay() {
+        Assert.assertFalse(support.callList(gl, camera, DrawingPass.SCENE, 0));
+        record(DrawingPass.SCENE, 0);
+        Assert.assertEquals(1, displayLists[0]);
+        Assert.assertTrue(support.callList(gl, camera, DrawingPass.SCENE, 0));
+        Assert.assertTrue(calls.contains("replay:1"));
+        // every pass number and drawing pass is recorded separately
+        Assert.assertFalse(support.callList(gl, camera, DrawingPass.SCENE, 1));
+        Assert.assertFalse(support.callList(gl, camera, DrawingPass.INTERFACE, 0));
+        record(DrawingPass.SCENE, 1);
+        Assert.assertTrue(support.callList(gl, camera, DrawingPass.SCENE, 1));
+        Assert.assertEquals(2, displayLists[0]);
+        support.unInitialize(gl, null);
+        Assert.assertEquals(0, displayLists[0]);
+        Assert.assertTrue(calls.contains("delete:1"));
+        Assert.assertTrue(calls.contains("delete:2"));
+        Assert.assertFalse(support.callList(gl, camera, DrawingPass.SCENE, 0));
+    }
+
+    /**
+     * Test of an actor property change in the subtree, of class
+     * FrozenChildSupport.
+     */
+    @Test
+    public void testPropertyChange() {
+        record(DrawingPass.SCENE, 0);
+        Assert.assertFalse(support.isStale());
+        child.setVisible(false);
+        Assert.assertTrue(support.isStale());
+        Assert.assertTrue(scheduled.stream().anyMatch(task -> task instanceof UninitializeTask));
+        support.unInitialize(gl, null);
+        Assert.assertFalse(support.isStale());
+        Assert.assertFalse(support.callList(gl, camera, DrawingPass.SCENE, 0));
+        record(DrawingPass.SCENE, 0);
+        Assert.assertTrue(support.callList(gl, camera, DrawingPass.SCENE, 0));
+    }
+
+    /**
+     * Test of a child being added or removed in the subtree, of class
+     * FrozenChildSupport.
+     */
+    @Test
+    public void testChildAddRemove() {
+        record(DrawingPass.SCENE, 0);
+        final Actor grandchild = new ShapeActor(scene, "grandchild");
+        ChildSupport.newInstance(child).add(grandchild);
+        // the child support wasn't watched until the subtree is recorded again
+        Assert.assertTrue(support.isStale());
+        support.unInitialize(gl, null);
+        record(DrawingPass.SCENE, 0);
+        Assert.assertFalse(support.isStale());
+        // changes to the new grandchild are watched
+        grandchild.setVisible(false);
+        Assert.assertTrue(support.isStale());
+        support.unInitialize(gl, null);
+        record(DrawingPass.SCENE, 0);
+        child.lookup(ChildSupport.class).remove(grandchild);
+        Assert.assertTrue(support.isStale());
+    }
+
+    /**
+     * Test of a camera change with a subtree that doesn't depend on the
+     * camera, of class FrozenChildSupport.
+     */
+    @Test
+    public void testCameraChangeIndependent() {
+        record(DrawingPass.SCENE, 0);
+        camera.setLocation(new Vector3D(1.0, 2.0, 3.0));
+        Assert.assertTrue(support.callList(gl, camera, DrawingPass.SCENE, 0));
+    }
+
+    /**
+     * Test of a camera change with a subtree that depends on the camera, of
+     * class FrozenChildSupport.
+     */
+    @Test
+    public void testCameraChangeDependent() {
+        MatrixTransformSupport.newInstance(child);
+        final Camera other = new SimpleCamera(scene, "other");
+        record(DrawingPass.SCENE, 0);
+        record(DrawingPass.SCENE, 1);
+        recordFor(other, DrawingPass.SCENE, 0);
+        camera.setLocation(new Vector3D(1.0, 2.0, 3.0));
+        // only the lists for the changed camera are recorded again
+        Assert.assertFalse(support.callList(gl, camera, DrawingPass.SCENE, 0));
+        Assert.assertFalse(support.callList(gl, camera, DrawingPass.SCENE, 1));
+        Assert.assertTrue(support.callList(gl, other, DrawingPass.SCENE, 0));
+        Assert.assertFalse(support.isStale());
+        record(DrawingPass.SCENE, 0);
+        Assert.assertTrue(support.callList(gl, camera, DrawingPass.SCENE, 0));
+        Assert.assertFalse(support.callList(gl, camera, DrawingPass.SCENE, 1));
+        // the existing lists are recorded over
+        Assert.assertEquals(3, displayLists[0]);
+        support.unInitialize(gl, null);
+        Assert.assertEquals(0, displayLists[0]);
+    }
+
+    /**
+     * Test of a camera change with a volume in the subtree, of class
+     * FrozenChildSupport.
+     */
+    @Test
+    public void testCameraChangeVolume() {
+        final Actor volume = new VolumeActor(scene, "volume");
+        ChildSupport.newInstance(child).add(volume);
+        record(DrawingPass.SCENE, 0);
+        Assert.assertTrue(support.callList(gl, camera, DrawingPass.SCENE, 0));
+        // the volume slices are chosen from the camera
+        camera.setLocation(new Vector3D(1.0, 2.0, 3.0));
+        Assert.assertFalse(support.callList(gl, camera, DrawingPass.SCENE, 0));
+        record(DrawingPass.SCENE, 0);
+        Assert.assertTrue(support.callList(gl, camera, DrawingPass.SCENE, 0));
+        Assert.assertEquals(1, displayLists[0]);
+    }
+
+    private void record(final DrawingPass drawingPass, final int passNumber) {
+        recordFor(camera, drawingPass, passNumber);
+    }
+
+    private void recordFor(final Camera camera, final DrawingPass drawingPass, final int passNumber) {
+        support.newList(gl, camera, drawingPass, passNumber);
+        camera.getExtended().incrementVerticesCounter(3L);
+        support.endList(gl, camera);
+    }
+
+    private SceneExt newScene() {
+        final Object[] holder = new Object[3];
+        final InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getExtended":
+                    return holder[0];
+                case "getSceneMetrics":
+                    return holder[1];
+                case "getSceneBuilder":
+                    return holder[2];
+                case "getViewport":
+                    return new Rectangle(0, 0, 640, 480);
+                case "add":
+                    scheduled.add(args[0]);
+                    return null;
+                case "incrementDisplayListCount":
+                    displayLists[0]++;
+                    return null;
+                case "decrementDisplayListCount":
+                    displayLists[0]--;
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "RecordingScene";
+                default:
+                    final Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return Boolean.FALSE;
+                    }
+                    return type == int.class ? Integer.valueOf(0) : null;
+            }
+        };
+        final SceneExt scene = (SceneExt) Proxy.newProxyInstance(SceneExt.class.getClassLoader(), new Class<?>[]{SceneExt.class}, handler);
+        holder[0] = scene;
+        holder[1] = Proxy.newProxyInstance(SceneMetrics.class.getClassLoader(), new Class<?>[]{SceneMetrics.class}, handler);
+        // the scene builder defaults are all false or null
+        holder[2] = Proxy.newProxyInstance(SceneBuilder.class.getClassLoader(), new Class<?>[]{SceneBuilder.class}, handler);
+        return scene;
+    }
+
+    private class RecordingSupport extends FrozenChildSupport {
+
+        private int next = 0;
+
+        private RecordingSupport(final Actor actor) {
+            super(actor);
+        }
+
+        @Override
+        int generateList(final GL2 gl) {
+            return ++next;
+        }
+
+        @Override
+        void compileList(final GL2 gl, final int list) {
+            calls.add("compile:" + list);
+        }
+
+        @Override
+        void finishList(final GL2 gl) {
+            calls.add("finish");
+        }
+
+        @Override
+        void replayList(final GL2 gl, final int list) {
+            calls.add("replay:" + list);
+        }
+
+        @Override
+        void deleteList(final GL2 gl, final int list) {
+            calls.add("delete:" + list);
+        }
+    }
+}
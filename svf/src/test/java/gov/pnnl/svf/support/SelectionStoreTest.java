@@ -0,0 +1,139 @@
+package gov.pnnl.svf.support;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class SelectionStoreTest {
+
+    public SelectionStoreTest() {
+    }
+
+    /**
+     * Test of set methods, of class SelectionStore.
+     */
+    @Test
+    public void testSet() {
+        final SelectionStore store = new SelectionStore();
+        final List<SelectionStoreEvent> events = new ArrayList<>();
+        store.addListener(events::add);
+        Assert.assertTrue(store.set(SelectionState.SELECTED, 10, 50010, true));
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(50000, events.get(0).getChangedCount());
+        Assert.assertEquals(SelectionState.SELECTED, events.get(0).getState());
+        Assert.assertEquals(50010, store.getSize());
+        Assert.assertTrue(store.isSelected(10));
+        Assert.assertTrue(store.isSelected(50009));
+        Assert.assertFalse(store.isSelected(9));
+        Assert.assertFalse(store.isSelected(50010));
+        Assert.assertFalse(store.isSelected(1000000));
+        Assert.assertFalse(store.isHighlighted(10));
+        // nothing changes
+        Assert.assertFalse(store.set(SelectionState.SELECTED, 20, 30, true));
+        Assert.assertEquals(1, events.size());
+        Assert.assertTrue(store.set(SelectionState.SELECTED, 20, false));
+        Assert.assertEquals(2, events.size());
+        Assert.assertTrue(events.get(1).isChanged(20));
+        Assert.assertEquals(49999, store.getCount(SelectionState.SELECTED));
+    }
+
+    /**
+     * Test of set operations, of class SelectionStore.
+     */
+    @Test
+    public void testSetOperations() {
+        final SelectionStore store = new SelectionStore();
+        store.setSize(8);
+        final List<SelectionStoreEvent> events = new ArrayList<>();
+        store.addListener(events::add);
+        Assert.assertTrue(store.setAll(SelectionState.HIGHLIGHTED, true));
+        Assert.assertEquals(8, store.getCount(SelectionState.HIGHLIGHTED));
+        final BitSet visible = new BitSet();
+        visible.set(2, 5);
+        Assert.assertTrue(store.retain(SelectionState.HIGHLIGHTED, visible));
+        Assert.assertEquals(BitSet.valueOf(new long[]{0b11100}), store.get(SelectionState.HIGHLIGHTED));
+        Assert.assertTrue(store.invert(SelectionState.HIGHLIGHTED));
+        Assert.assertEquals(5, store.getCount(SelectionState.HIGHLIGHTED));
+        Assert.assertFalse(store.isHighlighted(3));
+        Assert.assertTrue(store.isHighlighted(7));
+        Assert.assertTrue(store.replace(SelectionState.HIGHLIGHTED, visible));
+        Assert.assertEquals(visible, store.get(SelectionState.HIGHLIGHTED));
+        Assert.assertTrue(store.set(SelectionState.HIGHLIGHTED, visible, false));
+        Assert.assertFalse(store.clear(SelectionState.HIGHLIGHTED));
+        Assert.assertEquals(5, events.size());
+        Assert.assertEquals(0, store.getCount(SelectionState.SELECTED));
+    }
+
+    /**
+     * Test of item indexes, of class SelectionStore.
+     */
+    @Test
+    public void testIndexOf() {
+        final SelectionStore store = new SelectionStore();
+        final Object a = "a";
+        final Object b = "b";
+        Assert.assertEquals(-1, store.getIndex(a));
+        Assert.assertEquals(0, store.indexOf(a));
+        Assert.assertEquals(1, store.indexOf(b));
+        Assert.assertEquals(0, store.indexOf(a));
+        Assert.assertSame(b, store.getItem(1));
+        Assert.assertNull(store.getItem(2));
+        Assert.assertTrue(store.set(SelectionState.RELATED, b, true));
+        Assert.assertTrue(store.isSet(SelectionState.RELATED, b));
+        Assert.assertFalse(store.isSet(SelectionState.RELATED, a));
+        Assert.assertFalse(store.isSet(SelectionState.RELATED, "c"));
+    }
+
+    /**
+     * Test of remove method, of class SelectionStore.
+     */
+    @Test
+    public void testRemove() {
+        final SelectionStore store = new SelectionStore();
+        final List<SelectionStoreEvent> events = new ArrayList<>();
+        final Object a = "a";
+        final Object b = "b";
+        final Object c = "c";
+        store.indexOf(a);
+        store.set(SelectionState.SELECTED, b, true);
+        store.set(SelectionState.HIGHLIGHTED, b, true);
+        store.addListener(events::add);
+        Assert.assertTrue(store.remove(b));
+        Assert.assertFalse(store.remove(b));
+        // one event for each state the item was in
+        Assert.assertEquals(2, events.size());
+        Assert.assertTrue(events.get(0).isChanged(1));
+        Assert.assertEquals(-1, store.getIndex(b));
+        Assert.assertNull(store.getItem(1));
+        Assert.assertFalse(store.isSelected(1));
+        Assert.assertFalse(store.isHighlighted(1));
+        Assert.assertEquals(0, store.getCount(SelectionState.SELECTED));
+        // the freed index is reused without the old states
+        Assert.assertEquals(1, store.indexOf(c));
+        Assert.assertSame(c, store.getItem(1));
+        Assert.assertFalse(store.isSet(SelectionState.SELECTED, c));
+        Assert.assertEquals(2, store.indexOf(b));
+        Assert.assertEquals(0, store.getIndex(a));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testRemoveExc1() {
+        new SelectionStore().remove(null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetExc1() {
+        new SelectionStore().set(SelectionState.SELECTED, 5, 4, true);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSetExc2() {
+        new SelectionStore().set(null, 5, true);
+    }
+}
@@ -0,0 +1,125 @@
+package gov.pnnl.svf.texture;
+
+import com.jogamp.opengl.util.texture.TextureData;
+import gov.pnnl.svf.scene.ProxyGLCanvas;
+import gov.pnnl.svf.scene.ProxyScene;
+import gov.pnnl.svf.scene.Scene;
+import gov.pnnl.svf.util.ConfigUtil;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class TextureManagerTest {
+
+    private final Scene scene = new ProxyScene(new ProxyGLCanvas(), ConfigUtil.configure());
+
+    public TextureManagerTest() {
+    }
+
+    /**
+     * Test of acquire method, of class TextureManager.
+     */
+    @Test
+    public void testAcquire() throws Exception {
+        final TextureManager manager = TextureManager.newInstance(scene, 1);
+        try {
+            final AtomicInteger calls = new AtomicInteger();
+            final CountDownLatch latch = new CountDownLatch(1);
+            final Callable<TextureData> decoder = new Callable<TextureData>() {
+                @Override
+                public TextureData call() throws Exception {
+                    calls.incrementAndGet();
+                    latch.await();
+                    // unable to decode
+                    return null;
+                }
+            };
+            final TextureManager.Reference first = manager.acquire("key", decoder);
+            final TextureManager.Reference second = manager.acquire("key", decoder);
+            Assert.assertEquals(1, manager.getCachedCount());
+            Assert.assertNull(first.getTexture());
+            Assert.assertFalse(first.isFailed());
+            latch.countDown();
+            waitFor(first);
+            // the shared entry is only decoded once
+            Assert.assertEquals(1, calls.get());
+            Assert.assertTrue(second.isFailed());
+            Assert.assertEquals(0, manager.getPendingCount());
+            Assert.assertEquals(0L, manager.getResidentBytes());
+            // failed entries are dropped when the last reference is released
+            manager.release(first);
+            manager.release(first);
+            Assert.assertTrue(first.isReleased());
+            Assert.assertEquals(1, manager.getCachedCount());
+            manager.release(second);
+            Assert.assertEquals(0, manager.getCachedCount());
+            // and decoded again when acquired again
+            final TextureManager.Reference third = manager.acquire("key", decoder);
+            waitFor(third);
+            Assert.assertEquals(2, calls.get());
+            manager.release(third);
+        } finally {
+            manager.dispose();
+        }
+        Assert.assertTrue(manager.isDisposed());
+        Assert.assertTrue(manager.isInitialized());
+    }
+
+    /**
+     * Test of unInitialize method with referenced textures, of class
+     * TextureManager.
+     */
+    @Test
+    public void testUnInitializeReferenced() throws Exception {
+        final TextureManager manager = TextureManager.newInstance(scene, 1);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            final Callable<TextureData> decoder = new Callable<TextureData>() {
+                @Override
+                public TextureData call() throws Exception {
+                    latch.await();
+                    return null;
+                }
+            };
+            final TextureManager.Reference reference = manager.acquire("key", decoder);
+            Assert.assertFalse(reference.isEvicted());
+            manager.unInitialize(null, null);
+            // the support holding the reference has to acquire it again
+            Assert.assertTrue(reference.isEvicted());
+            Assert.assertNull(reference.getTexture());
+            Assert.assertEquals(0, manager.getCachedCount());
+            latch.countDown();
+            final TextureManager.Reference again = manager.acquire("key", decoder);
+            Assert.assertFalse(again.isEvicted());
+            manager.release(reference);
+            manager.release(again);
+        } finally {
+            manager.dispose();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetUploadBudgetExc() {
+        final TextureManager manager = TextureManager.newInstance(scene, 1);
+        try {
+            manager.setUploadBudget(0L);
+        } finally {
+            manager.dispose();
+        }
+    }
+
+    private static void waitFor(final TextureManager.Reference reference) throws InterruptedException {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+        while (!reference.isFailed() && System.nanoTime() < end) {
+            Thread.sleep(10L);
+        }
+        Assert.assertTrue(reference.isFailed());
+    }
+}
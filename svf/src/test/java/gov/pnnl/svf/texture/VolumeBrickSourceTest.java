@@ -0,0 +1,116 @@
+package gov.pnnl.svf.texture;
+
+import gov.pnnl.svf.core.texture.TextureType;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class VolumeBrickSourceTest {
+
+    private static final int WIDTH = 7;
+    private static final int HEIGHT = 5;
+    private static final int DEPTH = 4;
+    private static final int HEADER = 3;
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    public VolumeBrickSourceTest() {
+    }
+
+    private static int voxel(final int x, final int y, final int z) {
+        return x + y * 10 + z * 50;
+    }
+
+    private File createFile(final TextureType type) throws IOException {
+        final int bytes = type == TextureType.ALPHA ? 1 : type == TextureType.RGB ? 3 : 4;
+        final byte[] data = new byte[HEADER + WIDTH * HEIGHT * DEPTH * bytes];
+        int index = HEADER;
+        for (int z = 0; z < DEPTH; z++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    for (int b = 0; b < bytes; b++) {
+                        // the value component holds the voxel value
+                        data[index++] = (byte) (b == bytes - 1 || type == TextureType.RGB && b == 0 ? voxel(x, y, z) : 0);
+                    }
+                }
+            }
+        }
+        final File file = folder.newFile();
+        try (final FileOutputStream out = new FileOutputStream(file)) {
+            out.write(data);
+        }
+        return file;
+    }
+
+    /**
+     * Test of the brick layout and metadata, of class VolumeBrickSource.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testBricks() throws IOException {
+        final VolumeBrickSource source = new VolumeBrickSource(createFile(TextureType.ALPHA), TextureType.ALPHA, WIDTH, HEIGHT, DEPTH, 4, HEADER);
+        // bricks share one voxel with their neighbors
+        Assert.assertEquals(2, source.getBricksX());
+        Assert.assertEquals(2, source.getBricksY());
+        Assert.assertEquals(1, source.getBricksZ());
+        Assert.assertEquals(4, source.getBrickCount());
+        Assert.assertEquals(3, source.getOrigin(1));
+        Assert.assertEquals(4, source.getLength(1, WIDTH));
+        Assert.assertEquals(2, source.getLength(1, HEIGHT));
+        Assert.assertEquals(1, source.getBrickX(3));
+        Assert.assertEquals(1, source.getBrickY(3));
+        Assert.assertEquals(0, source.getBrickZ(3));
+        Assert.assertEquals(voxel(0, 0, 0), source.getMinimum(0));
+        Assert.assertEquals(voxel(3, 3, 3), source.getMaximum(0));
+        Assert.assertEquals(voxel(3, 3, 0), source.getMinimum(3));
+        Assert.assertEquals(voxel(6, 4, 3), source.getMaximum(3));
+    }
+
+    /**
+     * Test of readBrick method, of class VolumeBrickSource.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadBrick() throws IOException {
+        final VolumeBrickSource source = new VolumeBrickSource(createFile(TextureType.RGBA), TextureType.RGBA, WIDTH, HEIGHT, DEPTH, 4, HEADER);
+        Assert.assertEquals(4 * 4 * 4 * 4, source.getBrickBytes());
+        final ByteBuffer buffer = ByteBuffer.allocate(source.getBrickBytes() + 1);
+        buffer.put((byte) -1);
+        source.readBrick(3, buffer);
+        Assert.assertEquals(source.getBrickBytes() + 1, buffer.position());
+        for (int z = 0; z < 4; z++) {
+            for (int y = 0; y < 4; y++) {
+                for (int x = 0; x < 4; x++) {
+                    // voxels past the edge repeat the edge
+                    final int expected = voxel(3 + x, 3 + Math.min(y, 1), z);
+                    Assert.assertEquals(expected, buffer.get(1 + ((z * 4 + y) * 4 + x) * 4 + 3) & 0xff);
+                }
+            }
+        }
+        // rgb volumes use the largest color component
+        final VolumeBrickSource rgb = new VolumeBrickSource(createFile(TextureType.RGB), TextureType.RGB, WIDTH, HEIGHT, DEPTH, 8, HEADER);
+        Assert.assertEquals(1, rgb.getBrickCount());
+        Assert.assertEquals(voxel(6, 4, 3), rgb.getMaximum(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void testConstructorExc1() throws IOException {
+        Assert.assertNotNull(new VolumeBrickSource(createFile(TextureType.ALPHA), TextureType.ALPHA, WIDTH, HEIGHT, DEPTH + 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorExc2() throws IOException {
+        Assert.assertNotNull(new VolumeBrickSource(createFile(TextureType.ALPHA), TextureType.ALPHA, WIDTH, HEIGHT, DEPTH, 1));
+    }
+}
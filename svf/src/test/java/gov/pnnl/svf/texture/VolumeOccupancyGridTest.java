@@ -0,0 +1,65 @@
+package gov.pnnl.svf.texture;
+
+import gov.pnnl.svf.core.texture.TextureType;
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class VolumeOccupancyGridTest {
+
+    public VolumeOccupancyGridTest() {
+    }
+
+    /**
+     * Test of getMaximum method, of class VolumeOccupancyGrid.
+     */
+    @Test
+    public void testGetMaximum() {
+        final int size = 10;
+        final ByteBuffer data = ByteBuffer.allocate(size * size * size);
+        // a single voxel in the middle of cell (1, 0, 0)
+        data.put(5 + 1 * size + 2 * size * size, (byte) 200);
+        // a voxel on the edge of cell (0, 1, 1) that borders cell (1, 1, 1)
+        data.put(3 + 4 * size + 4 * size * size, (byte) 100);
+        final VolumeOccupancyGrid grid = new VolumeOccupancyGrid(data, TextureType.ALPHA, size, size, size, 4);
+        Assert.assertEquals(3, grid.getCellsX());
+        Assert.assertEquals(3, grid.getCellsY());
+        Assert.assertEquals(3, grid.getCellsZ());
+        Assert.assertEquals(200, grid.getMaximum(1, 0, 0));
+        Assert.assertEquals(100, grid.getMaximum(0, 1, 1));
+        // neighbors include the bordering voxels
+        Assert.assertEquals(100, grid.getMaximum(1, 1, 1));
+        Assert.assertEquals(100, grid.getMaximum(0, 0, 0));
+        Assert.assertEquals(0, grid.getMaximum(2, 2, 2));
+        Assert.assertEquals(1, grid.getOccupiedCount(100));
+        final ByteBuffer texture = grid.createTexture();
+        Assert.assertEquals(27, texture.remaining());
+        Assert.assertEquals((byte) 200, texture.get(1));
+    }
+
+    /**
+     * Test of an rgb volume, of class VolumeOccupancyGrid.
+     */
+    @Test
+    public void testRgb() {
+        final ByteBuffer data = ByteBuffer.allocate(2 * 2 * 2 * 3);
+        data.put(7 * 3 + 1, (byte) 50);
+        final VolumeOccupancyGrid grid = new VolumeOccupancyGrid(data, TextureType.RGB, 2, 2, 2, 1);
+        Assert.assertEquals(50, grid.getMaximum(1, 1, 1));
+        Assert.assertEquals(50, grid.getMaximum(0, 0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorExc1() {
+        Assert.assertNotNull(new VolumeOccupancyGrid(ByteBuffer.allocate(7), TextureType.ALPHA, 2, 2, 2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetMaximumExc1() {
+        new VolumeOccupancyGrid(ByteBuffer.allocate(8), TextureType.ALPHA, 2, 2, 2).getMaximum(1, 0, 0);
+    }
+}
@@ -0,0 +1,241 @@
+package gov.pnnl.svf.util;
+
+import com.jogamp.opengl.glu.GLU;
+import gov.pnnl.svf.scene.SceneBuilder;
+import gov.pnnl.svf.scene.SceneExt;
+import java.awt.Point;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import org.apache.commons.math.geometry.Vector3D;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The scene used by these tests is a proxy with a GLU so they don't require an
+ * OpenGL device.
+ *
+ * @author Arthur Bleeker
+ */
+public class SceneCoordsHelperTest {
+
+    private static final double EPSILON = 1.0e-6;
+    private static final int[] VIEWPORT = new int[]{0, 0, 800, 600};
+    // looking down the negative z axis from (1, 2, 10)
+    private static final double[] MODELVIEW = new double[]{
+        1.0, 0.0, 0.0, 0.0,
+        0.0, 1.0, 0.0, 0.0,
+        0.0, 0.0, 1.0, 0.0,
+        -1.0, -2.0, -10.0, 1.0};
+    // 45 degree perspective with near 1 and far 100
+    private static final double[] PROJECTION = SceneCoordsHelperTest.perspective(45.0, 800.0 / 600.0, 1.0, 100.0);
+    private final SceneCoordsHelper helper = new SceneCoordsHelper(SceneCoordsHelperTest.newScene());
+
+    /**
+     * Test of the bulk project method with doubles, of class
+     * SceneCoordsHelper.
+     */
+    @Test
+    public void testProjectDouble() {
+        final double[] points = SceneCoordsHelperTest.newPoints(100);
+        final double[] output = helper.project(points, new double[points.length], MODELVIEW, PROJECTION, VIEWPORT);
+        for (int i = 0; i < points.length; i += 3) {
+            final Point expected = helper.project(points[i], points[i + 1], points[i + 2], MODELVIEW, PROJECTION, VIEWPORT);
+            Assert.assertEquals(expected.x, (int) output[i]);
+            Assert.assertEquals(expected.y, (int) output[i + 1]);
+        }
+    }
+
+    /**
+     * Test of the bulk project method with floats, of class SceneCoordsHelper.
+     */
+    @Test
+    public void testProjectFloat() {
+        final double[] points = SceneCoordsHelperTest.newPoints(100);
+        final float[] floats = SceneCoordsHelperTest.toFloats(points);
+        final double[] expected = helper.project(SceneCoordsHelperTest.toDoubles(floats), new double[points.length], MODELVIEW, PROJECTION, VIEWPORT);
+        final float[] output = helper.project(floats, floats, MODELVIEW, PROJECTION, VIEWPORT);
+        for (int i = 0; i < points.length; i++) {
+            Assert.assertEquals(expected[i], output[i], 1.0e-3);
+        }
+    }
+
+    /**
+     * Test of the y screen coordinate direction, of class SceneCoordsHelper.
+     */
+    @Test
+    public void testProjectFlip() {
+        // the camera is looking at (1, 2) so a higher point is nearer the top
+        final double[] output = helper.project(new double[]{1.0, 2.0, 0.0, 1.0, 3.0, 0.0}, new double[6], MODELVIEW, PROJECTION, VIEWPORT);
+        Assert.assertEquals(400.0, output[0], EPSILON);
+        Assert.assertEquals(300.0, output[1], EPSILON);
+        Assert.assertTrue(output[4] < output[1]);
+        final Point point = helper.project(1.0, 3.0, 0.0, MODELVIEW, PROJECTION, VIEWPORT);
+        Assert.assertEquals(point.y, (int) output[4]);
+    }
+
+    /**
+     * Test of projecting a point on the plane of the camera, of class
+     * SceneCoordsHelper.
+     */
+    @Test
+    public void testProjectFailed() {
+        final double[] output = helper.project(new double[]{5.0, 5.0, 10.0}, new double[]{1.0, 1.0, 1.0}, MODELVIEW, PROJECTION, VIEWPORT);
+        Assert.assertArrayEquals(new double[]{0.0, 0.0, 0.0}, output, 0.0);
+        Assert.assertEquals(new Point(0, 0), helper.project(5.0, 5.0, 10.0, MODELVIEW, PROJECTION, VIEWPORT));
+    }
+
+    /**
+     * Test of the bulk unProject method with doubles, of class
+     * SceneCoordsHelper.
+     */
+    @Test
+    public void testUnProjectDouble() {
+        final double[] points = SceneCoordsHelperTest.newPoints(100);
+        final double[] screen = helper.project(points, new double[points.length], MODELVIEW, PROJECTION, VIEWPORT);
+        final double[] output = helper.unProject(screen, new double[points.length], MODELVIEW, PROJECTION, VIEWPORT);
+        for (int i = 0; i < points.length; i += 3) {
+            // the glu un-projects with single precision
+            final Vector3D expected = helper.unProject(screen[i], screen[i + 1], screen[i + 2], MODELVIEW, PROJECTION, VIEWPORT);
+            Assert.assertEquals(expected.getX(), output[i], 1.0e-3);
+            Assert.assertEquals(expected.getY(), output[i + 1], 1.0e-3);
+            Assert.assertEquals(expected.getZ(), output[i + 2], 1.0e-3);
+            // and the round trip gets back to the original point
+            Assert.assertEquals(points[i], output[i], EPSILON);
+            Assert.assertEquals(points[i + 1], output[i + 1], EPSILON);
+            Assert.assertEquals(points[i + 2], output[i + 2], EPSILON);
+        }
+    }
+
+    /**
+     * Test of the bulk unProject method with floats, of class
+     * SceneCoordsHelper.
+     */
+    @Test
+    public void testUnProjectFloat() {
+        final float[] screen = new float[]{400.0f, 300.0f, 0.5f, 0.0f, 0.0f, 0.9f, 799.0f, 599.0f, 0.1f};
+        final float[] output = helper.unProject(screen, new float[screen.length], MODELVIEW, PROJECTION, VIEWPORT);
+        for (int i = 0; i < screen.length; i += 3) {
+            final Vector3D expected = helper.unProject(screen[i], screen[i + 1], screen[i + 2], MODELVIEW, PROJECTION, VIEWPORT);
+            Assert.assertEquals(expected.getX(), output[i], 1.0e-3);
+            Assert.assertEquals(expected.getY(), output[i + 1], 1.0e-3);
+            Assert.assertEquals(expected.getZ(), output[i + 2], 1.0e-3);
+        }
+    }
+
+    /**
+     * Test of un-projecting with a singular matrix, of class
+     * SceneCoordsHelper.
+     */
+    @Test
+    public void testUnProjectFailed() {
+        final double[] singular = new double[16];
+        final double[] output = helper.unProject(new double[]{400.0, 300.0, 0.5}, new double[]{1.0, 1.0, 1.0}, MODELVIEW, singular, VIEWPORT);
+        Assert.assertArrayEquals(new double[]{0.0, 0.0, 0.0}, output, 0.0);
+        Assert.assertEquals(Vector3D.ZERO, helper.unProject(400.0, 300.0, 0.5, MODELVIEW, singular, VIEWPORT));
+    }
+
+    /**
+     * Test of the bulk methods with enough points to convert in parallel, of
+     * class SceneCoordsHelper.
+     */
+    @Test
+    public void testParallel() {
+        final double[] points = SceneCoordsHelperTest.newPoints(50000);
+        final double[] output = helper.project(points, new double[points.length], MODELVIEW, PROJECTION, VIEWPORT);
+        for (int i = 0; i < points.length; i += 3 * 997) {
+            final Point expected = helper.project(points[i], points[i + 1], points[i + 2], MODELVIEW, PROJECTION, VIEWPORT);
+            Assert.assertEquals(expected.x, (int) output[i]);
+            Assert.assertEquals(expected.y, (int) output[i + 1]);
+        }
+        // convert in place
+        helper.unProject(output, output, MODELVIEW, PROJECTION, VIEWPORT);
+        for (int i = 0; i < points.length; i++) {
+            Assert.assertEquals(points[i], output[i], 1.0e-5);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testProjectExc1() {
+        helper.project(new double[4], new double[4], MODELVIEW, PROJECTION, VIEWPORT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testProjectExc2() {
+        helper.project(new double[6], new double[3], MODELVIEW, PROJECTION, VIEWPORT);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testUnProjectExc1() {
+        helper.unProject((float[]) null, new float[3], MODELVIEW, PROJECTION, VIEWPORT);
+    }
+
+    private static double[] newPoints(final int count) {
+        final Random random = new Random(42L);
+        final double[] points = new double[count * 3];
+        for (int i = 0; i < points.length; i += 3) {
+            // in front of the camera
+            points[i] = random.nextDouble() * 4.0 - 1.0;
+            points[i + 1] = random.nextDouble() * 4.0;
+            points[i + 2] = random.nextDouble() * 10.0 - 5.0;
+        }
+        return points;
+    }
+
+    private static float[] toFloats(final double[] values) {
+        final float[] floats = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            floats[i] = (float) values[i];
+        }
+        return floats;
+    }
+
+    private static double[] toDoubles(final float[] values) {
+        final double[] doubles = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            doubles[i] = values[i];
+        }
+        return doubles;
+    }
+
+    private static double[] perspective(final double fieldOfView, final double aspect, final double near, final double far) {
+        final double f = 1.0 / Math.tan(Math.toRadians(fieldOfView) / 2.0);
+        return new double[]{
+            f / aspect, 0.0, 0.0, 0.0,
+            0.0, f, 0.0, 0.0,
+            0.0, 0.0, (far + near) / (near - far), -1.0,
+            0.0, 0.0, 2.0 * far * near / (near - far), 0.0};
+    }
+
+    private static SceneExt newScene() {
+        final Object[] holder = new Object[3];
+        final InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getExtended":
+                    return holder[0];
+                case "getGLU":
+                    return holder[1];
+                case "getSceneBuilder":
+                    return holder[2];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "GluScene";
+                default:
+                    final Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return Boolean.FALSE;
+                    }
+                    return type == int.class ? Integer.valueOf(0) : null;
+            }
+        };
+        final SceneExt scene = (SceneExt) Proxy.newProxyInstance(SceneExt.class.getClassLoader(), new Class<?>[]{SceneExt.class}, handler);
+        holder[0] = scene;
+        holder[1] = new GLU();
+        // the scene builder defaults are all false or null
+        holder[2] = Proxy.newProxyInstance(SceneBuilder.class.getClassLoader(), new Class<?>[]{SceneBuilder.class}, handler);
+        return scene;
+    }
+}
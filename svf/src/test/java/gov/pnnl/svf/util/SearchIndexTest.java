@@ -0,0 +1,226 @@
+package gov.pnnl.svf.util;
+
+import gov.pnnl.svf.util.SearchUtilTest.A;
+import gov.pnnl.svf.util.SearchUtilTest.B;
+import gov.pnnl.svf.util.SearchUtilTest.StatisticType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class SearchIndexTest {
+
+    private static final String ALPHABET = "abcde";
+
+    public SearchIndexTest() {
+    }
+
+    /**
+     * Test of search method, of class SearchIndex.
+     */
+    @Test
+    public void testSearch() {
+        final SearchIndex<A> index = new SearchIndex<>(EnumSet.allOf(A.class));
+        Assert.assertEquals(A.EIGHT, index.search("EIGHT"));
+        Assert.assertEquals(A.EIGHT, index.search("eigh"));
+        Assert.assertEquals(A.EIGHT, index.search("ei"));
+        Assert.assertEquals(A.ONE, index.search("One"));
+        Assert.assertNull(index.search("1"));
+        Assert.assertNull(index.search("eg"));
+        Assert.assertNull(index.search("oe"));
+    }
+
+    /**
+     * Test of search method, of class SearchIndex.
+     */
+    @Test
+    public void testSearchableEnum() {
+        final SearchIndex<B> index = new SearchIndex<>(EnumSet.allOf(B.class));
+        Assert.assertEquals(B.EIGHT, index.search("Eight"));
+        Assert.assertEquals(B.EIGHT, index.search("ei"));
+        Assert.assertNull(index.search("0"));
+        Assert.assertEquals(B.ONE, index.search("1"));
+        Assert.assertEquals(B.EIGHT, index.search("8"));
+        final SearchIndex<StatisticType> statistics = new SearchIndex<>(EnumSet.allOf(StatisticType.class));
+        Assert.assertEquals(StatisticType.MINIMUM, statistics.search("min"));
+        Assert.assertEquals(StatisticType.COUNT_DISTINCT, statistics.search("cnt distngtf"));
+    }
+
+    /**
+     * Test of search method against the search util, of class SearchIndex.
+     */
+    @Test
+    public void testSearchRandom() {
+        final Random random = new Random(7L);
+        final Set<Item> items = new LinkedHashSet<>();
+        for (int i = 0; i < 400; i++) {
+            items.add(new Item(i, word(random, 2, 9), word(random, 1, 4), word(random, 3, 6)));
+        }
+        final SearchIndex<Item> index = new SearchIndex<>(items);
+        final List<Item> list = new ArrayList<>(items);
+        for (int i = 0; i < 200; i++) {
+            final String label = list.get(random.nextInt(list.size())).getLabel();
+            final String query;
+            switch (i % 4) {
+                case 0:
+                    query = word(random, 1, 10);
+                    break;
+                case 1:
+                    query = label.substring(0, 1 + random.nextInt(label.length()));
+                    break;
+                case 2:
+                    query = label + word(random, 1, 2);
+                    break;
+                default:
+                    query = word(random, 1, 2);
+                    break;
+            }
+            Assert.assertEquals(query, SearchUtil.search(items, query), index.search(query));
+            Assert.assertEquals(query, rank(items, query, 10), index.search(query, 10));
+        }
+    }
+
+    /**
+     * Test of add, remove, and update methods, of class SearchIndex.
+     */
+    @Test
+    public void testRemove() {
+        final Item one = new Item(1, "alpha", "first");
+        final Item two = new Item(2, "alphabet", "letters");
+        final SearchIndex<Item> index = new SearchIndex<>();
+        Assert.assertTrue(index.add(one));
+        Assert.assertTrue(index.add(two));
+        Assert.assertFalse(index.add(one));
+        Assert.assertEquals(2, index.size());
+        Assert.assertEquals(Arrays.asList(one, two), index.search("alpha", 5));
+        Assert.assertTrue(index.remove(one));
+        Assert.assertFalse(index.contains(one));
+        Assert.assertEquals(Collections.singletonList(two), index.search("alpha", 5));
+        Assert.assertTrue(index.add(one));
+        Assert.assertEquals(Arrays.asList(one, two), index.search("alpha", 5));
+        two.label = "omega";
+        Assert.assertTrue(index.update(two));
+        Assert.assertEquals(Collections.singletonList(two), index.searchPrefix("OM", 5));
+        index.clear();
+        Assert.assertEquals(0, index.size());
+        Assert.assertNull(index.search("alpha"));
+    }
+
+    /**
+     * Test of searchPrefix method, of class SearchIndex.
+     */
+    @Test
+    public void testSearchPrefix() {
+        final Item one = new Item(1, "Blue Whale", "mammal");
+        final Item two = new Item(2, "Blue Jay", "bird");
+        final Item three = new Item(3, "Robin", "blue bird");
+        final SearchIndex<Item> index = new SearchIndex<>(Arrays.asList(one, two, three));
+        Assert.assertEquals(Arrays.asList(two, three, one), index.searchPrefix("blue", 5));
+        Assert.assertEquals(Arrays.asList(two, three), index.searchPrefix("blue", 2));
+        Assert.assertEquals(Collections.singletonList(two), index.searchPrefix("bi", 5));
+        Assert.assertTrue(index.searchPrefix("whale", 5).isEmpty());
+    }
+
+    /**
+     * Test of searchFuzzy method, of class SearchIndex.
+     */
+    @Test
+    public void testSearchFuzzy() {
+        final Item one = new Item(1, "kitten");
+        final Item two = new Item(2, "sitting");
+        final Item three = new Item(3, "mitten");
+        final SearchIndex<Item> index = new SearchIndex<>(Arrays.asList(one, two, three));
+        Assert.assertEquals(Arrays.asList(one, three), index.searchFuzzy("kitten", 1, 5));
+        Assert.assertEquals(Arrays.asList(one, three, two), index.searchFuzzy("kitten", 3, 5));
+        Assert.assertEquals(Collections.singletonList(one), index.searchFuzzy("kitten", 3, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSearchExc1() {
+        new SearchIndex<Item>().search("a", 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSearchExc2() {
+        new SearchIndex<Item>().search(null);
+    }
+
+    private static List<Item> rank(final Set<Item> items, final String string, final int limit) {
+        final String source = string.toLowerCase(Locale.US);
+        final List<Item> list = new ArrayList<>();
+        final List<SearchUtil.Match> matches = new ArrayList<>();
+        for (final Item item : items) {
+            final SearchUtil.Match match = SearchUtil.match(item, source);
+            if (match.retained) {
+                list.add(item);
+                matches.add(match);
+            }
+        }
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            order.add(i);
+        }
+        order.sort((final Integer o1, final Integer o2) -> {
+            final SearchUtil.Match m1 = matches.get(o1);
+            final SearchUtil.Match m2 = matches.get(o2);
+            if (m1.distance != m2.distance) {
+                return Integer.compare(m1.distance, m2.distance);
+            }
+            return Integer.compare(m2.score, m1.score);
+        });
+        final List<Item> ranked = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, order.size()); i++) {
+            ranked.add(list.get(order.get(i)));
+        }
+        return ranked;
+    }
+
+    private static String word(final Random random, final int min, final int max) {
+        final int length = min + random.nextInt(max - min + 1);
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    private static class Item implements Searchable {
+
+        private final int id;
+        private String label;
+        private final Set<String> keywords;
+
+        private Item(final int id, final String label, final String... keywords) {
+            this.id = id;
+            this.label = label;
+            this.keywords = new HashSet<>(Arrays.asList(keywords));
+        }
+
+        @Override
+        public String getLabel() {
+            return label;
+        }
+
+        @Override
+        public Set<String> getKeywords() {
+            return keywords;
+        }
+
+        @Override
+        public String toString() {
+            return "Item{" + "id=" + id + ", label=" + label + '}';
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package gov.pnnl.svf.vbo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Arthur Bleeker
+ */
+public class LevelOfDetailTest {
+
+    private final LevelOfDetail lod = new LevelOfDetail(new int[]{64, 32, 16}, new double[]{100.0, 10.0}, 0.2);
+
+    /**
+     * Test of constructor, of class LevelOfDetail.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorSizes() {
+        new LevelOfDetail(new int[]{64, 32, 16}, new double[]{100.0});
+    }
+
+    /**
+     * Test of constructor, of class LevelOfDetail.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorDecreasing() {
+        new LevelOfDetail(new int[]{64, 32, 16}, new double[]{10.0, 100.0});
+    }
+
+    /**
+     * Test of constructor, of class LevelOfDetail.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorHysteresis() {
+        new LevelOfDetail(new int[]{64, 32}, new double[]{10.0}, 1.0);
+    }
+
+    /**
+     * Test of getSlices and getSize methods, of class LevelOfDetail.
+     */
+    @Test
+    public void testGetters() {
+        Assert.assertEquals(3, lod.getLevels());
+        Assert.assertEquals(32, lod.getSlices(1));
+        Assert.assertEquals(10.0, lod.getSize(1), 0.0);
+        Assert.assertEquals(0.0, lod.getSize(2), 0.0);
+    }
+
+    /**
+     * Test of select method, of class LevelOfDetail.
+     */
+    @Test
+    public void testSelect() {
+        Assert.assertEquals(0, lod.select(-1, 100.0));
+        Assert.assertEquals(1, lod.select(-1, 99.0));
+        Assert.assertEquals(1, lod.select(-1, 10.0));
+        Assert.assertEquals(2, lod.select(-1, 9.0));
+        Assert.assertEquals(2, lod.select(-1, 0.0));
+        Assert.assertEquals(0, lod.select(-1, Double.POSITIVE_INFINITY));
+    }
+
+    /**
+     * Test of select method, of class LevelOfDetail.
+     */
+    @Test
+    public void testSelectHysteresis() {
+        // stays coarse until well past the threshold
+        Assert.assertEquals(1, lod.select(1, 110.0));
+        Assert.assertEquals(0, lod.select(1, 120.0));
+        // stays fine until well below the threshold
+        Assert.assertEquals(0, lod.select(0, 90.0));
+        Assert.assertEquals(1, lod.select(0, 79.0));
+        // large changes skip levels
+        Assert.assertEquals(2, lod.select(0, 1.0));
+        Assert.assertEquals(0, lod.select(2, 1000.0));
+    }
+}